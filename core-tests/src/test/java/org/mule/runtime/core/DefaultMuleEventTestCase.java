@@ -169,4 +169,31 @@ public class DefaultMuleEventTestCase extends AbstractMuleContextTestCase {
     assertThat(event.isSynchronous(), equalTo(false));
     assertThat(event.isTransacted(), equalTo(false));
   }
+
+  @Test
+  public void copiedFlowVariablesAreIsolated() throws Exception {
+    muleEvent.setFlowVariable(PROPERTY_NAME, PROPERTY_VALUE);
+    DefaultMuleEvent child = new DefaultMuleEvent(muleMessage, muleEvent, false, false);
+    DefaultMuleEvent copy = (DefaultMuleEvent) DefaultMuleEvent.copy(muleEvent);
+
+    child.setFlowVariable(PROPERTY_NAME, "child");
+    child.setFlowVariable("childOnly", PROPERTY_VALUE);
+    copy.removeFlowVariable(PROPERTY_NAME.toUpperCase());
+    muleEvent.setFlowVariable("parentOnly", PROPERTY_VALUE);
+
+    assertThat(muleEvent.getFlowVariable(PROPERTY_NAME), equalTo(PROPERTY_VALUE));
+    assertThat(muleEvent.getFlowVariableNames().contains("childOnly"), equalTo(false));
+    assertThat(child.getFlowVariable(PROPERTY_NAME), equalTo("child"));
+    assertThat(child.getFlowVariableNames().contains("parentOnly"), equalTo(false));
+    assertThat(copy.getFlowVariableNames().isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void sharedFlowVariables() throws Exception {
+    DefaultMuleEvent child = new DefaultMuleEvent(muleMessage, muleEvent, false, true);
+
+    child.setFlowVariable(PROPERTY_NAME, PROPERTY_VALUE);
+
+    assertThat(muleEvent.getFlowVariable(PROPERTY_NAME), equalTo(PROPERTY_VALUE));
+  }
 }
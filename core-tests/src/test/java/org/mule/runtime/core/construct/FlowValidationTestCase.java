@@ -9,16 +9,19 @@ package org.mule.runtime.core.construct;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstructInvalidException;
 import org.mule.runtime.core.api.processor.MessageProcessor;
 import org.mule.runtime.core.api.source.MessageSource;
 import org.mule.runtime.core.api.source.NonBlockingMessageSource;
+import org.mule.runtime.core.api.transport.LegacyInboundEndpoint;
 import org.mule.runtime.core.exception.RollbackMessagingExceptionStrategy;
 import org.mule.runtime.core.processor.AbstractRedeliveryPolicy;
 import org.mule.runtime.core.processor.strategy.AsynchronousProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.NonBlockingProcessingStrategy;
+import org.mule.runtime.core.processor.strategy.ReactiveProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.SynchronousProcessingStrategy;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
@@ -55,6 +58,27 @@ public class FlowValidationTestCase extends AbstractMuleTestCase {
     flow.validateConstruct();
   }
 
+  @Test(expected = FlowConstructInvalidException.class)
+  public void testProcessingStrategyCantBeAsyncWithRequestResponseSource() throws Exception {
+    flow.setProcessingStrategy(new AsynchronousProcessingStrategy());
+    flow.setMessageSource(mockRequestResponseSource());
+    flow.validateConstruct();
+  }
+
+  @Test
+  public void testProcessingStrategyReactiveWithRequestResponseSource() throws Exception {
+    flow.setProcessingStrategy(new ReactiveProcessingStrategy());
+    flow.setMessageSource(mockRequestResponseSource());
+    flow.validateConstruct();
+  }
+
+  @Test(expected = FlowConstructInvalidException.class)
+  public void testProcessingStrategyCantBeReactiveWithRedelivery() throws Exception {
+    configureFlowForRedelivery();
+    flow.setProcessingStrategy(new ReactiveProcessingStrategy());
+    flow.validateConstruct();
+  }
+
   @Test
   public void testProcessingStrategyNonBlockingSupported() throws Exception {
     flow.setProcessingStrategy(new NonBlockingProcessingStrategy());
@@ -84,6 +108,12 @@ public class FlowValidationTestCase extends AbstractMuleTestCase {
     assertThat(flow.getProcessingStrategy(), instanceOf(SynchronousProcessingStrategy.class));
   }
 
+  private MessageSource mockRequestResponseSource() {
+    MessageSource messageSource = Mockito.mock(MessageSource.class, withSettings().extraInterfaces(LegacyInboundEndpoint.class));
+    when(((LegacyInboundEndpoint) messageSource).isCompatibleWithAsync()).thenReturn(false);
+    return messageSource;
+  }
+
   private void configureFlowForRedelivery() {
     flow.setExceptionListener(rollbackMessagingExceptionStrategy);
     when(rollbackMessagingExceptionStrategy.hasMaxRedeliveryAttempts()).thenReturn(true);
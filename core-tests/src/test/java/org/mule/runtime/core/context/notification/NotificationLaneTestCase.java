@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.core.context.notification.NotificationOverflowPolicy.COALESCE;
+import static org.mule.runtime.core.context.notification.NotificationOverflowPolicy.DROP;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.notification.BatchServerNotificationListener;
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class NotificationLaneTestCase extends AbstractMuleTestCase {
+
+  private static final int NOTIFICATIONS = 100;
+
+  private ServerNotificationManager manager;
+
+  @Before
+  public void setUp() throws Exception {
+    MuleContext muleContext = mock(MuleContext.class, RETURNS_DEEP_STUBS);
+    manager = new ServerNotificationManager();
+    manager.setMuleContext(muleContext);
+    manager.addInterfaceToType(Listener1.class, Event1.class);
+    manager.addInterfaceToType(CountingListener.class, Event2.class);
+  }
+
+  @After
+  public void tearDown() {
+    manager.dispose();
+  }
+
+  @Test
+  public void lanePerListenerInterface() throws Exception {
+    BlockingListener blockingListener = new BlockingListener();
+    CountingListener countingListener = new CountingListener(NOTIFICATIONS);
+    manager.addListener(blockingListener);
+    manager.addListener(countingListener);
+    manager.start();
+
+    manager.fireNotification(new Event1());
+    for (int i = 0; i < NOTIFICATIONS; i++) {
+      manager.fireNotification(new Event2());
+    }
+
+    // notifications for the counting listener are not delayed by the blocked one
+    assertTrue(countingListener.latch.await(5, SECONDS));
+    blockingListener.release.countDown();
+    assertThat(manager.getLaneStatistics().size(), is(2));
+    assertThat(manager.getLaneStatistics().get(CountingListener.class).getEnqueued(), is((long) NOTIFICATIONS));
+  }
+
+  @Test
+  public void batchListener() throws Exception {
+    CountingListener countingListener = new CountingListener(NOTIFICATIONS);
+    manager.addListener(countingListener);
+    for (int i = 0; i < NOTIFICATIONS; i++) {
+      manager.fireNotification(new Event2());
+    }
+    manager.start();
+
+    assertTrue(countingListener.latch.await(5, SECONDS));
+    assertThat(countingListener.batchSizes.size(), lessThanOrEqualTo(NOTIFICATIONS));
+    assertThat(countingListener.batchSizes.get(0), greaterThan(1));
+    NotificationLaneStatistics statistics = manager.getLaneStatistics().get(CountingListener.class);
+    assertThat(statistics.getDispatched(), is((long) NOTIFICATIONS));
+    assertThat(statistics.getPending(), is(0));
+  }
+
+  @Test
+  public void dropWhenFull() throws Exception {
+    manager.setLaneCapacity(1);
+    manager.setOverflowPolicy(DROP);
+    BlockingListener blockingListener = new BlockingListener();
+    manager.addListener(blockingListener);
+    manager.start();
+
+    manager.fireNotification(new Event1());
+    assertTrue(blockingListener.received.await(5, SECONDS));
+    for (int i = 0; i < NOTIFICATIONS; i++) {
+      manager.fireNotification(new Event1());
+    }
+
+    NotificationLaneStatistics statistics = manager.getLaneStatistics().get(Listener1.class);
+    assertThat(statistics.getDropped(), is((long) NOTIFICATIONS - 1));
+    assertThat(statistics.getPending(), is(1));
+    blockingListener.release.countDown();
+  }
+
+  @Test
+  public void coalesceWhenFull() throws Exception {
+    manager.setLaneCapacity(1);
+    manager.setOverflowPolicy(COALESCE);
+    BlockingListener blockingListener = new BlockingListener();
+    manager.addListener(blockingListener);
+    manager.start();
+
+    manager.fireNotification(new Event1());
+    assertTrue(blockingListener.received.await(5, SECONDS));
+    for (int i = 0; i < NOTIFICATIONS; i++) {
+      manager.fireNotification(new Event1("id"));
+    }
+
+    NotificationLaneStatistics statistics = manager.getLaneStatistics().get(Listener1.class);
+    assertThat(statistics.getCoalesced(), is((long) NOTIFICATIONS - 2));
+    assertThat(statistics.getPending(), is(2));
+    assertThat(statistics.getDropped(), is(0L));
+    blockingListener.release.countDown();
+  }
+
+  private static class BlockingListener extends Listener1 {
+
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public void onNotification(ServerNotification notification) {
+      received.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static class CountingListener implements BatchServerNotificationListener<Event2> {
+
+    private final CountDownLatch latch;
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private CountingListener(int expected) {
+      latch = new CountDownLatch(expected);
+    }
+
+    @Override
+    public void onNotifications(List<Event2> notifications) {
+      batchSizes.add(notifications.size());
+      for (int i = 0; i < notifications.size(); i++) {
+        latch.countDown();
+      }
+    }
+  }
+}
@@ -156,6 +156,46 @@ public class MVELExpressionExecutorTestCase extends AbstractELTestCase {
                                          });
   }
 
+  @Test
+  public void cacheStatistics() throws Exception {
+    mvel.getCompiledExpression(SIMPLE_EXPRESSION);
+    mvel.getCompiledExpression(SIMPLE_EXPRESSION);
+    try {
+      mvel.getCompiledExpression("1 +");
+      fail("Expression is invalid");
+    } catch (CompileException e) {
+      // expected
+    }
+
+    CompiledExpressionCacheStatistics statistics = mvel.getCacheStatistics();
+    assertThat(statistics.getHits(), is(1L));
+    assertThat(statistics.getMisses(), is(2L));
+    assertThat(statistics.getCompilations(), is(2L));
+    assertThat(statistics.getCompilationFailures(), is(1L));
+    assertThat(statistics.getSize(), is(1L));
+  }
+
+  @Test
+  public void sharesCompiledExpressions() throws Exception {
+    MuleTestUtils.testWithSystemProperty(MVELExpressionExecutor.SHARE_MEL_EXPRESSION_CACHE, "", () -> {
+      ParserConfiguration parserConfiguration = new ParserConfiguration();
+      parserConfiguration.addPackageImport("java.util");
+      ParserConfiguration otherParserConfiguration = new ParserConfiguration();
+      otherParserConfiguration.addPackageImport("java.util");
+      ParserConfiguration differentParserConfiguration = new ParserConfiguration();
+      differentParserConfiguration.addPackageImport("java.io");
+
+      // keep a reference to the executor so the shared cache is not collected
+      MVELExpressionExecutor executor = new MVELExpressionExecutor(parserConfiguration);
+      Serializable compiledExpression = executor.getCompiledExpression(SIMPLE_EXPRESSION);
+      assertThat(new MVELExpressionExecutor(otherParserConfiguration).getCompiledExpression(SIMPLE_EXPRESSION),
+                 is(compiledExpression));
+      assertThat(new MVELExpressionExecutor(differentParserConfiguration).getCompiledExpression(SIMPLE_EXPRESSION),
+                 is(not(compiledExpression)));
+      assertThat(executor.getCacheStatistics().getHits(), is(1L));
+    });
+  }
+
   static class MyClassClassLoader extends ClassLoader {
 
     @Override
@@ -114,6 +114,22 @@ public class MVELExpressionLanguageTestCase extends AbstractMuleContextTestCase
     assertEquals(muleContext.getConfiguration().getId(), evaluate("app.name"));
   }
 
+  @Test
+  public void precompileStaticExpressions() throws Exception {
+    mvel = new MVELExpressionLanguage(muleContext);
+    mvel.setStaticExpressions(Arrays.asList("'hi'", "2*2", "invalid +"));
+    mvel.initialise();
+
+    CompiledExpressionCacheStatistics statistics = mvel.getCompiledExpressionCacheStatistics();
+    assertEquals(3, statistics.getCompilations());
+    assertEquals(1, statistics.getCompilationFailures());
+
+    assertEquals(4, evaluate("2*2"));
+    statistics = mvel.getCompiledExpressionCacheStatistics();
+    assertEquals(3, statistics.getCompilations());
+    assertTrue(statistics.getHits() > 0);
+  }
+
   @Test
   public void testEvaluateStringMapOfStringObject() {
     // Literals
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.mule.runtime.core.MessageExchangePattern;
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.processor.MessageProcessor;
+import org.mule.runtime.core.util.concurrent.Latch;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class BackPressureAsyncInterceptingMessageProcessorTestCase extends LaxAsyncInterceptingMessageProcessorTestCase {
+
+  @Test
+  public void blocksCallerWhenNoDemand() throws Exception {
+    final Latch release = new Latch();
+    final CountDownLatch processed = new CountDownLatch(2);
+    BackPressureAsyncInterceptingMessageProcessor mp =
+        new BackPressureAsyncInterceptingMessageProcessor(new TestWorkManagerSource(), 1);
+    mp.setMuleContext(muleContext);
+    mp.setListener(new MessageProcessor() {
+
+      @Override
+      public MuleEvent process(MuleEvent event) throws MuleException {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        processed.countDown();
+        return event;
+      }
+    });
+
+    mp.process(getTestEvent(TEST_MESSAGE, MessageExchangePattern.ONE_WAY));
+    assertEquals(0, mp.getAvailableDemand());
+
+    final CountDownLatch delivered = new CountDownLatch(1);
+    Thread caller = new Thread(() -> {
+      try {
+        mp.process(getTestEvent(TEST_MESSAGE, MessageExchangePattern.ONE_WAY));
+        delivered.countDown();
+      } catch (Exception e) {
+        exceptionThrown = e;
+      }
+    });
+    caller.start();
+
+    assertFalse(delivered.await(200, TimeUnit.MILLISECONDS));
+    release.release();
+    assertTrue(delivered.await(RECEIVE_TIMEOUT, TimeUnit.MILLISECONDS));
+    assertTrue(processed.await(RECEIVE_TIMEOUT, TimeUnit.MILLISECONDS));
+    assertEquals(1, mp.getBackPressuredCount());
+  }
+
+  @Test
+  public void restartResetsDemand() throws Exception {
+    final Latch release = new Latch();
+    final CountDownLatch processed = new CountDownLatch(1);
+    BackPressureAsyncInterceptingMessageProcessor mp =
+        new BackPressureAsyncInterceptingMessageProcessor(new TestWorkManagerSource(), 1);
+    mp.setMuleContext(muleContext);
+    mp.setListener(event -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      processed.countDown();
+      return event;
+    });
+
+    mp.start();
+    mp.process(getTestEvent(TEST_MESSAGE, MessageExchangePattern.ONE_WAY));
+    assertEquals(0, mp.getAvailableDemand());
+
+    mp.stop();
+    mp.start();
+    assertEquals(1, mp.getAvailableDemand());
+
+    // The event processed before the restart releases its permit to the previous limit
+    release.release();
+    assertTrue(processed.await(RECEIVE_TIMEOUT, TimeUnit.MILLISECONDS));
+    assertEquals(1, mp.getAvailableDemand());
+    mp.stop();
+  }
+
+  @Override
+  protected AsyncInterceptingMessageProcessor createAsyncInterceptingMessageProcessor(MessageProcessor listener)
+      throws Exception {
+    BackPressureAsyncInterceptingMessageProcessor mp =
+        new BackPressureAsyncInterceptingMessageProcessor(new TestWorkManagerSource(), 16);
+    mp.setMuleContext(muleContext);
+    mp.setListener(listener);
+    return mp;
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import org.mule.runtime.core.api.processor.BlockingMessageProcessor;
+import org.mule.runtime.core.api.processor.MessageProcessor;
+import org.mule.runtime.core.api.processor.MessageProcessorBuilder;
+import org.mule.runtime.core.api.processor.MessageProcessorChainBuilder;
+import org.mule.runtime.core.processor.BackPressureAsyncInterceptingMessageProcessor;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ReactiveProcessingStrategyTestCase extends AbstractMuleContextTestCase {
+
+  private static final int MAX_THREADS = 2;
+  private static final int MAX_IO_THREADS = 8;
+  private static final int MAX_BUFFER_SIZE = 4;
+
+  private final RecordingChainBuilder chainBuilder = new RecordingChainBuilder();
+
+  @Test
+  public void splitsStagesOnBlockingProcessors() throws Exception {
+    MessageProcessor cpu1 = mock(MessageProcessor.class);
+    MessageProcessor cpu2 = mock(MessageProcessor.class);
+    MessageProcessor io1 = createBlockingProcessor();
+    MessageProcessor io2 = createBlockingProcessor();
+    MessageProcessor cpu3 = mock(MessageProcessor.class);
+
+    createStrategy().configureProcessors(asList(cpu1, cpu2, io1, io2, cpu3), () -> "test", chainBuilder, muleContext);
+
+    List<MessageProcessor> chained = chainBuilder.processors;
+    assertThat(chained.size(), is(8));
+    assertStage(chained.get(0), MAX_THREADS);
+    assertThat(chained.get(1), sameInstance(cpu1));
+    assertThat(chained.get(2), sameInstance(cpu2));
+    assertStage(chained.get(3), MAX_IO_THREADS);
+    assertThat(chained.get(4), sameInstance(io1));
+    assertThat(chained.get(5), sameInstance(io2));
+    assertStage(chained.get(6), MAX_THREADS);
+    assertThat(chained.get(7), sameInstance(cpu3));
+  }
+
+  @Test
+  public void startsWithBlockingStage() throws Exception {
+    MessageProcessor io = createBlockingProcessor();
+    MessageProcessor cpu = mock(MessageProcessor.class);
+
+    createStrategy().configureProcessors(asList(io, cpu), () -> "test", chainBuilder, muleContext);
+
+    List<MessageProcessor> chained = chainBuilder.processors;
+    assertThat(chained.size(), is(4));
+    assertStage(chained.get(0), MAX_IO_THREADS);
+    assertThat(chained.get(1), sameInstance(io));
+    assertStage(chained.get(2), MAX_THREADS);
+    assertThat(chained.get(3), sameInstance(cpu));
+  }
+
+  private ReactiveProcessingStrategy createStrategy() {
+    ReactiveProcessingStrategy strategy = new ReactiveProcessingStrategy();
+    strategy.setMaxThreads(MAX_THREADS);
+    strategy.setMaxIoThreads(MAX_IO_THREADS);
+    strategy.setMaxBufferSize(MAX_BUFFER_SIZE);
+    return strategy;
+  }
+
+  private MessageProcessor createBlockingProcessor() {
+    return mock(MessageProcessor.class, withSettings().extraInterfaces(BlockingMessageProcessor.class));
+  }
+
+  private void assertStage(MessageProcessor processor, int stageThreads) {
+    assertThat(processor, instanceOf(BackPressureAsyncInterceptingMessageProcessor.class));
+    assertThat(((BackPressureAsyncInterceptingMessageProcessor) processor).getAvailableDemand(),
+               is(stageThreads + MAX_BUFFER_SIZE));
+  }
+
+  private static class RecordingChainBuilder implements MessageProcessorChainBuilder {
+
+    private final List<MessageProcessor> processors = new ArrayList<>();
+
+    @Override
+    public MessageProcessorChainBuilder chain(MessageProcessor... processors) {
+      this.processors.addAll(asList(processors));
+      return this;
+    }
+
+    @Override
+    public MessageProcessorChainBuilder chain(MessageProcessorBuilder... builders) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MessageProcessor build() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -231,6 +231,46 @@ public class EventGroupTestCase extends AbstractMuleContextTestCase {
     assertEquals("value4", result.getSession().getProperty("key4"));
   }
 
+  @Test
+  public void eventsInMemory() throws Exception {
+    EventGroup eg = new EventGroup(UUID.getUUID(), muleContext);
+    eg.initEventsInMemory();
+    eg.initEventsStore(objectStore);
+
+    MuleEvent event1 = getTestEvent("foo1");
+    MuleEvent event2 = getTestEvent("foo2");
+    MuleEvent event3 = getTestEvent("foo3");
+    eg.addEvent(event1);
+    eg.addEvent(event2);
+    eg.addEvent(event3);
+
+    assertTrue(eg.isEventsInMemory());
+    assertEquals(3, eg.size());
+    assertTrue(Arrays.equals(new MuleEvent[] {event1, event2, event3}, eg.toArray()));
+
+    eg.removeEvent(event2);
+    assertEquals(2, eg.size());
+    assertTrue(Arrays.equals(new MuleEvent[] {event1, event3}, eg.toArray()));
+
+    eg.clear();
+    assertEquals(0, eg.size());
+  }
+
+  @Test
+  public void tracksStoredEventsCount() throws Exception {
+    EventGroup eg = new EventGroup(UUID.getUUID(), muleContext);
+    eg.initEventsStore(objectStore);
+
+    MuleEvent event1 = getTestEvent("foo1");
+    eg.addEvent(event1);
+    eg.addEvent(getTestEvent("foo2"));
+    assertEquals(2, eg.size());
+
+    eg.removeEvent(event1);
+    assertEquals(1, eg.size());
+    assertEquals(1, eg.toArray().length);
+  }
+
   private static class MyEventGroup extends EventGroup {
 
     private static final long serialVersionUID = 1L;
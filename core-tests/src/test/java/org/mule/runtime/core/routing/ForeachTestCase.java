@@ -6,13 +6,19 @@
  */
 package org.mule.runtime.core.routing;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleEvent;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.MuleMessage;
@@ -23,7 +29,9 @@ import org.mule.tck.testmodels.mule.TestMessageProcessor;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -222,6 +230,99 @@ public class ForeachTestCase extends AbstractMuleContextTestCase {
     assertAddedPathElements(originalMessageProcessors, mpPathElement);
   }
 
+  @Test
+  public void concurrentIterations() throws Exception {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Object> processedPayloads = Collections.synchronizedList(new ArrayList<>());
+    List<MessageProcessor> processors = new ArrayList<>();
+    processors.add(event -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      processedPayloads.add(event.getMessage().getPayload());
+      running.decrementAndGet();
+      return event;
+    });
+
+    Foreach foreachMp = createConcurrentForeach(processors);
+    try {
+      foreachMp.process(getTestEvent(new DummySimpleIterableClass().iterator()));
+      foreachMp.process(getTestEvent(new String[] {"a", "b", "c", "d", "e"}));
+    } finally {
+      foreachMp.dispose();
+    }
+
+    assertThat(processedPayloads, containsInAnyOrder("bar", "zip", "a", "b", "c", "d", "e"));
+    assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+  }
+
+  @Test
+  public void concurrentIterationsFailFast() throws Exception {
+    AtomicInteger processed = new AtomicInteger();
+    List<MessageProcessor> processors = new ArrayList<>();
+    processors.add(event -> {
+      processed.incrementAndGet();
+      throw new DefaultMuleException("Failed iteration");
+    });
+
+    Foreach foreachMp = createConcurrentForeach(processors);
+    try {
+      foreachMp.process(getTestEvent(new String[] {"a", "b", "c", "d", "e", "f", "g", "h"}));
+      fail("Expected the iteration error");
+    } catch (MuleException e) {
+      // expected
+    } finally {
+      foreachMp.dispose();
+    }
+
+    assertThat(processed.get(), lessThanOrEqualTo(2));
+  }
+
+  @Test
+  public void concurrentIterationsFailFastThrowsFirstFailureInTime() throws Exception {
+    List<Object> processedPayloads = Collections.synchronizedList(new ArrayList<>());
+    List<MessageProcessor> processors = new ArrayList<>();
+    processors.add(event -> {
+      Object payload = event.getMessage().getPayload();
+      processedPayloads.add(payload);
+      if ("slow".equals(payload)) {
+        try {
+          Thread.sleep(300);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      throw new DefaultMuleException("Failed " + payload);
+    });
+
+    Foreach foreachMp = createConcurrentForeach(processors);
+    try {
+      foreachMp.process(getTestEvent(new String[] {"slow", "fast", "c", "d"}));
+      fail("Expected the iteration error");
+    } catch (MuleException e) {
+      assertThat(e.getMessage(), containsString("Failed fast"));
+    } finally {
+      foreachMp.dispose();
+    }
+
+    assertThat(processedPayloads, containsInAnyOrder("slow", "fast"));
+  }
+
+  private Foreach createConcurrentForeach(List<MessageProcessor> processors) throws MuleException {
+    Foreach foreachMp = new Foreach();
+    foreachMp.setMessageProcessors(processors);
+    foreachMp.setMaxConcurrency(2);
+    foreachMp.setThreadingProfile(muleContext.getDefaultThreadingProfile());
+    foreachMp.setMuleContext(muleContext);
+    foreachMp.initialise();
+    foreachMp.start();
+    return foreachMp;
+  }
+
   protected void assertAddedPathElements(List<MessageProcessor> processors, MessageProcessorPathElement mpPathElement) {
     verify(mpPathElement, times(processors.size())).addChild(any(MessageProcessor.class));
     verify(mpPathElement).addChild(processors.get(0));
@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.routing;
 
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 
 import org.mule.runtime.core.DefaultMuleEvent;
@@ -16,6 +18,7 @@ import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.MuleSession;
 import org.mule.runtime.core.construct.Flow;
 import org.mule.runtime.core.util.store.InMemoryObjectStore;
+import org.mule.runtime.core.util.store.SimpleMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import org.junit.Test;
@@ -48,4 +51,64 @@ public class IdempotentMessageFilterTestCase extends AbstractMuleContextTestCase
     processedEvent = ir.process(event);
     assertNull(processedEvent);
   }
+
+  @Test
+  public void bloomFilterSkipsLookupsOfNewIds() throws Exception {
+    Flow flow = getTestFlow();
+    MuleSession session = mock(MuleSession.class);
+
+    SimpleMemoryObjectStore<String> store = new SimpleMemoryObjectStore<>();
+    store.store("1", "1");
+
+    IdempotentMessageFilter ir = new IdempotentMessageFilter();
+    ir.setIdExpression("#[message.inboundProperties.id]");
+    ir.setFlowConstruct(flow);
+    ir.setThrowOnUnaccepted(false);
+    ir.setStorePrefix("foo");
+    ir.setStore(store);
+    ir.setBloomFilterEnabled(true);
+    ir.setMuleContext(muleContext);
+    ir.initialise();
+
+    // Stored before the filter was initialised, so it has to be looked up in the store
+    MuleMessage message = MuleMessage.builder().payload("OK").addOutboundProperty("id", "1").build();
+    assertNull(ir.process(new DefaultMuleEvent(message, flow, session)));
+    assertThat(ir.getStoreLookups(), is(1L));
+
+    message = MuleMessage.builder().payload("OK").addOutboundProperty("id", "2").build();
+    assertNotNull(ir.process(new DefaultMuleEvent(message, flow, session)));
+    assertThat(ir.getSkippedStoreLookups(), is(1L));
+
+    message = MuleMessage.builder().payload("OK").addOutboundProperty("id", "2").build();
+    assertNull(ir.process(new DefaultMuleEvent(message, flow, session)));
+    assertThat(ir.getStoreLookups(), is(2L));
+  }
+
+  @Test
+  public void bloomFilterForgetsIdsAfterEntryTTL() throws Exception {
+    Flow flow = getTestFlow();
+    MuleSession session = mock(MuleSession.class);
+
+    IdempotentMessageFilter ir = new IdempotentMessageFilter();
+    ir.setIdExpression("#[message.inboundProperties.id]");
+    ir.setFlowConstruct(flow);
+    ir.setThrowOnUnaccepted(false);
+    ir.setStorePrefix("foo");
+    ir.setStore(new SimpleMemoryObjectStore<>());
+    ir.setBloomFilterEnabled(true);
+    ir.setBloomFilterEntryTTL(100);
+    ir.setBloomFilterPartitions(2);
+    ir.setMuleContext(muleContext);
+    ir.initialise();
+
+    MuleMessage message = MuleMessage.builder().payload("OK").addOutboundProperty("id", "1").build();
+    assertNotNull(ir.process(new DefaultMuleEvent(message, flow, session)));
+    assertThat(ir.getSkippedStoreLookups(), is(1L));
+
+    // Forgotten by the bloom filter but still in the store, so it's looked up and rejected
+    Thread.sleep(250);
+    message = MuleMessage.builder().payload("OK").addOutboundProperty("id", "1").build();
+    assertNull(ir.process(new DefaultMuleEvent(message, flow, session)));
+    assertThat(ir.getStoreLookups(), is(1L));
+  }
 }
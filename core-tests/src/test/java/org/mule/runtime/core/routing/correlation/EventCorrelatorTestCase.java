@@ -7,11 +7,15 @@
 package org.mule.runtime.core.routing.correlation;
 
 import static java.util.Optional.of;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_TIMER_WHEEL;
 
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.MuleContext;
@@ -27,8 +31,10 @@ import org.mule.runtime.core.api.store.ObjectStoreManager;
 import org.mule.runtime.core.api.store.PartitionableObjectStore;
 import org.mule.runtime.core.message.Correlation;
 import org.mule.runtime.core.routing.EventGroup;
+import org.mule.runtime.core.util.monitor.TimerWheel;
 import org.mule.runtime.core.util.store.PartitionedInMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
 import org.mule.tck.probe.Probe;
 import org.mule.tck.probe.Prober;
@@ -50,6 +56,8 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
 
   public static final String OBJECT_STOR_NAME_PREFIX = "prefix";
   public static final String TEST_GROUP_ID = "groupId";
+  public static final String OTHER_NODE_GROUP_ID = "otherNodeGroupId";
+  public static final String CLUSTER_ID = "testCluster";
   public static final boolean USE_PERSISTENT_STORE = false;
 
   private static final Logger logger = LoggerFactory.getLogger(EventCorrelatorTestCase.class);
@@ -128,6 +136,58 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     }
   }
 
+  @Test
+  public void schedulesExpiryOfGroupsStoredByOtherNodes() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+    when(mockMuleContext.getClusterId()).thenReturn(CLUSTER_ID);
+    TimerWheel timerWheel = new TimerWheel();
+    when(mockMuleContext.getRegistry().get(OBJECT_TIMER_WHEEL)).thenReturn(timerWheel);
+    when(mockEventGroup.getCreated()).thenReturn(System.currentTimeMillis());
+
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.setTimeout(60000);
+    eventCorrelator.start();
+
+    try {
+      int scheduledCount = timerWheel.getScheduledCount();
+      EventGroup otherNodeGroup = mock(EventGroup.class, RETURNS_DEEP_STUBS);
+      when(otherNodeGroup.getCreated()).thenReturn(System.currentTimeMillis());
+      memoryObjectStore.store(OTHER_NODE_GROUP_ID, otherNodeGroup, "prefix.eventGroups");
+
+      new PollingProber(3000, 50).check(new JUnitLambdaProbe(() -> timerWheel.getScheduledCount() == scheduledCount + 1,
+                                                             "Expiry of the group stored by another node not scheduled"));
+    } finally {
+      eventCorrelator.stop();
+      eventCorrelator.dispose();
+      timerWheel.dispose();
+    }
+  }
+
+  @Test
+  public void doesNotScanStoreWhenNotClustered() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+    TimerWheel timerWheel = new TimerWheel();
+    when(mockMuleContext.getRegistry().get(OBJECT_TIMER_WHEEL)).thenReturn(timerWheel);
+
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.setTimeout(60000);
+    eventCorrelator.start();
+
+    try {
+      int scheduledCount = timerWheel.getScheduledCount();
+      EventGroup storedGroup = mock(EventGroup.class, RETURNS_DEEP_STUBS);
+      when(storedGroup.getCreated()).thenReturn(System.currentTimeMillis());
+      memoryObjectStore.store(OTHER_NODE_GROUP_ID, storedGroup, "prefix.eventGroups");
+
+      Thread.sleep(2000);
+      assertThat(timerWheel.getScheduledCount(), is(scheduledCount));
+    } finally {
+      eventCorrelator.stop();
+      eventCorrelator.dispose();
+      timerWheel.dispose();
+    }
+  }
+
   private void doExpiredGroupMonitoringTest(boolean primaryNode) throws Exception {
     when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(primaryNode);
 
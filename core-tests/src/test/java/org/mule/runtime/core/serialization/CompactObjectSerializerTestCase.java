@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.serialization.internal.CompactObjectSerializer;
+import org.mule.runtime.core.serialization.internal.JavaObjectSerializer;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CompactObjectSerializerTestCase extends AbstractObjectSerializerContractTestCase {
+
+  private CompactObjectSerializer compactSerializer;
+
+  @Override
+  protected void doSetUp() throws Exception {
+    compactSerializer = new CompactObjectSerializer();
+    compactSerializer.setMuleContext(muleContext);
+    serializer = compactSerializer;
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializer.serialize(new Object());
+  }
+
+  @Test
+  public void simpleValues() throws Exception {
+    for (Object value : asList("Hello World", 42, Long.MAX_VALUE, true, false, 0.5d)) {
+      assertThat(serializer.deserialize(serializer.serialize(value)), equalTo(value));
+    }
+    byte[] bytes = {1, 2, 3};
+    byte[] deserialized = serializer.deserialize(serializer.serialize(bytes));
+    assertArrayEquals(bytes, deserialized);
+  }
+
+  @Test
+  public void eventWithMessage() throws Exception {
+    MuleEvent event = getTestEvent("payload");
+    event.setFlowVariable("count", 10);
+    event.setMessage(MuleMessage.builder(event.getMessage()).addOutboundProperty("key", "value").build());
+
+    MuleEvent deserialized = serializer.deserialize(serializer.serialize(event));
+    assertThat(deserialized.getId(), equalTo(event.getId()));
+    assertThat(deserialized.getFlowConstruct().getName(), equalTo(event.getFlowConstruct().getName()));
+    assertThat(deserialized.getFlowVariable("count"), equalTo(10));
+    assertThat(deserialized.getMessage().getPayload(), equalTo("payload"));
+    assertThat(deserialized.getMessage().getOutboundProperty("key"), equalTo("value"));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    JavaObjectSerializer javaSerializer = new JavaObjectSerializer();
+    javaSerializer.setMuleContext(muleContext);
+    MuleMessage message = MuleMessage.builder().payload("payload").addOutboundProperty("key", "value").build();
+
+    assertThat(serializer.serialize(message).length, lessThan(javaSerializer.serialize(message).length));
+  }
+
+  @Test
+  public void registeredClass() throws Exception {
+    Map<String, Serializable> value = new HashMap<>();
+    value.put("key", new Entry("value"));
+    byte[] byName = serializer.serialize(value);
+
+    compactSerializer.setRegisteredClasses(singletonList(Entry.class));
+    byte[] byId = serializer.serialize(value);
+
+    assertThat(byId.length, lessThan(byName.length));
+    assertThat(((Map<String, Entry>) serializer.deserialize(byId)).get("key").value, equalTo("value"));
+    assertThat(((Map<String, Entry>) serializer.deserialize(byName)).get("key").value, equalTo("value"));
+  }
+
+  @Test(expected = SerializationException.class)
+  public void unknownClassId() throws Exception {
+    compactSerializer.setRegisteredClasses(singletonList(Entry.class));
+    byte[] bytes = serializer.serialize(new Entry("value"));
+
+    CompactObjectSerializer otherSerializer = new CompactObjectSerializer();
+    otherSerializer.setMuleContext(muleContext);
+    otherSerializer.deserialize(bytes);
+  }
+
+  @Test
+  public void nullInGraph() throws Exception {
+    Entry deserialized = serializer.deserialize(serializer.serialize(new Entry(null)));
+    assertThat(deserialized.value, is(nullValue()));
+  }
+
+  private static class Entry implements Serializable {
+
+    private final String value;
+
+    private Entry(String value) {
+      this.value = value;
+    }
+  }
+}
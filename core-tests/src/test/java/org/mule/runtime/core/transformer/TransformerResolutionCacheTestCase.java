@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.transformer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.transformer.Transformer;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+@SmallTest
+public class TransformerResolutionCacheTestCase extends AbstractMuleTestCase {
+
+  private static final DataType XML_DATA_TYPE = mock(DataType.class, "XML_DATA_TYPE");
+  private static final DataType JSON_DATA_TYPE = mock(DataType.class, "JSON_DATA_TYPE");
+
+  private TransformerResolutionCache<Transformer> cache = new TransformerResolutionCache<>(2);
+
+  @Test
+  public void keyedByDirectedPair() {
+    Transformer xmlToJson = mock(Transformer.class);
+    cache.put(XML_DATA_TYPE, JSON_DATA_TYPE, xmlToJson);
+
+    assertSame(xmlToJson, cache.get(XML_DATA_TYPE, JSON_DATA_TYPE));
+    assertNull(cache.get(JSON_DATA_TYPE, XML_DATA_TYPE));
+    assertFalse(cache.containsKey(JSON_DATA_TYPE, XML_DATA_TYPE));
+  }
+
+  @Test
+  public void cachesUnresolvedPairs() {
+    cache.put(XML_DATA_TYPE, JSON_DATA_TYPE, null);
+
+    assertNull(cache.get(XML_DATA_TYPE, JSON_DATA_TYPE));
+    assertTrue(cache.containsKey(XML_DATA_TYPE, JSON_DATA_TYPE));
+    assertFalse(cache.containsKey(JSON_DATA_TYPE, XML_DATA_TYPE));
+  }
+
+  @Test
+  public void resolvesMissesOnly() {
+    Transformer xmlToJson = mock(Transformer.class);
+    AtomicInteger resolutions = new AtomicInteger();
+    TransformerResolutionCache.Resolver<Transformer, RuntimeException> resolver = (source, result) -> {
+      resolutions.incrementAndGet();
+      return source == XML_DATA_TYPE ? xmlToJson : null;
+    };
+
+    assertSame(xmlToJson, cache.get(XML_DATA_TYPE, JSON_DATA_TYPE, resolver));
+    assertSame(xmlToJson, cache.get(XML_DATA_TYPE, JSON_DATA_TYPE, resolver));
+    assertNull(cache.get(JSON_DATA_TYPE, XML_DATA_TYPE, resolver));
+    assertNull(cache.get(JSON_DATA_TYPE, XML_DATA_TYPE, resolver));
+    assertEquals(2, resolutions.get());
+  }
+
+  @Test
+  public void putIfAbsentKeepsFirstValue() {
+    Transformer first = mock(Transformer.class);
+    Transformer second = mock(Transformer.class);
+
+    assertNull(cache.putIfAbsent(XML_DATA_TYPE, JSON_DATA_TYPE, first));
+    assertSame(first, cache.putIfAbsent(XML_DATA_TYPE, JSON_DATA_TYPE, second));
+    assertSame(first, cache.get(XML_DATA_TYPE, JSON_DATA_TYPE));
+  }
+
+  @Test
+  public void boundedSize() {
+    cache.put(XML_DATA_TYPE, JSON_DATA_TYPE, null);
+    cache.put(JSON_DATA_TYPE, XML_DATA_TYPE, null);
+    cache.put(XML_DATA_TYPE, XML_DATA_TYPE, null);
+
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void evictionKeepsSizeInSync() {
+    for (int i = 0; i < 10; i++) {
+      cache.put(XML_DATA_TYPE, JSON_DATA_TYPE, null);
+      cache.put(JSON_DATA_TYPE, XML_DATA_TYPE, null);
+      cache.put(XML_DATA_TYPE, XML_DATA_TYPE, null);
+      cache.put(JSON_DATA_TYPE, JSON_DATA_TYPE, null);
+    }
+
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void clear() {
+    cache.put(XML_DATA_TYPE, JSON_DATA_TYPE, mock(Transformer.class));
+    cache.clear();
+
+    assertFalse(cache.containsKey(XML_DATA_TYPE, JSON_DATA_TYPE));
+    assertEquals(0, cache.size());
+
+    cache.put(XML_DATA_TYPE, JSON_DATA_TYPE, mock(Transformer.class));
+    assertEquals(1, cache.size());
+  }
+}
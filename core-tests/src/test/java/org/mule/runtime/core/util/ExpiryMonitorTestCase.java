@@ -10,6 +10,7 @@ import static org.junit.Assert.assertTrue;
 
 import org.mule.runtime.core.util.monitor.Expirable;
 import org.mule.runtime.core.util.monitor.ExpiryMonitor;
+import org.mule.runtime.core.util.monitor.TimerWheel;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
@@ -80,6 +81,30 @@ public class ExpiryMonitorTestCase extends AbstractMuleTestCase {
     }));
   }
 
+  @Test
+  public void testExpiryWithResetOnTimerWheel() throws InterruptedException {
+    TimerWheel timerWheel = new TimerWheel();
+    ExpiryMonitor wheelMonitor = new ExpiryMonitor("test", timerWheel, null, false);
+    try {
+      Expirable e = () -> expired = true;
+      wheelMonitor.addExpirable(600, TimeUnit.MILLISECONDS, e);
+      Thread.sleep(200);
+      assertTrue(!expired);
+      wheelMonitor.resetExpirable(e);
+      Thread.sleep(500);
+      assertTrue(!expired);
+
+      new PollingProber(600, 50).check(new JUnitLambdaProbe(() -> {
+        assertTrue(expired);
+        assertTrue(!wheelMonitor.isRegistered(e));
+        return true;
+      }));
+    } finally {
+      wheelMonitor.dispose();
+      timerWheel.dispose();
+    }
+  }
+
   @Test
   public void testNotExpiryWithRemove() throws InterruptedException {
     Expirable e = () -> expired = true;
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+@SuppressWarnings("unchecked")
+@SmallTest
+public class PersistentCaseInsensitiveMapTestCase extends AbstractMuleTestCase {
+
+  private static final String KEY1 = "FOO";
+  private static final String KEY2 = "doo";
+
+  // Different keys with the same case insensitive hash
+  private static final String COLLIDING_KEY1 = "b!";
+  private static final String COLLIDING_KEY2 = "A@";
+
+  @Test
+  public void caseInsensitive() throws Exception {
+    assertMapContents(createTestMap());
+  }
+
+  @Test
+  public void keysCaseSensitive() throws Exception {
+    PersistentCaseInsensitiveMap<String, Object> map = createTestMap();
+    map.put("foo", "BAZ");
+
+    assertEquals(2, map.keySet().size());
+    assertTrue(map.keySet().contains(KEY1));
+    assertTrue(map.keySet().contains(KEY2));
+    assertEquals("BAZ", map.get(KEY1));
+  }
+
+  @Test
+  public void putClone() throws Exception {
+    PersistentCaseInsensitiveMap<String, Object> original = createTestMap();
+    Map<String, Object> copy = original.clone();
+
+    original.put("newOriginal", "val");
+    copy.put("newCopy", "val");
+    copy.put(KEY1, "changed");
+
+    assertMapContents(original);
+    assertEquals(3, original.size());
+    assertFalse(original.containsKey("newCopy"));
+    assertTrue(original.containsKey("newOriginal"));
+
+    assertEquals("changed", copy.get("foo"));
+    assertEquals(3, copy.size());
+    assertTrue(copy.containsKey("newCopy"));
+    assertFalse(copy.containsKey("newOriginal"));
+  }
+
+  @Test
+  public void removeClone() throws Exception {
+    PersistentCaseInsensitiveMap<String, Object> original = createTestMap();
+    original.put("extra", "value");
+    original.put("extra2", "value");
+    Map<String, Object> copy = original.clone();
+
+    assertEquals("value", original.remove("EXTRA"));
+    assertEquals("value", copy.remove("EXTRA2"));
+    assertNull(copy.remove("missing"));
+
+    assertMapContents(original);
+    assertEquals(3, original.size());
+    assertFalse(original.containsKey("extra"));
+    assertTrue(original.containsKey("extra2"));
+
+    assertMapContents(copy);
+    assertEquals(3, copy.size());
+    assertTrue(copy.containsKey("extra"));
+    assertFalse(copy.containsKey("extra2"));
+  }
+
+  @Test
+  public void clearClone() throws Exception {
+    PersistentCaseInsensitiveMap<String, Object> original = createTestMap();
+    Map<String, Object> copy = original.clone();
+
+    original.keySet().clear();
+    assertEquals(0, original.size());
+    assertEquals(0, original.entrySet().size());
+    assertMapContents(copy);
+    assertEquals(2, copy.entrySet().size());
+  }
+
+  @Test
+  public void serialize() throws Exception {
+    PersistentCaseInsensitiveMap<String, Object> map = createTestMap();
+    map.put(COLLIDING_KEY1, 1);
+    map.put(COLLIDING_KEY2, 2);
+
+    Map<String, Object> deserialized = serializeAndDeserialize(map);
+    assertMapContents(deserialized);
+    assertEquals(map, deserialized);
+
+    deserialized.put("new", "val");
+    assertFalse(map.containsKey("new"));
+  }
+
+  @Test
+  public void collidingKeys() throws Exception {
+    assertEquals(COLLIDING_KEY1.toLowerCase().hashCode(), COLLIDING_KEY2.toLowerCase().hashCode());
+
+    PersistentCaseInsensitiveMap<String, Object> map = createTestMap();
+    map.put(COLLIDING_KEY1, 1);
+    map.put(COLLIDING_KEY2, 2);
+    PersistentCaseInsensitiveMap<String, Object> copy = map.clone();
+    map.put("a@", 3);
+
+    assertEquals(4, map.size());
+    assertEquals(1, map.get("B!"));
+    assertEquals(3, map.get(COLLIDING_KEY2));
+    assertEquals(2, copy.get(COLLIDING_KEY2));
+
+    assertEquals(1, map.remove(COLLIDING_KEY1));
+    assertNull(map.get(COLLIDING_KEY1));
+    assertEquals(3, map.get(COLLIDING_KEY2));
+    assertEquals(1, copy.get(COLLIDING_KEY1));
+  }
+
+  @Test
+  public void snapshotsAreIsolated() throws Exception {
+    Random random = new Random(0);
+    PersistentCaseInsensitiveMap<String, Object> map = new PersistentCaseInsensitiveMap<>();
+    Map<String, Object> expected = new HashMap<>();
+    List<PersistentCaseInsensitiveMap<String, Object>> snapshots = new ArrayList<>();
+    List<Map<String, Object>> expectedSnapshots = new ArrayList<>();
+
+    for (int i = 0; i < 10000; i++) {
+      String key = "key" + random.nextInt(500);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), map.remove(key.toUpperCase()));
+      } else {
+        assertEquals(expected.put(key, i), map.put(key, i));
+      }
+      if (i % 1000 == 0) {
+        snapshots.add(map.clone());
+        expectedSnapshots.add(new HashMap<>(expected));
+      }
+    }
+    snapshots.add(map);
+    expectedSnapshots.add(expected);
+
+    for (int i = 0; i < snapshots.size(); i++) {
+      assertEquals(expectedSnapshots.get(i), new HashMap<>(snapshots.get(i)));
+    }
+  }
+
+  @Test
+  public void concurrentUpdatesAreNotLost() throws Exception {
+    final int threads = 4;
+    final int keysPerThread = 1000;
+    PersistentCaseInsensitiveMap<String, Object> map = new PersistentCaseInsensitiveMap<>();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> writers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int thread = t;
+      Thread writer = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int i = 0; i < keysPerThread; i++) {
+          map.put("key" + thread + "-" + i, i);
+          map.put("removed" + thread + "-" + i, i);
+          map.remove("REMOVED" + thread + "-" + i);
+        }
+      });
+      writer.start();
+      writers.add(writer);
+    }
+    start.countDown();
+    for (Thread writer : writers) {
+      writer.join();
+    }
+
+    assertEquals(threads * keysPerThread, map.size());
+    for (int t = 0; t < threads; t++) {
+      for (int i = 0; i < keysPerThread; i++) {
+        assertEquals(i, map.get("KEY" + t + "-" + i));
+      }
+    }
+  }
+
+  @Test
+  public void removeKeySetItem() throws Exception {
+    PersistentCaseInsensitiveMap<String, Object> map = createTestMap();
+    Iterator<String> it = map.keySet().iterator();
+
+    String key = it.next();
+    it.remove();
+    assertFalse(map.keySet().contains(key));
+    assertEquals(1, map.size());
+
+    String key2 = it.next();
+    assertFalse(key.equals(key2));
+    it.remove();
+    assertFalse(it.hasNext());
+    assertTrue(map.keySet().isEmpty());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void emptyMapKeySetIterator() throws Exception {
+    Iterator<String> iterator = new PersistentCaseInsensitiveMap<String, String>().keySet().iterator();
+    assertFalse(iterator.hasNext());
+    iterator.next();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void keySetIteratorWithTwoRemovesInTheSameNext() throws Exception {
+    Iterator<String> iterator = createTestMap().keySet().iterator();
+    iterator.next();
+    iterator.remove();
+    iterator.remove();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void unmodifiableEntrySet() throws Exception {
+    createTestMap().entrySet().iterator().next().setValue("value");
+  }
+
+  private Map<String, Object> serializeAndDeserialize(Map<String, Object> map) {
+    byte[] bytes = SerializationUtils.serialize((Serializable) map);
+    return (Map) SerializationUtils.deserialize(bytes);
+  }
+
+  private void assertMapContents(Map<String, Object> map) {
+    assertEquals("BAR", map.get("FOO"));
+    assertEquals("BAR", map.get("foo"));
+    assertEquals("BAR", map.get("Foo"));
+
+    assertEquals(Integer.valueOf(3), map.get("DOO"));
+    assertEquals(Integer.valueOf(3), map.get("doo"));
+    assertEquals(Integer.valueOf(3), map.get("Doo"));
+  }
+
+  private PersistentCaseInsensitiveMap<String, Object> createTestMap() {
+    PersistentCaseInsensitiveMap<String, Object> map = new PersistentCaseInsensitiveMap<>();
+    map.put(KEY1, "BAR");
+    map.put(KEY2, Integer.valueOf(3));
+    return map;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.config.ThreadingProfile;
+import org.mule.runtime.core.config.MutableThreadingProfile;
+import org.mule.runtime.core.util.monitor.TimerWheel;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class TimerWheelTestCase extends AbstractMuleTestCase {
+
+  // Small wheel so the tests cover tasks lasting several turns of it
+  private final TimerWheel timerWheel = new TimerWheel(10, MILLISECONDS, 8);
+
+  @After
+  public void after() {
+    timerWheel.dispose();
+  }
+
+  @Test
+  public void runsTasksInDeadlineOrder() throws Exception {
+    List<Integer> ran = new CopyOnWriteArrayList<>();
+    timerWheel.schedule(() -> ran.add(3), 300, MILLISECONDS);
+    timerWheel.schedule(() -> ran.add(1), 20, MILLISECONDS);
+    timerWheel.schedule(() -> ran.add(2), 150, MILLISECONDS);
+
+    new PollingProber(1000, 20).check(new JUnitLambdaProbe(() -> {
+      assertThat(ran.size(), equalTo(3));
+      return true;
+    }));
+    assertThat(ran.get(0), equalTo(1));
+    assertThat(ran.get(1), equalTo(2));
+    assertThat(ran.get(2), equalTo(3));
+    assertThat(timerWheel.getExpiredCount(), equalTo(3L));
+    assertThat(timerWheel.getScheduledCount(), equalTo(0));
+  }
+
+  @Test
+  public void doesNotRunTaskBeforeDeadline() throws Exception {
+    AtomicLong ranAt = new AtomicLong();
+    long scheduledAt = System.currentTimeMillis();
+    timerWheel.schedule(() -> ranAt.set(System.currentTimeMillis()), 200, MILLISECONDS);
+
+    new PollingProber(1000, 20).check(new JUnitLambdaProbe(() -> {
+      assertThat(ranAt.get() > 0, is(true));
+      return true;
+    }));
+    assertThat(ranAt.get() - scheduledAt, greaterThanOrEqualTo(200L));
+  }
+
+  @Test
+  public void cancelledTaskDoesNotRun() throws Exception {
+    AtomicLong runs = new AtomicLong();
+    TimerWheel.Timeout timeout = timerWheel.schedule(runs::incrementAndGet, 100, MILLISECONDS);
+    timerWheel.schedule(runs::incrementAndGet, 200, MILLISECONDS);
+
+    assertThat(timeout.cancel(), is(true));
+    assertThat(timeout.isCancelled(), is(true));
+    assertThat(timerWheel.getScheduledCount(), equalTo(1));
+
+    new PollingProber(1000, 20).check(new JUnitLambdaProbe(() -> {
+      assertThat(runs.get(), equalTo(1L));
+      return true;
+    }));
+    assertThat(timeout.cancel(), is(false));
+  }
+
+  @Test
+  public void runsTasksInThreadingProfilePool() throws Exception {
+    MutableThreadingProfile threadingProfile = new MutableThreadingProfile(ThreadingProfile.DEFAULT_THREADING_PROFILE);
+    threadingProfile.setMaxThreadsActive(2);
+    threadingProfile.setMaxThreadsIdle(2);
+    threadingProfile.setMaxBufferSize(10);
+    timerWheel.setThreadingProfile(threadingProfile);
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AtomicInteger ran = new AtomicInteger();
+    for (int i = 0; i < 6; i++) {
+      timerWheel.schedule(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        ran.incrementAndGet();
+      }, 20, MILLISECONDS);
+    }
+
+    new PollingProber(2000, 20).check(new JUnitLambdaProbe(() -> {
+      assertThat(ran.get(), equalTo(6));
+      return true;
+    }));
+    assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.journal;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.core.util.journal.JournalDurability.OS_MANAGED;
+import static org.mule.runtime.core.util.journal.JournalDurability.SYNC;
+
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.util.journal.GroupCommitJournalWriter.PendingWrite;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class GroupCommitJournalWriterTestCase extends AbstractMuleTestCase {
+
+  private static final byte[] ENTRY = new byte[] {1, 2, 3};
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final TransactionJournalStatistics statistics = new TransactionJournalStatistics();
+
+  @Test
+  public void syncForcesBeforeCompleting() throws Exception {
+    GroupCommitJournalWriter writer = new GroupCommitJournalWriter(openChannel(), SYNC, statistics);
+    writer.append(ENTRY).await();
+    assertThat(statistics.getSyncs(), is(1L));
+    writer.append(ENTRY).await();
+    assertThat(statistics.getSyncs(), is(2L));
+    writer.close();
+  }
+
+  @Test
+  public void osManagedDoesNotForce() throws Exception {
+    GroupCommitJournalWriter writer = new GroupCommitJournalWriter(openChannel(), OS_MANAGED, statistics);
+    writer.append(ENTRY).await();
+    writer.close();
+    assertThat(statistics.getOperations(), is(1L));
+    assertThat(statistics.getSyncs(), is(0L));
+  }
+
+  @Test
+  public void writeFailureFailsBatchAndFollowingEntries() throws Exception {
+    FileChannel channel = openChannel();
+    GroupCommitJournalWriter writer = new GroupCommitJournalWriter(channel, SYNC, statistics);
+    writer.append(ENTRY).await();
+
+    // Writing to the closed channel fails with an IOException
+    channel.close();
+    PendingWrite first = writer.append(ENTRY);
+    PendingWrite second = writer.append(ENTRY);
+    assertFails(first);
+    assertFails(second);
+    assertFails(writer.append(ENTRY));
+
+    assertThat(statistics.getOperations(), is(1L));
+    assertThat(statistics.getSyncs(), is(1L));
+  }
+
+  private void assertFails(PendingWrite pendingWrite) {
+    try {
+      pendingWrite.await();
+      fail("Entry should not be acknowledged after a write failure");
+    } catch (MuleRuntimeException e) {
+      assertThat(e.getCause(), instanceOf(IOException.class));
+    }
+  }
+
+  private FileChannel openChannel() throws IOException {
+    return new FileOutputStream(temporaryFolder.newFile(), true).getChannel();
+  }
+}
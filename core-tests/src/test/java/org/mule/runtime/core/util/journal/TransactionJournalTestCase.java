@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.journal;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.util.journal.JournalDurability.SYNC;
+
+import org.mule.runtime.core.util.journal.queue.LocalQueueTxJournalEntry;
+import org.mule.runtime.core.util.journal.queue.LocalTxQueueTransactionJournal;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import com.google.common.collect.Multimap;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TransactionJournalTestCase extends AbstractMuleContextTestCase {
+
+  private static final String QUEUE_NAME = "queueName";
+  private static final byte ADD = 5;
+  private static final byte COMMIT = 1;
+  private static final int THREADS = 8;
+  private static final int TRANSACTIONS_PER_THREAD = 200;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void concurrentOperationsAreForcedBeforeCompleting() throws Exception {
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        final int thread = i;
+        results.add(executor.submit((Callable<Void>) () -> {
+          for (int j = 0; j < TRANSACTIONS_PER_THREAD; j++) {
+            int txId = thread * TRANSACTIONS_PER_THREAD + j;
+            journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, txId));
+            // only odd transactions get committed
+            if (txId % 2 == 1) {
+              journal.logCheckpointOperation(new LocalQueueTxJournalEntry(txId, COMMIT, QUEUE_NAME, null));
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // with SYNC durability every batch written is forced before the operations in it complete
+    TransactionJournalStatistics statistics = journal.getStatistics();
+    int transactions = THREADS * TRANSACTIONS_PER_THREAD;
+    assertThat(statistics.getOperations(), is((long) transactions + transactions / 2));
+    assertThat(statistics.getBatches(), greaterThan(0L));
+    assertThat(statistics.getBatches(), lessThanOrEqualTo(statistics.getOperations()));
+    assertThat(statistics.getSyncs(), is(statistics.getBatches()));
+
+    // the entries are written to the file without closing the journal
+    Multimap<Integer, LocalQueueTxJournalEntry> recoveredEntries = openJournal().getAllLogEntries();
+    assertThat(recoveredEntries.keySet().size(), is(THREADS * TRANSACTIONS_PER_THREAD / 2));
+    for (int txId = 0; txId < THREADS * TRANSACTIONS_PER_THREAD; txId += 2) {
+      assertThat(recoveredEntries.get(txId).size(), is(1));
+      assertThat(recoveredEntries.get(txId).iterator().next().getValue(), is((Serializable) txId));
+    }
+  }
+
+  @Test
+  public void statistics() throws Exception {
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal();
+    for (int txId = 0; txId < 10; txId++) {
+      journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, txId));
+      journal.logCheckpointOperation(new LocalQueueTxJournalEntry(txId, COMMIT, QUEUE_NAME, null));
+    }
+
+    TransactionJournalStatistics statistics = journal.getStatistics();
+    assertThat(statistics.getOperations(), is(20L));
+    assertThat(statistics.getBatches(), lessThanOrEqualTo(20L));
+    assertThat(statistics.getSyncs(), is(statistics.getBatches()));
+    assertThat(statistics.getBytesWritten(), greaterThan(0L));
+    assertThat(statistics.getMaxLatency(), greaterThan(0L));
+    journal.close();
+  }
+
+  private TransactionJournal<Integer, LocalQueueTxJournalEntry> openJournal() {
+    return new TransactionJournal<>(temporaryFolder.getRoot().getAbsolutePath(),
+                                    journalEntry -> ((LocalQueueTxJournalEntry) journalEntry).isCommit()
+                                        || ((LocalQueueTxJournalEntry) journalEntry).isRollback(),
+                                    LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext), null,
+                                    SYNC, 0);
+  }
+}
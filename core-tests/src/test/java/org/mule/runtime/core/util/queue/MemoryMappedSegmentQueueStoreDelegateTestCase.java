@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class MemoryMappedSegmentQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final int SEGMENT_SIZE = 256;
+  private static final String TEST_QUEUE_NAME = "test-queue";
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  private MuleContext mockMuleContext;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+  }
+
+  @Test
+  public void nameWithInvalidCharacters() {
+    String[] testNames = new String[] {"test-test", "test:/test", "test?test", "test:\\test", "test&test", "test|test",
+        "seda.queue(post:\\Customer:ApiTest-config.1)",
+        "this$is%a#really/big\\name@that?has<a>lot*of+invalid^characters!this$is%a#really/big\\name@that?has<a>lot*of+invalid^chars!"};
+
+    for (String testName : testNames) {
+      new MemoryMappedSegmentQueueStoreDelegate(testName, getWorkingDirectory(), mockMuleContext, 0).dispose();
+    }
+  }
+
+  @Test
+  public void recoversEntriesInOrder() throws Exception {
+    MemoryMappedSegmentQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 20; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+    for (int i = 0; i < 5; i++) {
+      queueStore.removeFirst();
+    }
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.size(), is(15));
+    for (int i = 5; i < 20; i++) {
+      assertThat((String) queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+    assertThat(queueStore.removeFirst(), nullValue());
+    queueStore.dispose();
+  }
+
+  @Test
+  public void recoversUntakenEntriesFirst() throws Exception {
+    MemoryMappedSegmentQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.add(createTestDataForIndex(0));
+    queueStore.add(createTestDataForIndex(1));
+    queueStore.addFirst(createTestDataForIndex(2));
+    queueStore.addFirst(createTestDataForIndex(3));
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat((String) queueStore.removeFirst(), is(createTestDataForIndex(3)));
+    assertThat((String) queueStore.removeFirst(), is(createTestDataForIndex(2)));
+    assertThat((String) queueStore.removeFirst(), is(createTestDataForIndex(0)));
+    assertThat((String) queueStore.removeFirst(), is(createTestDataForIndex(1)));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void consumedSegmentsAreDeleted() throws Exception {
+    MemoryMappedSegmentQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 50; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+    assertThat(countSegmentFiles() > 1, is(true));
+
+    for (int i = 0; i < 50; i++) {
+      assertThat((String) queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+    assertThat(countSegmentFiles(), is(1));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    MemoryMappedSegmentQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 10; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+    queueStore.remove(createTestDataForIndex(4));
+
+    assertThat(queueStore.contains(createTestDataForIndex(4)), is(false));
+    assertThat(queueStore.contains(createTestDataForIndex(5)), is(true));
+    assertThat(queueStore.size(), is(9));
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    for (int i = 0; i < 10; i++) {
+      if (i != 4) {
+        assertThat((String) queueStore.removeFirst(), is(createTestDataForIndex(i)));
+      }
+    }
+    queueStore.dispose();
+  }
+
+  @Test
+  public void entryBiggerThanSegmentSize() throws Exception {
+    MemoryMappedSegmentQueueStoreDelegate queueStore = createTestQueueStore();
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < SEGMENT_SIZE; i++) {
+      builder.append(i);
+    }
+    queueStore.add(builder.toString());
+    queueStore.add(createTestDataForIndex(0));
+
+    assertThat((String) queueStore.removeFirst(), is(builder.toString()));
+    assertThat((String) queueStore.removeFirst(), is(createTestDataForIndex(0)));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() {
+    MemoryMappedSegmentQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.add("item");
+    assertThat(getSegmentsDirectory().exists(), is(true));
+
+    queueStore.dispose();
+    assertThat(getSegmentsDirectory().exists(), is(false));
+  }
+
+  private int countSegmentFiles() {
+    return getSegmentsDirectory().listFiles().length;
+  }
+
+  private File getSegmentsDirectory() {
+    return MemoryMappedSegmentQueueStoreDelegate.getSegmentsDirectory(TEST_QUEUE_NAME, getWorkingDirectory());
+  }
+
+  private String getWorkingDirectory() {
+    return workingDirectory.getRoot().getAbsolutePath();
+  }
+
+  private String createTestDataForIndex(int index) {
+    return "some value " + index;
+  }
+
+  private MemoryMappedSegmentQueueStoreDelegate createTestQueueStore() {
+    return new MemoryMappedSegmentQueueStoreDelegate(TEST_QUEUE_NAME, getWorkingDirectory(), mockMuleContext, 0, SEGMENT_SIZE,
+                                                     false);
+  }
+}
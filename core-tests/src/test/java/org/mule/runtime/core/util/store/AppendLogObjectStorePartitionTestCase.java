@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.util.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.util.store.AppendLogObjectStorePartition.COMPACTION_THRESHOLD_PROPERTY_KEY;
+import static org.mule.runtime.core.util.store.AppendLogObjectStorePartition.DATA_LOG_FILE;
+import static org.mule.runtime.core.util.store.AppendLogObjectStorePartition.INDEX_FILE;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class AppendLogObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final int ENTRIES = 100;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty compactionThreshold = new SystemProperty(COMPACTION_THRESHOLD_PROPERTY_KEY, "1024");
+
+  @Mock
+  private MuleContext muleContext;
+
+  private AppendLogObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = new AppendLogObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot());
+    partition.open();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws ObjectStoreException {
+    partition.store("key", "value");
+    assertTrue(partition.contains("key"));
+    assertEquals("value", partition.retrieve("key"));
+
+    try {
+      partition.store("key", "otherValue");
+      fail("Supposed to thrown an exception as key already exists");
+    } catch (ObjectAlreadyExistsException e) {
+      // expected
+    }
+
+    assertEquals("value", partition.remove("key"));
+    assertFalse(partition.contains("key"));
+  }
+
+  @Test
+  public void reopenFromIndex() throws Exception {
+    storeEntries();
+    partition.remove("key0");
+    partition.close();
+    assertTrue(new File(objectStoreFolder.getRoot(), INDEX_FILE).exists());
+
+    AppendLogObjectStorePartition<String> reopened = reopen();
+    assertEquals("test", reopened.getPartitionName());
+    assertEquals(ENTRIES - 1, reopened.allKeys().size());
+    assertFalse(reopened.contains("key0"));
+    assertEquals("value1", reopened.retrieve("key1"));
+  }
+
+  @Test
+  public void recoverWithoutClosing() throws Exception {
+    storeEntries();
+    partition.close();
+    partition.store("notIndexed", "value");
+    partition.remove("key1");
+
+    AppendLogObjectStorePartition<String> reopened = reopen();
+    assertEquals(ENTRIES, reopened.allKeys().size());
+    assertEquals("value", reopened.retrieve("notIndexed"));
+    assertFalse(reopened.contains("key1"));
+  }
+
+  @Test
+  public void discardIncompleteRecord() throws Exception {
+    storeEntries();
+    partition.store("incomplete", "value");
+    try (RandomAccessFile log = new RandomAccessFile(new File(objectStoreFolder.getRoot(), DATA_LOG_FILE), "rw")) {
+      log.setLength(log.length() - 1);
+    }
+
+    AppendLogObjectStorePartition<String> reopened = reopen();
+    assertEquals(ENTRIES, reopened.allKeys().size());
+    assertFalse(reopened.contains("incomplete"));
+
+    reopened.store("incomplete", "value");
+    assertEquals("value", reopen().retrieve("incomplete"));
+  }
+
+  @Test
+  public void expireOldestEntries() throws Exception {
+    storeEntries();
+    partition.expire(0, ENTRIES / 2);
+
+    assertEquals(ENTRIES / 2, partition.allKeys().size());
+    assertFalse(partition.contains("key0"));
+    assertTrue(partition.contains("key" + (ENTRIES - 1)));
+  }
+
+  @Test
+  public void compactRemovedEntries() throws Exception {
+    storeEntries();
+    File log = new File(objectStoreFolder.getRoot(), DATA_LOG_FILE);
+    long logSize = log.length();
+    for (int i = 0; i < ENTRIES - 1; i++) {
+      partition.remove("key" + i);
+    }
+
+    assertTrue(log.length() < logSize);
+    String lastKey = "key" + (ENTRIES - 1);
+    assertEquals("value" + (ENTRIES - 1), partition.retrieve(lastKey));
+    assertEquals(1, reopen().allKeys().size());
+    assertEquals("value" + (ENTRIES - 1), reopen().retrieve(lastKey));
+  }
+
+  @Test
+  public void migrateEntryFiles() throws Exception {
+    File legacyFolder = objectStoreFolder.newFolder("legacy");
+    PersistentObjectStorePartition<String> legacyPartition = new PersistentObjectStorePartition<>(muleContext, "legacy", legacyFolder);
+    legacyPartition.open();
+    legacyPartition.store("key", "value");
+    assertFalse(AppendLogObjectStorePartition.isAppendLogPartition(legacyFolder));
+
+    AppendLogObjectStorePartition<String> migrated = new AppendLogObjectStorePartition<>(muleContext, legacyFolder);
+    migrated.open();
+    assertEquals("legacy", migrated.getPartitionName());
+    assertEquals("value", migrated.retrieve("key"));
+    assertTrue(AppendLogObjectStorePartition.isAppendLogPartition(legacyFolder));
+    assertEquals(0, migrated.listValuesFiles().length);
+  }
+
+  @Test
+  public void clear() throws Exception {
+    storeEntries();
+    partition.clear();
+    assertEquals(0, partition.allKeys().size());
+
+    partition.store("key", "value");
+    assertEquals(1, reopen().allKeys().size());
+  }
+
+  private void storeEntries() throws ObjectStoreException {
+    for (int i = 0; i < ENTRIES; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+  }
+
+  private AppendLogObjectStorePartition<String> reopen() throws ObjectStoreException {
+    AppendLogObjectStorePartition<String> reopened = new AppendLogObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    reopened.open();
+    return reopened;
+  }
+}
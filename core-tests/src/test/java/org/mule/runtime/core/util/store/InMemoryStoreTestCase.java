@@ -7,6 +7,7 @@
 package org.mule.runtime.core.util.store;
 
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.util.concurrent.CountDownLatch;
@@ -128,6 +129,29 @@ public class InMemoryStoreTestCase extends AbstractMuleTestCase {
     assertObjectsExpired("3", "4", "5", "6");
   }
 
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void testStoreExistingKey() throws Exception {
+    createUnboundedObjectStore();
+
+    storeObjects("1");
+    store.store("1", "other");
+  }
+
+  @Test
+  public void testMaxSizeAfterRemoveAndStoreSameKey() throws Exception {
+    createBoundedObjectStore(2);
+
+    storeObjects("1", "2");
+    store.remove("1");
+    storeObjects("1", "3");
+
+    // "2" is now the oldest entry and the re-stored "1" must survive the trimming
+    store.expire();
+    assertObjectsExpired("2");
+    assertObjectsInStore("1", "3");
+    assertEquals("1", store.retrieve("1"));
+  }
+
   private void storeObjects(String... objects) throws Exception {
     for (String entry : objects) {
       store.store(entry, entry);
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class TimePartitionedBloomFilterTestCase extends AbstractMuleTestCase {
+
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  @Test
+  public void containsAddedKeysWhileGrowing() {
+    TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(100, FALSE_POSITIVE_PROBABILITY);
+    for (int i = 0; i < 10000; i++) {
+      filter.add("added-" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 10000; i++) {
+      assertThat(filter.mightContain("added-" + i), is(true));
+      if (filter.mightContain("missing-" + i)) {
+        falsePositives++;
+      }
+    }
+    assertThat((double) falsePositives / 10000, lessThan(FALSE_POSITIVE_PROBABILITY * 2));
+  }
+
+  @Test
+  public void keepsFalsePositiveProbabilityAcrossPartitions() throws InterruptedException {
+    int partitions = 4;
+    TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(1000, FALSE_POSITIVE_PROBABILITY, 1500, partitions);
+    for (int partition = 0; partition < partitions; partition++) {
+      if (partition > 0) {
+        // Waits for the next partition to start
+        Thread.sleep(510);
+      }
+      for (int i = 0; i < 1000; i++) {
+        filter.add("added-" + partition + "-" + i);
+      }
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 20000; i++) {
+      if (filter.mightContain("missing-" + i)) {
+        falsePositives++;
+      }
+    }
+    assertThat((double) falsePositives / 20000, lessThan(FALSE_POSITIVE_PROBABILITY));
+  }
+
+  @Test
+  public void forgetsKeysAfterTimeToLive() throws InterruptedException {
+    TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(100, FALSE_POSITIVE_PROBABILITY, 100, 2);
+    filter.add("key");
+    assertThat(filter.mightContain("key"), is(true));
+
+    Thread.sleep(250);
+    assertThat(filter.mightContain("key"), is(false));
+  }
+
+  @Test
+  public void clear() {
+    TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(100, FALSE_POSITIVE_PROBABILITY);
+    filter.add("key");
+    filter.clear();
+    assertThat(filter.mightContain("key"), is(false));
+  }
+}
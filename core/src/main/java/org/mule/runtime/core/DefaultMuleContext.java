@@ -271,7 +271,7 @@ public class DefaultMuleContext implements MuleContext {
       }
 
       workManager.start();
-      getNotificationManager().start(workManager, workListener);
+      getNotificationManager().start();
       fireNotification(new MuleContextNotification(this, MuleContextNotification.CONTEXT_INITIALISING));
       getLifecycleManager().fireLifecycle(Initialisable.PHASE_NAME);
 
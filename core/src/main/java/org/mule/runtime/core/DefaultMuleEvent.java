@@ -39,7 +39,7 @@ import org.mule.runtime.core.processor.strategy.NonBlockingProcessingStrategy;
 import org.mule.runtime.core.security.MuleCredentials;
 import org.mule.runtime.core.session.DefaultMuleSession;
 import org.mule.runtime.core.transaction.TransactionCoordination;
-import org.mule.runtime.core.util.CopyOnWriteCaseInsensitiveMap;
+import org.mule.runtime.core.util.PersistentCaseInsensitiveMap;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
 import java.io.IOException;
@@ -99,7 +99,7 @@ public class DefaultMuleEvent implements MuleEvent, DeserializationPostInitialis
 
   private transient Map<String, Object> serializedData = null;
 
-  private CopyOnWriteCaseInsensitiveMap<String, TypedValue> flowVariables = new CopyOnWriteCaseInsensitiveMap<>();
+  private PersistentCaseInsensitiveMap<String, TypedValue> flowVariables = new PersistentCaseInsensitiveMap<>();
 
   private FlowCallStack flowCallStack = new DefaultFlowCallStack();
   private ProcessorsTrace processorsTrace = new DefaultProcessorsTrace();
@@ -343,7 +343,7 @@ public class DefaultMuleEvent implements MuleEvent, DeserializationPostInitialis
       if (shareFlowVars) {
         this.flowVariables = ((DefaultMuleEvent) rewriteEvent).flowVariables;
       } else {
-        this.flowVariables.putAll(((DefaultMuleEvent) rewriteEvent).flowVariables);
+        this.flowVariables = ((DefaultMuleEvent) rewriteEvent).flowVariables.clone();
       }
     } else {
       this.processingTime = ProcessingTime.newInstance(this);
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.context.notification;
+
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+
+/**
+ * A {@link ServerNotificationListener} that receives the asynchronous notifications in batches, as they are taken from the
+ * dispatch queue, instead of one at a time. Useful for listeners that only aggregate the notifications, such as counters.
+ * <p>
+ * Notifications that are delivered synchronously (see {@link BlockingServerEvent}) are received as a batch of one element.
+ */
+public interface BatchServerNotificationListener<T extends ServerNotification> extends ServerNotificationListener<T> {
+
+  /**
+   * @param notifications the notifications dispatched together, in the order they were taken from the queue
+   */
+  void onNotifications(List<T> notifications);
+
+  @Override
+  default void onNotification(T notification) {
+    onNotifications(singletonList(notification));
+  }
+}
@@ -0,0 +1,15 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.processor;
+
+/**
+ * Marker interface that tells that a Message Processor blocks the processing thread waiting for IO, so processing strategies
+ * that support it can run it on a separate thread pool than the processors that only use CPU.
+ */
+public interface BlockingMessageProcessor {
+
+}
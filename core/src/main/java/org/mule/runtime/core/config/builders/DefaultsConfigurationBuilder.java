@@ -28,6 +28,7 @@ import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_METADATA_MA
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONTEXT;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_STREAM_CLOSER_SERVICE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_PROCESSING_TIME_WATCHER;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_TIMER_WHEEL;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_QUEUE_MANAGER;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_SECURITY_MANAGER;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_DEFAULT_IN_MEMORY_NAME;
@@ -60,6 +61,7 @@ import org.mule.runtime.core.time.TimeSupplier;
 import org.mule.runtime.core.util.DefaultStreamCloserService;
 import org.mule.runtime.core.util.lock.MuleLockFactory;
 import org.mule.runtime.core.util.lock.SingleServerLockProvider;
+import org.mule.runtime.core.util.monitor.TimerWheel;
 import org.mule.runtime.core.util.queue.DelegateQueueManager;
 import org.mule.runtime.core.util.queue.QueueManager;
 import org.mule.runtime.core.util.store.DefaultObjectStoreFactoryBean;
@@ -119,6 +121,7 @@ public class DefaultsConfigurationBuilder extends AbstractConfigurationBuilder {
     registerObject(OBJECT_LOCK_FACTORY, new MuleLockFactory(), muleContext);
 
     registerObject(OBJECT_PROCESSING_TIME_WATCHER, new DefaultProcessingTimeWatcher(), muleContext);
+    registerObject(OBJECT_TIMER_WHEEL, new TimerWheel(), muleContext);
 
     configureThreadingProfiles(muleContext);
 
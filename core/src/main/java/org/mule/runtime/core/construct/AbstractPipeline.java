@@ -45,6 +45,7 @@ import org.mule.runtime.core.processor.AbstractRequestResponseMessageProcessor;
 import org.mule.runtime.core.processor.chain.DefaultMessageProcessorChainBuilder;
 import org.mule.runtime.core.processor.strategy.AsynchronousProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.NonBlockingProcessingStrategy;
+import org.mule.runtime.core.processor.strategy.ReactiveProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.SynchronousProcessingStrategy;
 import org.mule.runtime.core.source.ClusterizableMessageSourceWrapper;
 import org.mule.runtime.core.util.CollectionUtils;
@@ -255,7 +256,9 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
 
     boolean redeliveryHandlerConfigured = isRedeliveryPolicyConfigured();
 
-    boolean isCompatibleWithAsync = sourceCompatibleWithAsync.evaluate(messageSource);
+    // The reactive processing strategy processes the events that can't be processed asynchronously in the calling thread
+    boolean isCompatibleWithAsync =
+        processingStrategy instanceof ReactiveProcessingStrategy || sourceCompatibleWithAsync.evaluate(messageSource);
     if (userConfiguredAsyncProcessingStrategy
         && (!(messageSource == null || isCompatibleWithAsync) || redeliveryHandlerConfigured)) {
       throw new FlowConstructInvalidException(CoreMessages
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static java.lang.Thread.currentThread;
+import static org.mule.runtime.core.context.notification.NotificationOverflowPolicy.BLOCK;
+import static org.mule.runtime.core.context.notification.NotificationOverflowPolicy.COALESCE;
+
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.runtime.core.api.context.notification.ServerNotificationListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded queue of the asynchronous notifications for the listeners of one listener interface, along with the task that
+ * dispatches them.
+ * <p/>
+ * Each listener interface gets its own lane, so slow or very frequent notifications, such as
+ * {@link MessageProcessorNotification}s, don't delay the delivery of the other ones. The dispatch task is submitted to the
+ * executor of the {@link ServerNotificationManager} when notifications are queued and the lane is not being dispatched
+ * already. It takes all the notifications available in the queue, up to {@value #MAX_BATCH_SIZE}, and dispatches them
+ * together, until the queue is empty or it dispatched {@value #MAX_BATCHES_PER_RUN} batches, in which case it is submitted
+ * again so other lanes get their turn.
+ */
+class NotificationLane implements Runnable {
+
+  static final int MAX_BATCH_SIZE = 256;
+  static final int MAX_BATCHES_PER_RUN = 16;
+
+  private final Class<? extends ServerNotificationListener> listenerInterface;
+  private final ServerNotificationManager notificationManager;
+  private final NotificationOverflowPolicy overflowPolicy;
+  private final BlockingQueue<ServerNotification> queue;
+  private final ConcurrentMap<CoalescingKey, ServerNotification> coalesced = new ConcurrentHashMap<>();
+  private final NotificationLaneStatistics statistics;
+  private final AtomicBoolean scheduled = new AtomicBoolean(false);
+  private volatile Executor executor;
+  private volatile boolean disposed = false;
+  private volatile Thread runningThread;
+
+  NotificationLane(Class<? extends ServerNotificationListener> listenerInterface, ServerNotificationManager notificationManager,
+                   int capacity, NotificationOverflowPolicy overflowPolicy) {
+    this.listenerInterface = listenerInterface;
+    this.notificationManager = notificationManager;
+    this.overflowPolicy = overflowPolicy;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.statistics = new NotificationLaneStatistics(() -> queue.size() + coalesced.size());
+  }
+
+  /**
+   * Starts dispatching the notifications of this lane, including the ones queued before it was started.
+   *
+   * @param executor executor to run the dispatch task on
+   */
+  void start(Executor executor) {
+    this.executor = executor;
+    scheduleDispatch();
+  }
+
+  private void scheduleDispatch() {
+    Executor currentExecutor = executor;
+    if (currentExecutor != null && !disposed && scheduled.compareAndSet(false, true)) {
+      try {
+        currentExecutor.execute(this);
+      } catch (RejectedExecutionException e) {
+        // the executor is shut down along with the notification manager
+        scheduled.set(false);
+      }
+    }
+  }
+
+  /**
+   * Queues a notification to be dispatched, applying the overflow policy if the queue is full.
+   */
+  void enqueue(ServerNotification notification) {
+    if (queue.offer(notification)) {
+      statistics.enqueued();
+      scheduleDispatch();
+      return;
+    }
+
+    if (overflowPolicy == BLOCK && !notificationManager.isDispatchThread(currentThread())) {
+      try {
+        queue.put(notification);
+        statistics.enqueued();
+        scheduleDispatch();
+        return;
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+    } else if (overflowPolicy == COALESCE) {
+      if (coalesced.put(new CoalescingKey(notification), notification) != null) {
+        statistics.coalesced();
+      } else {
+        statistics.enqueued();
+      }
+      scheduleDispatch();
+      return;
+    }
+    statistics.dropped();
+  }
+
+  @Override
+  public void run() {
+    runningThread = currentThread();
+    try {
+      List<ServerNotification> batch = new ArrayList<>(MAX_BATCH_SIZE);
+      for (int i = 0; i < MAX_BATCHES_PER_RUN && !disposed; i++) {
+        queue.drainTo(batch, MAX_BATCH_SIZE);
+        if (!coalesced.isEmpty()) {
+          drainCoalesced(batch);
+        }
+        if (batch.isEmpty()) {
+          break;
+        }
+        dispatch(batch);
+        batch.clear();
+      }
+    } finally {
+      runningThread = null;
+      scheduled.set(false);
+    }
+
+    // notifications queued after the last drain, or left because of the batches limit, need another run
+    if (!queue.isEmpty() || !coalesced.isEmpty()) {
+      scheduleDispatch();
+    }
+  }
+
+  private void drainCoalesced(List<ServerNotification> batch) {
+    for (Iterator<CoalescingKey> keys = coalesced.keySet().iterator(); keys.hasNext();) {
+      ServerNotification notification = coalesced.remove(keys.next());
+      if (notification != null) {
+        batch.add(notification);
+      }
+    }
+  }
+
+  private void dispatch(List<ServerNotification> batch) {
+    notificationManager.notifyListeners(batch, listenerInterface);
+    long now = System.currentTimeMillis();
+    for (ServerNotification notification : batch) {
+      statistics.notificationDispatched(now - notification.getTimestamp());
+    }
+    statistics.batchDispatched();
+  }
+
+  boolean isRunningIn(Thread thread) {
+    return runningThread == thread;
+  }
+
+  NotificationLaneStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Stops dispatching the notifications of this lane.
+   */
+  void dispose() {
+    disposed = true;
+  }
+
+  /**
+   * Identifies the notifications that replace each other when coalesced.
+   */
+  private static final class CoalescingKey {
+
+    private final Class<? extends ServerNotification> type;
+    private final int action;
+    private final String resourceIdentifier;
+
+    private CoalescingKey(ServerNotification notification) {
+      this.type = notification.getClass();
+      this.action = notification.getAction();
+      this.resourceIdentifier = notification.getResourceIdentifier();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CoalescingKey)) {
+        return false;
+      }
+      CoalescingKey other = (CoalescingKey) obj;
+      return type == other.type && action == other.action && Objects.equals(resourceIdentifier, other.resourceIdentifier);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, action, resourceIdentifier);
+    }
+  }
+}
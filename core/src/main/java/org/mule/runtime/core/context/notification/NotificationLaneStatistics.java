@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Statistics about the asynchronous notifications dispatched to the listeners of one listener interface.
+ * <p/>
+ * The lag of a notification is the time elapsed since it was created until it is dispatched to the listeners.
+ */
+public class NotificationLaneStatistics implements Statistics {
+
+  private static final long serialVersionUID = 6084203470561727319L;
+
+  private final transient IntSupplier pending;
+  private final LongAdder enqueued = new LongAdder();
+  private final LongAdder dispatched = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder totalLag = new LongAdder();
+  private final LongAccumulator maxLag = new LongAccumulator(Long::max, 0);
+
+  NotificationLaneStatistics(IntSupplier pending) {
+    this.pending = pending;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  void enqueued() {
+    enqueued.increment();
+  }
+
+  void dropped() {
+    dropped.increment();
+  }
+
+  void coalesced() {
+    coalesced.increment();
+  }
+
+  void batchDispatched() {
+    batches.increment();
+  }
+
+  void notificationDispatched(long lagMillis) {
+    dispatched.increment();
+    totalLag.add(lagMillis);
+    maxLag.accumulate(lagMillis);
+  }
+
+  /**
+   * @return the number of notifications accepted in the queue
+   */
+  public long getEnqueued() {
+    return enqueued.sum();
+  }
+
+  /**
+   * @return the number of notifications dispatched to the listeners
+   */
+  public long getDispatched() {
+    return dispatched.sum();
+  }
+
+  /**
+   * @return the number of notifications discarded because the queue was full
+   */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * @return the number of notifications replaced by a more recent one because the queue was full
+   */
+  public long getCoalesced() {
+    return coalesced.sum();
+  }
+
+  /**
+   * @return the number of notifications waiting to be dispatched
+   */
+  public int getPending() {
+    return pending.getAsInt();
+  }
+
+  /**
+   * @return the average number of notifications dispatched together
+   */
+  public double getAverageBatchSize() {
+    long batchCount = batches.sum();
+    return batchCount == 0 ? 0 : (double) dispatched.sum() / batchCount;
+  }
+
+  /**
+   * @return the average lag of the dispatched notifications, in milliseconds
+   */
+  public double getAverageLag() {
+    long dispatchedCount = dispatched.sum();
+    return dispatchedCount == 0 ? 0 : (double) totalLag.sum() / dispatchedCount;
+  }
+
+  /**
+   * @return the maximum lag of a dispatched notification, in milliseconds
+   */
+  public long getMaxLag() {
+    return maxLag.get();
+  }
+
+  @Override
+  public String toString() {
+    return "NotificationLaneStatistics{enqueued=" + getEnqueued() + ", dispatched=" + getDispatched() + ", dropped="
+        + getDropped() + ", coalesced=" + getCoalesced() + ", pending=" + getPending() + ", maxLag=" + getMaxLag() + "}";
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+/**
+ * What a {@link ServerNotificationManager} does with an asynchronous notification when the dispatch queue of a listener
+ * interface is full.
+ */
+public enum NotificationOverflowPolicy {
+
+  /**
+   * The thread firing the notification waits until there is room in the queue. Notifications fired from a dispatch thread are
+   * dropped instead, since waiting could deadlock the dispatch.
+   */
+  BLOCK,
+
+  /**
+   * The notification is discarded.
+   */
+  DROP,
+
+  /**
+   * The notification replaces any other pending notification with the same type, action and resource identifier that also
+   * overflowed, so only the most recent one is delivered. Coalesced notifications may be delivered after notifications that
+   * were fired later.
+   */
+  COALESCE;
+
+  public static final String DEFAULT_OVERFLOW_POLICY_PROPERTY_KEY = "mule.notifications.overflowPolicy";
+
+  /**
+   * @return the policy to use when none is configured, {@link #BLOCK} unless overridden through the
+   *         {@value #DEFAULT_OVERFLOW_POLICY_PROPERTY_KEY} system property
+   */
+  public static NotificationOverflowPolicy getDefault() {
+    return valueOf(System.getProperty(DEFAULT_OVERFLOW_POLICY_PROPERTY_KEY, BLOCK.name()));
+  }
+}
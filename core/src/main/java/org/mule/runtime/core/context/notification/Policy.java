@@ -13,6 +13,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -33,6 +35,10 @@ class Policy {
   private ConcurrentMap knownEventsExact = new ConcurrentHashMap();
   private ConcurrentMap knownEventsSuper = new ConcurrentHashMap();
 
+  // cache of the senders for each notification class, grouped by the listener interface they were registered for
+  private ConcurrentMap<Class<? extends ServerNotification>, SendersByInterface> sendersByInterface =
+      new ConcurrentHashMap<Class<? extends ServerNotification>, SendersByInterface>();
+
   /**
    * For each listener, we check each interface and see what events can be delivered.
    */
@@ -54,7 +60,7 @@ class Policy {
                   // use a collection with predictable iteration order
                   eventToSenders.put(event, new ArrayList<Sender>());
                 }
-                eventToSenders.get(event).add(new Sender(pair));
+                eventToSenders.get(event).add(new Sender(pair, iface));
               }
             }
           }
@@ -113,6 +119,54 @@ class Policy {
     return found;
   }
 
+  /**
+   * @param notfnClass the class of a notification
+   * @return the listener interfaces with senders for notifications of the given class
+   */
+  Set<Class<? extends ServerNotificationListener>> getListenerInterfaces(Class<? extends ServerNotification> notfnClass) {
+    return getSendersByInterface(notfnClass).keySet();
+  }
+
+  /**
+   * Dispatches the notifications to the senders registered for the given listener interface. Listeners that are
+   * {@link org.mule.runtime.core.api.context.notification.BatchServerNotificationListener}s get all the notifications they
+   * accept in a single invocation, after the others got theirs.
+   */
+  void dispatch(List<ServerNotification> notifications, Class<? extends ServerNotificationListener> listenerInterface) {
+    Map<Sender, List<ServerNotification>> batches = new LinkedHashMap<Sender, List<ServerNotification>>();
+    for (ServerNotification notification : notifications) {
+      List<Sender> senders = getSendersByInterface(notification.getClass()).get(listenerInterface);
+      if (senders != null) {
+        for (Sender sender : senders) {
+          if (sender.isBatch()) {
+            batches.computeIfAbsent(sender, s -> new ArrayList<ServerNotification>()).add(notification);
+          } else {
+            sender.dispatch(notification);
+          }
+        }
+      }
+    }
+    for (Map.Entry<Sender, List<ServerNotification>> batch : batches.entrySet()) {
+      batch.getKey().dispatch(batch.getValue());
+    }
+  }
+
+  private SendersByInterface getSendersByInterface(Class<? extends ServerNotification> notfnClass) {
+    SendersByInterface senders = sendersByInterface.get(notfnClass);
+    if (senders == null) {
+      senders = new SendersByInterface();
+      for (Map.Entry<Class<? extends ServerNotification>, Collection<Sender>> entry : eventToSenders.entrySet()) {
+        if (entry.getKey().isAssignableFrom(notfnClass)) {
+          for (Sender sender : entry.getValue()) {
+            senders.computeIfAbsent(sender.getListenerInterface(), iface -> new ArrayList<Sender>()).add(sender);
+          }
+        }
+      }
+      sendersByInterface.putIfAbsent(notfnClass, senders);
+    }
+    return senders;
+  }
+
   /**
    * This returns a very "conservative" value - it is true if the notification or any subclass would be accepted. So if it returns
    * false then you can be sure that there is no need to send the notification. On the other hand, if it returns true there is no
@@ -144,4 +198,10 @@ class Policy {
         || ((Boolean) knownEventsExact.get(notfnClass)).booleanValue();
   }
 
+  /**
+   * Senders of a notification class, grouped by the listener interface they were registered for.
+   */
+  private static final class SendersByInterface extends HashMap<Class<? extends ServerNotificationListener>, List<Sender>> {
+
+  }
 }
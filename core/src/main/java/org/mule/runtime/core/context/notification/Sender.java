@@ -6,9 +6,14 @@
  */
 package org.mule.runtime.core.context.notification;
 
+import org.mule.runtime.core.api.context.notification.BatchServerNotificationListener;
 import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.runtime.core.api.context.notification.ServerNotificationListener;
 import org.mule.runtime.core.routing.filters.WildcardFilter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This does the work necessary to deliver events to a particular listener. It is generated for a particular {@link Configuration}
  * and stored in a {@link org.mule.runtime.core.context.notification.Policy}.
@@ -16,17 +21,18 @@ import org.mule.runtime.core.routing.filters.WildcardFilter;
 class Sender {
 
   private ListenerSubscriptionPair pair;
+  private Class<? extends ServerNotificationListener> listenerInterface;
   private WildcardFilter subscriptionFilter;
 
-  Sender(ListenerSubscriptionPair pair) {
+  Sender(ListenerSubscriptionPair pair, Class<? extends ServerNotificationListener> listenerInterface) {
     this.pair = pair;
+    this.listenerInterface = listenerInterface;
     subscriptionFilter = new WildcardFilter(pair.getSubscription());
     subscriptionFilter.setCaseSensitive(false);
   }
 
   public void dispatch(ServerNotification notification) {
-    if (pair.isNullSubscription()
-        || (null != notification.getResourceIdentifier() && subscriptionFilter.accept(notification.getResourceIdentifier()))) {
+    if (accept(notification)) {
       try {
         pair.getListener().onNotification(notification);
       } catch (Exception e) {
@@ -35,5 +41,37 @@ class Sender {
     }
   }
 
+  /**
+   * Delivers the accepted notifications to a {@link BatchServerNotificationListener} in a single invocation.
+   */
+  public void dispatch(List<ServerNotification> notifications) {
+    List<ServerNotification> accepted = new ArrayList<>(notifications.size());
+    for (ServerNotification notification : notifications) {
+      if (accept(notification)) {
+        accepted.add(notification);
+      }
+    }
+    if (!accepted.isEmpty()) {
+      try {
+        ((BatchServerNotificationListener) pair.getListener()).onNotifications(accepted);
+      } catch (Exception e) {
+        // Exceptions from listeners do not affect the notification processing
+      }
+    }
+  }
+
+  private boolean accept(ServerNotification notification) {
+    return pair.isNullSubscription()
+        || (null != notification.getResourceIdentifier() && subscriptionFilter.accept(notification.getResourceIdentifier()));
+  }
+
+  boolean isBatch() {
+    return pair.getListener() instanceof BatchServerNotificationListener;
+  }
+
+  Class<? extends ServerNotificationListener> getListenerInterface() {
+    return listenerInterface;
+  }
+
 }
 
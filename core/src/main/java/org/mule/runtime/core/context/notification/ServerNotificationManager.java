@@ -6,32 +6,30 @@
  */
 package org.mule.runtime.core.context.notification;
 
-import static java.lang.Thread.currentThread;
-
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
-import org.mule.runtime.core.api.context.WorkManager;
 import org.mule.runtime.core.api.context.notification.BlockingServerEvent;
 import org.mule.runtime.core.api.context.notification.ServerNotification;
 import org.mule.runtime.core.api.context.notification.ServerNotificationHandler;
 import org.mule.runtime.core.api.context.notification.ServerNotificationListener;
 import org.mule.runtime.core.api.lifecycle.Disposable;
-import org.mule.runtime.core.api.lifecycle.LifecycleException;
 import org.mule.runtime.core.util.ClassUtils;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import javax.resource.spi.work.Work;
-import javax.resource.spi.work.WorkException;
-import javax.resource.spi.work.WorkListener;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,16 +58,33 @@ import org.slf4j.LoggerFactory;
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
  * <li>Enquiring whether an event is enabled returns true if any subclass is enabled.</li>
  * </ul>
+ *
+ * <p>
+ * Asynchronous notifications are dispatched through a {@link NotificationLane} per listener interface, each one with a bounded
+ * queue of {@link #setLaneCapacity(int) lane capacity} notifications. The lanes are dispatched by a pool of up to
+ * {@link #setDispatchThreads(int) dispatch threads} owned by this manager, created by {@link #start()} and shut down by
+ * {@link #dispose()}. What happens when a lane is full is decided by the {@link NotificationOverflowPolicy}.
+ * </p>
  */
-public class ServerNotificationManager implements Work, Disposable, ServerNotificationHandler, MuleContextAware {
+public class ServerNotificationManager implements Disposable, ServerNotificationHandler, MuleContextAware {
 
   public static final String NULL_SUBSCRIPTION = "NULL";
+  public static final String LANE_CAPACITY_PROPERTY_KEY = "mule.notifications.laneCapacity";
+  public static final String DISPATCH_THREADS_PROPERTY_KEY = "mule.notifications.dispatchThreads";
+  private static final int DEFAULT_LANE_CAPACITY = 16 * 1024;
+  private static final int DEFAULT_DISPATCH_THREADS = 4;
+  private static final long DISPATCH_THREAD_TTL_SECONDS = 60;
+
   protected Logger logger = LoggerFactory.getLogger(getClass());
   private boolean dynamic = false;
   private Configuration configuration = new Configuration();
   private AtomicBoolean disposed = new AtomicBoolean(false);
-  private volatile Thread runningThread;
-  private BlockingDeque<ServerNotification> eventQueue = new LinkedBlockingDeque<ServerNotification>();
+  private ConcurrentMap<Class<? extends ServerNotificationListener>, NotificationLane> lanes =
+      new ConcurrentHashMap<Class<? extends ServerNotificationListener>, NotificationLane>();
+  private int laneCapacity = Integer.getInteger(LANE_CAPACITY_PROPERTY_KEY, DEFAULT_LANE_CAPACITY);
+  private NotificationOverflowPolicy overflowPolicy = NotificationOverflowPolicy.getDefault();
+  private int dispatchThreads = Integer.getInteger(DISPATCH_THREADS_PROPERTY_KEY, DEFAULT_DISPATCH_THREADS);
+  private volatile ThreadPoolExecutor dispatchExecutor;
   private MuleContext muleContext;
 
   @Override
@@ -86,11 +101,45 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
     this.dynamic = dynamic;
   }
 
-  public void start(WorkManager workManager, WorkListener workListener) throws LifecycleException {
-    try {
-      workManager.scheduleWork(this, WorkManager.INDEFINITE, null, workListener);
-    } catch (WorkException e) {
-      throw new LifecycleException(e, this);
+  /**
+   * @param laneCapacity the maximum number of asynchronous notifications queued for each listener interface
+   */
+  public void setLaneCapacity(int laneCapacity) {
+    this.laneCapacity = laneCapacity;
+  }
+
+  /**
+   * @param overflowPolicy what to do with the asynchronous notifications fired when the queue of a listener interface is full
+   */
+  public void setOverflowPolicy(NotificationOverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  /**
+   * @param dispatchThreads the maximum number of threads dispatching asynchronous notifications
+   */
+  public void setDispatchThreads(int dispatchThreads) {
+    this.dispatchThreads = dispatchThreads;
+  }
+
+  /**
+   * Starts dispatching the asynchronous notifications, including the ones fired before starting.
+   */
+  public synchronized void start() {
+    if (dispatchExecutor != null || disposed.get()) {
+      return;
+    }
+
+    String name = (muleContext == null ? "" : ThreadNameHelper.getPrefix(muleContext)) + "notifications";
+    ClassLoader classLoader = muleContext == null ? null : muleContext.getExecutionClassLoader();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, DISPATCH_THREAD_TTL_SECONDS,
+                                                         TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                                                         new DaemonThreadFactory(name, classLoader));
+    // each lane submits at most one task at a time, so the queue is bounded by the number of lanes
+    executor.allowCoreThreadTimeOut(true);
+    dispatchExecutor = executor;
+    for (NotificationLane lane : lanes.values()) {
+      lane.start(executor);
     }
   }
 
@@ -152,12 +201,9 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
       if (notification instanceof BlockingServerEvent) {
         notifyListeners(notification);
       } else {
-        try {
-          eventQueue.put(notification);
-        } catch (InterruptedException e) {
-          if (!disposed.get()) {
-            logger.error("Failed to queue notification: " + notification, e);
-          }
+        for (Class<? extends ServerNotificationListener> listenerInterface : configuration.getPolicy()
+            .getListenerInterfaces(notification.getClass())) {
+          getLane(listenerInterface).enqueue(notification);
         }
       }
     } else {
@@ -177,12 +223,34 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
     return enabled;
   }
 
+  private NotificationLane getLane(Class<? extends ServerNotificationListener> listenerInterface) {
+    NotificationLane lane = lanes.get(listenerInterface);
+    if (lane == null) {
+      NotificationLane newLane = new NotificationLane(listenerInterface, this, laneCapacity, overflowPolicy);
+      lane = lanes.putIfAbsent(listenerInterface, newLane);
+      if (lane == null) {
+        lane = newLane;
+        // lanes created before start are started by start
+        ThreadPoolExecutor executor = dispatchExecutor;
+        if (executor != null) {
+          lane.start(executor);
+        }
+      }
+    }
+    return lane;
+  }
+
   @Override
   public void dispose() {
     disposed.set(true);
     configuration = null;
-    if (runningThread != null) {
-      runningThread.interrupt();
+    for (NotificationLane lane : lanes.values()) {
+      lane.dispose();
+    }
+    synchronized (this) {
+      if (dispatchExecutor != null) {
+        dispatchExecutor.shutdownNow();
+      }
     }
   }
 
@@ -194,25 +262,33 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
     }
   }
 
-  @Override
-  public void release() {
-    dispose();
+  void notifyListeners(List<ServerNotification> notifications, Class<? extends ServerNotificationListener> listenerInterface) {
+    if (!disposed.get()) {
+      configuration.getPolicy().dispatch(notifications, listenerInterface);
+    } else {
+      logger.warn("Notifications not delivered after ServerNotificationManager disposal: " + notifications);
+    }
   }
 
-  @Override
-  public void run() {
-    runningThread = currentThread();
-    while (!disposed.get()) {
-      try {
-        int timeout = muleContext.getConfiguration().getDefaultQueueTimeout();
-        ServerNotification notification = eventQueue.poll(timeout, TimeUnit.MILLISECONDS);
-        if (notification != null) {
-          notifyListeners(notification);
-        }
-      } catch (InterruptedException e) {
-        currentThread().interrupt();
+  boolean isDispatchThread(Thread thread) {
+    for (NotificationLane lane : lanes.values()) {
+      if (lane.isRunningIn(thread)) {
+        return true;
       }
     }
+    return false;
+  }
+
+  /**
+   * @return the statistics of the asynchronous dispatch of notifications, for each listener interface that got notifications
+   */
+  public Map<Class<? extends ServerNotificationListener>, NotificationLaneStatistics> getLaneStatistics() {
+    Map<Class<? extends ServerNotificationListener>, NotificationLaneStatistics> statistics =
+        new HashMap<Class<? extends ServerNotificationListener>, NotificationLaneStatistics>();
+    for (Map.Entry<Class<? extends ServerNotificationListener>, NotificationLane> lane : lanes.entrySet()) {
+      statistics.put(lane.getKey(), lane.getValue().getStatistics());
+    }
+    return Collections.unmodifiableMap(statistics);
   }
 
   /**
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.el.mvel;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import com.google.common.cache.CacheStats;
+
+/**
+ * Snapshot of the statistics of the cache of compiled expressions of a {@link MVELExpressionExecutor}.
+ *
+ * @since 4.0
+ */
+public final class CompiledExpressionCacheStatistics implements Statistics {
+
+  private static final long serialVersionUID = -3290521187622390157L;
+
+  private final long hits;
+  private final long misses;
+  private final long compilations;
+  private final long compilationFailures;
+  private final long totalCompilationTime;
+  private final long evictions;
+  private final long size;
+
+  CompiledExpressionCacheStatistics(CacheStats stats, long size) {
+    this.hits = stats.hitCount();
+    this.misses = stats.missCount();
+    this.compilations = stats.loadCount();
+    this.compilationFailures = stats.loadExceptionCount();
+    this.totalCompilationTime = stats.totalLoadTime();
+    this.evictions = stats.evictionCount();
+    this.size = size;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * @return the number of lookups that found an already compiled expression
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return the number of lookups that had to compile the expression, or wait for another thread compiling it
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return the ratio of lookups that found an already compiled expression, or {@code 1.0} if there were no lookups
+   */
+  public double getHitRate() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 1.0 : (double) hits / lookups;
+  }
+
+  /**
+   * @return the number of expressions compiled, including the ones that failed to compile
+   */
+  public long getCompilations() {
+    return compilations;
+  }
+
+  /**
+   * @return the number of expressions that failed to compile
+   */
+  public long getCompilationFailures() {
+    return compilationFailures;
+  }
+
+  /**
+   * @return the total time spent compiling expressions, in milliseconds
+   */
+  public long getTotalCompilationTime() {
+    return NANOSECONDS.toMillis(totalCompilationTime);
+  }
+
+  /**
+   * @return the average time spent compiling an expression, in microseconds
+   */
+  public long getAverageCompilationTime() {
+    return compilations == 0 ? 0 : NANOSECONDS.toMicros(totalCompilationTime / compilations);
+  }
+
+  /**
+   * @return the number of compiled expressions discarded because the cache was full
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * @return the number of compiled expressions in the cache
+   */
+  public long getSize() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("hits: %d, misses: %d, compilations: %d (%d failed, %d ms), evictions: %d, size: %d", hits, misses,
+                         compilations, compilationFailures, getTotalCompilationTime(), evictions, size);
+  }
+}
@@ -18,12 +18,19 @@ import org.mule.mvel2.optimizers.OptimizerFactory;
 import org.mule.mvel2.optimizers.dynamic.DynamicOptimizer;
 import org.mule.mvel2.optimizers.impl.refl.ReflectiveAccessorOptimizer;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +39,9 @@ import org.slf4j.LoggerFactory;
  * This MVEL executor uses MVEL {@link ReflectiveAccessorOptimizer} implementation rather than the default
  * {@link DynamicOptimizer} (which generates byte-code accessors using ASM) because we found that, at least with JDK7, the
  * {@link ReflectiveAccessorOptimizer} was fastest in typical Mule use cases.
+ * <p/>
+ * When the {@value #SHARE_MEL_EXPRESSION_CACHE} system property is set, executors whose parser configurations have the same
+ * imports and class loader, like the ones of the applications of a domain, share the compiled expressions.
  */
 public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpressionLanguageContext> {
 
@@ -39,8 +49,14 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
   protected static final String DISABLE_MEL_EXPRESSION_CACHE =
       MuleProperties.SYSTEM_PROPERTY_PREFIX + "disableMelExpressionCache";
 
+  protected static final String SHARE_MEL_EXPRESSION_CACHE = MuleProperties.SYSTEM_PROPERTY_PREFIX + "shareMelExpressionCache";
+
   protected static final int COMPILED_EXPRESSION_MAX_CACHE_SIZE = 1000;
 
+  // Values are weak so the caches, along with the classes referenced by their keys, go away with the last executor using them
+  private static final Cache<CompilationKey, LoadingCache<String, Serializable>> sharedCompiledExpressionsCaches =
+      CacheBuilder.newBuilder().weakValues().build();
+
   protected ParserConfiguration parserConfiguration;
 
   protected LoadingCache<String, Serializable> compiledExpressionsCache;
@@ -51,14 +67,27 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
     MVEL.COMPILER_OPT_PROPERTY_ACCESS_DOESNT_FAIL = true;
     OptimizerFactory.setDefaultOptimizer(OptimizerFactory.SAFE_REFLECTIVE);
 
-    compiledExpressionsCache =
-        CacheBuilder.newBuilder().maximumSize(getCompiledExpressionMaxCacheSize()).build(new CacheLoader<String, Serializable>() {
+    final int maxCacheSize = getCompiledExpressionMaxCacheSize();
+    if (maxCacheSize > 0 && System.getProperty(SHARE_MEL_EXPRESSION_CACHE) != null) {
+      try {
+        compiledExpressionsCache = sharedCompiledExpressionsCaches.get(new CompilationKey(parserConfiguration),
+                                                                        () -> createCompiledExpressionsCache(maxCacheSize));
+      } catch (ExecutionException e) {
+        throw new MuleRuntimeException(e);
+      }
+    } else {
+      compiledExpressionsCache = createCompiledExpressionsCache(maxCacheSize);
+    }
+  }
 
-          @Override
-          public Serializable load(String key) throws Exception {
-            return MVEL.compileExpression(key, new ParserContext(parserConfiguration));
-          }
-        });
+  private LoadingCache<String, Serializable> createCompiledExpressionsCache(int maxCacheSize) {
+    return CacheBuilder.newBuilder().maximumSize(maxCacheSize).recordStats().build(new CacheLoader<String, Serializable>() {
+
+      @Override
+      public Serializable load(String key) throws Exception {
+        return MVEL.compileExpression(key, new ParserContext(parserConfiguration));
+      }
+    });
   }
 
   private int getCompiledExpressionMaxCacheSize() {
@@ -102,4 +131,46 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
       }
     }
   }
+
+  /**
+   * @return a snapshot of the statistics of the compiled expressions cache used by this executor, which include the ones of
+   *         the executors sharing it.
+   */
+  public CompiledExpressionCacheStatistics getCacheStatistics() {
+    return new CompiledExpressionCacheStatistics(compiledExpressionsCache.stats(), compiledExpressionsCache.size());
+  }
+
+  /**
+   * Identifies the parser configurations that compile any expression in the same way.
+   */
+  private static final class CompilationKey {
+
+    private final Map<String, Object> imports;
+    private final Set<String> packageImports;
+    private final ClassLoader classLoader;
+
+    private CompilationKey(ParserConfiguration parserConfiguration) {
+      this.imports = new HashMap<>(parserConfiguration.getImports());
+      this.packageImports = parserConfiguration.getPackageImports() == null ? new HashSet<>()
+          : new HashSet<>(parserConfiguration.getPackageImports());
+      this.classLoader = parserConfiguration.getClassLoader();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CompilationKey)) {
+        return false;
+      }
+      CompilationKey other = (CompilationKey) obj;
+      return classLoader == other.classLoader && imports.equals(other.imports) && packageImports.equals(other.packageImports);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(imports, packageImports, System.identityHashCode(classLoader));
+    }
+  }
 }
@@ -6,8 +6,13 @@
  */
 package org.mule.runtime.core.el.mvel;
 
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.mule.runtime.core.expression.DefaultExpressionManager.OBJECT_FOR_ENRICHMENT;
 import static org.mule.runtime.core.expression.DefaultExpressionManager.removeExpressionMarker;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 
 import org.mule.mvel2.CompileException;
 import org.mule.mvel2.ParserConfiguration;
@@ -31,25 +36,36 @@ import org.mule.runtime.core.el.mvel.datatype.MvelDataTypeResolver;
 import org.mule.runtime.core.el.mvel.datatype.MvelEnricherDataTypePropagator;
 import org.mule.runtime.core.metadata.TypedValue;
 import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 
 import javax.activation.DataHandler;
 import javax.activation.MimeType;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Expression language that uses MVEL (http://mvel.codehaus.org/).
  */
 public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable {
 
+  private static final Logger logger = LoggerFactory.getLogger(MVELExpressionLanguage.class);
+
   protected ParserConfiguration parserConfiguration;
   protected MuleContext muleContext;
   protected MVELExpressionExecutor expressionExecutor;
@@ -66,6 +82,7 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
   protected boolean autoResolveVariables = true;
   protected MvelDataTypeResolver dataTypeResolver = new MvelDataTypeResolver();
   protected MvelEnricherDataTypePropagator dataTypePropagator = new MvelEnricherDataTypePropagator();
+  protected Collection<String> staticExpressions = emptySet();
 
   public MVELExpressionLanguage(MuleContext muleContext) {
     this.muleContext = muleContext;
@@ -78,6 +95,50 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
 
     loadGlobalFunctions();
     createStaticContext();
+    precompileStaticExpressions();
+  }
+
+  /**
+   * Compiles the expressions known at configuration time in parallel, so the first events processed don't pay for it. Invalid
+   * expressions are ignored here, the components using them will fail when validating them.
+   */
+  protected void precompileStaticExpressions() throws InitialisationException {
+    if (staticExpressions.isEmpty()) {
+      return;
+    }
+
+    long startTime = System.currentTimeMillis();
+    List<Callable<Object>> compilations = new ArrayList<>(staticExpressions.size());
+    for (String expression : staticExpressions) {
+      compilations.add(() -> {
+        try {
+          return expressionExecutor.getCompiledExpression(expression);
+        } catch (RuntimeException e) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("Unable to precompile expression '" + expression + "'", e);
+          }
+          return null;
+        }
+      });
+    }
+
+    ExecutorService executorService =
+        newFixedThreadPool(min(getRuntime().availableProcessors(), compilations.size()),
+                           new NamedThreadFactory(getPrefix(muleContext) + "mel.precompiler",
+                                                  Thread.currentThread().getContextClassLoader()));
+    try {
+      executorService.invokeAll(compilations);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InitialisationException(e, this);
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(String.format("Precompiled %d expressions in %d ms: %s", compilations.size(),
+                                 System.currentTimeMillis() - startTime, getCompiledExpressionCacheStatistics()));
+    }
   }
 
   protected void createStaticContext() {
@@ -298,6 +359,21 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
     return parserConfiguration;
   }
 
+  /**
+   * @param staticExpressions the expressions, without the expression marker, found in the configuration of the artifact, to be
+   *        compiled on initialisation
+   */
+  public void setStaticExpressions(Collection<String> staticExpressions) {
+    this.staticExpressions = staticExpressions;
+  }
+
+  /**
+   * @return a snapshot of the statistics of the cache of compiled expressions
+   */
+  public CompiledExpressionCacheStatistics getCompiledExpressionCacheStatistics() {
+    return expressionExecutor.getCacheStatistics();
+  }
+
 
 
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+/**
+ * Live statistics of the connections a component keeps to a single remote host.
+ *
+ * @since 4.0
+ */
+public interface ConnectionPoolStatistics {
+
+  /**
+   * @return the remote host, as {@code host:port}
+   */
+  String getHost();
+
+  /**
+   * @return the current maximum number of connections to the host, or {@code -1} if unlimited. It may change over time if the
+   *         limit is adaptive.
+   */
+  int getMaxConnections();
+
+  /**
+   * @return the number of connections in use by a request
+   */
+  int getActiveConnections();
+
+  /**
+   * @return the number of open connections not in use by any request
+   */
+  int getIdleConnections();
+
+  /**
+   * @return the number of requests waiting for a connection
+   */
+  int getWaitingRequests();
+
+  /**
+   * @return the number of times a connection was given to a request
+   */
+  long getAcquiredConnections();
+
+  /**
+   * @return the number of requests that failed because no connection was available in time or too many were waiting
+   */
+  long getRejectedRequests();
+
+  /**
+   * @return the upper bounds, in milliseconds, of the buckets of {@link #getAcquireTimeHistogram()}. The last bucket has no
+   *         bound.
+   */
+  long[] getAcquireTimeHistogramBounds();
+
+  /**
+   * @return how many connections were acquired in each bucket of waiting time
+   */
+  long[] getAcquireTimeHistogram();
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import java.util.Collection;
+
+/**
+ * Implemented by registered objects that keep pools of connections to remote hosts, so their statistics can be monitored.
+ *
+ * @since 4.0
+ */
+public interface ConnectionPoolStatisticsProvider {
+
+  /**
+   * @return the statistics of each host currently being connected to
+   */
+  Collection<ConnectionPoolStatistics> getConnectionPoolStatistics();
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor;
+
+import org.mule.runtime.core.VoidMuleEvent;
+import org.mule.runtime.core.api.MessagingException;
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.config.ThreadingProfile;
+import org.mule.runtime.core.api.context.WorkManager;
+import org.mule.runtime.core.api.context.WorkManagerSource;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link LaxAsyncInterceptingMessageProcessor} that bounds the number of events being processed or waiting to be processed by
+ * the next {@link org.mule.runtime.core.api.processor.MessageProcessor}. Once the limit is reached, the thread that delivers a
+ * new event blocks until a previous one is done, instead of queuing it. When processors of this kind are chained, a slow stage
+ * fills up and blocks the threads of the stage before it, until the message source thread is blocked and stops receiving
+ * messages.
+ * <p/>
+ * Events that can't be processed asynchronously are processed in the calling thread, but still count towards the limit.
+ * <p/>
+ * Events scheduled when the processor is stopped may be discarded along with the work manager without releasing their permit,
+ * so the limit starts over each time the processor is started.
+ */
+public class BackPressureAsyncInterceptingMessageProcessor extends LaxAsyncInterceptingMessageProcessor {
+
+  private final int maxPendingEvents;
+  private volatile Semaphore demand;
+  private final AtomicLong backPressuredCount = new AtomicLong();
+
+  public BackPressureAsyncInterceptingMessageProcessor(WorkManagerSource workManagerSource, int maxPendingEvents) {
+    super(workManagerSource);
+    this.maxPendingEvents = maxPendingEvents;
+    this.demand = new Semaphore(maxPendingEvents);
+  }
+
+  public BackPressureAsyncInterceptingMessageProcessor(ThreadingProfile threadingProfile, String name, int shutdownTimeout,
+                                                       int maxPendingEvents) {
+    super(threadingProfile, name, shutdownTimeout);
+    this.maxPendingEvents = maxPendingEvents;
+    this.demand = new Semaphore(maxPendingEvents);
+  }
+
+  @Override
+  public void start() throws MuleException {
+    demand = new Semaphore(maxPendingEvents);
+    super.start();
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    try {
+      super.stop();
+    } finally {
+      // Wakes up the threads waiting for demand, their events are rejected by the disposed work manager
+      demand.release(maxPendingEvents);
+    }
+  }
+
+  @Override
+  public MuleEvent process(MuleEvent event) throws MuleException {
+    if (next == null) {
+      return event;
+    }
+
+    // Permits are released to the semaphore they were acquired from, even if the processor was restarted meanwhile
+    Semaphore eventDemand = demand;
+    acquireDemand(eventDemand, event);
+    if (isProcessAsync(event)) {
+      processNextAsync(event, eventDemand);
+      return VoidMuleEvent.getInstance();
+    } else {
+      try {
+        return processNext(event);
+      } finally {
+        eventDemand.release();
+      }
+    }
+  }
+
+  private void acquireDemand(Semaphore demand, MuleEvent event) throws MessagingException {
+    if (demand.tryAcquire()) {
+      return;
+    }
+
+    backPressuredCount.incrementAndGet();
+    if (logger.isDebugEnabled()) {
+      logger.debug("Next message processor has " + maxPendingEvents + " pending events, waiting until one is done");
+    }
+    try {
+      demand.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MessagingException(CoreMessages.errorSchedulingMessageProcessorForAsyncInvocation(next), event, e, this);
+    }
+  }
+
+  private void processNextAsync(MuleEvent event, Semaphore demand) throws MuleException {
+    try {
+      workManagerSource.getWorkManager().scheduleWork(new BackPressureMessageProcessorWorker(event, demand),
+                                                      WorkManager.INDEFINITE, null, new AsyncWorkListener(next));
+      fireAsyncScheduledNotification(event);
+    } catch (Exception e) {
+      demand.release();
+      throw new MessagingException(CoreMessages.errorSchedulingMessageProcessorForAsyncInvocation(next), event, e, this);
+    }
+  }
+
+  /**
+   * @return number of events that can be delivered before the calling thread is blocked
+   */
+  public int getAvailableDemand() {
+    return demand.availablePermits();
+  }
+
+  /**
+   * @return number of events whose delivery was blocked until a previous event was done
+   */
+  public long getBackPressuredCount() {
+    return backPressuredCount.get();
+  }
+
+  class BackPressureMessageProcessorWorker extends AsyncMessageProcessorWorker {
+
+    private final Semaphore demand;
+
+    public BackPressureMessageProcessorWorker(MuleEvent event, Semaphore demand) {
+      super(event);
+      this.demand = demand;
+    }
+
+    @Override
+    protected void doRun() {
+      try {
+        super.doRun();
+      } finally {
+        demand.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.ThreadingProfile;
+import org.mule.runtime.core.api.processor.BlockingMessageProcessor;
+import org.mule.runtime.core.api.processor.MessageProcessor;
+import org.mule.runtime.core.api.processor.MessageProcessorChainBuilder;
+import org.mule.runtime.core.api.processor.StageNameSource;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.processor.BackPressureAsyncInterceptingMessageProcessor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Processing strategy that splits the message processors in stages, each one processed asynchronously in its own thread pool
+ * with a bounded number of pending events.
+ * <p/>
+ * Consecutive {@link BlockingMessageProcessor}s are grouped in a stage that uses a pool of up to {@link #getMaxIoThreads()}
+ * threads, while the rest of processors are grouped in stages that use pools of up to {@link #getMaxThreads()} threads, the
+ * number of processors by default. Each stage accepts up to its number of threads plus {@link #getMaxBufferSize()} events. When a
+ * stage is full the thread delivering events to it blocks, so a slow stage ends up blocking the message source thread instead
+ * of queuing events.
+ * <p/>
+ * Events that can't be processed asynchronously, such as request-response or transacted ones, are processed in the calling
+ * thread, but still count towards the limit of pending events of each stage. So unlike other asynchronous processing
+ * strategies, it can be used in flows with request-response or transactional message sources. Flows with a redelivery policy
+ * are still rejected, as their one-way events would be processed asynchronously.
+ */
+public class ReactiveProcessingStrategy extends AsynchronousProcessingStrategy {
+
+  public static final int DEFAULT_MAX_IO_THREADS = 64;
+  public static final int DEFAULT_MAX_BUFFER_SIZE = 256;
+
+  protected Integer maxIoThreads;
+
+  @Override
+  public void configureProcessors(List<MessageProcessor> processors, StageNameSource nameSource,
+                                  MessageProcessorChainBuilder chainBuilder, MuleContext muleContext) {
+    Boolean blockingStage = null;
+    for (MessageProcessor processor : processors) {
+      boolean blocking = isBlocking(processor);
+      if (blockingStage == null || blockingStage != blocking) {
+        chainBuilder.chain(createStageMessageProcessor(blocking, nameSource, muleContext));
+        blockingStage = blocking;
+      }
+      synchronousProcessingStrategy.configureProcessors(Collections.singletonList(processor), nameSource, chainBuilder,
+                                                        muleContext);
+    }
+  }
+
+  /**
+   * @param processor a configured message processor
+   * @return true if the processor has to run in a stage for processors that block waiting for IO
+   */
+  protected boolean isBlocking(MessageProcessor processor) {
+    return processor instanceof BlockingMessageProcessor;
+  }
+
+  protected BackPressureAsyncInterceptingMessageProcessor createStageMessageProcessor(boolean blocking,
+                                                                                      StageNameSource nameSource,
+                                                                                      MuleContext muleContext) {
+    ThreadingProfile threadingProfile = createThreadingProfile(muleContext);
+    int stageThreads = blocking ? getStageMaxIoThreads() : getStageMaxThreads();
+    int bufferSize = maxBufferSize != null ? maxBufferSize : DEFAULT_MAX_BUFFER_SIZE;
+    if (stageThreads <= 0) {
+      throw new IllegalArgumentException(CoreMessages
+          .propertyHasInvalidValue(blocking ? "maxIoThreads" : "maxThreads", stageThreads).toString());
+    }
+    if (bufferSize < 0) {
+      throw new IllegalArgumentException(CoreMessages.propertyHasInvalidValue("maxBufferSize", bufferSize).toString());
+    }
+
+    threadingProfile.setMaxThreadsActive(stageThreads);
+    threadingProfile.setMaxThreadsIdle(Math.min(threadingProfile.getMaxThreadsIdle(), stageThreads));
+    threadingProfile.setMaxBufferSize(bufferSize);
+    // The stage never delivers more events than the pool can hold, waiting is just a safeguard
+    threadingProfile.setPoolExhaustedAction(ThreadingProfile.WHEN_EXHAUSTED_WAIT);
+
+    String stageName = nameSource.getName() + (blocking ? ".io" : "");
+    return new BackPressureAsyncInterceptingMessageProcessor(threadingProfile, getThreadPoolName(stageName, muleContext),
+                                                             muleContext.getConfiguration().getShutdownTimeout(),
+                                                             stageThreads + bufferSize);
+  }
+
+  private int getStageMaxThreads() {
+    return maxThreads != null ? maxThreads : Runtime.getRuntime().availableProcessors();
+  }
+
+  private int getStageMaxIoThreads() {
+    return maxIoThreads != null ? maxIoThreads : DEFAULT_MAX_IO_THREADS;
+  }
+
+  public Integer getMaxIoThreads() {
+    return maxIoThreads;
+  }
+
+  public void setMaxIoThreads(Integer maxIoThreads) {
+    this.maxIoThreads = maxIoThreads;
+  }
+}
@@ -29,6 +29,7 @@ import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.transformer.TransformerResolutionCache;
 import org.mule.runtime.core.util.Predicate;
 import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.core.util.UUID;
@@ -41,7 +42,6 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -65,10 +65,8 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
   /**
    * We cache transformer searches so that we only search once
    */
-  protected ConcurrentHashMap/* <String, Transformer> */ exactTransformerCache =
-      new ConcurrentHashMap/* <String, Transformer> */(8);
-  protected ConcurrentHashMap/* Map<String, List<Transformer>> */ transformerListCache =
-      new ConcurrentHashMap/* <String, List<Transformer>> */(8);
+  protected TransformerResolutionCache<Transformer> exactTransformerCache = new TransformerResolutionCache<>();
+  protected TransformerResolutionCache<List<Transformer>> transformerListCache = new TransformerResolutionCache<>();
 
   private MuleContext muleContext;
 
@@ -139,8 +137,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
    */
   @Override
   public Transformer lookupTransformer(DataType source, DataType result) throws TransformerException {
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-    Transformer cachedTransformer = (Transformer) exactTransformerCache.get(dataTypePairHash);
+    Transformer cachedTransformer = exactTransformerCache.get(source, result);
     if (cachedTransformer != null) {
       return cachedTransformer;
     }
@@ -148,7 +145,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     Transformer trans = resolveTransformer(source, result);
 
     if (trans != null) {
-      Transformer concurrentlyAddedTransformer = (Transformer) exactTransformerCache.putIfAbsent(dataTypePairHash, trans);
+      Transformer concurrentlyAddedTransformer = exactTransformerCache.putIfAbsent(source, result, trans);
       if (concurrentlyAddedTransformer != null) {
         return concurrentlyAddedTransformer;
       } else {
@@ -186,9 +183,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
    */
   @Override
   public List<Transformer> lookupTransformers(DataType source, DataType result) {
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-
-    List<Transformer> results = (List<Transformer>) transformerListCache.get(dataTypePairHash);
+    List<Transformer> results = transformerListCache.get(source, result);
     if (results != null) {
       return results;
     }
@@ -212,8 +207,7 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
       readLock.unlock();
     }
 
-    List<Transformer> concurrentlyAddedTransformers =
-        (List<Transformer>) transformerListCache.putIfAbsent(dataTypePairHash, results);
+    List<Transformer> concurrentlyAddedTransformers = transformerListCache.putIfAbsent(source, result, results);
     if (concurrentlyAddedTransformers != null) {
       return concurrentlyAddedTransformers;
     } else {
@@ -581,10 +575,6 @@ public class MuleRegistryHelper implements MuleRegistry, RegistryProvider {
     return false;
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    return source.getClass().getName() + source.hashCode() + ":" + result.getClass().getName() + result.hashCode();
-  }
-
   private class TransformerResolverComparator implements Comparator<TransformerResolver> {
 
     @Override
@@ -32,6 +32,7 @@ import org.mule.runtime.core.routing.correlation.EventCorrelator;
 import org.mule.runtime.core.routing.correlation.EventCorrelatorCallback;
 import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
 import org.mule.runtime.core.util.store.DefaultObjectStoreFactoryBean;
+import org.mule.runtime.core.util.store.PartitionedInMemoryObjectStore;
 import org.mule.runtime.core.util.store.ProvidedObjectStoreWrapper;
 import org.mule.runtime.core.util.store.ProvidedPartitionableObjectStoreWrapper;
 
@@ -57,6 +58,8 @@ public abstract class AbstractAggregator extends AbstractInterceptingMessageProc
 
   private ObjectStore<Long> processedGroupsObjectStore;
   private PartitionableObjectStore eventGroupsObjectStore;
+  // Whether the event groups are kept in memory by a store created by the aggregator itself
+  private boolean inMemoryEventGroups;
 
   protected boolean persistentStores;
   protected String storePrefix = null;
@@ -78,6 +81,7 @@ public abstract class AbstractAggregator extends AbstractInterceptingMessageProc
 
     eventCorrelator.setTimeout(timeout);
     eventCorrelator.setFailOnTimeout(isFailOnTimeout());
+    eventCorrelator.setInMemoryEventGroups(inMemoryEventGroups);
   }
 
   protected void initProcessedGroupsObjectStore() {
@@ -116,6 +120,7 @@ public abstract class AbstractAggregator extends AbstractInterceptingMessageProc
         } else {
           objectStore =
               muleContext.getRegistry().lookupObject(DefaultObjectStoreFactoryBean.class).createDefaultInMemoryObjectStore();
+          inMemoryEventGroups = objectStore instanceof PartitionedInMemoryObjectStore;
         }
         if (objectStore instanceof MuleContextAware) {
           ((MuleContextAware) objectStore).setMuleContext(muleContext);
@@ -191,6 +196,7 @@ public abstract class AbstractAggregator extends AbstractInterceptingMessageProc
   public void setEventGroupsObjectStore(PartitionableObjectStore<MuleEvent> eventGroupsObjectStore) {
     this.eventGroupsObjectStore =
         new ProvidedPartitionableObjectStoreWrapper<>(eventGroupsObjectStore, internalEventsGroupsObjectStoreFactory());
+    this.inMemoryEventGroups = false;
   }
 
   public boolean isPersistentStores() {
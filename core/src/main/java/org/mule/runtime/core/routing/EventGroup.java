@@ -28,7 +28,9 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.commons.collections.IteratorUtils;
@@ -36,6 +38,11 @@ import org.apache.commons.collections.IteratorUtils;
 /**
  * <code>EventGroup</code> is a holder over events grouped by a common group Id. This can be used by components such as routers to
  * managed related events.
+ * <p/>
+ * Events are kept in a partition of a {@link PartitionableObjectStore}, see {@link #initEventsStore(PartitionableObjectStore)},
+ * or, when the group itself is kept in memory, directly by the group in arrival order, see {@link #initEventsInMemory()}. In both
+ * cases the number of events is tracked as they are added and removed, so {@link #size()} does not need to read the keys of the
+ * store.
  */
 // @ThreadSafe
 public class EventGroup implements Comparable<EventGroup>, Serializable, DeserializationPostInitialisable {
@@ -60,6 +67,10 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
   private static boolean hasNoCommonRootId = false;
   private int arrivalOrderCounter = 0;
   private Serializable lastStoredEventKey;
+  // Events of the group in arrival order when they are not kept in the events store
+  private transient Map<Serializable, MuleEvent> inMemoryEvents;
+  // Number of events in the events store, null until read from it
+  private transient Integer storedEventsCount;
 
   public static final String DEFAULT_STORE_PREFIX = "DEFAULT_STORE";
 
@@ -167,7 +178,7 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
   @SuppressWarnings("unchecked")
   public Iterator<MuleEvent> iterator(boolean sortByArrival) throws ObjectStoreException {
     synchronized (this) {
-      if (eventsObjectStore.allKeys(eventsPartitionKey).isEmpty()) {
+      if (size() == 0) {
         return IteratorUtils.emptyIterator();
       } else {
         return IteratorUtils.arrayIterator(this.toArray(sortByArrival));
@@ -194,7 +205,11 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
    */
   public MuleEvent[] toArray(boolean sortByArrival) throws ObjectStoreException {
     synchronized (this) {
-      if (eventsObjectStore.allKeys(eventsPartitionKey).isEmpty()) {
+      if (inMemoryEvents != null) {
+        // Already in arrival order
+        return inMemoryEvents.values().toArray(EMPTY_EVENTS_ARRAY);
+      }
+      if (size() == 0) {
         return EMPTY_EVENTS_ARRAY;
       }
       List<Serializable> keys = eventsObjectStore.allKeys(eventsPartitionKey);
@@ -222,7 +237,13 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
       Serializable key = getEventKey(event);
       event.setFlowVariable(MULE_ARRIVAL_ORDER_PROPERTY, ++arrivalOrderCounter);
       lastStoredEventKey = key;
-      eventsObjectStore.store(key, event, eventsPartitionKey);
+      if (inMemoryEvents != null) {
+        inMemoryEvents.put(key, event);
+      } else {
+        int count = getStoredEventsCount();
+        eventsObjectStore.store(key, event, eventsPartitionKey);
+        storedEventsCount = count + 1;
+      }
 
       if (!hasNoCommonRootId) {
         String rootId = event.getMessage().getMessageRootId();
@@ -248,7 +269,14 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
    */
   public void removeEvent(MuleEvent event) throws ObjectStoreException {
     synchronized (this) {
-      eventsObjectStore.remove(event.getId(), eventsPartitionKey);
+      Serializable key = getEventKey(event);
+      if (inMemoryEvents != null) {
+        inMemoryEvents.remove(key);
+      } else {
+        int count = getStoredEventsCount();
+        eventsObjectStore.remove(key, eventsPartitionKey);
+        storedEventsCount = count - 1;
+      }
     }
   }
 
@@ -268,8 +296,11 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
    */
   public int size() {
     synchronized (this) {
+      if (inMemoryEvents != null) {
+        return inMemoryEvents.size();
+      }
       try {
-        return eventsObjectStore.allKeys(eventsPartitionKey).size();
+        return getStoredEventsCount();
       } catch (ObjectStoreException e) {
         // TODO Check if this is ok.
         return -1;
@@ -293,8 +324,13 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
    */
   public void clear() throws ObjectStoreException {
     synchronized (this) {
-      eventsObjectStore.clear(eventsPartitionKey);
-      eventsObjectStore.close(eventsPartitionKey);
+      if (inMemoryEvents != null) {
+        inMemoryEvents.clear();
+      } else {
+        eventsObjectStore.clear(eventsPartitionKey);
+        eventsObjectStore.close(eventsPartitionKey);
+        storedEventsCount = 0;
+      }
     }
   }
 
@@ -308,18 +344,15 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
 
     try {
       synchronized (this) {
-        int currentSize;
+        MuleEvent[] events = toArray(false);
 
-        currentSize = eventsObjectStore.allKeys(eventsPartitionKey).size();
+        buf.append(", current events=").append(events.length);
 
-        buf.append(", current events=").append(currentSize);
-
-        if (currentSize > 0) {
+        if (events.length > 0) {
           buf.append(" [");
-          Iterator<Serializable> i = eventsObjectStore.allKeys(eventsPartitionKey).iterator();
+          Iterator<MuleEvent> i = Arrays.asList(events).iterator();
           while (i.hasNext()) {
-            Serializable id = i.next();
-            buf.append(eventsObjectStore.retrieve(id, eventsPartitionKey).getMessage().getUniqueId());
+            buf.append(i.next().getMessage().getUniqueId());
             if (i.hasNext()) {
               buf.append(", ");
             }
@@ -369,16 +402,26 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
         lastStoredEventKey = findLastStoredEventKey();
       }
 
-      return eventsObjectStore.retrieve(lastStoredEventKey, eventsPartitionKey);
+      return retrieveEvent(lastStoredEventKey);
+    }
+  }
+
+  private MuleEvent retrieveEvent(Serializable key) throws ObjectStoreException {
+    return inMemoryEvents != null ? inMemoryEvents.get(key) : eventsObjectStore.retrieve(key, eventsPartitionKey);
+  }
+
+  private int getStoredEventsCount() throws ObjectStoreException {
+    if (storedEventsCount == null) {
+      storedEventsCount = eventsObjectStore.allKeys(eventsPartitionKey).size();
     }
+    return storedEventsCount;
   }
 
   protected MuleSession getMergedSession() throws ObjectStoreException {
     MuleEvent lastStoredEvent = retrieveLastStoredEvent();
     MuleSession session = new DefaultMuleSession(lastStoredEvent.getSession());
-    for (Serializable key : eventsObjectStore.allKeys(eventsPartitionKey)) {
-      if (!key.equals(lastStoredEventKey)) {
-        MuleEvent event = eventsObjectStore.retrieve(key, eventsPartitionKey);
+    for (MuleEvent event : toArray(false)) {
+      if (event != lastStoredEvent) {
         addAndOverrideSessionProperties(session, event);
       }
     }
@@ -397,10 +440,35 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
   }
 
   public void initEventsStore(PartitionableObjectStore<MuleEvent> events) throws ObjectStoreException {
-    this.eventsObjectStore = events;
+    if (inMemoryEvents != null) {
+      return;
+    }
+    if (events != eventsObjectStore) {
+      this.eventsObjectStore = events;
+      storedEventsCount = null;
+    }
     events.open(eventsPartitionKey);
   }
 
+  /**
+   * Makes this group keep its events itself instead of storing them in an events store. Only valid for groups that are not
+   * serialized while collecting events, as the events do not survive serialization.
+   */
+  public void initEventsInMemory() {
+    synchronized (this) {
+      if (inMemoryEvents == null) {
+        inMemoryEvents = new LinkedHashMap<>();
+      }
+    }
+  }
+
+  /**
+   * @return true if this group keeps its events itself, see {@link #initEventsInMemory()}
+   */
+  public boolean isEventsInMemory() {
+    return inMemoryEvents != null;
+  }
+
   /**
    * Finds the last stored event key on the event group.
    * <p/>
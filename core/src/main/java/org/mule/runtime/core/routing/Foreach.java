@@ -7,6 +7,7 @@
 package org.mule.runtime.core.routing;
 
 import static org.mule.runtime.core.api.LocatedMuleException.INFO_LOCATION_KEY;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.DefaultMuleEvent;
@@ -15,6 +16,8 @@ import org.mule.runtime.core.api.MuleEvent;
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.NonBlockingSupported;
+import org.mule.runtime.core.api.config.ThreadingProfile;
+import org.mule.runtime.core.api.context.WorkManager;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.processor.MessageProcessor;
@@ -48,6 +51,11 @@ import org.w3c.dom.Document;
  * Defining a groupSize greater than one, allows iterating over collections of elements of the specified size.
  * <p/>
  * The {@link MuleEvent} sent to the next message processor is the same that arrived to foreach.
+ * <p/>
+ * Defining a maxConcurrency greater than one processes up to that number of elements at the same time, using a dedicated work
+ * manager when a {@link ThreadingProfile} is set or the context one otherwise. Each element is processed with its own copy of
+ * the event, so flow variables set while processing an element are not visible to the other elements nor after the foreach.
+ * Unless failFast is disabled, no new elements are processed once one of them fails.
  */
 public class Foreach extends AbstractMessageProcessorOwner implements Initialisable, MessageProcessor, NonBlockingSupported {
 
@@ -66,6 +74,10 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   private int batchSize;
   private String rootMessageVariableName;
   private String counterVariableName;
+  private int maxConcurrency = 1;
+  private boolean failFast = true;
+  private ThreadingProfile threadingProfile;
+  private WorkManager workManager;
   private boolean xpathCollection;
   private volatile boolean messageProcessorInitialized;
 
@@ -170,6 +182,17 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     splitter.setBatchSize(batchSize);
     splitter.setCounterVariableName(counterVariableName);
     splitter.setMuleContext(muleContext);
+    if (maxConcurrency > 1) {
+      if (threadingProfile != null) {
+        workManager = threadingProfile.createWorkManager(getPrefix(muleContext) + "foreach",
+                                                         muleContext.getConfiguration().getShutdownTimeout());
+        splitter.setWorkManager(workManager);
+      } else {
+        splitter.setWorkManager(muleContext.getWorkManager());
+      }
+      splitter.setMaxConcurrency(maxConcurrency);
+      splitter.setFailFast(failFast);
+    }
     messageProcessors.add(0, splitter);
     filter = new MessageFilter(message -> false);
     messageProcessors.add(filter);
@@ -183,6 +206,23 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     super.initialise();
   }
 
+  @Override
+  public void start() throws MuleException {
+    if (workManager != null) {
+      workManager.start();
+    }
+    super.start();
+  }
+
+  @Override
+  public void dispose() {
+    super.dispose();
+    if (workManager != null) {
+      workManager.dispose();
+      workManager = null;
+    }
+  }
+
   private boolean isXPathExpression(String expression) {
     return expression.matches("^xpath\\(.+\\)$") || expression.matches("^xpath3\\(.+\\)$");
   }
@@ -203,6 +243,18 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.counterVariableName = counterVariableName;
   }
 
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public void setFailFast(boolean failFast) {
+    this.failFast = failFast;
+  }
+
+  public void setThreadingProfile(ThreadingProfile threadingProfile) {
+    this.threadingProfile = threadingProfile;
+  }
+
   private static class CollectionMapSplitter extends CollectionSplitter {
 
     @Override
@@ -17,6 +17,7 @@ import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.lifecycle.LifecycleUtils;
+import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.core.api.store.ObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreException;
@@ -24,8 +25,11 @@ import org.mule.runtime.core.api.store.ObjectStoreManager;
 import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
 import org.mule.runtime.core.processor.AbstractFilteringMessageProcessor;
 import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
+import org.mule.runtime.core.util.store.TimePartitionedBloomFilter;
 
+import java.io.Serializable;
 import java.text.MessageFormat;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,12 +41,21 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/IdempotentReceiver.html">
  * http://www.eaipatterns.com/IdempotentReceiver.html</a>
+ * <p>
+ * When {@link #setBloomFilterEnabled(boolean) bloomFilterEnabled} is set, the ids of the accepted messages are also kept in a
+ * {@link TimePartitionedBloomFilter}, so the store is only looked up for ids that may have been seen already. The store still
+ * rejects any duplicate the filter lets through, so this only saves store round-trips for new messages. Ids are forgotten by the
+ * filter after {@link #setBloomFilterEntryTTL(long) bloomFilterEntryTTL}, which must not be shorter than the time they are kept
+ * in the store, so a duplicate is never let through while it's still stored.
  */
 public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor
     implements FlowConstructAware, Initialisable, Disposable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(IdempotentMessageFilter.class);
 
+  private static final int MESSAGE_ID_STORE_ENTRY_TTL = 60 * 5 * 1000;
+  private static final int DEFAULT_BLOOM_FILTER_PARTITIONS = 4;
+
   protected volatile ObjectStore<String> store;
   protected FlowConstruct flowConstruct;
   protected String storePrefix;
@@ -53,6 +66,15 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor
   protected String valueExpression = MessageFormat.format("{0}message:id{1}", ExpressionManager.DEFAULT_EXPRESSION_PREFIX,
                                                           ExpressionManager.DEFAULT_EXPRESSION_POSTFIX);
 
+  private boolean bloomFilterEnabled = false;
+  private double bloomFilterFalsePositiveProbability = 0.01;
+  private int bloomFilterExpectedEntries = 10000;
+  private long bloomFilterEntryTTL = -1;
+  private int bloomFilterPartitions = DEFAULT_BLOOM_FILTER_PARTITIONS;
+  private TimePartitionedBloomFilter bloomFilter;
+  private final AtomicLong storeLookups = new AtomicLong();
+  private final AtomicLong skippedStoreLookups = new AtomicLong();
+
   public IdempotentMessageFilter() {
     super();
   }
@@ -65,19 +87,49 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor
     }
     if (store == null) {
       this.store = createMessageIdStore();
+      if (bloomFilterEntryTTL < 0) {
+        bloomFilterEntryTTL = MESSAGE_ID_STORE_ENTRY_TTL;
+      }
     }
 
     LifecycleUtils.initialiseIfNeeded(store);
+
+    if (bloomFilterEnabled) {
+      initialiseBloomFilter();
+    }
+  }
+
+  private void initialiseBloomFilter() throws InitialisationException {
+    bloomFilter = new TimePartitionedBloomFilter(bloomFilterExpectedEntries, bloomFilterFalsePositiveProbability,
+                                                 bloomFilterEntryTTL, bloomFilterPartitions);
+
+    if (store instanceof ListableObjectStore) {
+      try {
+        for (Serializable key : ((ListableObjectStore<String>) store).allKeys()) {
+          bloomFilter.add(key.toString());
+        }
+      } catch (ObjectStoreException e) {
+        throw new InitialisationException(e, this);
+      }
+    } else {
+      LOGGER.warn("Store of {} can't be listed, ids stored before it was started will not be found by the bloom filter",
+                  storePrefix);
+    }
   }
 
   @Override
   public void dispose() {
+    if (bloomFilter != null) {
+      LOGGER.info("Idempotent filter {} saved {} of {} store lookups", storePrefix, skippedStoreLookups.get(),
+                  storeLookups.get() + skippedStoreLookups.get());
+      bloomFilter = null;
+    }
     LifecycleUtils.disposeIfNeeded(store, LOGGER);
   }
 
   protected ObjectStore<String> createMessageIdStore() throws InitialisationException {
     ObjectStoreManager objectStoreManager = muleContext.getRegistry().get(MuleProperties.OBJECT_STORE_MANAGER);
-    return objectStoreManager.getObjectStore(storePrefix, false, -1, 60 * 5 * 1000, 6000);
+    return objectStoreManager.getObjectStore(storePrefix, false, -1, MESSAGE_ID_STORE_ENTRY_TTL, 6000);
   }
 
   @Override
@@ -117,8 +169,10 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor
         String value = getValueForEvent(event);
         try {
           store.store(id, value);
+          addToBloomFilter(id);
           return true;
         } catch (ObjectAlreadyExistsException ex) {
+          addToBloomFilter(id);
           return false;
         } catch (ObjectStoreNotAvaliableException e) {
           logger.error("ObjectStore not available: " + e.getMessage());
@@ -155,6 +209,12 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor
           initialise();
         }
       }
+      TimePartitionedBloomFilter currentBloomFilter = bloomFilter;
+      if (currentBloomFilter != null && !currentBloomFilter.mightContain(id)) {
+        skippedStoreLookups.incrementAndGet();
+        return true;
+      }
+      storeLookups.incrementAndGet();
       return !store.contains(id);
     } catch (MuleException e) {
       logger.error("Exception attempting to determine idempotency of incoming message for " + event.getFlowConstruct().getName()
@@ -179,4 +239,83 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor
   public void setStorePrefix(String storePrefix) {
     this.storePrefix = storePrefix;
   }
+
+  private void addToBloomFilter(String id) {
+    TimePartitionedBloomFilter currentBloomFilter = bloomFilter;
+    if (currentBloomFilter != null) {
+      currentBloomFilter.add(id);
+    }
+  }
+
+  public boolean isBloomFilterEnabled() {
+    return bloomFilterEnabled;
+  }
+
+  /**
+   * @param bloomFilterEnabled whether to check a bloom filter of the stored ids before looking them up in the store
+   */
+  public void setBloomFilterEnabled(boolean bloomFilterEnabled) {
+    this.bloomFilterEnabled = bloomFilterEnabled;
+  }
+
+  public double getBloomFilterFalsePositiveProbability() {
+    return bloomFilterFalsePositiveProbability;
+  }
+
+  /**
+   * @param bloomFilterFalsePositiveProbability maximum probability of looking up in the store the id of a new message
+   */
+  public void setBloomFilterFalsePositiveProbability(double bloomFilterFalsePositiveProbability) {
+    this.bloomFilterFalsePositiveProbability = bloomFilterFalsePositiveProbability;
+  }
+
+  public int getBloomFilterExpectedEntries() {
+    return bloomFilterExpectedEntries;
+  }
+
+  /**
+   * @param bloomFilterExpectedEntries number of ids expected to be kept in the store, the bloom filter grows beyond it if needed
+   */
+  public void setBloomFilterExpectedEntries(int bloomFilterExpectedEntries) {
+    this.bloomFilterExpectedEntries = bloomFilterExpectedEntries;
+  }
+
+  public long getBloomFilterEntryTTL() {
+    return bloomFilterEntryTTL;
+  }
+
+  /**
+   * @param bloomFilterEntryTTL time in milliseconds the bloom filter keeps an id. Must not be shorter than the entry time to live
+   *        of the store, zero to keep ids forever. When not set, it is the entry time to live of the store if the filter
+   *        creates it, otherwise ids are kept forever
+   */
+  public void setBloomFilterEntryTTL(long bloomFilterEntryTTL) {
+    this.bloomFilterEntryTTL = bloomFilterEntryTTL;
+  }
+
+  public int getBloomFilterPartitions() {
+    return bloomFilterPartitions;
+  }
+
+  /**
+   * @param bloomFilterPartitions number of partitions covering the entry time to live of the bloom filter. Ids are forgotten a
+   *        partition at a time, so more partitions forget them closer to their time to live but take more memory
+   */
+  public void setBloomFilterPartitions(int bloomFilterPartitions) {
+    this.bloomFilterPartitions = bloomFilterPartitions;
+  }
+
+  /**
+   * @return number of times the store was looked up to check if a message is new
+   */
+  public long getStoreLookups() {
+    return storeLookups.get();
+  }
+
+  /**
+   * @return number of store lookups avoided because the bloom filter found the message to be new
+   */
+  public long getSkippedStoreLookups() {
+    return skippedStoreLookups.get();
+  }
 }
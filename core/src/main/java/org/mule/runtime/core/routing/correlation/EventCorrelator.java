@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.routing.correlation;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_TIMER_WHEEL;
 import static org.mule.runtime.core.message.Correlation.NOT_SET;
 
 import org.mule.runtime.core.api.MessagingException;
@@ -30,18 +32,21 @@ import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.context.notification.RoutingNotification;
 import org.mule.runtime.core.execution.ErrorHandlingExecutionTemplate;
 import org.mule.runtime.core.routing.EventGroup;
-import org.mule.runtime.core.routing.EventProcessingThread;
 import org.mule.runtime.core.util.StringMessageUtils;
+import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
 import org.mule.runtime.core.util.monitor.Expirable;
 import org.mule.runtime.core.util.monitor.ExpiryMonitor;
+import org.mule.runtime.core.util.monitor.TimerWheel;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
 import java.io.Serializable;
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +62,9 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   private static final long ONE_DAY_IN_MILLI = 1000 * 60 * 60 * 24;
 
+  private static final long EXPIRED_AND_DISPATCHED_CLEANUP_PERIOD = 1000 * 60 * 30;
+  private static final long STORED_GROUPS_SCAN_PERIOD = 1000;
+
   protected long groupTimeToLive = ONE_DAY_IN_MILLI;
 
   protected final Object groupsLock = new Object();
@@ -80,10 +88,21 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
    */
   private PartitionableObjectStore correlatorStore = null;
   private String storePrefix;
+  private boolean inMemoryEventGroups = false;
 
-  private EventCorrelator.ExpiringGroupMonitoringThread expiringGroupMonitoringThread;
   private final String name;
 
+  // Deadlines of the groups in the correlator store, scheduled in a timer wheel shared by all the correlators
+  private TimerWheel timerWheel;
+  private boolean ownTimerWheel;
+  private ExpiryMonitor expiryMonitor;
+  private final Map<Serializable, TimerWheel.Timeout> groupExpiryTimeouts = new ConcurrentHashMap<>();
+  private volatile boolean started;
+
+  private final AtomicLong expiredGroupsCount = new AtomicLong();
+  private final AtomicLong totalGroupExpiryLag = new AtomicLong();
+  private final AtomicLong maxGroupExpiryLag = new AtomicLong();
+
   private final FlowConstruct flowConstruct;
 
   public EventCorrelator(EventCorrelatorCallback callback, MessageProcessor timeoutMessageProcessor, MuleContext muleContext,
@@ -167,8 +186,15 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
         // ..apparently not, so create a new one & add it
         try {
           EventGroup eventGroup = callback.createEventGroup(event, groupId);
-          eventGroup.initEventsStore(correlatorStore);
+          if (inMemoryEventGroups) {
+            eventGroup.initEventsInMemory();
+          } else {
+            eventGroup.initEventsStore(correlatorStore);
+          }
           group = this.addEventGroup(eventGroup);
+          if (group == eventGroup) {
+            scheduleGroupExpiry(groupId, getTimeout());
+          }
         } catch (ObjectStoreException e) {
           throw new RoutingException(event, timeoutMessageProcessor, e);
         }
@@ -244,6 +270,10 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
     final Object groupId = group.getGroupId();
+    TimerWheel.Timeout expiryTimeout = groupExpiryTimeouts.remove(groupId);
+    if (expiryTimeout != null) {
+      expiryTimeout.cancel();
+    }
     synchronized (groupsLock) {
       if (!isGroupAlreadyProcessed(groupId)) {
         correlatorStore.remove((Serializable) groupId, getEventGroupsPartitionKey());
@@ -280,6 +310,15 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     this.timeout = timeout;
   }
 
+  /**
+   * Makes the event groups keep their events themselves instead of storing them in the correlator store. Only valid when the
+   * correlator store keeps the event groups in memory without serializing them, so the same group instance is retrieved for each
+   * event of the group.
+   */
+  public void setInMemoryEventGroups(boolean inMemoryEventGroups) {
+    this.inMemoryEventGroups = inMemoryEventGroups;
+  }
+
   protected void handleGroupExpiry(EventGroup group) throws MessagingException {
     try {
       removeEventGroup(group);
@@ -336,39 +375,175 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     }
   }
 
+  /**
+   * @return number of groups expired because they were not completed before the timeout
+   */
+  public long getExpiredGroupsCount() {
+    return expiredGroupsCount.get();
+  }
+
+  /**
+   * @return maximum time in milliseconds elapsed between the timeout of a group and its expiry
+   */
+  public long getMaxGroupExpiryLag() {
+    return maxGroupExpiryLag.get();
+  }
+
+  /**
+   * @return average time in milliseconds elapsed between the timeout of a group and its expiry
+   */
+  public long getAverageGroupExpiryLag() {
+    long expired = expiredGroupsCount.get();
+    return expired == 0 ? 0 : totalGroupExpiryLag.get() / expired;
+  }
+
   @Override
   public void start() throws MuleException {
     logger.info("Starting event correlator: " + name);
     if (timeout != 0) {
-      expiringGroupMonitoringThread = new ExpiringGroupMonitoringThread();
-      expiringGroupMonitoringThread.start();
+      timerWheel = lookupTimerWheel();
+      expiryMonitor = new ExpiryMonitor(name, timerWheel, muleContext, true);
+      expiryMonitor.addExpirable(EXPIRED_AND_DISPATCHED_CLEANUP_PERIOD, MILLISECONDS, new ExpiredAndDispatchedGroupsCleaner());
+      started = true;
+      scheduleStoredGroupsExpiry();
+      // Other nodes can only add groups to the store when clustered, otherwise the timer wheel already tracks all of them
+      if (isClustered()) {
+        expiryMonitor.addExpirable(STORED_GROUPS_SCAN_PERIOD, MILLISECONDS, new StoredGroupsScanner());
+      }
     }
   }
 
   @Override
   public void stop() throws MuleException {
     logger.info("Stopping event correlator: " + name);
-    if (expiringGroupMonitoringThread != null) {
-      expiringGroupMonitoringThread.stopProcessing();
+    started = false;
+    for (TimerWheel.Timeout expiryTimeout : groupExpiryTimeouts.values()) {
+      expiryTimeout.cancel();
+    }
+    groupExpiryTimeouts.clear();
+    if (expiryMonitor != null) {
+      expiryMonitor.dispose();
+      expiryMonitor = null;
     }
   }
 
-  private final class ExpiringGroupMonitoringThread extends EventProcessingThread implements Expirable, Disposable {
+  private boolean isClustered() {
+    return !StringUtils.isEmpty(muleContext.getClusterId());
+  }
 
-    private ExpiryMonitor expiryMonitor;
-    public static final long DELAY_TIME = 10;
+    private TimerWheel lookupTimerWheel() {
+    Object registeredTimerWheel = muleContext.getRegistry().get(OBJECT_TIMER_WHEEL);
+    if (registeredTimerWheel instanceof TimerWheel) {
+      ownTimerWheel = false;
+      return (TimerWheel) registeredTimerWheel;
+    }
 
-    public ExpiringGroupMonitoringThread() {
-      super(name, DELAY_TIME);
-      this.expiryMonitor = new ExpiryMonitor(name, 1000 * 60, muleContext, true);
-      // clean up every 30 minutes
-      this.expiryMonitor.addExpirable(1000 * 60 * 30, TimeUnit.MILLISECONDS, this);
+    if (!ownTimerWheel) {
+      timerWheel = new TimerWheel();
+      timerWheel.setMuleContext(muleContext);
+      ownTimerWheel = true;
+    }
+    return timerWheel;
+  }
+
+  /**
+   * Schedules the expiry of the groups in the correlator store that are not scheduled yet, as they may have been stored before
+   * the correlator was started or by another node of the cluster.
+   */
+  private void scheduleStoredGroupsExpiry() {
+    try {
+      for (Serializable groupId : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+        if (groupExpiryTimeouts.containsKey(groupId)) {
+          continue;
+        }
+
+        EventGroup group = getEventGroup(groupId);
+        // group may have been removed by another thread right after eventGroups.allKeys()
+        if (group != null) {
+          scheduleGroupExpiryIfAbsent(groupId, group.getCreated() + getTimeout() - System.currentTimeMillis());
+        }
+      }
+    } catch (ObjectStoreException e) {
+      logger.warn("Scheduling the expiry of stored groups failed due to ObjectStoreException " + e);
     }
+  }
+
+  private void scheduleGroupExpiryIfAbsent(Serializable groupId, long delay) {
+    if (!started) {
+      return;
+    }
+
+    try {
+      groupExpiryTimeouts.computeIfAbsent(groupId,
+                                          key -> timerWheel.schedule(() -> expireGroup(groupId), delay, MILLISECONDS));
+    } catch (RejectedExecutionException e) {
+      logger.warn(MessageFormat.format("Could not schedule the expiry of group {0}: {1}", groupId, e.getMessage()));
+    }
+  }
+
+  private void scheduleGroupExpiry(Serializable groupId, long delay) {
+    if (!started) {
+      return;
+    }
+
+    try {
+      groupExpiryTimeouts.put(groupId, timerWheel.schedule(() -> expireGroup(groupId), delay, MILLISECONDS));
+    } catch (RejectedExecutionException e) {
+      logger.warn(MessageFormat.format("Could not schedule the expiry of group {0}: {1}", groupId, e.getMessage()));
+    }
+  }
+
+  private void expireGroup(Serializable groupId) {
+    groupExpiryTimeouts.remove(groupId);
+
+    // Only the primary node expires groups. It finds the groups stored by the other nodes of the cluster scanning the store, and
+    // the groups scheduled here are kept scheduled in case this node becomes the primary one
+    if (!muleContext.isPrimaryPollingInstance()) {
+      scheduleGroupExpiry(groupId, getTimeout());
+      return;
+    }
+
+    final EventGroup group;
+    try {
+      group = getEventGroup(groupId);
+    } catch (ObjectStoreException e) {
+      logger.warn("expiry failed dues to ObjectStoreException " + e);
+      return;
+    }
+
+    // group may have been aggregated or removed by another thread
+    if (group == null) {
+      return;
+    }
+
+    long lag = System.currentTimeMillis() - (group.getCreated() + getTimeout());
+    if (lag <= 0) {
+      scheduleGroupExpiry(groupId, -lag);
+      return;
+    }
+
+    expiredGroupsCount.incrementAndGet();
+    totalGroupExpiryLag.addAndGet(lag);
+    maxGroupExpiryLag.accumulateAndGet(lag, Math::max);
+
+    ExecutionTemplate<MuleEvent> executionTemplate = ErrorHandlingExecutionTemplate
+        .createErrorHandlingExecutionTemplate(muleContext, flowConstruct.getExceptionListener());
+    try {
+      executionTemplate.execute(() -> {
+        handleGroupExpiry(group);
+        return null;
+      });
+    } catch (MessagingException e) {
+      // Already handled by TransactionTemplate
+    } catch (Exception e) {
+      muleContext.getExceptionListener().handleException(e);
+    }
+  }
+
+  private final class ExpiredAndDispatchedGroupsCleaner implements Expirable {
 
     /**
      * Removes the elements in expiredAndDispatchedGroups when groupLife is reached
-     *
-     * @throws ObjectStoreException
      */
     @Override
     public void expired() {
@@ -383,50 +558,25 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       } catch (ObjectStoreException e) {
         logger.warn("Expiration of objects failed due to ObjectStoreException " + e + ".");
       }
-    }
 
-    @Override
-    public void doRun() {
-
-      //// TODO(pablo.kraan): is not good to have threads doing nothing in all the nodes but the primary. Need to
-      //// start the thread on the primary node only, and then use a notification schema to start a new thread
-      //// in a different node when the primary goes down.
-      if (!muleContext.isPrimaryPollingInstance()) {
-        return;
-      }
-
-      List<EventGroup> expired = new ArrayList<>(1);
-      try {
-        for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
-          EventGroup group = getEventGroup(o);
-          // group may have been removed by another thread right after eventGroups.allKeys()
-          if (group != null && group.getCreated() + getTimeout() < System.currentTimeMillis()) {
-            expired.add(group);
-          }
-        }
-      } catch (ObjectStoreException e) {
-        logger.warn("expiry failed dues to ObjectStoreException " + e);
-      }
-      for (final EventGroup group : expired) {
-        ExecutionTemplate<MuleEvent> executionTemplate = ErrorHandlingExecutionTemplate
-            .createErrorHandlingExecutionTemplate(muleContext, flowConstruct.getExceptionListener());
-        try {
-          executionTemplate.execute(() -> {
-            handleGroupExpiry(group);
-            return null;
-          });
-        } catch (MessagingException e) {
-          // Already handled by TransactionTemplate
-        } catch (Exception e) {
-          muleContext.getExceptionListener().handleException(e);
-        }
+      // clean up every 30 minutes
+      if (started && expiryMonitor != null) {
+        expiryMonitor.addExpirable(EXPIRED_AND_DISPATCHED_CLEANUP_PERIOD, MILLISECONDS, this);
       }
     }
+  }
+
+  /**
+   * Schedules the expiry of the groups stored by the other nodes of the cluster, so it's only used when the context is clustered.
+   * The expiry monitor only runs it on the primary node.
+   */
+  private final class StoredGroupsScanner implements Expirable {
 
     @Override
-    public void dispose() {
-      if (expiryMonitor != null) {
-        expiryMonitor.dispose();
+    public void expired() {
+      if (started && expiryMonitor != null) {
+        scheduleStoredGroupsExpiry();
+        expiryMonitor.addExpirable(STORED_GROUPS_SCAN_PERIOD, MILLISECONDS, this);
       }
     }
   }
@@ -441,7 +591,11 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   @Override
   public void dispose() {
-    disposeIfDisposable(expiringGroupMonitoringThread);
+    disposeIfDisposable(expiryMonitor);
+    if (ownTimerWheel) {
+      disposeIfDisposable(timerWheel);
+    }
+    timerWheel = null;
   }
 
   private void disposeIfDisposable(Object o) {
@@ -9,6 +9,7 @@ package org.mule.runtime.core.routing.outbound;
 import static org.mule.runtime.core.routing.CorrelationMode.NEVER;
 
 import org.mule.runtime.core.DefaultMuleEvent;
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.RequestContext;
 import org.mule.runtime.core.VoidMuleEvent;
 import org.mule.runtime.core.api.MuleContext;
@@ -17,21 +18,38 @@ import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.MuleMessage;
 import org.mule.runtime.core.api.MuleMessage.Builder;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.context.WorkManager;
 import org.mule.runtime.core.api.routing.RouterResultsHandler;
 import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
+import org.mule.runtime.core.config.i18n.MessageFactory;
 import org.mule.runtime.core.routing.AbstractSplitter;
+import org.mule.runtime.core.routing.CompositeRoutingException;
 import org.mule.runtime.core.routing.CorrelationMode;
 import org.mule.runtime.core.routing.DefaultRouterResultsHandler;
 import org.mule.runtime.core.routing.MessageSequence;
+import org.mule.runtime.core.transaction.TransactionCoordination;
+import org.mule.runtime.core.work.AbstractMuleEventWork;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.resource.spi.work.WorkException;
 
 /**
  * Base implementation of a {@link MuleMessage} splitter, that converts its payload in a {@link MessageSequence}, and process each
  * element of it. Implementations must implement {@link #splitMessageIntoSequence(MuleEvent)} and determine how the message is
  * split.
  * <p>
+ * When {@link #setMaxConcurrency(int)} is greater than one and a {@link WorkManager} is set, up to that number of parts are
+ * processed at the same time, each one with its own copy of the event. Parts are taken from the sequence as they can be
+ * processed, so lazy sequences are not consumed ahead of the processing. Parts are processed sequentially when there is an
+ * active transaction, as it's bound to the current thread.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/Sequencer.html">http://www .eaipatterns.com/Sequencer.html</a>
  * 
  * @author flbulgarelli
@@ -44,6 +62,10 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   protected CorrelationMode enableCorrelation = CorrelationMode.IF_NOT_SET;
   protected int batchSize;
   protected String counterVariableName;
+  protected int maxConcurrency = 1;
+  protected boolean failFast = true;
+  protected boolean preserveOrder = true;
+  protected WorkManager workManager;
 
   @Override
   public final MuleEvent process(MuleEvent event) throws MuleException {
@@ -79,46 +101,126 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   protected abstract MessageSequence<?> splitMessageIntoSequence(MuleEvent event) throws MuleException;
 
   protected List<MuleEvent> processParts(MessageSequence<?> seq, MuleEvent originalEvent) throws MuleException {
-    String correlationId = originalEvent.getMessage().getCorrelation().getId().orElse(originalEvent.getMessage().getUniqueId());
-    List<MuleEvent> resultEvents = new ArrayList<>();
-    int correlationSequence = 0;
     MessageSequence<?> messageSequence = seq;
     if (batchSize > 1) {
       messageSequence = new PartitionedMessageSequence(seq, batchSize);
     }
+
+    List<MuleEvent> resultEvents;
+    if (isConcurrent()) {
+      resultEvents = processPartsConcurrently(messageSequence, originalEvent);
+    } else {
+      resultEvents = processPartsSequentially(messageSequence, originalEvent);
+    }
+
+    if (resultEvents.size() == 1) {
+      logger.debug("Splitter only returned a single result. If this is not expected, please check your split expression");
+    }
+    return resultEvents;
+  }
+
+  private boolean isConcurrent() {
+    return maxConcurrency > 1 && workManager != null && TransactionCoordination.getInstance().getTransaction() == null;
+  }
+
+  private List<MuleEvent> processPartsSequentially(MessageSequence<?> messageSequence, MuleEvent originalEvent)
+      throws MuleException {
+    String correlationId = getCorrelationId(originalEvent);
+    List<MuleEvent> resultEvents = new ArrayList<>();
+    int correlationSequence = 0;
     Integer count = messageSequence.size();
     for (; messageSequence.hasNext();) {
-      MuleEvent event = createEvent(messageSequence.next(), originalEvent);
-
       correlationSequence++;
-      if (counterVariableName != null) {
-        originalEvent.setFlowVariable(counterVariableName, correlationSequence);
+      MuleEvent event = createPartEvent(messageSequence.next(), originalEvent, correlationId, count, correlationSequence);
+
+      MuleEvent resultEvent = processNext(RequestContext.setEvent(event));
+      if (isResult(resultEvent)) {
+        resultEvents.add(resultEvent);
       }
+    }
+    return resultEvents;
+  }
+
+  private List<MuleEvent> processPartsConcurrently(MessageSequence<?> messageSequence, MuleEvent originalEvent)
+      throws MuleException {
+    String correlationId = getCorrelationId(originalEvent);
+    Integer count = messageSequence.size();
+    PartResults partResults = new PartResults();
+    Semaphore permits = new Semaphore(maxConcurrency);
+    int correlationSequence = 0;
 
-      final Builder builder = MuleMessage.builder(event.getMessage());
+    try {
+      for (; messageSequence.hasNext();) {
+        permits.acquire();
+        if (failFast && partResults.hasErrors()) {
+          permits.release();
+          break;
+        }
 
-      if (enableCorrelation.doCorrelation(event.getMessage().getCorrelation())) {
-        builder.correlationId(correlationId);
+        correlationSequence++;
+        MuleEvent event = createPartEvent(messageSequence.next(), originalEvent, correlationId, count, correlationSequence);
+        PartWork work = new PartWork(event, correlationSequence, partResults, permits);
+        try {
+          workManager.scheduleWork(work);
+        } catch (WorkException e) {
+          permits.release();
+          partResults.addError(correlationSequence, new DefaultMuleException(MessageFactory
+              .createStaticMessage("Could not schedule work for part " + correlationSequence), e));
+        }
       }
-      if (enableCorrelation != NEVER) {
-        // take correlation group size from the message properties, set by concrete message splitter
-        // implementations
-        builder.correlationGroupSize(count);
-        builder.correlationSequence(correlationSequence);
+      permits.acquire(maxConcurrency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DefaultMuleException(MessageFactory.createStaticMessage("Interrupted while processing split parts"), e);
+    } finally {
+      RequestContext.setEvent(originalEvent);
+    }
+
+    if (partResults.hasErrors()) {
+      Map<Integer, Throwable> errors = partResults.getErrors();
+      if (failFast) {
+        Throwable error = partResults.getFirstError();
+        if (error instanceof MuleException) {
+          throw (MuleException) error;
+        }
+        throw new DefaultMuleException(error);
       }
-      builder.rootId(originalEvent.getMessage().getMessageRootId());
+      throw new CompositeRoutingException(originalEvent, errors);
+    }
+    return partResults.getResults();
+  }
 
-      event.setMessage(builder.build());
+  private String getCorrelationId(MuleEvent originalEvent) {
+    return originalEvent.getMessage().getCorrelation().getId().orElse(originalEvent.getMessage().getUniqueId());
+  }
 
-      MuleEvent resultEvent = processNext(RequestContext.setEvent(event));
-      if (resultEvent != null && !VoidMuleEvent.getInstance().equals(resultEvent)) {
-        resultEvents.add(resultEvent);
-      }
+  private MuleEvent createPartEvent(Object part, MuleEvent originalEvent, String correlationId, Integer count,
+                                    int correlationSequence) {
+    MuleEvent event = createEvent(part, originalEvent);
+
+    if (counterVariableName != null) {
+      originalEvent.setFlowVariable(counterVariableName, correlationSequence);
     }
-    if (correlationSequence == 1) {
-      logger.debug("Splitter only returned a single result. If this is not expected, please check your split expression");
+
+    final Builder builder = MuleMessage.builder(event.getMessage());
+
+    if (enableCorrelation.doCorrelation(event.getMessage().getCorrelation())) {
+      builder.correlationId(correlationId);
     }
-    return resultEvents;
+    if (enableCorrelation != NEVER) {
+      // take correlation group size from the message properties, set by concrete message splitter
+      // implementations
+      builder.correlationGroupSize(count);
+      builder.correlationSequence(correlationSequence);
+    }
+    builder.rootId(originalEvent.getMessage().getMessageRootId());
+
+    event.setMessage(builder.build());
+    return event;
+  }
+
+  private boolean isResult(MuleEvent resultEvent) {
+    return resultEvent != null && !VoidMuleEvent.getInstance().equals(resultEvent);
   }
 
   private MuleEvent createEvent(Object payload, MuleEvent originalEvent) {
@@ -150,4 +252,108 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   public void setCounterVariableName(String counterVariableName) {
     this.counterVariableName = counterVariableName;
   }
+
+  /**
+   * Maximum number of parts processed at the same time. Values lower or equal than one process the parts sequentially.
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * When processing parts concurrently, stops taking new parts once a part fails, skips the parts already scheduled that did not
+   * start yet and rethrows the first error that happened. Otherwise all the parts are processed and their errors are thrown
+   * together in a {@link CompositeRoutingException}.
+   */
+  public void setFailFast(boolean failFast) {
+    this.failFast = failFast;
+  }
+
+  /**
+   * When processing parts concurrently, returns the results in the order of the parts in the sequence instead of the order in
+   * which they were completed.
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
+
+  /**
+   * {@link WorkManager} used to process the parts concurrently. The splitter does not manage its lifecycle.
+   */
+  public void setWorkManager(WorkManager workManager) {
+    this.workManager = workManager;
+  }
+
+  /**
+   * Collects the results and errors of the parts processed concurrently, keyed by their position in the sequence.
+   */
+  private class PartResults {
+
+    private final Map<Integer, MuleEvent> results = preserveOrder ? new TreeMap<>() : new LinkedHashMap<>();
+    private final Map<Integer, Throwable> errors = new TreeMap<>();
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+    synchronized void addResult(int index, MuleEvent resultEvent) {
+      results.put(index, resultEvent);
+    }
+
+    void addError(int index, Throwable error) {
+      firstError.compareAndSet(null, error);
+      synchronized (this) {
+        errors.put(index, error);
+      }
+    }
+
+    boolean hasErrors() {
+      return firstError.get() != null;
+    }
+
+    /**
+     * @return the error of the part that failed first in time, which is not necessarily the first one in the sequence
+     */
+    Throwable getFirstError() {
+      return firstError.get();
+    }
+
+    synchronized Map<Integer, Throwable> getErrors() {
+      return new TreeMap<>(errors);
+    }
+
+    synchronized List<MuleEvent> getResults() {
+      return new ArrayList<>(results.values());
+    }
+  }
+
+  private class PartWork extends AbstractMuleEventWork {
+
+    private final int index;
+    private final PartResults partResults;
+    private final Semaphore permits;
+
+    private PartWork(MuleEvent event, int index, PartResults partResults, Semaphore permits) {
+      super(event);
+      this.index = index;
+      this.partResults = partResults;
+      this.permits = permits;
+    }
+
+    @Override
+    protected void doRun() {
+      try {
+        if (failFast && partResults.hasErrors()) {
+          // Cancelled, another part already failed
+          return;
+        }
+
+        MuleEvent resultEvent = processNext(event);
+        if (isResult(resultEvent)) {
+          partResults.addResult(index, resultEvent);
+        }
+      } catch (Throwable e) {
+        partResults.addError(index, e);
+      } finally {
+        permits.release();
+      }
+    }
+  }
 }
@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.core.util.Preconditions.checkArgument;
+
+import org.mule.runtime.core.DefaultMuleEvent;
+import org.mule.runtime.core.MessageExchangePattern;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.context.notification.DefaultFlowCallStack;
+import org.mule.runtime.core.context.notification.DefaultProcessorsTrace;
+import org.mule.runtime.core.management.stats.ProcessingTime;
+import org.mule.runtime.core.message.DefaultMuleMessageBuilder.MuleMessageImplementation;
+import org.mule.runtime.core.metadata.TypedValue;
+import org.mule.runtime.core.session.DefaultMuleSession;
+import org.mule.runtime.core.util.CaseInsensitiveHashMap;
+import org.mule.runtime.core.util.CopyOnWriteCaseInsensitiveMap;
+import org.mule.runtime.core.util.PersistentCaseInsensitiveMap;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of {@link org.mule.runtime.core.api.serialization.ObjectSerializer} that writes a compact binary format, meant
+ * for the persistent queues, object stores and cluster replication where objects are serialized and deserialized by the same
+ * application.
+ * <p/>
+ * Strings, byte arrays and boxed primitives are written directly, with a one byte tag. Any other object goes through Java
+ * serialization, so it must be {@link java.io.Serializable} and its custom {@code writeObject}/{@code readObject} methods, such
+ * as the ones of {@link DefaultMuleEvent} and the {@link org.mule.runtime.core.api.MuleMessage} implementation, are honoured.
+ * But instead of the full class descriptor, each class is written as a small id if it was registered, or as its name otherwise,
+ * followed by a fingerprint of its serializable fields, which is checked when reading. This means that the local version of the
+ * classes must be compatible with the one that wrote the data.
+ * <p/>
+ * Common JDK and Mule classes are registered by default. Others can be added through {@link #setRegisteredClasses(List)}, always
+ * in the same order, since the ids depend on it. After deserialization, every {@link DeserializationPostInitialisable} in the
+ * object graph is initialised, not only the root object.
+ * <p/>
+ * To use it, declare it in the registry and reference it from the {@code defaultObjectSerializer-ref} attribute of the
+ * configuration element.
+ *
+ * @since 4.0
+ */
+public class CompactObjectSerializer extends AbstractObjectSerializer {
+
+  private static final int NULL = 0;
+  private static final int STRING = 1;
+  private static final int BYTE_ARRAY = 2;
+  private static final int INTEGER = 3;
+  private static final int LONG = 4;
+  private static final int BOOLEAN_TRUE = 5;
+  private static final int BOOLEAN_FALSE = 6;
+  private static final int DOUBLE = 7;
+  private static final int OBJECT = 8;
+
+  private static final int FULL_CLASS_DESCRIPTOR = 0;
+  private static final int CLASS_NAME = 1;
+  private static final int FIRST_CLASS_ID = 2;
+
+  private static final int BUFFER_POOL_SIZE = 32;
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+  private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+  // Never reorder, only append: the position of each class is written as its id
+  private static final List<Class<?>> DEFAULT_CLASSES = Arrays.asList(Number.class, Integer.class, Long.class, Double.class,
+                                                                      Float.class, Short.class, Byte.class, Boolean.class,
+                                                                      Character.class, BigDecimal.class, BigInteger.class,
+                                                                      Date.class, Enum.class, HashMap.class,
+                                                                      LinkedHashMap.class, TreeMap.class, ArrayList.class,
+                                                                      LinkedList.class, HashSet.class, LinkedHashSet.class,
+                                                                      DefaultMuleEvent.class, MuleMessageImplementation.class,
+                                                                      DefaultMuleSession.class, TypedValue.class,
+                                                                      CopyOnWriteCaseInsensitiveMap.class,
+                                                                      CaseInsensitiveHashMap.class, MessageExchangePattern.class,
+                                                                      ProcessingTime.class, DefaultFlowCallStack.class,
+                                                                      DefaultProcessorsTrace.class,
+                                                                      PersistentCaseInsensitiveMap.class);
+
+  private static final ClassValue<Integer> FINGERPRINTS = new ClassValue<Integer>() {
+
+    @Override
+    protected Integer computeValue(Class<?> type) {
+      return fingerprint(ObjectStreamClass.lookupAny(type));
+    }
+  };
+
+  private volatile List<Class<?>> classesById = new ArrayList<>(DEFAULT_CLASSES);
+  private volatile Map<Class<?>, Integer> idsByClass = indexById(classesById);
+  private final BlockingQueue<PooledBuffer> buffers = new ArrayBlockingQueue<>(BUFFER_POOL_SIZE);
+
+  /**
+   * Registers the given classes, after the default ones, so they are written as an id instead of by name.
+   * <p/>
+   * Serializers that read each other's output must be given the same classes, in the same order.
+   *
+   * @param classes the classes to register
+   */
+  public synchronized void setRegisteredClasses(List<Class<?>> classes) {
+    List<Class<?>> registered = new ArrayList<>(DEFAULT_CLASSES);
+    for (Class<?> type : classes) {
+      if (!registered.contains(type)) {
+        registered.add(type);
+      }
+    }
+    idsByClass = indexById(registered);
+    classesById = registered;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    PooledBuffer buffer = buffers.poll();
+    if (buffer == null) {
+      buffer = new PooledBuffer();
+    }
+    try {
+      write(object, buffer);
+      return buffer.toByteArray();
+    } finally {
+      if (buffer.capacity() <= MAX_POOLED_BUFFER_SIZE) {
+        buffer.reset();
+        buffers.offer(buffer);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void serialize(Object object, OutputStream out) throws SerializationException {
+    try {
+      write(object, out);
+      out.flush();
+    } catch (IOException e) {
+      throw new SerializationException("Could not serialize object", e);
+    } finally {
+      IOUtils.closeQuietly(out);
+    }
+  }
+
+  private void write(Object object, OutputStream out) throws IOException {
+    if (object == null) {
+      out.write(NULL);
+    } else if (object instanceof String) {
+      out.write(STRING);
+      writeBytes(((String) object).getBytes(UTF_8), out);
+    } else if (object instanceof byte[]) {
+      out.write(BYTE_ARRAY);
+      writeBytes((byte[]) object, out);
+    } else if (object instanceof Integer) {
+      out.write(INTEGER);
+      writeInt((Integer) object, out);
+    } else if (object instanceof Long) {
+      out.write(LONG);
+      writeLong((Long) object, out);
+    } else if (object instanceof Boolean) {
+      out.write((Boolean) object ? BOOLEAN_TRUE : BOOLEAN_FALSE);
+    } else if (object instanceof Double) {
+      out.write(DOUBLE);
+      writeLong(Double.doubleToRawLongBits((Double) object), out);
+    } else {
+      out.write(OBJECT);
+      ObjectOutputStream objectOut = new CompactObjectOutputStream(out);
+      objectOut.writeObject(object);
+      objectOut.flush();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    checkArgument(inputStream != null, "Cannot deserialize a null stream");
+    checkArgument(classLoader != null, "Cannot deserialize with a null classloader");
+
+    DataInputStream in = new DataInputStream(inputStream);
+    int tag = in.read();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return (T) new String(readBytes(in), UTF_8);
+      case BYTE_ARRAY:
+        return (T) readBytes(in);
+      case INTEGER:
+        return (T) Integer.valueOf(in.readInt());
+      case LONG:
+        return (T) Long.valueOf(in.readLong());
+      case BOOLEAN_TRUE:
+        return (T) Boolean.TRUE;
+      case BOOLEAN_FALSE:
+        return (T) Boolean.FALSE;
+      case DOUBLE:
+        return (T) Double.valueOf(Double.longBitsToDouble(in.readLong()));
+      case OBJECT:
+        CompactObjectInputStream objectIn = new CompactObjectInputStream(inputStream, classLoader);
+        Object object = objectIn.readObject();
+        for (Object postInitialisable : objectIn.postInitialisables) {
+          super.postInitialize(postInitialisable);
+        }
+        return (T) object;
+      case -1:
+        throw new EOFException("Cannot deserialize an empty stream");
+      default:
+        throw new StreamCorruptedException("Unknown type tag " + tag);
+    }
+  }
+
+  @Override
+  protected <T> T postInitialize(T object) {
+    // does nothing since the whole object graph was already initialised on deserialization
+    return object;
+  }
+
+  private static void writeBytes(byte[] bytes, OutputStream out) throws IOException {
+    writeInt(bytes.length, out);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static void writeInt(int value, OutputStream out) throws IOException {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  private static void writeLong(long value, OutputStream out) throws IOException {
+    writeInt((int) (value >>> 32), out);
+    writeInt((int) value, out);
+  }
+
+  private static Map<Class<?>, Integer> indexById(List<Class<?>> classes) {
+    Map<Class<?>, Integer> ids = new ConcurrentHashMap<>();
+    for (int i = 0; i < classes.size(); ++i) {
+      ids.put(classes.get(i), FIRST_CLASS_ID + i);
+    }
+    return ids;
+  }
+
+  private static int fingerprint(ObjectStreamClass descriptor) {
+    int fingerprint = Long.hashCode(descriptor.getSerialVersionUID());
+    for (ObjectStreamField field : descriptor.getFields()) {
+      fingerprint = 31 * fingerprint + field.getName().hashCode();
+      fingerprint = 31 * fingerprint + (field.isPrimitive() ? field.getTypeCode() : field.getTypeString().hashCode());
+    }
+    return fingerprint;
+  }
+
+  private static boolean hasFullDescriptor(Class<?> type) {
+    return type == null || type.isArray() || type.isPrimitive() || type.isInterface();
+  }
+
+  /**
+   * Writes the class descriptors as a class id or name plus the fingerprint of the class, except for arrays and the classes that
+   * can't be looked up locally, which get the regular descriptor.
+   */
+  private class CompactObjectOutputStream extends ObjectOutputStream {
+
+    private CompactObjectOutputStream(OutputStream out) throws IOException {
+      super(out);
+    }
+
+    @Override
+    protected void writeStreamHeader() throws IOException {
+      // the type tag already identifies the stream
+    }
+
+    @Override
+    protected void writeClassDescriptor(ObjectStreamClass descriptor) throws IOException {
+      Class<?> type = descriptor.forClass();
+      if (hasFullDescriptor(type)) {
+        write(FULL_CLASS_DESCRIPTOR);
+        super.writeClassDescriptor(descriptor);
+        return;
+      }
+
+      Integer id = idsByClass.get(type);
+      if (id != null) {
+        writeVarInt(id);
+      } else {
+        write(CLASS_NAME);
+        writeUTF(type.getName());
+      }
+      writeInt(FINGERPRINTS.get(type));
+    }
+
+    private void writeVarInt(int value) throws IOException {
+      while ((value & ~0x7F) != 0) {
+        write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      write(value);
+    }
+  }
+
+  /**
+   * Reads the class descriptors written by {@link CompactObjectOutputStream}, resolving classes through the given class loader,
+   * and keeps the {@link DeserializationPostInitialisable} objects found so they can be initialised once the graph is read.
+   */
+  private class CompactObjectInputStream extends ObjectInputStream {
+
+    private final ClassLoader classLoader;
+    private final List<Object> postInitialisables = new ArrayList<>(2);
+
+    private CompactObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+      super(in);
+      this.classLoader = classLoader;
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected void readStreamHeader() throws IOException {
+      // no header is written
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+      int id = readVarInt();
+      if (id == FULL_CLASS_DESCRIPTOR) {
+        return super.readClassDescriptor();
+      }
+
+      Class<?> type;
+      if (id == CLASS_NAME) {
+        type = Class.forName(readUTF(), false, classLoader);
+      } else {
+        List<Class<?>> classes = classesById;
+        if (id - FIRST_CLASS_ID >= classes.size()) {
+          throw new StreamCorruptedException("Unknown class id " + id);
+        }
+        type = classes.get(id - FIRST_CLASS_ID);
+      }
+
+      if (readInt() != FINGERPRINTS.get(type)) {
+        throw new InvalidClassException(type.getName(), "serialized class is not compatible with the local one");
+      }
+      return ObjectStreamClass.lookupAny(type);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+      Class<?> type = descriptor.forClass();
+      if (type != null) {
+        return type;
+      }
+      try {
+        return Class.forName(descriptor.getName(), false, classLoader);
+      } catch (ClassNotFoundException e) {
+        return super.resolveClass(descriptor);
+      }
+    }
+
+    @Override
+    protected Object resolveObject(Object object) {
+      if (object instanceof DeserializationPostInitialisable) {
+        postInitialisables.add(object);
+      }
+      return object;
+    }
+
+    private int readVarInt() throws IOException {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        int b = readUnsignedByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new StreamCorruptedException("Malformed class id");
+    }
+  }
+
+  private static class PooledBuffer extends ByteArrayOutputStream {
+
+    private PooledBuffer() {
+      super(INITIAL_BUFFER_SIZE);
+    }
+
+    private int capacity() {
+      return buf.length;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.transformer;
+
+import org.mule.runtime.api.metadata.DataType;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded cache for the results of resolving transformations between two {@link DataType}s, keyed by the source type and then
+ * by the result type.
+ * <p/>
+ * Lookups don't lock nor allocate, so resolvers can consult it on every transformation. Once the cache holds
+ * {@value #MAX_SIZE_PROPERTY_KEY} entries, arbitrary entries are evicted for each new one. The cache can hold {@code null}
+ * values, to remember that a transformation could not be resolved, which {@link #get(DataType, DataType, Resolver)} tells apart
+ * from a miss. Owners must {@link #clear()} it whenever the registered transformers change.
+ * <p/>
+ * The size of the cache is counted from the cached entries, so entries put while the cache is cleared or evicted are at most
+ * lost, never counted twice.
+ *
+ * @param <V> type of the cached values
+ */
+public class TransformerResolutionCache<V> {
+
+  public static final String MAX_SIZE_PROPERTY_KEY = "mule.transformer.resolutionCache.maxSize";
+
+  private static final int DEFAULT_MAX_SIZE = 1024;
+
+  // Stands for a cached null, as the maps can't hold null values
+  private static final Object NULL_VALUE = new Object();
+
+  private final ConcurrentMap<DataType, ConcurrentMap<DataType, Object>> cache = new ConcurrentHashMap<>();
+  private final int maxSize;
+
+  public TransformerResolutionCache() {
+    this(Integer.getInteger(MAX_SIZE_PROPERTY_KEY, DEFAULT_MAX_SIZE));
+  }
+
+  public TransformerResolutionCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @return the value cached for the given pair of types, or {@code null} if there is none or it is {@code null}
+   */
+  public V get(DataType source, DataType result) {
+    Object value = lookup(source, result);
+    return value == null ? null : unwrap(value);
+  }
+
+  /**
+   * Returns the value cached for the given pair of types, resolving and caching it when there is none.
+   *
+   * @param resolver resolves the value of the pair of types when it's not cached. The value it returns is cached even if it is
+   *        {@code null}, while nothing is cached if it fails
+   * @return the value cached or resolved, which may be {@code null}
+   * @throws E when the resolver fails
+   */
+  public <E extends Exception> V get(DataType source, DataType result, Resolver<V, E> resolver) throws E {
+    Object value = lookup(source, result);
+    if (value != null) {
+      return unwrap(value);
+    }
+
+    V resolved = resolver.resolve(source, result);
+    put(source, result, resolved);
+    return resolved;
+  }
+
+  /**
+   * @return true if there is a value, even {@code null}, cached for the given pair of types
+   */
+  public boolean containsKey(DataType source, DataType result) {
+    return lookup(source, result) != null;
+  }
+
+  /**
+   * Caches a value for the given pair of types, replacing any previous one.
+   */
+  public void put(DataType source, DataType result, V value) {
+    if (resultCache(source).put(result, wrap(value)) == null) {
+      added();
+    }
+  }
+
+  /**
+   * Caches a value for the given pair of types unless there is one already.
+   *
+   * @return the value previously cached, or {@code null} if there was none
+   */
+  public V putIfAbsent(DataType source, DataType result, V value) {
+    Object previous = resultCache(source).putIfAbsent(result, wrap(value));
+    if (previous == null) {
+      added();
+      return null;
+    }
+    return unwrap(previous);
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    int size = 0;
+    for (ConcurrentMap<DataType, Object> resultCache : cache.values()) {
+      size += resultCache.size();
+    }
+    return size;
+  }
+
+  private Object lookup(DataType source, DataType result) {
+    ConcurrentMap<DataType, Object> resultCache = cache.get(source);
+    return resultCache == null ? null : resultCache.get(result);
+  }
+
+  private ConcurrentMap<DataType, Object> resultCache(DataType source) {
+    ConcurrentMap<DataType, Object> resultCache = cache.get(source);
+    if (resultCache == null) {
+      resultCache = cache.computeIfAbsent(source, key -> new ConcurrentHashMap<>());
+    }
+    return resultCache;
+  }
+
+  private void added() {
+    int excess = size() - maxSize;
+    if (excess <= 0) {
+      return;
+    }
+
+    Iterator<Map.Entry<DataType, ConcurrentMap<DataType, Object>>> resultCaches = cache.entrySet().iterator();
+    while (excess > 0 && resultCaches.hasNext()) {
+      Map.Entry<DataType, ConcurrentMap<DataType, Object>> entry = resultCaches.next();
+      ConcurrentMap<DataType, Object> resultCache = entry.getValue();
+      for (DataType result : resultCache.keySet()) {
+        if (excess <= 0) {
+          break;
+        }
+        if (resultCache.remove(result) != null) {
+          excess--;
+        }
+      }
+
+      if (resultCache.isEmpty()) {
+        // A value put concurrently in the removed map is lost, which is just a later miss
+        cache.remove(entry.getKey(), resultCache);
+      }
+    }
+  }
+
+  private Object wrap(V value) {
+    return value == null ? NULL_VALUE : value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V unwrap(Object value) {
+    return value == NULL_VALUE ? null : (V) value;
+  }
+
+  /**
+   * Resolves the value of a pair of types that is not cached.
+   *
+   * @param <V> type of the resolved values
+   * @param <E> type of the exception thrown when the value can't be resolved
+   */
+  @FunctionalInterface
+  public interface Resolver<V, E extends Exception> {
+
+    V resolve(DataType source, DataType result) throws E;
+  }
+}
@@ -12,18 +12,19 @@ import org.mule.runtime.core.api.registry.TransformerResolver;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.transformer.TransformerResolutionCache;
 
 import java.util.List;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.apache.commons.collections.map.LRUMap;
-
 public class GraphTransformerResolver implements TransformerResolver {
 
   private ReentrantReadWriteLock readWriteLock;
   private TransformationGraph graph;
   private CompositeConverterFilter converterFilter;
-  private LRUMap cache;
+  private TransformerResolutionCache<Transformer> cache;
+  // Kept in a field so lookups don't allocate a method reference
+  private final TransformerResolutionCache.Resolver<Transformer, ResolverException> converterResolver = this::resolveConverter;
   private TransformationGraphLookupStrategy lookupStrategyTransformation;
 
   public GraphTransformerResolver() {
@@ -32,51 +33,28 @@ public class GraphTransformerResolver implements TransformerResolver {
     lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
     converterFilter = new CompositeConverterFilter(new TransformationLengthConverterFilter(),
                                                    new PriorityWeightingConverterFilter(), new NameConverterFilter());
-    cache = new LRUMap();
+    cache = new TransformerResolutionCache<>();
   }
 
   @Override
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    String cacheKey = getDataTypeSourceResultPairHash(source, result);
+    return cache.get(source, result, converterResolver);
+  }
 
+  private Transformer resolveConverter(DataType source, DataType result) throws ResolverException {
+    List<Converter> converters;
     readWriteLock.readLock().lock();
     try {
-      if (cache.containsKey(cacheKey)) {
-        return (Converter) cache.get(cacheKey);
-      }
+      converters = converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
     } finally {
       readWriteLock.readLock().unlock();
     }
 
-    List<Converter> converters =
-        converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
-
     if (converters.size() > 1) {
       throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
     }
 
-    Transformer converter = (converters.size() == 0) ? null : converters.get(0);
-
-
-    readWriteLock.writeLock().lock();
-    try {
-      cache.put(cacheKey, converter);
-    } finally {
-      readWriteLock.writeLock().unlock();
-    }
-
-    return converter;
-  }
-
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    StringBuilder builder = new StringBuilder();
-    builder.append(source.getClass().getName());
-    builder.append(source.hashCode());
-    builder.append(":");
-    builder.append(result.getClass().getName());
-    builder.append(result.hashCode());
-
-    return builder.toString();
+    return (converters.size() == 0) ? null : converters.get(0);
   }
 
   @Override
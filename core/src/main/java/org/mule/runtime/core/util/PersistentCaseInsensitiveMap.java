@@ -0,0 +1,619 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Case insensitive {@link Map} backed by a persistent hash trie, so that copies share their structure instead of their
+ * contents.
+ * <p/>
+ * {@link #clone()} takes constant time, and each update only copies the path from the root to the changed entry, taking
+ * O(log n) time, without affecting the maps cloned before or after it. Keys are compared in the same way as in
+ * {@link CaseInsensitiveHashMap}, keeping the case of the key used when the entry was first added.<br>
+ * <b>Note:</b> In this {@link Map} implementation {@link #values()} and {@link #entrySet()} return unmodifiable
+ * {@link java.util.Collection}'s, and iterators traverse the contents of the map at the time they were created.<br>
+ * This implementation is thread-safe. Each update atomically replaces the root of the trie, retrying if another thread updated
+ * the map in the meantime, and reads see the contents of the map after the last completed update.
+ *
+ * @since 4.0
+ */
+public class PersistentCaseInsensitiveMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+  private static final long serialVersionUID = 2480216553585768624L;
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int MAX_DEPTH = 8;
+  private static final Trie EMPTY = new Trie(null, 0);
+
+  private static final AtomicReferenceFieldUpdater<PersistentCaseInsensitiveMap, Trie> TRIE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(PersistentCaseInsensitiveMap.class, Trie.class, "trie");
+
+  private transient volatile Trie trie = EMPTY;
+  private transient Set<K> keySet;
+  private transient Set<Entry<K, V>> entrySet;
+
+  public PersistentCaseInsensitiveMap() {}
+
+  public PersistentCaseInsensitiveMap(Map<? extends K, ? extends V> that) {
+    if (that instanceof PersistentCaseInsensitiveMap) {
+      this.trie = ((PersistentCaseInsensitiveMap) that).trie;
+    } else {
+      putAll(that);
+    }
+  }
+
+  /**
+   * @return a copy of this map, sharing its current contents in constant time
+   */
+  @Override
+  public PersistentCaseInsensitiveMap<K, V> clone() {
+    return new PersistentCaseInsensitiveMap<>(this);
+  }
+
+  @Override
+  public int size() {
+    return trie.size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return trie.size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Node root = trie.root;
+    return root != null && root.find(key, hash(key), 0) != null;
+  }
+
+  @Override
+  public V get(Object key) {
+    Node root = trie.root;
+    if (root == null) {
+      return null;
+    }
+    Leaf leaf = root.find(key, hash(key), 0);
+    return leaf == null ? null : (V) leaf.value;
+  }
+
+  @Override
+  public V put(K key, V value) {
+    Leaf leaf = new Leaf(key, value, hash(key));
+    while (true) {
+      Trie current = trie;
+      Change change = new Change();
+      Node root = current.root == null ? new BitmapNode(0, new Object[0]).put(leaf, 0, change)
+          : current.root.put(leaf, 0, change);
+      if (TRIE_UPDATER.compareAndSet(this, current, new Trie(root, change.added ? current.size + 1 : current.size))) {
+        return (V) change.oldValue;
+      }
+    }
+  }
+
+  @Override
+  public V remove(Object key) {
+    int hash = hash(key);
+    while (true) {
+      Trie current = trie;
+      if (current.root == null) {
+        return null;
+      }
+      Change change = new Change();
+      Node root = current.root.remove(key, hash, 0, change);
+      if (!change.removed || TRIE_UPDATER.compareAndSet(this, current, new Trie(root, current.size - 1))) {
+        return (V) change.oldValue;
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    trie = EMPTY;
+  }
+
+  @Override
+  public Set<K> keySet() {
+    if (keySet == null) {
+      keySet = new KeySet();
+    }
+    return keySet;
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  /**
+   * Hash of the key consistent with {@link String#equalsIgnoreCase(String)}, computed without creating a lower case copy.
+   */
+  private static int hash(Object key) {
+    String string = key.toString();
+    int hash = 0;
+    for (int i = 0; i < string.length(); ++i) {
+      hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(string.charAt(i)));
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static boolean isEqualKey(Object key1, Object key2) {
+    if (key1 instanceof String && key2 instanceof String) {
+      return ((String) key1).equalsIgnoreCase((String) key2);
+    }
+    return key1 == key2 || key1.equals(key2);
+  }
+
+  private static int index(int bitmap, int bit) {
+    return Integer.bitCount(bitmap & (bit - 1));
+  }
+
+  /**
+   * Root of the trie and number of entries in it, replaced as a whole on each update.
+   */
+  private static final class Trie {
+
+    private final Node root;
+    private final int size;
+
+    private Trie(Node root, int size) {
+      this.root = root;
+      this.size = size;
+    }
+  }
+
+  /**
+   * Records the effect of an update on the size of the map.
+   */
+  private static final class Change {
+
+    private Object oldValue;
+    private boolean added;
+    private boolean removed;
+  }
+
+  /**
+   * Immutable node of the trie. Updates return a new node, or the same one if nothing changed.
+   */
+  private static abstract class Node implements Serializable {
+
+    abstract Leaf find(Object key, int hash, int shift);
+
+    abstract Node put(Leaf leaf, int shift, Change change);
+
+    /**
+     * @return the node without the key, or {@code null} if it got empty
+     */
+    abstract Node remove(Object key, int hash, int shift, Change change);
+
+    /**
+     * @return the only entry of this node, if it only has one, so it can be inlined in its parent
+     */
+    abstract Leaf singleLeaf();
+
+    abstract Object[] children();
+  }
+
+  /**
+   * Entry of the map, stored inline in the nodes.
+   */
+  private static final class Leaf implements Entry, Serializable {
+
+    private final Object key;
+    private final Object value;
+    private final int hash;
+
+    private Leaf(Object key, Object value, int hash) {
+      this.key = key;
+      this.value = value;
+      this.hash = hash;
+    }
+
+    @Override
+    public Object getKey() {
+      return key;
+    }
+
+    @Override
+    public Object getValue() {
+      return value;
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Entry)) {
+        return false;
+      }
+      Entry other = (Entry) obj;
+      return key.equals(other.getKey()) && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  /**
+   * Node with up to 32 children, each being a {@link Leaf} or another {@link Node}, indexed by the bits of the hash at the depth
+   * of the node.
+   */
+  private static final class BitmapNode extends Node {
+
+    private final int bitmap;
+    private final Object[] children;
+
+    private BitmapNode(int bitmap, Object[] children) {
+      this.bitmap = bitmap;
+      this.children = children;
+    }
+
+    @Override
+    Leaf find(Object key, int hash, int shift) {
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      Object child = children[index(bitmap, bit)];
+      if (child instanceof Leaf) {
+        Leaf leaf = (Leaf) child;
+        return leaf.hash == hash && isEqualKey(key, leaf.key) ? leaf : null;
+      }
+      return ((Node) child).find(key, hash, shift + BITS);
+    }
+
+    @Override
+    Node put(Leaf leaf, int shift, Change change) {
+      int bit = 1 << ((leaf.hash >>> shift) & MASK);
+      int index = index(bitmap, bit);
+      if ((bitmap & bit) == 0) {
+        Object[] newChildren = new Object[children.length + 1];
+        System.arraycopy(children, 0, newChildren, 0, index);
+        newChildren[index] = leaf;
+        System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+        change.added = true;
+        return new BitmapNode(bitmap | bit, newChildren);
+      }
+
+      Object child = children[index];
+      Object newChild;
+      if (child instanceof Leaf) {
+        Leaf existing = (Leaf) child;
+        if (existing.hash == leaf.hash && isEqualKey(leaf.key, existing.key)) {
+          change.oldValue = existing.value;
+          newChild = new Leaf(existing.key, leaf.value, leaf.hash);
+        } else {
+          change.added = true;
+          newChild = merge(existing, leaf, shift + BITS);
+        }
+      } else {
+        newChild = ((Node) child).put(leaf, shift + BITS, change);
+        if (newChild == child) {
+          return this;
+        }
+      }
+      return withChild(index, newChild);
+    }
+
+    @Override
+    Node remove(Object key, int hash, int shift, Change change) {
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int index = index(bitmap, bit);
+      Object child = children[index];
+      if (child instanceof Leaf) {
+        Leaf leaf = (Leaf) child;
+        if (leaf.hash != hash || !isEqualKey(key, leaf.key)) {
+          return this;
+        }
+        change.oldValue = leaf.value;
+        change.removed = true;
+        return withoutChild(index, bit);
+      }
+
+      Node newChild = ((Node) child).remove(key, hash, shift + BITS, change);
+      if (newChild == child) {
+        return this;
+      } else if (newChild == null) {
+        return withoutChild(index, bit);
+      }
+      Leaf single = newChild.singleLeaf();
+      return withChild(index, single != null ? single : newChild);
+    }
+
+    private Node withChild(int index, Object child) {
+      Object[] newChildren = children.clone();
+      newChildren[index] = child;
+      return new BitmapNode(bitmap, newChildren);
+    }
+
+    private Node withoutChild(int index, int bit) {
+      if (children.length == 1) {
+        return null;
+      }
+      Object[] newChildren = new Object[children.length - 1];
+      System.arraycopy(children, 0, newChildren, 0, index);
+      System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+      return new BitmapNode(bitmap & ~bit, newChildren);
+    }
+
+    @Override
+    Leaf singleLeaf() {
+      return children.length == 1 && children[0] instanceof Leaf ? (Leaf) children[0] : null;
+    }
+
+    @Override
+    Object[] children() {
+      return children;
+    }
+
+    private static Node merge(Leaf leaf1, Leaf leaf2, int shift) {
+      if (leaf1.hash == leaf2.hash) {
+        return new CollisionNode(leaf1.hash, new Object[] {leaf1, leaf2});
+      }
+      int index1 = (leaf1.hash >>> shift) & MASK;
+      int index2 = (leaf2.hash >>> shift) & MASK;
+      if (index1 == index2) {
+        return new BitmapNode(1 << index1, new Object[] {merge(leaf1, leaf2, shift + BITS)});
+      }
+      return new BitmapNode((1 << index1) | (1 << index2),
+                            index1 < index2 ? new Object[] {leaf1, leaf2} : new Object[] {leaf2, leaf1});
+    }
+  }
+
+  /**
+   * Node holding the entries whose keys have the same hash.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final int hash;
+    private final Object[] leaves;
+
+    private CollisionNode(int hash, Object[] leaves) {
+      this.hash = hash;
+      this.leaves = leaves;
+    }
+
+    @Override
+    Leaf find(Object key, int hash, int shift) {
+      if (hash != this.hash) {
+        return null;
+      }
+      int index = indexOf(key);
+      return index < 0 ? null : (Leaf) leaves[index];
+    }
+
+    @Override
+    Node put(Leaf leaf, int shift, Change change) {
+      if (leaf.hash != hash) {
+        return new BitmapNode(1 << ((hash >>> shift) & MASK), new Object[] {this}).put(leaf, shift, change);
+      }
+      int index = indexOf(leaf.key);
+      Object[] newLeaves;
+      if (index < 0) {
+        newLeaves = new Object[leaves.length + 1];
+        System.arraycopy(leaves, 0, newLeaves, 0, leaves.length);
+        newLeaves[leaves.length] = leaf;
+        change.added = true;
+      } else {
+        Leaf existing = (Leaf) leaves[index];
+        change.oldValue = existing.value;
+        newLeaves = leaves.clone();
+        newLeaves[index] = new Leaf(existing.key, leaf.value, leaf.hash);
+      }
+      return new CollisionNode(hash, newLeaves);
+    }
+
+    @Override
+    Node remove(Object key, int hash, int shift, Change change) {
+      if (hash != this.hash) {
+        return this;
+      }
+      int index = indexOf(key);
+      if (index < 0) {
+        return this;
+      }
+      change.oldValue = ((Leaf) leaves[index]).value;
+      change.removed = true;
+      Object[] newLeaves = new Object[leaves.length - 1];
+      System.arraycopy(leaves, 0, newLeaves, 0, index);
+      System.arraycopy(leaves, index + 1, newLeaves, index, leaves.length - index - 1);
+      return newLeaves.length == 0 ? null : new CollisionNode(hash, newLeaves);
+    }
+
+    @Override
+    Leaf singleLeaf() {
+      return leaves.length == 1 ? (Leaf) leaves[0] : null;
+    }
+
+    @Override
+    Object[] children() {
+      return leaves;
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < leaves.length; ++i) {
+        if (isEqualKey(key, ((Leaf) leaves[i]).key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * Depth first traversal of the entries of a trie.
+   */
+  private static final class LeafIterator implements Iterator<Leaf> {
+
+    private final Object[][] stack = new Object[MAX_DEPTH + 1][];
+    private final int[] positions = new int[MAX_DEPTH + 1];
+    private int depth = -1;
+    private Leaf next;
+
+    private LeafIterator(Node root) {
+      if (root != null) {
+        push(root);
+        advance();
+      }
+    }
+
+    private void push(Node node) {
+      stack[++depth] = node.children();
+      positions[depth] = 0;
+    }
+
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        Object[] children = stack[depth];
+        if (positions[depth] == children.length) {
+          stack[depth--] = null;
+          continue;
+        }
+        Object child = children[positions[depth]++];
+        if (child instanceof Leaf) {
+          next = (Leaf) child;
+          return;
+        }
+        push((Node) child);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Leaf next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Leaf current = next;
+      advance();
+      return current;
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      return (Iterator) new LeafIterator(trie.root);
+    }
+
+    @Override
+    public int size() {
+      return trie.size;
+    }
+  }
+
+  private final class KeySet extends AbstractSet<K> {
+
+    @Override
+    public Iterator<K> iterator() {
+      return new KeyIterator();
+    }
+
+    @Override
+    public int size() {
+      return trie.size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return containsKey(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!containsKey(o)) {
+        return false;
+      }
+      PersistentCaseInsensitiveMap.this.remove(o);
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      PersistentCaseInsensitiveMap.this.clear();
+    }
+  }
+
+  private final class KeyIterator implements Iterator<K> {
+
+    private final LeafIterator leaves = new LeafIterator(trie.root);
+    private Leaf current;
+
+    @Override
+    public boolean hasNext() {
+      return leaves.hasNext();
+    }
+
+    @Override
+    public K next() {
+      current = leaves.next();
+      return (K) current.key;
+    }
+
+    @Override
+    public void remove() {
+      if (current == null) {
+        throw new IllegalStateException("Remove can only be called once per call to next()");
+      }
+      PersistentCaseInsensitiveMap.this.remove(current.key);
+      current = null;
+    }
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    Trie current = trie;
+    out.writeInt(current.size);
+    for (Iterator<Leaf> leaves = new LeafIterator(current.root); leaves.hasNext();) {
+      Leaf leaf = leaves.next();
+      out.writeObject(leaf.key);
+      out.writeObject(leaf.value);
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    trie = EMPTY;
+    int entries = in.readInt();
+    for (int i = 0; i < entries; ++i) {
+      put((K) in.readObject(), (V) in.readObject());
+    }
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.journal;
+
+import static org.mule.runtime.core.util.journal.JournalDurability.SYNC;
+
+import org.mule.runtime.core.api.MuleRuntimeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends serialized journal entries to a journal file, grouping the entries logged concurrently in a single write.
+ * <p/>
+ * Appending an entry only copies it to an in memory buffer. The thread that then waits for its entry to be written takes the
+ * write lock and writes every entry pending at that moment, including the ones appended by other threads, which find their
+ * entries already written once they get the lock. This way concurrent transactions share both the write and, for
+ * {@link JournalDurability#SYNC}, the force of the file.
+ * <p/>
+ * If a batch can't be written or forced, the writer fails every entry of that batch and every entry appended after it, since
+ * they can no longer be written in order. The journal file has to be reopened to write again.
+ */
+class GroupCommitJournalWriter {
+
+  private final FileChannel channel;
+  private final JournalDurability durability;
+  private final TransactionJournalStatistics statistics;
+
+  private final Object appendLock = new Object();
+  private final Lock writeLock = new ReentrantLock();
+
+  // guarded by appendLock
+  private ByteArrayOutputStream pendingEntries = new ByteArrayOutputStream();
+  private long appendedBytes = 0;
+
+  // guarded by writeLock
+  private boolean dirty = false;
+  private boolean closed = false;
+
+  private volatile long writtenBytes = 0;
+  private volatile IOException failure;
+
+  /**
+   * @param journalFile file to append the entries to
+   * @param durability when the written entries have to be forced to the storage device
+   * @param statistics statistics to update with the operations written
+   */
+  GroupCommitJournalWriter(File journalFile, JournalDurability durability, TransactionJournalStatistics statistics) {
+    this(openChannel(journalFile), durability, statistics);
+  }
+
+  /**
+   * @param channel channel to append the entries to, closed along with the writer
+   * @param durability when the written entries have to be forced to the storage device
+   * @param statistics statistics to update with the operations written
+   */
+  GroupCommitJournalWriter(FileChannel channel, JournalDurability durability, TransactionJournalStatistics statistics) {
+    this.channel = channel;
+    this.durability = durability;
+    this.statistics = statistics;
+  }
+
+  private static FileChannel openChannel(File journalFile) {
+    try {
+      return new FileOutputStream(journalFile, true).getChannel();
+    } catch (FileNotFoundException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  /**
+   * Adds an entry to the batch that will be written next.
+   *
+   * @param serializedEntry the entry to write
+   * @return a handle to wait for the entry to be written
+   */
+  PendingWrite append(byte[] serializedEntry) {
+    synchronized (appendLock) {
+      pendingEntries.write(serializedEntry, 0, serializedEntry.length);
+      appendedBytes += serializedEntry.length;
+      return new PendingWrite(appendedBytes, System.nanoTime());
+    }
+  }
+
+  private void awaitWritten(PendingWrite pendingWrite) {
+    if (writtenBytes < pendingWrite.position) {
+      checkNotFailed();
+      writeLock.lock();
+      try {
+        if (writtenBytes < pendingWrite.position) {
+          checkNotFailed();
+          writePendingEntries();
+        }
+      } finally {
+        writeLock.unlock();
+      }
+    }
+    statistics.operationCompleted(System.nanoTime() - pendingWrite.appendTime);
+  }
+
+  private void checkNotFailed() {
+    if (failure != null) {
+      throw new MuleRuntimeException(failure);
+    }
+  }
+
+  private void writePendingEntries() {
+    byte[] batch;
+    long batchEnd;
+    synchronized (appendLock) {
+      batch = pendingEntries.toByteArray();
+      batchEnd = appendedBytes;
+      pendingEntries = new ByteArrayOutputStream();
+    }
+    if (batch.length == 0) {
+      writtenBytes = batchEnd;
+      return;
+    }
+    if (closed) {
+      failure = new ClosedChannelException();
+      throw new MuleRuntimeException(failure);
+    }
+
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(batch);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      statistics.batchWritten(batch.length);
+      if (durability == SYNC) {
+        channel.force(false);
+        statistics.synced();
+      } else {
+        dirty = true;
+      }
+    } catch (IOException e) {
+      // writtenBytes is not advanced anymore, so the entries of this batch and the following ones are never acknowledged
+      failure = e;
+      throw new MuleRuntimeException(e);
+    }
+    writtenBytes = batchEnd;
+  }
+
+  /**
+   * Forces the entries written so far to the storage device, if there are any that were not forced yet.
+   */
+  void sync() {
+    writeLock.lock();
+    try {
+      if (dirty && !closed) {
+        channel.force(false);
+        statistics.synced();
+        dirty = false;
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Writes the pending entries and closes the journal file.
+   *
+   * @throws IOException if the file could not be closed
+   */
+  void close() throws IOException {
+    writeLock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      try {
+        if (failure == null) {
+          writePendingEntries();
+          if (durability != JournalDurability.OS_MANAGED && dirty) {
+            channel.force(false);
+            statistics.synced();
+          }
+        }
+      } finally {
+        closed = true;
+        channel.close();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * An entry appended to the journal that may not have been written yet.
+   */
+  class PendingWrite {
+
+    private final long position;
+    private final long appendTime;
+
+    private PendingWrite(long position, long appendTime) {
+      this.position = position;
+      this.appendTime = appendTime;
+    }
+
+    /**
+     * Blocks until the entry has been written with the durability configured for the journal.
+     */
+    void await() {
+      awaitWritten(this);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.journal;
+
+/**
+ * Defines when the entries written to a transaction journal are forced to the storage device.
+ * <p/>
+ * In every mode an operation logged in the journal returns once its entry has been handed to the operating system, so no entry
+ * is lost if the JVM crashes. The modes only differ on what happens if the host crashes.
+ */
+public enum JournalDurability {
+
+  /**
+   * Each logged operation returns once its entry has been forced to the storage device. Operations logged concurrently are
+   * written and forced together, so the cost of each force is shared by all of them.
+   */
+  SYNC,
+
+  /**
+   * The journal files are forced to the storage device periodically, so operations logged since the last force may be lost if
+   * the host crashes.
+   */
+  PERIODIC_SYNC,
+
+  /**
+   * The journal files are never forced explicitly, the operating system decides when to write them to the storage device.
+   */
+  OS_MANAGED;
+
+  public static final String DURABILITY_PROPERTY_KEY = "mule.queue.journal.durability";
+
+  /**
+   * @return the durability to use for transaction journals, {@link #OS_MANAGED} unless overridden through the
+   *         {@value #DURABILITY_PROPERTY_KEY} system property
+   */
+  public static JournalDurability getDefault() {
+    return valueOf(System.getProperty(DURABILITY_PROPERTY_KEY, OS_MANAGED.name()));
+  }
+}
@@ -6,7 +6,11 @@
  */
 package org.mule.runtime.core.util.journal;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import org.mule.runtime.core.util.Preconditions;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+import org.mule.runtime.core.util.journal.GroupCommitJournalWriter.PendingWrite;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
@@ -14,6 +18,8 @@ import com.google.common.collect.Multimap;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +31,9 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * Entries logged concurrently are written to the journal files in batches, and are forced to the storage device according to the
+ * configured {@link JournalDurability}.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
@@ -32,11 +41,17 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
 
   private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
+  public static final String SYNC_INTERVAL_PROPERTY_KEY = "mule.queue.journal.syncInterval";
+
   private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
+  private static final long DEFAULT_SYNC_INTERVAL_IN_MILLIS = 1000;
 
   private transient Logger logger = LoggerFactory.getLogger(getClass());
 
   private final TransactionCompletePredicate transactionCompletePredicate;
+  private final JournalEntrySerializer journalEntrySerializer;
+  private final TransactionJournalStatistics statistics = new TransactionJournalStatistics();
+  private ScheduledExecutorService syncScheduler;
 
   /**
    * Log file in which we are currently writing new entries.
@@ -62,6 +77,18 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
                             JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes,
+         JournalDurability.getDefault(), Long.getLong(SYNC_INTERVAL_PROPERTY_KEY, DEFAULT_SYNC_INTERVAL_IN_MILLIS));
+  }
+
+  /**
+   * @param logFilesDirectory directory used to store the journal files.
+   * @param durability when the logged entries have to be forced to the storage device.
+   * @param syncIntervalInMillis time between forces of the journal files when using {@link JournalDurability#PERIODIC_SYNC}.
+   */
+  public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                            JournalDurability durability, long syncIntervalInMillis) {
     File logFileDirectory = new File(logFilesDirectory);
     if (!logFileDirectory.exists()) {
       Preconditions.checkState(logFileDirectory.mkdirs(),
@@ -72,12 +99,17 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+    this.currentLogFile = new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate,
+                                                     clearFileMinimumSizeInBytes, durability, statistics);
+    this.notCurrentLogFile = new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate,
+                                                        clearFileMinimumSizeInBytes, durability, statistics);
     this.transactionCompletePredicate = transactionCompletePredicate;
+    this.journalEntrySerializer = journalEntrySerializer;
 
+    if (durability == JournalDurability.PERIODIC_SYNC) {
+      syncScheduler = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("tx-journal-sync", getClass().getClassLoader()));
+      syncScheduler.scheduleWithFixedDelay(this::sync, syncIntervalInMillis, syncIntervalInMillis, MILLISECONDS);
+    }
   }
 
   private void calculateJournalFileSize(Integer maximumFileSizeInMegabytes) {
@@ -92,9 +124,14 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    byte[] serializedEntry = TransactionJournalFile.serialize(journalEntrySerializer, journalEntry);
+    PendingWrite pendingWrite;
+    synchronized (this) {
+      TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
+      pendingWrite = logFile.logOperation(journalEntry, serializedEntry);
+    }
+    pendingWrite.await();
   }
 
   /**
@@ -104,12 +141,17 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    byte[] serializedEntry = TransactionJournalFile.serialize(journalEntrySerializer, journalEntry);
+    PendingWrite pendingWrite;
+    synchronized (this) {
+      TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
+      pendingWrite = logFile.logOperation(journalEntry, serializedEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    pendingWrite.await();
   }
 
   /**
@@ -138,10 +180,32 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    * Release the resources used by the transaction journal
    */
   public synchronized void close() {
+    if (syncScheduler != null) {
+      syncScheduler.shutdownNow();
+    }
     currentLogFile.close();
     notCurrentLogFile.close();
   }
 
+  /**
+   * @return statistics about the operations written to this journal
+   */
+  public TransactionJournalStatistics getStatistics() {
+    return statistics;
+  }
+
+  private void sync() {
+    try {
+      currentLogFile.sync();
+      notCurrentLogFile.sync();
+    } catch (Exception e) {
+      logger.warn("Error forcing transaction journal files to disk: " + e.getMessage());
+      if (logger.isDebugEnabled()) {
+        logger.debug("Error forcing transaction journal files to disk", e);
+      }
+    }
+  }
+
   /**
    * Removes all the entries from the transactional journal
    */
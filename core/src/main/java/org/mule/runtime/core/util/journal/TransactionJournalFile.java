@@ -7,18 +7,19 @@
 package org.mule.runtime.core.util.journal;
 
 import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.util.journal.GroupCommitJournalWriter.PendingWrite;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -47,10 +48,12 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private final File journalFile;
   private final JournalEntrySerializer<T, K> journalEntrySerializer;
   private final Long clearFileMinimumSizeInBytes;
+  private final JournalDurability durability;
+  private final TransactionJournalStatistics statistics;
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
-  private DataOutputStream logFileOutputStream;
+  private volatile GroupCommitJournalWriter logFileWriter;
   private int journalOperations = 0;
 
   /**
@@ -61,9 +64,26 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes,
+         JournalDurability.OS_MANAGED, new TransactionJournalStatistics());
+  }
+
+  /**
+   * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
+   *        loaded from it.
+   * @param journalEntrySerializer serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param durability when the entries written to the file have to be forced to the storage device
+   * @param statistics statistics to update with the operations written to the file
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                JournalDurability durability, TransactionJournalStatistics statistics) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.durability = durability;
+    this.statistics = statistics;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -75,10 +95,42 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * 
    * @param journalEntry operation details
    */
-  public synchronized void logOperation(K journalEntry) {
+  public void logOperation(K journalEntry) {
+    logOperation(journalEntry, serialize(journalEntry)).await();
+  }
+
+  /**
+   * Adds a journal entry for an operation done over a transactional resource without waiting for it to be written.
+   *
+   * @param journalEntry operation details
+   * @param serializedEntry the journal entry, as returned by {@link #serialize(JournalEntry)}
+   * @return a handle to wait for the entry to be written
+   */
+  public synchronized PendingWrite logOperation(K journalEntry, byte[] serializedEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+    return logFileWriter.append(serializedEntry);
+  }
+
+  /**
+   * @param journalEntry operation details
+   * @return the journal entry as it will be written to the journal file
+   */
+  public byte[] serialize(K journalEntry) {
+    return serialize(journalEntrySerializer, journalEntry);
+  }
+
+  static <T, K extends JournalEntry<T>> byte[] serialize(JournalEntrySerializer<T, K> journalEntrySerializer, K journalEntry) {
+    ByteArrayOutputStream serializedEntry = new ByteArrayOutputStream();
+    journalEntrySerializer.serialize(journalEntry, new DataOutputStream(serializedEntry));
+    return serializedEntry.toByteArray();
+  }
+
+  /**
+   * Forces the entries written to the journal file to the storage device.
+   */
+  public void sync() {
+    logFileWriter.sync();
   }
 
   /**
@@ -121,7 +173,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public synchronized void close() {
     try {
-      logFileOutputStream.close();
+      logFileWriter.close();
     } catch (IOException e) {
       logger.warn(e.getMessage());
       if (logger.isDebugEnabled()) {
@@ -170,11 +222,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
         throw new MuleRuntimeException(e);
       }
     }
-    try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
-    } catch (FileNotFoundException e) {
-      throw new MuleRuntimeException(e);
-    }
+    this.logFileWriter = new GroupCommitJournalWriter(journalFile, durability, statistics);
   }
 
   /**
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.journal;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.core.api.management.stats.Statistics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the operations written to a {@link TransactionJournal}.
+ * <p/>
+ * The latency of an operation is the time elapsed since the operation is handed to the journal until its entry reaches the
+ * durability configured for the journal (see {@link JournalDurability}).
+ */
+public class TransactionJournalStatistics implements Statistics {
+
+  private static final long serialVersionUID = -3917164870466402311L;
+
+  private final long startTime = System.nanoTime();
+  private final LongAdder operations = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder bytesWritten = new LongAdder();
+  private final LongAdder syncs = new LongAdder();
+  private final LongAdder totalLatency = new LongAdder();
+  private final LongAccumulator maxLatency = new LongAccumulator(Long::max, 0);
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  void operationCompleted(long latencyNanos) {
+    operations.increment();
+    totalLatency.add(latencyNanos);
+    maxLatency.accumulate(latencyNanos);
+  }
+
+  void batchWritten(long bytes) {
+    batches.increment();
+    bytesWritten.add(bytes);
+  }
+
+  void synced() {
+    syncs.increment();
+  }
+
+  /**
+   * @return the number of operations logged in the journal
+   */
+  public long getOperations() {
+    return operations.sum();
+  }
+
+  /**
+   * @return the number of writes done to the journal files, each one containing one or more operations
+   */
+  public long getBatches() {
+    return batches.sum();
+  }
+
+  /**
+   * @return the average number of operations written to the journal files on each write
+   */
+  public double getAverageBatchSize() {
+    long batchCount = getBatches();
+    return batchCount == 0 ? 0 : (double) getOperations() / batchCount;
+  }
+
+  /**
+   * @return the number of bytes written to the journal files
+   */
+  public long getBytesWritten() {
+    return bytesWritten.sum();
+  }
+
+  /**
+   * @return the number of times the journal files were forced to the storage device
+   */
+  public long getSyncs() {
+    return syncs.sum();
+  }
+
+  /**
+   * @return the average latency of the logged operations, in nanoseconds
+   */
+  public long getAverageLatency() {
+    long operationCount = getOperations();
+    return operationCount == 0 ? 0 : totalLatency.sum() / operationCount;
+  }
+
+  /**
+   * @return the maximum latency of a logged operation, in nanoseconds
+   */
+  public long getMaxLatency() {
+    return maxLatency.get();
+  }
+
+  /**
+   * @return the number of operations logged per second since the journal was created
+   */
+  public double getThroughput() {
+    long elapsedNanos = System.nanoTime() - startTime;
+    return elapsedNanos == 0 ? 0 : getOperations() * (double) SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("TransactionJournalStatistics{operations=%s, batches=%s, syncs=%s, averageLatency=%sns, "
+        + "maxLatency=%sns}", getOperations(), getBatches(), getSyncs(), getAverageLatency(), getMaxLatency());
+  }
+}
@@ -11,6 +11,7 @@ import org.mule.runtime.core.util.journal.JournalEntry;
 import org.mule.runtime.core.util.journal.JournalEntrySerializer;
 import org.mule.runtime.core.util.journal.TransactionCompletePredicate;
 import org.mule.runtime.core.util.journal.TransactionJournal;
+import org.mule.runtime.core.util.journal.TransactionJournalStatistics;
 import org.mule.runtime.core.util.queue.QueueStore;
 
 import com.google.common.collect.Multimap;
@@ -125,6 +126,13 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
     return logFile.getLogEntriesForTx(txId);
   }
 
+  /**
+   * @return statistics about the operations written to this journal
+   */
+  public TransactionJournalStatistics getStatistics() {
+    return logFile.getStatistics();
+  }
+
   protected TransactionJournal<T, K> getJournal() {
     return logFile;
   }
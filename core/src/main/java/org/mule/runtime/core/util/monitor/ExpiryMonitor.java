@@ -23,6 +23,9 @@ import org.slf4j.LoggerFactory;
 /**
  * <code>ExpiryMonitor</code> can monitor objects beased on an expiry time and can invoke a callback method once the object time
  * has expired. If the object does expire it is removed from this monitor.
+ * <p/>
+ * By default the monitored objects are polled by a scheduler thread of each monitor. When created with a {@link TimerWheel}, each
+ * object is scheduled in the wheel instead, so no thread is created for the monitor.
  */
 public class ExpiryMonitor implements Runnable, Disposable {
 
@@ -45,6 +48,8 @@ public class ExpiryMonitor implements Runnable, Disposable {
 
   private boolean onPollingNodeOnly;
 
+  private TimerWheel timerWheel;
+
   public ExpiryMonitor(MuleContext muleContext, boolean onPollingNodeOnly) {
     this.muleContext = muleContext;
     this.onPollingNodeOnly = onPollingNodeOnly;
@@ -79,6 +84,17 @@ public class ExpiryMonitor implements Runnable, Disposable {
     init();
   }
 
+  /**
+   * Creates a monitor that schedules the expiry of the monitored objects in a {@link TimerWheel}. The wheel is not disposed with
+   * the monitor.
+   */
+  public ExpiryMonitor(String name, TimerWheel timerWheel, MuleContext muleContext, boolean onPollingNodeOnly) {
+    this(muleContext, onPollingNodeOnly);
+    this.name = name;
+    this.timerWheel = timerWheel;
+    monitors = new ConcurrentHashMap();
+  }
+
   protected void init() {
     if (monitorFrequency <= 0) {
       throw new IllegalArgumentException(CoreMessages.propertyHasInvalidValue("monitorFrequency", new Integer(monitorFrequency))
@@ -107,7 +123,11 @@ public class ExpiryMonitor implements Runnable, Disposable {
       if (logger.isDebugEnabled()) {
         logger.debug("Adding new expirable: " + expirable);
       }
-      monitors.put(expirable, new ExpirableHolder(timeUnit.toMillis(value), expirable));
+      ExpirableHolder holder = new ExpirableHolder(timeUnit.toMillis(value), expirable);
+      monitors.put(expirable, holder);
+      if (timerWheel != null) {
+        scheduleExpiry(holder, holder.getMilliSeconds());
+      }
     }
   }
 
@@ -119,7 +139,10 @@ public class ExpiryMonitor implements Runnable, Disposable {
     if (logger.isDebugEnabled()) {
       logger.debug("Removing expirable: " + expirable);
     }
-    monitors.remove(expirable);
+    ExpirableHolder holder = (ExpirableHolder) monitors.remove(expirable);
+    if (holder != null && holder.timeout != null) {
+      holder.timeout.cancel();
+    }
   }
 
   public void resetExpirable(Expirable expirable) {
@@ -149,9 +172,33 @@ public class ExpiryMonitor implements Runnable, Disposable {
     }
   }
 
+  private void scheduleExpiry(ExpirableHolder holder, long delay) {
+    holder.timeout = timerWheel.schedule(() -> expire(holder), delay, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Checks an object scheduled in the {@link TimerWheel}. Objects reset since they were scheduled are scheduled again for the
+   * rest of their time.
+   */
+  private void expire(ExpirableHolder holder) {
+    if (monitors.get(holder.getExpirable()) != holder) {
+      return;
+    }
+
+    if (onPollingNodeOnly && muleContext != null && !muleContext.isPrimaryPollingInstance()) {
+      scheduleExpiry(holder, holder.getMilliSeconds());
+    } else if (!holder.isExpired()) {
+      scheduleExpiry(holder, holder.getRemainingMilliSeconds());
+    } else if (monitors.remove(holder.getExpirable(), holder)) {
+      holder.getExpirable().expired();
+    }
+  }
+
   public void dispose() {
     logger.info("disposing monitor");
-    scheduler.shutdown();
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
     ExpirableHolder holder;
     for (Iterator iterator = monitors.values().iterator(); iterator.hasNext();) {
       holder = (ExpirableHolder) iterator.next();
@@ -169,7 +216,8 @@ public class ExpiryMonitor implements Runnable, Disposable {
 
     private Expirable expirable;
     private long milliseconds;
-    private long created;
+    private volatile long created;
+    private volatile TimerWheel.Timeout timeout;
 
     public ExpirableHolder(long milliseconds, Expirable expirable) {
       this.milliseconds = milliseconds;
@@ -185,6 +233,10 @@ public class ExpiryMonitor implements Runnable, Disposable {
       return expirable;
     }
 
+    public long getRemainingMilliSeconds() {
+      return created + milliseconds - System.currentTimeMillis();
+    }
+
     public boolean isExpired() {
       return (System.currentTimeMillis() - milliseconds) > created;
     }
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.monitor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.ThreadingProfile;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.config.MutableThreadingProfile;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <code>TimerWheel</code> runs tasks once their delay has elapsed, using a single thread for all of them regardless of how many
+ * tasks are scheduled.
+ * <p/>
+ * Tasks are kept in a hashed wheel of buckets, each one covering a tick of time. Scheduling and cancelling a task are O(1), and
+ * each tick only visits the tasks of its bucket. Tasks with a delay longer than a whole turn of the wheel stay in their bucket
+ * for the number of turns left. A task may run up to a tick later than its deadline, the lag is available through
+ * {@link #getMaxExpiryLag()} and {@link #getAverageExpiryLag()}.
+ * <p/>
+ * The wheel thread only finds the expired tasks, which are run on a separate pool so a slow task does not delay the others.
+ * The pool is created from the threading profile of the wheel, the default one of the Mule context unless another one is set,
+ * so it is bounded and its exhausted action applies when tasks expire faster than they are run. Threads are started when the
+ * first task is scheduled.
+ */
+public class TimerWheel implements MuleContextAware, Disposable {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimerWheel.class);
+
+  public static final long DEFAULT_TICK_DURATION = 10;
+  public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+  private final long tickDuration;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger scheduledCount = new AtomicInteger();
+  private final AtomicLong expiredCount = new AtomicLong();
+  private final AtomicLong totalExpiryLag = new AtomicLong();
+  private final AtomicLong maxExpiryLag = new AtomicLong();
+
+  private String name = "timer.wheel";
+  private ClassLoader contextClassLoader;
+  private MuleContext muleContext;
+  private ThreadingProfile threadingProfile;
+  private Thread worker;
+  private ExecutorService taskExecutor;
+  private volatile boolean started;
+  private volatile long startTime;
+  private volatile boolean disposed;
+
+  public TimerWheel() {
+    this(DEFAULT_TICK_DURATION, MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+  }
+
+  /**
+   * @param tickDuration time covered by each bucket of the wheel
+   * @param unit unit of {@code tickDuration}
+   * @param ticksPerWheel number of buckets of the wheel, rounded up to a power of two
+   */
+  public TimerWheel(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+    if (tickDuration <= 0) {
+      throw new IllegalArgumentException(CoreMessages.propertyHasInvalidValue("tickDuration", tickDuration).toString());
+    }
+    if (ticksPerWheel <= 0) {
+      throw new IllegalArgumentException(CoreMessages.propertyHasInvalidValue("ticksPerWheel", ticksPerWheel).toString());
+    }
+
+    this.tickDuration = unit.toNanos(tickDuration);
+    int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+    this.wheel = new Bucket[Math.max(size, 1)];
+    for (int i = 0; i < wheel.length; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = wheel.length - 1;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    this.name = getPrefix(context) + "timer.wheel";
+    this.contextClassLoader = context.getExecutionClassLoader();
+    this.muleContext = context;
+  }
+
+  /**
+   * @param threadingProfile profile of the pool that runs the expired tasks. Must be set before the first task is scheduled
+   */
+  public void setThreadingProfile(ThreadingProfile threadingProfile) {
+    this.threadingProfile = threadingProfile;
+  }
+
+  /**
+   * Schedules a task to run once the given delay has elapsed.
+   *
+   * @param task task to run
+   * @param delay time to wait before running the task. Values lower or equal than zero run the task on the next tick
+   * @param unit unit of {@code delay}
+   * @return the handle to cancel the task
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    if (disposed) {
+      throw new RejectedExecutionException("Timer wheel " + name + " is disposed");
+    }
+    if (!started) {
+      start();
+    }
+
+    Timeout timeout = new Timeout(task, System.nanoTime() + Math.max(unit.toNanos(delay), 0));
+    scheduledCount.incrementAndGet();
+    pendingTimeouts.add(timeout);
+    return timeout;
+  }
+
+  private synchronized void start() {
+    if (worker == null) {
+      taskExecutor = createTaskExecutor();
+      startTime = System.nanoTime();
+      worker = new DaemonThreadFactory(name, contextClassLoader).newThread(new Worker());
+      worker.start();
+      started = true;
+    }
+  }
+
+  private ExecutorService createTaskExecutor() {
+    ThreadingProfile profile = threadingProfile;
+    if (profile == null) {
+      profile = muleContext != null ? muleContext.getDefaultThreadingProfile() : null;
+    }
+
+    MutableThreadingProfile taskProfile =
+        new MutableThreadingProfile(profile != null ? profile : ThreadingProfile.DEFAULT_THREADING_PROFILE);
+    taskProfile.setThreadFactory(new DaemonThreadFactory(name + ".task", contextClassLoader));
+    return taskProfile.createPool(name + ".task");
+  }
+
+  /**
+   * @return number of tasks scheduled that have not run nor been cancelled yet
+   */
+  public int getScheduledCount() {
+    return scheduledCount.get();
+  }
+
+  /**
+   * @return number of tasks run since the wheel was created
+   */
+  public long getExpiredCount() {
+    return expiredCount.get();
+  }
+
+  /**
+   * @return maximum time in milliseconds elapsed between the deadline of a task and the moment it was found expired
+   */
+  public long getMaxExpiryLag() {
+    return NANOSECONDS.toMillis(maxExpiryLag.get());
+  }
+
+  /**
+   * @return average time in milliseconds elapsed between the deadline of a task and the moment it was found expired
+   */
+  public long getAverageExpiryLag() {
+    long expired = expiredCount.get();
+    return expired == 0 ? 0 : NANOSECONDS.toMillis(totalExpiryLag.get() / expired);
+  }
+
+  @Override
+  public void dispose() {
+    Thread currentWorker;
+    synchronized (this) {
+      disposed = true;
+      currentWorker = worker;
+    }
+
+    if (currentWorker != null) {
+      currentWorker.interrupt();
+      taskExecutor.shutdown();
+    }
+    pendingTimeouts.clear();
+  }
+
+  private void expire(Timeout timeout, long now) {
+    if (!timeout.markExpired()) {
+      return;
+    }
+
+    scheduledCount.decrementAndGet();
+    expiredCount.incrementAndGet();
+    long lag = Math.max(now - timeout.deadline, 0);
+    totalExpiryLag.addAndGet(lag);
+    maxExpiryLag.accumulateAndGet(lag, Math::max);
+
+    try {
+      taskExecutor.execute(timeout.task);
+    } catch (RejectedExecutionException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Discarding expired task of disposed timer wheel " + name);
+      }
+    }
+  }
+
+  /**
+   * Handle of a task scheduled in a {@link TimerWheel}.
+   */
+  public final class Timeout {
+
+    private static final int SCHEDULED = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(SCHEDULED);
+    // Only accessed by the wheel thread
+    private long remainingRounds;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the task if it has not run yet.
+     *
+     * @return true if the task was cancelled, false if it had already run or been cancelled
+     */
+    public boolean cancel() {
+      if (state.compareAndSet(SCHEDULED, CANCELLED)) {
+        scheduledCount.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    public boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+
+    public boolean isExpired() {
+      return state.get() == EXPIRED;
+    }
+
+    private boolean markExpired() {
+      return state.compareAndSet(SCHEDULED, EXPIRED);
+    }
+  }
+
+  private final class Bucket {
+
+    // Only accessed by the wheel thread
+    private final LinkedList<Timeout> timeouts = new LinkedList<>();
+
+    private void expireTimeouts(long now) {
+      for (Iterator<Timeout> iterator = timeouts.iterator(); iterator.hasNext();) {
+        Timeout timeout = iterator.next();
+        if (timeout.isCancelled()) {
+          iterator.remove();
+        } else if (timeout.remainingRounds <= 0) {
+          iterator.remove();
+          expire(timeout, now);
+        } else {
+          timeout.remainingRounds--;
+        }
+      }
+    }
+  }
+
+  private final class Worker implements Runnable {
+
+    private long tick;
+
+    @Override
+    public void run() {
+      while (!disposed) {
+        long now = waitForNextTick();
+        if (now < 0) {
+          break;
+        }
+
+        transferPendingTimeouts();
+        wheel[(int) (tick & mask)].expireTimeouts(now);
+        tick++;
+      }
+    }
+
+    private long waitForNextTick() {
+      long deadline = startTime + tickDuration * (tick + 1);
+
+      while (true) {
+        long now = System.nanoTime();
+        long sleepTime = deadline - now;
+        if (sleepTime <= 0) {
+          return now;
+        }
+
+        try {
+          NANOSECONDS.sleep(sleepTime);
+        } catch (InterruptedException e) {
+          if (disposed) {
+            return -1;
+          }
+        }
+      }
+    }
+
+    private void transferPendingTimeouts() {
+      Timeout timeout;
+      while ((timeout = pendingTimeouts.poll()) != null) {
+        if (timeout.isCancelled()) {
+          continue;
+        }
+
+        long calculatedTicks = (timeout.deadline - startTime) / tickDuration;
+        long ticks = Math.max(calculatedTicks, tick);
+        timeout.remainingRounds = (ticks - tick) / wheel.length;
+        wheel[(int) (ticks & mask)].timeouts.add(timeout);
+      }
+    }
+  }
+}
@@ -10,14 +10,20 @@ public class DefaultQueueConfiguration implements QueueConfiguration {
 
   private final boolean persistent;
   private final int capacity;
+  private final QueueStoreFormat format;
 
   public DefaultQueueConfiguration() {
     this(QueueConfiguration.MAXIMUM_CAPACITY, false);
   }
 
   public DefaultQueueConfiguration(int capacity, boolean isPersistent) {
+    this(capacity, isPersistent, QueueStoreFormat.getDefault());
+  }
+
+  public DefaultQueueConfiguration(int capacity, boolean isPersistent, QueueStoreFormat format) {
     this.capacity = capacity;
     this.persistent = isPersistent;
+    this.format = format;
   }
 
   @Override
@@ -30,9 +36,14 @@ public class DefaultQueueConfiguration implements QueueConfiguration {
     return capacity;
   }
 
+  @Override
+  public QueueStoreFormat getFormat() {
+    return format;
+  }
+
   @Override
   public String toString() {
-    return String.format("DefaultQueueConfiguration{" + "persistent=%s, capacity=%s}", persistent, capacity);
+    return String.format("DefaultQueueConfiguration{" + "persistent=%s, capacity=%s, format=%s}", persistent, capacity, format);
   }
 
   @Override
@@ -43,6 +54,7 @@ public class DefaultQueueConfiguration implements QueueConfiguration {
     if (!obj.getClass().equals(this.getClass())) {
       return false;
     }
-    return persistent == ((DefaultQueueConfiguration) obj).persistent && capacity == ((DefaultQueueConfiguration) obj).capacity;
+    return persistent == ((DefaultQueueConfiguration) obj).persistent && capacity == ((DefaultQueueConfiguration) obj).capacity
+        && format == ((DefaultQueueConfiguration) obj).format;
   }
 }
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.core.util.queue.QueueSegment.APPENDED;
+import static org.mule.runtime.core.util.queue.QueueSegment.HEADER_SIZE;
+import static org.mule.runtime.core.util.queue.QueueSegment.UNTAKEN;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.util.Preconditions;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation that stores the queue data in fixed size, memory mapped segment files.
+ * <p/>
+ * New entries are always appended at the end of the last segment, so adding or taking an element never seeks over a file. When
+ * the last segment is full a new one is created, and segments are deleted as a whole once all of their entries have been
+ * consumed. Taken entries are flagged as removed in place and tracked in a bitmap per segment (see {@link QueueSegment}), so
+ * the memory used by this delegate does not depend on the queue depth.
+ * <p/>
+ * On startup the state of the queue is rebuilt by scanning the existing segments. Entries returned to the queue through
+ * {@link #untake(Serializable)} are appended too, with a decreasing sequence number that keeps them ahead of the rest of the
+ * entries after a restart.
+ * <p/>
+ * By default, writes are left to the operating system to flush, which keeps the queue content safe when the JVM crashes but not
+ * when the host does. Set the {@value #SYNC_WRITES_PROPERTY_KEY} system property to {@code true} to flush every write to disk.
+ */
+public class MemoryMappedSegmentQueueStoreDelegate extends AbstractQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = "mule.queue.segment.size";
+  public static final String SYNC_WRITES_PROPERTY_KEY = "mule.queue.segment.syncWrites";
+  private static final int DEFAULT_SEGMENT_SIZE_IN_BYTES = 4 * 1024 * 1024;
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENTS_DIRECTORY_SUFFIX = "-segments";
+  private static final String SEGMENT_FILE_EXTENSION = ".seg";
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+  private final ObjectSerializer serializer;
+  private final File segmentsDirectory;
+  private final int segmentSize;
+  private final boolean syncWrites;
+  private final List<QueueSegment> segments = new ArrayList<>();
+  private final Deque<RecordPointer> untaken = new ArrayDeque<>();
+  private QueueSegment writeSegment;
+  private QueueSegment readSegment;
+  private int readPosition;
+  private int readOrdinal;
+  private long appendSequence;
+  private long untakeSequence;
+  private int size;
+
+  public MemoryMappedSegmentQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    this(queueName, workingDirectory, muleContext, capacity,
+         Integer.getInteger(SEGMENT_SIZE_PROPERTY_KEY, DEFAULT_SEGMENT_SIZE_IN_BYTES),
+         Boolean.getBoolean(SYNC_WRITES_PROPERTY_KEY));
+  }
+
+  MemoryMappedSegmentQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity,
+                                        int segmentSize, boolean syncWrites) {
+    super(capacity);
+    this.serializer = muleContext.getObjectSerializer();
+    this.segmentSize = segmentSize;
+    this.syncWrites = syncWrites;
+    this.segmentsDirectory = getSegmentsDirectory(queueName, workingDirectory);
+    if (!segmentsDirectory.exists()) {
+      Preconditions.checkState(segmentsDirectory.mkdirs(),
+                               "Could not create queue store directory " + segmentsDirectory.getAbsolutePath());
+    }
+    recover();
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(String.format("Queue %s has %s messages in %s segments", queueName, size, segments.size()));
+    }
+  }
+
+  /**
+   * Resolves the directory holding the segments of a queue. Queue names that are not safe to use as a file name are replaced by
+   * a name based UUID.
+   */
+  static File getSegmentsDirectory(String queueName, String workingDirectory) {
+    String directoryName = queueName.matches("[\\w.\\-]+") ? queueName : UUID.nameUUIDFromBytes(queueName.getBytes(UTF_8))
+        .toString();
+    return new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY, directoryName + SEGMENTS_DIRECTORY_SUFFIX);
+  }
+
+  private void recover() {
+    File[] files = segmentsDirectory.listFiles();
+    List<Long> segmentNumbers = new ArrayList<>();
+    if (files != null) {
+      for (File file : files) {
+        String name = file.getName();
+        if (name.endsWith(SEGMENT_FILE_EXTENSION)) {
+          segmentNumbers.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_FILE_EXTENSION.length()), 16));
+        }
+      }
+    }
+    segmentNumbers.sort(null);
+
+    List<RecordPointer> recoveredUntaken = new ArrayList<>();
+    for (Long segmentNumber : segmentNumbers) {
+      QueueSegment segment = new QueueSegment(segmentNumber, getSegmentFile(segmentNumber), segmentSize);
+      segments.add(segment);
+      size += segment.getLive();
+
+      int ordinal = 0;
+      for (int position = 0; position < segment.getWritePosition(); position = segment.nextPosition(position), ordinal++) {
+        long sequence = segment.sequenceAt(position);
+        if (segment.kindAt(position) == UNTAKEN) {
+          if (!segment.isRemoved(ordinal)) {
+            recoveredUntaken.add(new RecordPointer(segment, position, ordinal));
+            untakeSequence = Math.min(untakeSequence, sequence);
+          }
+        } else {
+          appendSequence = Math.max(appendSequence, sequence);
+        }
+      }
+    }
+    recoveredUntaken.sort((p1, p2) -> Long.compare(p1.getSequence(), p2.getSequence()));
+    untaken.addAll(recoveredUntaken);
+
+    if (segments.isEmpty()) {
+      segments.add(createSegment(0, segmentSize));
+    }
+    writeSegment = segments.get(segments.size() - 1);
+    moveCursorTo(segments.get(0));
+    for (QueueSegment segment : new ArrayList<>(segments)) {
+      reclaimIfConsumed(segment);
+    }
+  }
+
+  private File getSegmentFile(long segmentNumber) {
+    return new File(segmentsDirectory, String.format("%016x%s", segmentNumber, SEGMENT_FILE_EXTENSION));
+  }
+
+  private QueueSegment createSegment(long segmentNumber, int capacity) {
+    return new QueueSegment(segmentNumber, getSegmentFile(segmentNumber), capacity);
+  }
+
+  @Override
+  protected void add(Serializable item) {
+    append(APPENDED, ++appendSequence, serializer.serialize(item));
+  }
+
+  @Override
+  protected void addFirst(Serializable item) throws InterruptedException {
+    untaken.addFirst(append(UNTAKEN, --untakeSequence, serializer.serialize(item)));
+  }
+
+  @Override
+  protected Serializable removeFirst() throws InterruptedException {
+    RecordPointer head = findHead();
+    if (head == null) {
+      return null;
+    }
+    byte[] data = head.segment.read(head.position);
+    if (!untaken.isEmpty()) {
+      untaken.removeFirst();
+    } else {
+      advanceCursor();
+    }
+    markRemoved(head);
+    return serializer.deserialize(data);
+  }
+
+  @Override
+  protected Serializable getFirst() throws InterruptedException {
+    RecordPointer head = findHead();
+    return head == null ? null : serializer.deserialize(head.segment.read(head.position));
+  }
+
+  @Override
+  protected int size() {
+    return size;
+  }
+
+  @Override
+  protected boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  protected boolean doAddAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      add(item);
+    }
+    return true;
+  }
+
+  @Override
+  protected void doClear() {
+    deleteSegments();
+    untaken.clear();
+    appendSequence = 0;
+    untakeSequence = 0;
+    size = 0;
+    writeSegment = createSegment(0, segmentSize);
+    segments.add(writeSegment);
+    moveCursorTo(writeSegment);
+  }
+
+  @Override
+  public synchronized void remove(Serializable value) {
+    for (QueueSegment segment : new ArrayList<>(segments)) {
+      int ordinal = 0;
+      for (int position = 0; position < segment.getWritePosition(); position = segment.nextPosition(position), ordinal++) {
+        if (!segment.isRemoved(ordinal) && serializer.deserialize(segment.read(position)).equals(value)) {
+          RecordPointer pointer = new RecordPointer(segment, position, ordinal);
+          untaken.remove(pointer);
+          markRemoved(pointer);
+          return;
+        }
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable value) {
+    for (QueueSegment segment : segments) {
+      int ordinal = 0;
+      for (int position = 0; position < segment.getWritePosition(); position = segment.nextPosition(position), ordinal++) {
+        if (!segment.isRemoved(ordinal) && serializer.deserialize(segment.read(position)).equals(value)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public synchronized void close() {
+    for (QueueSegment segment : segments) {
+      segment.close();
+    }
+  }
+
+  @Override
+  public synchronized void dispose() {
+    deleteSegments();
+    FileUtils.deleteQuietly(segmentsDirectory);
+  }
+
+  private void deleteSegments() {
+    for (QueueSegment segment : segments) {
+      segment.delete();
+    }
+    segments.clear();
+  }
+
+  private RecordPointer append(byte kind, long sequence, byte[] data) {
+    if (!writeSegment.hasRoomFor(data.length)) {
+      QueueSegment previous = writeSegment;
+      writeSegment = createSegment(previous.getNumber() + 1, Math.max(segmentSize, HEADER_SIZE + data.length));
+      segments.add(writeSegment);
+      reclaimIfConsumed(previous);
+    }
+    int ordinal = writeSegment.getRecords();
+    RecordPointer pointer = new RecordPointer(writeSegment, writeSegment.append(kind, sequence, data), ordinal);
+    if (syncWrites) {
+      writeSegment.force();
+    }
+    size++;
+    return pointer;
+  }
+
+  private void markRemoved(RecordPointer pointer) {
+    pointer.segment.markRemoved(pointer.position, pointer.ordinal);
+    if (syncWrites) {
+      pointer.segment.force();
+    }
+    size--;
+    reclaimIfConsumed(pointer.segment);
+  }
+
+  /**
+   * Returns the first element of the queue: the last untaken one if there is any, otherwise the first appended element not yet
+   * removed, moving the read cursor over the records that were already consumed.
+   */
+  private RecordPointer findHead() {
+    if (!untaken.isEmpty()) {
+      return untaken.peekFirst();
+    }
+    while (true) {
+      if (readPosition >= readSegment.getWritePosition()) {
+        if (readSegment == writeSegment) {
+          return null;
+        }
+        moveCursorTo(segments.get(segments.indexOf(readSegment) + 1));
+      } else if (!readSegment.isRemoved(readOrdinal) && readSegment.kindAt(readPosition) == APPENDED) {
+        return new RecordPointer(readSegment, readPosition, readOrdinal);
+      } else {
+        advanceCursor();
+      }
+    }
+  }
+
+  private void advanceCursor() {
+    readPosition = readSegment.nextPosition(readPosition);
+    readOrdinal++;
+  }
+
+  private void moveCursorTo(QueueSegment segment) {
+    readSegment = segment;
+    readPosition = 0;
+    readOrdinal = 0;
+  }
+
+  private void reclaimIfConsumed(QueueSegment segment) {
+    if (segment.getLive() > 0 || segment == writeSegment) {
+      return;
+    }
+    if (segment == readSegment) {
+      moveCursorTo(segments.get(segments.indexOf(segment) + 1));
+    }
+    segments.remove(segment);
+    segment.delete();
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Reclaimed queue segment " + segment.getFile().getAbsolutePath());
+    }
+  }
+
+  /**
+   * Location of a record within the segments of the queue.
+   */
+  private static class RecordPointer {
+
+    private final QueueSegment segment;
+    private final int position;
+    private final int ordinal;
+
+    RecordPointer(QueueSegment segment, int position, int ordinal) {
+      this.segment = segment;
+      this.position = position;
+      this.ordinal = ordinal;
+    }
+
+    long getSequence() {
+      return segment.sequenceAt(position);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof RecordPointer)) {
+        return false;
+      }
+      RecordPointer other = (RecordPointer) obj;
+      return segment == other.segment && position == other.position;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * segment.hashCode() + position;
+    }
+  }
+}
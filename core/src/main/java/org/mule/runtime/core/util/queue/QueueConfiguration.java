@@ -17,4 +17,9 @@ public interface QueueConfiguration {
 
   public int getCapacity();
 
+  /**
+   * @return the format used to store the queue entries when the queue is persistent
+   */
+  public QueueStoreFormat getFormat();
+
 }
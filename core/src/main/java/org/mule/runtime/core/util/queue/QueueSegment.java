@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+import org.mule.runtime.core.api.MuleRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.util.BitSet;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Fixed size, memory mapped, append only file holding queue records.
+ * <p/>
+ * Each record is written as a header followed by the serialized data. The first byte of the header is the record status, which
+ * is written last so a record that was not completely written is never considered part of the segment. A zero status marks the
+ * end of the used space, since newly created files are zero filled.
+ * <p/>
+ * Removed records are only flagged in place. Their ordinals are also kept in a {@link BitSet} so scans can skip them without
+ * touching the mapped file, and the owner can reclaim the whole file once no live records are left.
+ */
+class QueueSegment {
+
+  static final byte EMPTY = 0;
+  static final byte LIVE = 1;
+  static final byte REMOVED = 2;
+
+  static final byte APPENDED = 0;
+  static final byte UNTAKEN = 1;
+
+  /**
+   * status (1) + kind (1) + sequence (8) + data length (4)
+   */
+  static final int HEADER_SIZE = 14;
+
+  private static final int KIND_OFFSET = 1;
+  private static final int SEQUENCE_OFFSET = 2;
+  private static final int LENGTH_OFFSET = 10;
+
+  private final long number;
+  private final File file;
+  private final int capacity;
+  private final BitSet removed = new BitSet();
+  private MappedByteBuffer buffer;
+  private int writePosition;
+  private int records;
+  private int live;
+
+  /**
+   * Opens the segment file, creating it with the given capacity if it does not exist, and rebuilds its state from its content.
+   *
+   * @param number position of this segment in the queue
+   * @param file the file backing the segment
+   * @param capacity size in bytes for the file if it has to be created
+   */
+  QueueSegment(long number, File file, int capacity) {
+    this.number = number;
+    this.file = file;
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+      if (randomAccessFile.length() < capacity) {
+        randomAccessFile.setLength(capacity);
+      }
+      this.capacity = (int) randomAccessFile.length();
+      this.buffer = randomAccessFile.getChannel().map(READ_WRITE, 0, this.capacity);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+    scan();
+  }
+
+  private void scan() {
+    int position = 0;
+    while (position + HEADER_SIZE <= capacity) {
+      byte status = buffer.get(position);
+      int length = buffer.getInt(position + LENGTH_OFFSET);
+      if (status == EMPTY || length < 0 || position + HEADER_SIZE + length > capacity) {
+        break;
+      }
+      if (status == LIVE) {
+        live++;
+      } else {
+        removed.set(records);
+      }
+      records++;
+      position += HEADER_SIZE + length;
+    }
+    writePosition = position;
+  }
+
+  /**
+   * @return true if a record holding {@code dataLength} bytes fits in the space left in this segment
+   */
+  boolean hasRoomFor(int dataLength) {
+    return writePosition + HEADER_SIZE + dataLength <= capacity;
+  }
+
+  /**
+   * Appends a record at the end of the segment.
+   *
+   * @return the position of the new record
+   */
+  int append(byte kind, long sequence, byte[] data) {
+    int position = writePosition;
+    buffer.put(position + KIND_OFFSET, kind);
+    buffer.putLong(position + SEQUENCE_OFFSET, sequence);
+    buffer.putInt(position + LENGTH_OFFSET, data.length);
+    buffer.position(position + HEADER_SIZE);
+    buffer.put(data);
+    buffer.put(position, LIVE);
+    writePosition = position + HEADER_SIZE + data.length;
+    records++;
+    live++;
+    return position;
+  }
+
+  /**
+   * Flags the record at the given position as removed.
+   *
+   * @param position position of the record
+   * @param ordinal index of the record within this segment
+   */
+  void markRemoved(int position, int ordinal) {
+    buffer.put(position, REMOVED);
+    removed.set(ordinal);
+    live--;
+  }
+
+  boolean isRemoved(int ordinal) {
+    return removed.get(ordinal);
+  }
+
+  byte kindAt(int position) {
+    return buffer.get(position + KIND_OFFSET);
+  }
+
+  long sequenceAt(int position) {
+    return buffer.getLong(position + SEQUENCE_OFFSET);
+  }
+
+  /**
+   * @return the position of the record that follows the one at the given position
+   */
+  int nextPosition(int position) {
+    return position + HEADER_SIZE + buffer.getInt(position + LENGTH_OFFSET);
+  }
+
+  byte[] read(int position) {
+    byte[] data = new byte[buffer.getInt(position + LENGTH_OFFSET)];
+    buffer.position(position + HEADER_SIZE);
+    buffer.get(data);
+    return data;
+  }
+
+  /**
+   * Flushes the content of the segment to the storage device.
+   */
+  void force() {
+    buffer.force();
+  }
+
+  long getNumber() {
+    return number;
+  }
+
+  File getFile() {
+    return file;
+  }
+
+  int getWritePosition() {
+    return writePosition;
+  }
+
+  /**
+   * @return the number of records written to this segment, including removed ones
+   */
+  int getRecords() {
+    return records;
+  }
+
+  int getLive() {
+    return live;
+  }
+
+  /**
+   * Releases the mapping of the file. The segment must not be used after this method is invoked.
+   */
+  void close() {
+    buffer = null;
+  }
+
+  /**
+   * Closes the segment and deletes its file.
+   */
+  void delete() {
+    close();
+    FileUtils.deleteQuietly(file);
+  }
+}
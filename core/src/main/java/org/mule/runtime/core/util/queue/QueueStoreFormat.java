@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+/**
+ * Storage formats available for persistent queues.
+ */
+public enum QueueStoreFormat {
+
+  /**
+   * Entries are stored in two files used alternately. See {@link DualRandomAccessFileQueueStoreDelegate}.
+   */
+  DUAL_FILE,
+
+  /**
+   * Entries are appended to fixed size, memory mapped segment files. See {@link MemoryMappedSegmentQueueStoreDelegate}.
+   */
+  MEMORY_MAPPED_SEGMENTS;
+
+  public static final String DEFAULT_FORMAT_PROPERTY_KEY = "mule.queue.format";
+
+  /**
+   * @return the format to use for persistent queues that don't configure one, {@link #DUAL_FILE} unless overridden through the
+   *         {@value #DEFAULT_FORMAT_PROPERTY_KEY} system property
+   */
+  public static QueueStoreFormat getDefault() {
+    return valueOf(System.getProperty(DEFAULT_FORMAT_PROPERTY_KEY, DUAL_FILE.name()));
+  }
+}
@@ -8,6 +8,7 @@ package org.mule.runtime.core.util.queue.objectstore;
 
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.store.QueueStore;
+import org.mule.runtime.core.util.queue.QueueStoreFormat;
 
 import java.io.Serializable;
 
@@ -68,4 +69,9 @@ public class QueueConfiguration implements org.mule.runtime.core.util.queue.Queu
   public int getCapacity() {
     return capacity;
   }
+
+  @Override
+  public QueueStoreFormat getFormat() {
+    return QueueStoreFormat.DUAL_FILE;
+  }
 }
@@ -0,0 +1,719 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.config.i18n.MessageFactory.createStaticMessage;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
+import org.mule.runtime.core.util.FileUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * {@link PersistentObjectStorePartition} that appends its entries to a single data log instead of creating a file per entry.
+ * <p/>
+ * Every store and remove appends a record to the log, protected by a checksum so a partially written record is discarded when
+ * the log is read again. The location of the live records is kept in an in memory index, which is persisted next to the log
+ * when the partition is closed or compacted, so reopening the partition only has to read the records appended after that.
+ * Once the space used by removed entries exceeds {@value #COMPACTION_THRESHOLD_PROPERTY_KEY} and the live entries, the log is
+ * rewritten with just the live records.
+ * <p/>
+ * Keys are guarded by striped locks, so operations over different keys only contend for the short append to the log. Entries
+ * stored by a {@link PersistentObjectStorePartition} in the same directory are migrated to the log when the partition is
+ * loaded.
+ */
+public class AppendLogObjectStorePartition<T extends Serializable> extends PersistentObjectStorePartition<T> {
+
+  public static final String COMPACTION_THRESHOLD_PROPERTY_KEY = "mule.objectstore.log.compactionThreshold";
+
+  static final String DATA_LOG_FILE = "data.log";
+  static final String INDEX_FILE = "data.index";
+
+  private static final String COMPACTED_LOG_FILE = "data.log.compacted";
+  private static final String TEMPORARY_INDEX_FILE = "data.index.tmp";
+  private static final long DEFAULT_COMPACTION_THRESHOLD = 4 * 1024 * 1024;
+
+  private static final int MAGIC = 0x4d4f534c;
+  /**
+   * magic (4) + generation (8)
+   */
+  private static final int LOG_HEADER_SIZE = 12;
+  /**
+   * body length (4) + checksum (4)
+   */
+  private static final int RECORD_HEADER_SIZE = 8;
+  /**
+   * type (1) + timestamp (8) + key length (4)
+   */
+  private static final int ENTRY_HEADER_SIZE = 13;
+  private static final byte STORE = 1;
+  private static final byte REMOVE = 2;
+  private static final int STRIPES = 64;
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final File partitionDirectory;
+  private final long compactionThreshold;
+
+  private final ConcurrentMap<Serializable, LogEntry> index = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<Long, Serializable> keysByPosition = new ConcurrentSkipListMap<>();
+  private final ReadWriteLock[] stripes = new ReadWriteLock[STRIPES];
+  private final Object appendLock = new Object();
+  private final AtomicLong garbageBytes = new AtomicLong();
+
+  private volatile boolean loaded = false;
+  private volatile FileChannel channel;
+  private long generation;
+  // guarded by appendLock
+  private long writePosition;
+
+  AppendLogObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    super(muleContext, partitionName, partitionDirectory);
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.partitionDirectory = partitionDirectory;
+    this.compactionThreshold = Long.getLong(COMPACTION_THRESHOLD_PROPERTY_KEY, DEFAULT_COMPACTION_THRESHOLD);
+    initStripes();
+  }
+
+  AppendLogObjectStorePartition(MuleContext muleContext, File partitionDirectory) throws ObjectStoreNotAvaliableException {
+    super(muleContext, partitionDirectory);
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.partitionDirectory = partitionDirectory;
+    this.compactionThreshold = Long.getLong(COMPACTION_THRESHOLD_PROPERTY_KEY, DEFAULT_COMPACTION_THRESHOLD);
+    initStripes();
+  }
+
+  private void initStripes() {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new ReentrantReadWriteLock();
+    }
+  }
+
+  /**
+   * @param partitionDirectory directory of a partition
+   * @return true if the partition in the given directory keeps its entries in a data log
+   */
+  static boolean isAppendLogPartition(File partitionDirectory) {
+    return new File(partitionDirectory, DATA_LOG_FILE).exists();
+  }
+
+  @Override
+  public synchronized void close() throws ObjectStoreException {
+    if (!loaded) {
+      return;
+    }
+    lockAll();
+    try {
+      writeIndex();
+      channel.force(false);
+      channel.close();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      loaded = false;
+      index.clear();
+      keysByPosition.clear();
+      unlockAll();
+    }
+  }
+
+  @Override
+  public List<Serializable> allKeys() throws ObjectStoreException {
+    assureLoaded();
+    return Collections.unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  public boolean contains(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+    return index.containsKey(key);
+  }
+
+  @Override
+  public void store(Serializable key, T value) throws ObjectStoreException {
+    assureLoaded();
+    if (index.containsKey(key)) {
+      throw new ObjectAlreadyExistsException();
+    }
+
+    long timestamp = System.currentTimeMillis();
+    byte[] serializedKey = serialize(key);
+    ByteBuffer record = createRecord(STORE, timestamp, serializedKey, serialize(value));
+
+    Lock lock = stripeFor(key).writeLock();
+    lock.lock();
+    try {
+      if (index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+      long position = append(record);
+      addEntry(key, new LogEntry(position, record.capacity(), valueOffset(serializedKey), timestamp));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public T retrieve(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+
+    byte[] serializedValue;
+    Lock lock = stripeFor(key).readLock();
+    lock.lock();
+    try {
+      serializedValue = readValue(getExistingEntry(key));
+    } finally {
+      lock.unlock();
+    }
+    return deserializeValue(serializedValue);
+  }
+
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+
+    byte[] serializedValue;
+    Lock lock = stripeFor(key).writeLock();
+    lock.lock();
+    try {
+      LogEntry entry = getExistingEntry(key);
+      serializedValue = readValue(entry);
+      removeEntry(key, entry);
+    } finally {
+      lock.unlock();
+    }
+    compactIfNeeded();
+    return deserializeValue(serializedValue);
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    assureLoaded();
+
+    lockAll();
+    try {
+      synchronized (appendLock) {
+        channel.truncate(0);
+        generation++;
+        writeLogHeader(channel, generation);
+        writePosition = LOG_HEADER_SIZE;
+      }
+      index.clear();
+      keysByPosition.clear();
+      garbageBytes.set(0);
+      FileUtils.deleteQuietly(new File(partitionDirectory, INDEX_FILE));
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+    } finally {
+      unlockAll();
+    }
+  }
+
+  @Override
+  public void expire(int entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    if (maxEntries != UNBOUNDED) {
+      Map.Entry<Long, Serializable> oldest;
+      while (index.size() > maxEntries && (oldest = keysByPosition.firstEntry()) != null) {
+        removeIfAt(oldest.getValue(), oldest.getKey());
+      }
+    }
+
+    if (entryTTL != UNBOUNDED) {
+      final long now = System.currentTimeMillis();
+      Map.Entry<Long, Serializable> oldest;
+      while ((oldest = keysByPosition.firstEntry()) != null) {
+        LogEntry entry = index.get(oldest.getValue());
+        if (entry != null && entry.position == oldest.getKey() && now - entry.timestamp < entryTTL) {
+          break;
+        }
+        removeIfAt(oldest.getValue(), oldest.getKey());
+      }
+    }
+
+    compactIfNeeded();
+  }
+
+  private void removeIfAt(Serializable key, long position) throws ObjectStoreException {
+    Lock lock = stripeFor(key).writeLock();
+    lock.lock();
+    try {
+      LogEntry entry = index.get(key);
+      if (entry != null && entry.position == position) {
+        removeEntry(key, entry);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private LogEntry getExistingEntry(Serializable key) throws ObjectDoesNotExistException {
+    LogEntry entry = index.get(key);
+    if (entry == null) {
+      throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+    }
+    return entry;
+  }
+
+  private void addEntry(Serializable key, LogEntry entry) {
+    LogEntry previous = index.put(key, entry);
+    if (previous != null) {
+      keysByPosition.remove(previous.position);
+      garbageBytes.addAndGet(previous.length);
+    }
+    keysByPosition.put(entry.position, key);
+  }
+
+  private void removeEntry(Serializable key, LogEntry entry) throws ObjectStoreException {
+    ByteBuffer record = createRecord(REMOVE, System.currentTimeMillis(), serialize(key), new byte[0]);
+    append(record);
+    index.remove(key);
+    keysByPosition.remove(entry.position);
+    garbageBytes.addAndGet(entry.length + record.capacity());
+  }
+
+  private ReadWriteLock stripeFor(Serializable key) {
+    int hash = key.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+
+  private void lockAll() {
+    for (ReadWriteLock stripe : stripes) {
+      stripe.writeLock().lock();
+    }
+  }
+
+  private void unlockAll() {
+    for (int i = STRIPES - 1; i >= 0; i--) {
+      stripes[i].writeLock().unlock();
+    }
+  }
+
+  private long append(ByteBuffer record) throws ObjectStoreException {
+    synchronized (appendLock) {
+      long position = writePosition;
+      try {
+        writeFully(channel, record, position);
+      } catch (IOException e) {
+        throw new ObjectStoreException(e);
+      }
+      writePosition += record.capacity();
+      return position;
+    }
+  }
+
+  private byte[] readValue(LogEntry entry) throws ObjectStoreException {
+    ByteBuffer buffer = ByteBuffer.allocate(entry.length - entry.valueOffset);
+    try {
+      readFully(channel, buffer, entry.position + entry.valueOffset);
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    }
+    return buffer.array();
+  }
+
+  private void compactIfNeeded() throws ObjectStoreException {
+    if (isCompactionNeeded()) {
+      compact();
+    }
+  }
+
+  private boolean isCompactionNeeded() {
+    long garbage = garbageBytes.get();
+    long used;
+    synchronized (appendLock) {
+      used = writePosition - LOG_HEADER_SIZE;
+    }
+    return garbage >= compactionThreshold && garbage >= used - garbage;
+  }
+
+  /**
+   * Rewrites the log with just the live records, in the order they were stored.
+   */
+  private void compact() throws ObjectStoreException {
+    lockAll();
+    try {
+      if (!isCompactionNeeded()) {
+        return;
+      }
+
+      File compactedLogFile = new File(partitionDirectory, COMPACTED_LOG_FILE);
+      File logFile = new File(partitionDirectory, DATA_LOG_FILE);
+      long compactedGeneration = generation + 1;
+      long position = LOG_HEADER_SIZE;
+      Map<Serializable, LogEntry> compactedEntries = new ConcurrentHashMap<>();
+      try {
+        try (FileChannel compactedChannel =
+            FileChannel.open(compactedLogFile.toPath(), CREATE, READ, WRITE, TRUNCATE_EXISTING)) {
+          writeLogHeader(compactedChannel, compactedGeneration);
+          for (Map.Entry<Long, Serializable> liveRecord : keysByPosition.entrySet()) {
+            LogEntry entry = index.get(liveRecord.getValue());
+            ByteBuffer record = ByteBuffer.allocate(entry.length);
+            readFully(channel, record, entry.position);
+            record.flip();
+            writeFully(compactedChannel, record, position);
+            compactedEntries.put(liveRecord.getValue(), new LogEntry(position, entry.length, entry.valueOffset, entry.timestamp));
+            position += entry.length;
+          }
+          compactedChannel.force(false);
+        }
+        Files.move(compactedLogFile.toPath(), logFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+      } catch (IOException e) {
+        // the current log is left untouched, so the partial rewrite is just discarded
+        FileUtils.deleteQuietly(compactedLogFile);
+        throw e;
+      }
+      FileChannel compactedChannel = FileChannel.open(logFile.toPath(), READ, WRITE);
+
+      FileChannel previousChannel = channel;
+      synchronized (appendLock) {
+        channel = compactedChannel;
+        generation = compactedGeneration;
+        writePosition = position;
+      }
+      previousChannel.close();
+      index.clear();
+      keysByPosition.clear();
+      garbageBytes.set(0);
+      for (Map.Entry<Serializable, LogEntry> entry : compactedEntries.entrySet()) {
+        addEntry(entry.getKey(), entry.getValue());
+      }
+      writeIndex();
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not compact object store log in "
+          + partitionDirectory.getAbsolutePath()), e);
+    } finally {
+      unlockAll();
+    }
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      load();
+    }
+  }
+
+  private synchronized void load() throws ObjectStoreException {
+    // re-checked so concurrent callers of assureLoaded only load the partition once
+    if (loaded) {
+      return;
+    }
+
+    try {
+      FileUtils.deleteQuietly(new File(partitionDirectory, COMPACTED_LOG_FILE));
+      channel = FileChannel.open(new File(partitionDirectory, DATA_LOG_FILE).toPath(), CREATE, READ, WRITE);
+      if (channel.size() < LOG_HEADER_SIZE) {
+        channel.truncate(0);
+        generation = System.currentTimeMillis();
+        writeLogHeader(channel, generation);
+      } else {
+        generation = readLogHeader();
+      }
+
+      long position = readIndex();
+      long replayPosition = replayLog(position);
+      synchronized (appendLock) {
+        writePosition = replayPosition;
+      }
+
+      int migratedEntries = migrateEntryFiles();
+      if (replayPosition > position || migratedEntries > 0) {
+        writeIndex();
+      }
+      loaded = true;
+    } catch (Exception e) {
+      String message = String.format("Could not restore object store data from %1s", partitionDirectory.getAbsolutePath());
+      throw new ObjectStoreException(createStaticMessage(message), e);
+    }
+  }
+
+  private long readLogHeader() throws IOException, ObjectStoreException {
+    ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+    readFully(channel, header, 0);
+    header.flip();
+    if (header.getInt() != MAGIC) {
+      throw new ObjectStoreException(createStaticMessage("Invalid object store log " + DATA_LOG_FILE));
+    }
+    return header.getLong();
+  }
+
+  private static void writeLogHeader(FileChannel logChannel, long generation) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+    header.putInt(MAGIC).putLong(generation).flip();
+    writeFully(logChannel, header, 0);
+  }
+
+  /**
+   * Loads the persisted index, if it matches the current log.
+   *
+   * @return the position of the log up to which the index is up to date
+   */
+  private long readIndex() {
+    File indexFile = new File(partitionDirectory, INDEX_FILE);
+    if (!indexFile.exists()) {
+      return LOG_HEADER_SIZE;
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+      if (in.readInt() != MAGIC || in.readLong() != generation) {
+        return LOG_HEADER_SIZE;
+      }
+      long position = in.readLong();
+      if (position > channel.size()) {
+        return LOG_HEADER_SIZE;
+      }
+      garbageBytes.set(in.readLong());
+      int entries = in.readInt();
+      for (int i = 0; i < entries; i++) {
+        byte[] serializedKey = new byte[in.readInt()];
+        in.readFully(serializedKey);
+        addEntry(serializer.deserialize(serializedKey, muleContext.getExecutionClassLoader()),
+                 new LogEntry(in.readLong(), in.readInt(), in.readInt(), in.readLong()));
+      }
+      return position;
+    } catch (Exception e) {
+      logger.warn("Could not read object store index {}, rebuilding it from the data log", indexFile.getAbsolutePath());
+      index.clear();
+      keysByPosition.clear();
+      garbageBytes.set(0);
+      return LOG_HEADER_SIZE;
+    }
+  }
+
+  /**
+   * Writes the index of the live entries, so they don't have to be read from the log when the partition is loaded again. Must
+   * be invoked with no concurrent modifications.
+   */
+  private void writeIndex() throws IOException {
+    File temporaryIndexFile = new File(partitionDirectory, TEMPORARY_INDEX_FILE);
+    try (FileOutputStream fileOutputStream = new FileOutputStream(temporaryIndexFile)) {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+      out.writeInt(MAGIC);
+      out.writeLong(generation);
+      synchronized (appendLock) {
+        out.writeLong(writePosition);
+      }
+      out.writeLong(garbageBytes.get());
+      out.writeInt(index.size());
+      for (Map.Entry<Serializable, LogEntry> entry : index.entrySet()) {
+        byte[] serializedKey = serializer.serialize(entry.getKey());
+        out.writeInt(serializedKey.length);
+        out.write(serializedKey);
+        out.writeLong(entry.getValue().position);
+        out.writeInt(entry.getValue().length);
+        out.writeInt(entry.getValue().valueOffset);
+        out.writeLong(entry.getValue().timestamp);
+      }
+      out.flush();
+      fileOutputStream.getFD().sync();
+    }
+    Files.move(temporaryIndexFile.toPath(), new File(partitionDirectory, INDEX_FILE).toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  /**
+   * Applies the records found in the log from the given position to the index. The log is truncated after the last complete
+   * record.
+   *
+   * @return the position after the last complete record
+   */
+  private long replayLog(long position) throws IOException {
+    channel.position(position);
+    DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+    CRC32 checksum = new CRC32();
+    long logSize = channel.size();
+    while (position + RECORD_HEADER_SIZE + ENTRY_HEADER_SIZE <= logSize) {
+      byte[] body;
+      try {
+        int bodyLength = in.readInt();
+        int expectedChecksum = in.readInt();
+        if (bodyLength < ENTRY_HEADER_SIZE || position + RECORD_HEADER_SIZE + bodyLength > logSize) {
+          break;
+        }
+        body = new byte[bodyLength];
+        in.readFully(body);
+        checksum.reset();
+        checksum.update(body, 0, bodyLength);
+        if ((int) checksum.getValue() != expectedChecksum) {
+          break;
+        }
+      } catch (EOFException e) {
+        break;
+      }
+
+      ByteBuffer entryHeader = ByteBuffer.wrap(body);
+      byte type = entryHeader.get();
+      long timestamp = entryHeader.getLong();
+      int keyLength = entryHeader.getInt();
+      Serializable key = serializer.deserialize(Arrays.copyOfRange(body, ENTRY_HEADER_SIZE, ENTRY_HEADER_SIZE + keyLength),
+                                                muleContext.getExecutionClassLoader());
+      int recordLength = RECORD_HEADER_SIZE + body.length;
+      if (type == STORE) {
+        addEntry(key, new LogEntry(position, recordLength, RECORD_HEADER_SIZE + ENTRY_HEADER_SIZE + keyLength, timestamp));
+      } else {
+        LogEntry removed = index.remove(key);
+        if (removed != null) {
+          keysByPosition.remove(removed.position);
+          garbageBytes.addAndGet(removed.length);
+        }
+        garbageBytes.addAndGet(recordLength);
+      }
+      position += recordLength;
+    }
+
+    if (position < logSize) {
+      logger.warn("Discarding incomplete records at the end of object store log in {}", partitionDirectory.getAbsolutePath());
+      channel.truncate(position);
+    }
+    return position;
+  }
+
+  /**
+   * Moves the entries stored one per file by {@link PersistentObjectStorePartition} to the log, keeping their order.
+   *
+   * @return the number of migrated entries
+   */
+  private int migrateEntryFiles() throws ObjectStoreException, IOException {
+    File[] files = listValuesFiles();
+    if (files.length == 0) {
+      return 0;
+    }
+
+    Arrays.sort(files, (f1, f2) -> {
+      int result = Long.compare(f1.lastModified(), f2.lastModified());
+      return result != 0 ? result : f1.getName().compareTo(f2.getName());
+    });
+    int migrated = 0;
+    for (File file : files) {
+      StoreValue<T> storeValue = deserialize(file);
+      if (!index.containsKey(storeValue.getKey())) {
+        byte[] serializedKey = serialize(storeValue.getKey());
+        ByteBuffer record = createRecord(STORE, file.lastModified(), serializedKey, serialize(storeValue.getValue()));
+        long position = append(record);
+        addEntry(storeValue.getKey(), new LogEntry(position, record.capacity(), valueOffset(serializedKey), file.lastModified()));
+        migrated++;
+      }
+    }
+    channel.force(false);
+    for (File file : files) {
+      FileUtils.deleteQuietly(file);
+    }
+    logger.info("Migrated {} entries of object store partition {} to {}", migrated, getPartitionName(), DATA_LOG_FILE);
+    return migrated;
+  }
+
+  private static ByteBuffer createRecord(byte type, long timestamp, byte[] serializedKey, byte[] serializedValue) {
+    int bodyLength = ENTRY_HEADER_SIZE + serializedKey.length + serializedValue.length;
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + bodyLength);
+    record.putInt(bodyLength).putInt(0);
+    record.put(type).putLong(timestamp).putInt(serializedKey.length).put(serializedKey).put(serializedValue);
+
+    CRC32 checksum = new CRC32();
+    checksum.update(record.array(), RECORD_HEADER_SIZE, bodyLength);
+    record.putInt(4, (int) checksum.getValue());
+    record.flip();
+    return record;
+  }
+
+  private static int valueOffset(byte[] serializedKey) {
+    return RECORD_HEADER_SIZE + ENTRY_HEADER_SIZE + serializedKey.length;
+  }
+
+  private byte[] serialize(Object object) throws ObjectStoreException {
+    try {
+      return serializer.serialize(object);
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private T deserializeValue(byte[] serializedValue) throws ObjectStoreException {
+    try {
+      T value = serializer.deserialize(serializedValue, muleContext.getExecutionClassLoader());
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private static void writeFully(FileChannel fileChannel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += fileChannel.write(buffer, position);
+    }
+  }
+
+  private static void readFully(FileChannel fileChannel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = fileChannel.read(buffer, position);
+      if (read < 0) {
+        throw new EOFException();
+      }
+      position += read;
+    }
+  }
+
+  /**
+   * Location of the last record stored for a key.
+   */
+  private static final class LogEntry {
+
+    private final long position;
+    private final int length;
+    private final int valueOffset;
+    private final long timestamp;
+
+    private LogEntry(long position, int length, int valueOffset, long timestamp) {
+      this.position = position;
+      this.length = length;
+      this.valueOffset = valueOffset;
+      this.timestamp = timestamp;
+    }
+  }
+}
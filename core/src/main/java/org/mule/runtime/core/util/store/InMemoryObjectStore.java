@@ -12,8 +12,9 @@ import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 
 import java.io.Serializable;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
 
@@ -21,13 +22,20 @@ import java.util.concurrent.TimeUnit;
  * <code>InMemoryObjectStore</code> implements an optionally bounded in-memory store for message IDs with periodic expiry of old
  * entries. The bounded size is a <i>soft</i> limit and only enforced periodically by the expiry process; this means that the
  * store may temporarily exceed its maximum size between expiry runs, but will eventually shrink to its configured size.
+ * <p/>
+ * Entries are kept in two structures: a concurrent hash index by key, used by {@link #contains(Serializable)},
+ * {@link #retrieve(Serializable)} and {@link #remove(Serializable)} so those run in constant time without locking, and a map
+ * ordered by insertion timestamp, used by the expiry process to evict the oldest entries first.
  */
 public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitoredObjectStore<T> {
 
   protected ConcurrentSkipListMap<Long, StoredObject<T>> store;
 
+  protected ConcurrentMap<Serializable, StoredObject<T>> index;
+
   public InMemoryObjectStore() {
     this.store = new ConcurrentSkipListMap<Long, StoredObject<T>>();
+    this.index = new ConcurrentHashMap<Serializable, StoredObject<T>>();
   }
 
   @Override
@@ -41,9 +49,7 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
       throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
     }
 
-    synchronized (store) {
-      return store.values().contains(new StoredObject<T>(key, null));
-    }
+    return index.containsKey(key);
   }
 
   @Override
@@ -52,58 +58,43 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
       throw new ObjectStoreException(CoreMessages.objectIsNull("id"));
     }
 
-    // this block is unfortunately necessary to counter a possible race condition
-    // between multiple nonatomic calls to containsObject/storeObject
+    // claiming the key in the index first is what makes concurrent calls to store with the same id safe
     StoredObject<T> obj = new StoredObject<T>(id, value);
-    synchronized (store) {
-      if (store.values().contains(obj)) {
-        throw new ObjectAlreadyExistsException();
-      }
+    if (index.putIfAbsent(id, obj) != null) {
+      throw new ObjectAlreadyExistsException();
+    }
 
-      boolean written = false;
-      while (!written) {
-        Long key = Long.valueOf(System.nanoTime());
-        written = (store.put(key, obj) == null);
-      }
+    Long timestamp;
+    do {
+      timestamp = Long.valueOf(System.nanoTime());
+      obj.setTimestamp(timestamp);
+    } while (store.putIfAbsent(timestamp, obj) != null);
+
+    // the entry may have been removed from the index before it made it to the ordered map, don't leave it behind
+    if (index.get(id) != obj) {
+      store.remove(timestamp, obj);
     }
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public T retrieve(Serializable key) throws ObjectStoreException {
-    synchronized (store) {
-      Map.Entry<?, ?> entry = findEntry(key);
-      if (entry != null) {
-        StoredObject<T> object = (StoredObject<T>) entry.getValue();
-        return object.getItem();
-      }
+    StoredObject<T> object = index.get(key);
+    if (object != null) {
+      return object.getItem();
     }
 
     throw new ObjectDoesNotExistException(CoreMessages.objectNotFound(key));
   }
 
-  @SuppressWarnings("unchecked")
-  private Map.Entry<?, ?> findEntry(Serializable key) {
-    Iterator<?> entryIterator = store.entrySet().iterator();
-    while (entryIterator.hasNext()) {
-      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) entryIterator.next();
-
-      StoredObject<T> object = (StoredObject<T>) entry.getValue();
-      if (object.getId().equals(key)) {
-        return entry;
-      }
-    }
-    return null;
-  }
-
   @Override
   public T remove(Serializable key) throws ObjectStoreException {
-    synchronized (store) {
-      Map.Entry<?, ?> entry = findEntry(key);
-      if (entry != null) {
-        StoredObject<T> removedObject = store.remove(entry.getKey());
-        return removedObject.getItem();
+    StoredObject<T> removedObject = index.remove(key);
+    if (removedObject != null) {
+      Long timestamp = removedObject.getTimestamp();
+      if (timestamp != null) {
+        store.remove(timestamp, removedObject);
       }
+      return removedObject.getItem();
     }
 
     throw new ObjectDoesNotExistException(CoreMessages.objectNotFound(key));
@@ -111,15 +102,14 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
 
   @Override
   public void clear() throws ObjectStoreException {
-    synchronized (store) {
-      store.clear();
-    }
+    index.clear();
+    store.clear();
   }
 
   @Override
   public void expire() {
     // this is not guaranteed to be precise, but we don't mind
-    int currentSize = store.size();
+    int currentSize = index.size();
 
     // first trim to maxSize if necessary
     currentSize = trimToMaxSize(currentSize);
@@ -128,15 +118,17 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
     if ((entryTTL > 0) && (currentSize != 0)) {
       final long now = System.nanoTime();
       int expiredEntries = 0;
-      Map.Entry<?, ?> oldestEntry;
+      Map.Entry<Long, StoredObject<T>> oldestEntry;
 
       purge: while ((oldestEntry = store.firstEntry()) != null) {
-        Long oldestKey = (Long) oldestEntry.getKey();
+        Long oldestKey = oldestEntry.getKey();
         long oldestKeyValue = oldestKey.longValue();
 
         if (TimeUnit.NANOSECONDS.toMillis(now - oldestKeyValue) >= entryTTL) {
-          store.remove(oldestKey);
-          expiredEntries++;
+          if (store.remove(oldestKey, oldestEntry.getValue())) {
+            removeFromIndex(oldestEntry.getValue());
+            expiredEntries++;
+          }
         } else {
           break purge;
         }
@@ -155,8 +147,9 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
 
     int excess = (currentSize - maxEntries);
     if (excess > 0) {
-      while (currentSize > maxEntries) {
-        store.pollFirstEntry();
+      Map.Entry<Long, StoredObject<T>> oldestEntry;
+      while (currentSize > maxEntries && (oldestEntry = store.pollFirstEntry()) != null) {
+        removeFromIndex(oldestEntry.getValue());
         currentSize--;
       }
 
@@ -167,6 +160,14 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
     return currentSize;
   }
 
+  /**
+   * Removes the given object from the key index only if it is still the one mapped to its id. {@link StoredObject} equality is
+   * based on the id alone, so the identity check is needed to avoid evicting a newer entry stored with the same key.
+   */
+  private void removeFromIndex(final StoredObject<T> object) {
+    index.computeIfPresent(object.getId(), (id, current) -> current == object ? null : current);
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName() + " " + store;
@@ -179,6 +180,7 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
 
     private Serializable id;
     private T item;
+    private volatile Long timestamp;
 
     public StoredObject(Serializable id, T item) {
       this.id = id;
@@ -193,6 +195,18 @@ public class InMemoryObjectStore<T extends Serializable> extends AbstractMonitor
       return item;
     }
 
+    /**
+     * @return the key under which this object is kept in the insertion ordered map, or {@code null} if it was not added to it
+     *         yet
+     */
+    Long getTimestamp() {
+      return timestamp;
+    }
+
+    void setTimestamp(Long timestamp) {
+      this.timestamp = timestamp;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public boolean equals(Object o) {
@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.core.util.store;
 
+import static org.mule.runtime.core.util.store.PersistentObjectStorePartitionFormat.APPEND_LOG;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
 import org.mule.runtime.core.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.config.i18n.Message;
@@ -34,6 +37,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   private File storeDirectory;
   private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<String, PersistentObjectStorePartition>();
   private boolean initialized = false;
+  private PersistentObjectStorePartitionFormat partitionFormat = PersistentObjectStorePartitionFormat.getDefault();
 
   public PartitionedPersistentObjectStore() {
     super();
@@ -68,15 +72,36 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   }
 
   @Override
-  public void close(String partitionName) throws ObjectStoreException {}
+  public void close(String partitionName) throws ObjectStoreException {
+    PersistentObjectStorePartition partition = partitionsByName.get(partitionName);
+    if (partition != null) {
+      partition.close();
+    }
+  }
 
   private void createPartition(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    PersistentObjectStorePartition persistentObjectStorePartition;
+    if (partitionFormat == APPEND_LOG) {
+      persistentObjectStorePartition = new AppendLogObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    } else {
+      persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    }
     persistentObjectStorePartition.open();
     partitionsByName.put(partitionName, persistentObjectStorePartition);
   }
 
+  /**
+   * Partitions already using a data log keep using it. Partitions storing a file per entry are migrated to a data log when
+   * {@link PersistentObjectStorePartitionFormat#APPEND_LOG} is configured.
+   */
+  private PersistentObjectStorePartition loadPartition(File partitionDirectory) throws ObjectStoreNotAvaliableException {
+    if (partitionFormat == APPEND_LOG || AppendLogObjectStorePartition.isAppendLogPartition(partitionDirectory)) {
+      return new AppendLogObjectStorePartition(muleContext, partitionDirectory);
+    } else {
+      return new PersistentObjectStorePartition(muleContext, partitionDirectory);
+    }
+  }
+
   private File getNewPartitionDirectory() {
     return new File(storeDirectory, UUID.getUUID());
   }
@@ -177,8 +202,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentObjectStorePartition persistentObjectStorePartition = loadPartition(partitionDirectory);
         persistentObjectStorePartition.open();
         partitionsByName.put(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
@@ -192,6 +216,13 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     muleContext = context;
   }
 
+  /**
+   * @param partitionFormat the format to use for the partitions opened from now on
+   */
+  public void setPartitionFormat(PersistentObjectStorePartitionFormat partitionFormat) {
+    this.partitionFormat = partitionFormat;
+  }
+
   @Override
   public void expire(int entryTTL, int maxEntries) throws ObjectStoreException {
     expire(entryTTL, maxEntries, DEFAULT_PARTITION);
@@ -230,7 +230,7 @@ public class PersistentObjectStorePartition<T extends Serializable> implements L
     }
   }
 
-  private File[] listValuesFiles() {
+  protected File[] listValuesFiles() {
     File[] files = partitionDirectory.listFiles(new FileFilter() {
 
       @Override
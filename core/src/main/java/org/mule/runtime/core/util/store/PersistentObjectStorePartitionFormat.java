@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+/**
+ * Storage formats available for the partitions of a {@link PartitionedPersistentObjectStore}.
+ */
+public enum PersistentObjectStorePartitionFormat {
+
+  /**
+   * Each entry is stored in its own file. See {@link PersistentObjectStorePartition}.
+   */
+  FILE_PER_ENTRY,
+
+  /**
+   * Entries are appended to a single data log with a persisted key index. See {@link AppendLogObjectStorePartition}.
+   */
+  APPEND_LOG;
+
+  public static final String DEFAULT_FORMAT_PROPERTY_KEY = "mule.objectstore.partition.format";
+
+  /**
+   * @return the format to use for new partitions, {@link #FILE_PER_ENTRY} unless overridden through the
+   *         {@value #DEFAULT_FORMAT_PROPERTY_KEY} system property
+   */
+  public static PersistentObjectStorePartitionFormat getDefault() {
+    return valueOf(System.getProperty(DEFAULT_FORMAT_PROPERTY_KEY, FILE_PER_ENTRY.name()));
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import org.mule.runtime.core.config.i18n.CoreMessages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Probabilistic set of keys used to avoid looking up keys that were never added to an object store. A key that was not added is
+ * reported as possibly contained with, at most, the configured false positive probability. A key that was added is always
+ * reported as possibly contained until the partition it was added to is discarded.
+ * <p/>
+ * Keys are added to the current partition. When an entry time to live is given, a new partition is started every
+ * {@code entryTTL / (partitions - 1)} milliseconds and the oldest one is discarded, so keys are forgotten after the time they
+ * are kept in the store. As a key is checked against every partition, each one gets an equal share of the configured false
+ * positive probability, so the probability of the whole filter stays below it. Each partition grows by adding filters of twice
+ * the capacity and half the false positive probability of the previous one once it is full, keeping the false positive
+ * probability of the partition below its share.
+ * <p/>
+ * This class is thread safe. Checking and adding keys do not block each other.
+ */
+public class TimePartitionedBloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final int expectedEntries;
+  private final double partitionFalsePositiveProbability;
+  private final long partitionPeriod;
+  private final int maxPartitions;
+
+  // Newest partition first
+  private volatile List<Partition> partitions = new ArrayList<>();
+
+  /**
+   * Creates a filter that never forgets keys.
+   *
+   * @param expectedEntries number of keys expected, used to size the first filter
+   * @param falsePositiveProbability maximum probability of reporting a key that was not added as possibly contained
+   */
+  public TimePartitionedBloomFilter(int expectedEntries, double falsePositiveProbability) {
+    this(expectedEntries, falsePositiveProbability, 0, 1);
+  }
+
+  /**
+   * @param expectedEntries number of keys expected per partition, used to size the first filter of each partition
+   * @param falsePositiveProbability maximum probability of reporting a key that was not added as possibly contained
+   * @param entryTTL time in milliseconds keys are kept, zero or lower to keep them forever
+   * @param partitions number of partitions covering the time to live of the keys. Ignored if keys are kept forever
+   */
+  public TimePartitionedBloomFilter(int expectedEntries, double falsePositiveProbability, long entryTTL, int partitions) {
+    if (expectedEntries <= 0) {
+      throw new IllegalArgumentException(CoreMessages.propertyHasInvalidValue("expectedEntries", expectedEntries).toString());
+    }
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException(CoreMessages.propertyHasInvalidValue("falsePositiveProbability",
+                                                                              falsePositiveProbability)
+          .toString());
+    }
+
+    this.expectedEntries = expectedEntries;
+    if (entryTTL > 0 && partitions > 1) {
+      this.partitionPeriod = Math.max(entryTTL / (partitions - 1), 1);
+      this.maxPartitions = partitions;
+    } else {
+      this.partitionPeriod = 0;
+      this.maxPartitions = 1;
+    }
+    this.partitionFalsePositiveProbability = falsePositiveProbability / maxPartitions;
+  }
+
+  /**
+   * @param key key to check
+   * @return false if the key was definitely not added, true if it may have been added
+   */
+  public boolean mightContain(String key) {
+    long hash = hash(key);
+    for (Partition partition : currentPartitions()) {
+      if (partition.mightContain(hash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param key key to add
+   */
+  public void add(String key) {
+    currentPartitions().get(0).add(hash(key));
+  }
+
+  /**
+   * Forgets all the added keys
+   */
+  public synchronized void clear() {
+    partitions = new ArrayList<>();
+  }
+
+  /**
+   * @return the partitions to use, starting a new one if the period of the newest one is over
+   */
+  private List<Partition> currentPartitions() {
+    List<Partition> current = partitions;
+    if (current.isEmpty() || (partitionPeriod > 0 && current.get(0).isOver())) {
+      current = rotate();
+    }
+    return current;
+  }
+
+  private synchronized List<Partition> rotate() {
+    List<Partition> current = partitions;
+    if (!current.isEmpty() && (partitionPeriod <= 0 || !current.get(0).isOver())) {
+      // Already rotated by another thread
+      return current;
+    }
+
+    long now = System.currentTimeMillis();
+    List<Partition> rotated = new ArrayList<>(maxPartitions);
+    rotated.add(new Partition(now + partitionPeriod));
+    for (Partition partition : current) {
+      // Keys of a partition are kept for the time to live after the last one was added
+      if (rotated.size() < maxPartitions && now < partition.end + (maxPartitions - 1) * partitionPeriod) {
+        rotated.add(partition);
+      }
+    }
+    partitions = rotated;
+    return rotated;
+  }
+
+  private static long hash(String key) {
+    // 64 bit FNV-1a, finished with the MurmurHash3 mix so all bits depend on the whole key
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * Keys added during a period of time, kept in a growing list of bloom filters.
+   */
+  private final class Partition {
+
+    private final long end;
+    private volatile List<Filter> filters;
+
+    private Partition(long end) {
+      this.end = end;
+      List<Filter> initialFilters = new ArrayList<>(1);
+      // The probabilities of the filters added as the partition grows sum up to the probability of the partition
+      initialFilters.add(new Filter(expectedEntries, partitionFalsePositiveProbability / 2));
+      this.filters = initialFilters;
+    }
+
+    private boolean isOver() {
+      return System.currentTimeMillis() >= end;
+    }
+
+    private boolean mightContain(long hash) {
+      for (Filter filter : filters) {
+        if (filter.mightContain(hash)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void add(long hash) {
+      List<Filter> current = filters;
+      Filter filter = current.get(current.size() - 1);
+      if (filter.isFull()) {
+        filter = grow(current);
+      }
+      filter.add(hash);
+    }
+
+    private synchronized Filter grow(List<Filter> current) {
+      if (filters != current) {
+        // Already grown by another thread
+        return filters.get(filters.size() - 1);
+      }
+
+      Filter last = current.get(current.size() - 1);
+      List<Filter> grown = new ArrayList<>(current);
+      Filter next = new Filter(last.capacity * 2, last.falsePositiveProbability / 2);
+      grown.add(next);
+      filters = grown;
+      return next;
+    }
+  }
+
+  /**
+   * Fixed size bloom filter, using double hashing to get the bits of each key.
+   */
+  private static final class Filter {
+
+    private final int capacity;
+    private final double falsePositiveProbability;
+    private final AtomicLongArray bits;
+    private final long size;
+    private final int hashes;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private Filter(int capacity, double falsePositiveProbability) {
+      this.capacity = capacity;
+      this.falsePositiveProbability = falsePositiveProbability;
+      long optimalSize = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (LN2 * LN2));
+      this.bits = new AtomicLongArray((int) Math.max((optimalSize + 63) / 64, 1));
+      this.size = bits.length() * 64L;
+      this.hashes = Math.max((int) Math.round((double) size / capacity * LN2), 1);
+    }
+
+    private boolean isFull() {
+      return count.get() >= capacity;
+    }
+
+    private boolean mightContain(long hash) {
+      int hash1 = (int) hash;
+      int hash2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashes; i++) {
+        long bit = index(hash1 + i * hash2);
+        if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void add(long hash) {
+      int hash1 = (int) hash;
+      int hash2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashes; i++) {
+        long bit = index(hash1 + i * hash2);
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long value;
+        do {
+          value = bits.get(word);
+        } while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask));
+      }
+      count.incrementAndGet();
+    }
+
+    private long index(int combinedHash) {
+      return (combinedHash & Integer.MAX_VALUE) % size;
+    }
+  }
+}
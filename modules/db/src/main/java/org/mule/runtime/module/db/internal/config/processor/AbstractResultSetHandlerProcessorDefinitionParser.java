@@ -11,7 +11,9 @@ import static org.springframework.beans.factory.support.BeanDefinitionBuilder.ge
 
 import org.mule.runtime.module.db.internal.result.resultset.IteratorResultSetHandler;
 import org.mule.runtime.module.db.internal.result.resultset.ListResultSetHandler;
+import org.mule.runtime.module.db.internal.result.row.ColumnarRowHandler;
 import org.mule.runtime.module.db.internal.result.row.InsensitiveMapRowHandler;
+import org.mule.runtime.module.db.internal.result.row.RowHandler;
 
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -20,11 +22,15 @@ import org.w3c.dom.Element;
 
 public abstract class AbstractResultSetHandlerProcessorDefinitionParser extends AbstractSingleQueryProcessorDefinitionParser {
 
+  public static final String COLUMNAR_ROWS_ATTRIBUTE = "columnarRows";
+
   protected String resultSetHandlerBeanName;
+  protected boolean columnarRows;
 
   @Override
   protected void doParseElement(Element element, ParserContext context, BeanDefinitionBuilder builder) {
     resultSetHandlerBeanName = getBeanName(element) + ".resultSetHandler";
+    columnarRows = Boolean.parseBoolean(element.getAttribute(COLUMNAR_ROWS_ATTRIBUTE));
     super.doParseElement(element, context, builder);
     builder.addConstructorArgValue(streaming);
   }
@@ -33,7 +39,7 @@ public abstract class AbstractResultSetHandlerProcessorDefinitionParser extends
   protected void processStreamingAttribute(String streamingValue) {
     super.processStreamingAttribute(streamingValue);
 
-    InsensitiveMapRowHandler recordHandler = new InsensitiveMapRowHandler();
+    RowHandler recordHandler = createRowHandler();
 
     BeanDefinition beanDefinition;
     if (Boolean.parseBoolean(streamingValue)) {
@@ -46,4 +52,8 @@ public abstract class AbstractResultSetHandlerProcessorDefinitionParser extends
 
     getRegistry().registerBeanDefinition(resultSetHandlerBeanName, beanDefinition);
   }
+
+  protected RowHandler createRowHandler() {
+    return columnarRows ? new ColumnarRowHandler() : new InsensitiveMapRowHandler();
+  }
 }
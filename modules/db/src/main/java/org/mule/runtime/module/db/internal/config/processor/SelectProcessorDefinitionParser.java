@@ -7,18 +7,49 @@
 
 package org.mule.runtime.module.db.internal.config.processor;
 
+import org.mule.runtime.module.db.internal.domain.executor.SelectExecutor;
 import org.mule.runtime.module.db.internal.domain.executor.SelectExecutorFactory;
 import org.mule.runtime.module.db.internal.metadata.SelectMetadataProvider;
+import org.mule.runtime.module.db.internal.processor.PartitionedSelectMessageProcessor;
 import org.mule.runtime.module.db.internal.processor.SelectMessageProcessor;
+import org.mule.runtime.module.db.internal.result.resultset.ListResultSetHandler;
 
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.xml.ParserContext;
 import org.w3c.dom.Element;
 
 public class SelectProcessorDefinitionParser extends AbstractResultSetHandlerProcessorDefinitionParser {
 
+  public static final String PARTITIONS_ATTRIBUTE = "partitions";
+  public static final String PAGE_SIZE_ATTRIBUTE = "pageSize";
+  public static final String GROUP_SIZE_ATTRIBUTE = "groupSize";
+
   @Override
   protected Class<?> getBeanClass(Element element) {
-    return SelectMessageProcessor.class;
+    // Partitions may be a placeholder, so the partitioned processor decides whether to partition once it's resolved
+    return element.hasAttribute(PARTITIONS_ATTRIBUTE) ? PartitionedSelectMessageProcessor.class : SelectMessageProcessor.class;
+  }
+
+  @Override
+  protected void doParseElement(Element element, ParserContext context, BeanDefinitionBuilder builder) {
+    super.doParseElement(element, context, builder);
+
+    if (element.hasAttribute(PARTITIONS_ATTRIBUTE)) {
+      BeanDefinitionBuilder pageExecutorBean = BeanDefinitionBuilder.genericBeanDefinition(SelectExecutor.class);
+      pageExecutorBean.addConstructorArgValue(parseStatementFactory(element));
+      pageExecutorBean.addConstructorArgValue(new ListResultSetHandler(createRowHandler()));
+      builder.addConstructorArgValue(pageExecutorBean.getBeanDefinition());
+
+      addPropertyValue(element, builder, PARTITIONS_ATTRIBUTE);
+      addPropertyValue(element, builder, PAGE_SIZE_ATTRIBUTE);
+      addPropertyValue(element, builder, GROUP_SIZE_ATTRIBUTE);
+    }
+  }
+
+  private void addPropertyValue(Element element, BeanDefinitionBuilder builder, String attribute) {
+    if (element.hasAttribute(attribute)) {
+      builder.addPropertyValue(attribute, element.getAttribute(attribute));
+    }
   }
 
   @Override
@@ -7,9 +7,11 @@
 
 package org.mule.runtime.module.db.internal.config.processor;
 
+import org.mule.runtime.module.db.internal.domain.executor.BulkUpdateExecutorFactory;
 import org.mule.runtime.module.db.internal.domain.executor.UpdateExecutorFactory;
 import org.mule.runtime.module.db.internal.domain.query.QueryType;
 import org.mule.runtime.module.db.internal.metadata.UpdateMetadataProvider;
+import org.mule.runtime.module.db.internal.processor.MicroBatchUpdateMessageProcessor;
 import org.mule.runtime.module.db.internal.processor.UpdateMessageProcessor;
 
 import java.util.List;
@@ -20,6 +22,10 @@ import org.w3c.dom.Element;
 
 public class SingleUpdateProcessorDefinitionParser extends AbstractSingleQueryProcessorDefinitionParser {
 
+  public static final String BATCH_SIZE_ATTRIBUTE = "batchSize";
+  public static final String BATCH_LINGER_TIME_ATTRIBUTE = "batchLingerTime";
+  public static final long DEFAULT_BATCH_LINGER_TIME = 10;
+
   private final List<QueryType> validQueryTypes;
 
   public SingleUpdateProcessorDefinitionParser(List<QueryType> validQueryTypes) {
@@ -28,7 +34,7 @@ public class SingleUpdateProcessorDefinitionParser extends AbstractSingleQueryPr
 
   @Override
   protected Class<?> getBeanClass(Element element) {
-    return UpdateMessageProcessor.class;
+    return getBatchSize(element) > 1 ? MicroBatchUpdateMessageProcessor.class : UpdateMessageProcessor.class;
   }
 
   @Override
@@ -47,6 +53,21 @@ public class SingleUpdateProcessorDefinitionParser extends AbstractSingleQueryPr
     super.doParse(element, context, builder);
 
     builder.addConstructorArgValue(validQueryTypes);
+
+    int batchSize = getBatchSize(element);
+    if (batchSize > 1) {
+      BeanDefinitionBuilder bulkExecutorFactoryBean = BeanDefinitionBuilder.genericBeanDefinition(BulkUpdateExecutorFactory.class);
+      bulkExecutorFactoryBean.addConstructorArgValue(parseStatementFactory(element));
+
+      builder.addConstructorArgValue(bulkExecutorFactoryBean.getBeanDefinition());
+      builder.addConstructorArgValue(batchSize);
+      builder.addConstructorArgValue(element.hasAttribute(BATCH_LINGER_TIME_ATTRIBUTE)
+          ? Long.parseLong(element.getAttribute(BATCH_LINGER_TIME_ATTRIBUTE)) : DEFAULT_BATCH_LINGER_TIME);
+    }
+  }
+
+  private int getBatchSize(Element element) {
+    return element.hasAttribute(BATCH_SIZE_ATTRIBUTE) ? Integer.parseInt(element.getAttribute(BATCH_SIZE_ATTRIBUTE)) : 1;
   }
 
   @Override
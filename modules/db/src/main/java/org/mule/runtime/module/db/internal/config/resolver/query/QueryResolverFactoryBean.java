@@ -10,7 +10,6 @@ package org.mule.runtime.module.db.internal.config.resolver.query;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.module.db.internal.domain.query.Query;
-import org.mule.runtime.module.db.internal.parser.SimpleQueryTemplateParser;
 import org.mule.runtime.module.db.internal.resolver.database.DbConfigResolver;
 import org.mule.runtime.module.db.internal.resolver.param.ParamValueResolver;
 import org.mule.runtime.module.db.internal.resolver.query.DynamicQueryResolver;
@@ -36,7 +35,7 @@ public class QueryResolverFactoryBean implements FactoryBean<QueryResolver>, Mul
   @Override
   public QueryResolver getObject() throws Exception {
     if (isDynamic(query)) {
-      return new DynamicQueryResolver(query, new SimpleQueryTemplateParser(), muleContext.getExpressionManager());
+      return new DynamicQueryResolver(query, dbConfigResolver, muleContext.getExpressionManager());
     } else if (hasParameters(query)) {
       return new ParametrizedQueryResolver(query, paramValueResolver);
     } else {
@@ -7,8 +7,11 @@
 
 package org.mule.runtime.module.db.internal.domain.connection;
 
+import org.mule.runtime.module.db.internal.domain.statement.StatementCache;
+import org.mule.runtime.module.db.internal.domain.statement.StatementCache.StatementKey;
 import org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction;
 import org.mule.runtime.module.db.internal.resolver.param.ParamTypeResolverFactory;
+import org.mule.runtime.module.db.internal.util.CacheStatistics;
 
 import java.sql.Array;
 import java.sql.Blob;
@@ -30,14 +33,35 @@ import java.util.Properties;
 import java.util.concurrent.Executor;
 
 /**
- * Delegates {@link Connection} behaviour to a delegate
+ * Delegates {@link Connection} behaviour to a delegate, reusing the prepared and callable statements through a
+ * {@link StatementCache}
  */
 public class DefaultDbConnection extends AbstractDbConnection {
 
+  private final StatementCache statementCache;
+
   public DefaultDbConnection(Connection delegate, TransactionalAction transactionalAction,
                              DefaultDbConnectionReleaser connectionReleaseListener,
                              ParamTypeResolverFactory paramTypeResolverFactory) {
+    this(delegate, transactionalAction, connectionReleaseListener, paramTypeResolverFactory, new StatementCache(0));
+  }
+
+  /**
+   * @param statementCache cache of the statements prepared on the delegate connection. It's closed when this connection is
+   *        closed
+   */
+  public DefaultDbConnection(Connection delegate, TransactionalAction transactionalAction,
+                             DefaultDbConnectionReleaser connectionReleaseListener,
+                             ParamTypeResolverFactory paramTypeResolverFactory, StatementCache statementCache) {
     super(delegate, transactionalAction, connectionReleaseListener, paramTypeResolverFactory);
+    this.statementCache = statementCache;
+  }
+
+  /**
+   * @return the statistics of the statements prepared on this connection
+   */
+  public CacheStatistics getStatementCacheStatistics() {
+    return statementCache;
   }
 
   @Override
@@ -47,12 +71,18 @@ public class DefaultDbConnection extends AbstractDbConnection {
 
   @Override
   public PreparedStatement prepareStatement(String sql) throws SQLException {
-    return delegate.prepareStatement(sql);
+    return statementCache.prepare(PreparedStatement.class,
+                                  new StatementKey(PreparedStatement.class, sql, null, StatementKey.UNSPECIFIED,
+                                                   StatementKey.UNSPECIFIED, StatementKey.UNSPECIFIED),
+                                  () -> delegate.prepareStatement(sql));
   }
 
   @Override
   public CallableStatement prepareCall(String sql) throws SQLException {
-    return delegate.prepareCall(sql);
+    return statementCache.prepare(CallableStatement.class,
+                                  new StatementKey(CallableStatement.class, sql, null, StatementKey.UNSPECIFIED,
+                                                   StatementKey.UNSPECIFIED, StatementKey.UNSPECIFIED),
+                                  () -> delegate.prepareCall(sql));
   }
 
   @Override
@@ -82,6 +112,7 @@ public class DefaultDbConnection extends AbstractDbConnection {
 
   @Override
   public void close() throws SQLException {
+    statementCache.close();
     delegate.close();
   }
 
@@ -142,12 +173,18 @@ public class DefaultDbConnection extends AbstractDbConnection {
 
   @Override
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-    return delegate.prepareStatement(sql, resultSetType, resultSetConcurrency);
+    return statementCache.prepare(PreparedStatement.class,
+                                  new StatementKey(PreparedStatement.class, sql, null, resultSetType, resultSetConcurrency,
+                                                   StatementKey.UNSPECIFIED),
+                                  () -> delegate.prepareStatement(sql, resultSetType, resultSetConcurrency));
   }
 
   @Override
   public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-    return delegate.prepareCall(sql, resultSetType, resultSetConcurrency);
+    return statementCache.prepare(CallableStatement.class,
+                                  new StatementKey(CallableStatement.class, sql, null, resultSetType, resultSetConcurrency,
+                                                   StatementKey.UNSPECIFIED),
+                                  () -> delegate.prepareCall(sql, resultSetType, resultSetConcurrency));
   }
 
   @Override
@@ -198,28 +235,44 @@ public class DefaultDbConnection extends AbstractDbConnection {
   @Override
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
       throws SQLException {
-    return delegate.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    return statementCache.prepare(PreparedStatement.class,
+                                  new StatementKey(PreparedStatement.class, sql, null, resultSetType, resultSetConcurrency,
+                                                   resultSetHoldability),
+                                  () -> delegate.prepareStatement(sql, resultSetType, resultSetConcurrency,
+                                                                  resultSetHoldability));
   }
 
   @Override
   public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
       throws SQLException {
-    return delegate.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    return statementCache.prepare(CallableStatement.class,
+                                  new StatementKey(CallableStatement.class, sql, null, resultSetType, resultSetConcurrency,
+                                                   resultSetHoldability),
+                                  () -> delegate.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
-    return delegate.prepareStatement(sql, autoGeneratedKeys);
+    return statementCache.prepare(PreparedStatement.class,
+                                  new StatementKey(PreparedStatement.class, sql, autoGeneratedKeys, StatementKey.UNSPECIFIED,
+                                                   StatementKey.UNSPECIFIED, StatementKey.UNSPECIFIED),
+                                  () -> delegate.prepareStatement(sql, autoGeneratedKeys));
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
-    return delegate.prepareStatement(sql, columnIndexes);
+    return statementCache.prepare(PreparedStatement.class,
+                                  new StatementKey(PreparedStatement.class, sql, columnIndexes, StatementKey.UNSPECIFIED,
+                                                   StatementKey.UNSPECIFIED, StatementKey.UNSPECIFIED),
+                                  () -> delegate.prepareStatement(sql, columnIndexes));
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
-    return delegate.prepareStatement(sql, columnNames);
+    return statementCache.prepare(PreparedStatement.class,
+                                  new StatementKey(PreparedStatement.class, sql, columnNames, StatementKey.UNSPECIFIED,
+                                                   StatementKey.UNSPECIFIED, StatementKey.UNSPECIFIED),
+                                  () -> delegate.prepareStatement(sql, columnNames));
   }
 
   @Override
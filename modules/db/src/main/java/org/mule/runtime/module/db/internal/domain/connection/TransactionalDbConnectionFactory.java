@@ -7,15 +7,24 @@
 
 package org.mule.runtime.module.db.internal.domain.connection;
 
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.core.api.transaction.Transaction;
 import org.mule.runtime.core.api.transaction.TransactionException;
+import org.mule.runtime.module.db.internal.domain.statement.StatementCache;
+import org.mule.runtime.module.db.internal.domain.transaction.DbTransaction;
 import org.mule.runtime.module.db.internal.domain.transaction.DbTransactionManager;
 import org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction;
+import org.mule.runtime.module.db.internal.domain.type.DbType;
 import org.mule.runtime.module.db.internal.domain.type.DbTypeManager;
 import org.mule.runtime.module.db.internal.resolver.param.GenericParamTypeResolverFactory;
+import org.mule.runtime.module.db.internal.resolver.param.ParamTypeResolverFactory;
+import org.mule.runtime.module.db.internal.util.BoundedCache;
+import org.mule.runtime.module.db.internal.util.CacheStatistics;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
@@ -28,12 +37,21 @@ import org.slf4j.LoggerFactory;
  */
 public class TransactionalDbConnectionFactory implements DbConnectionFactory {
 
+  public static final String PARAM_TYPE_CACHE_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "db.paramTypeCacheSize";
+  public static final int DEFAULT_PARAM_TYPE_CACHE_SIZE = 256;
+  public static final String STATEMENT_CACHE_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "db.statementCacheSize";
+  public static final int DEFAULT_STATEMENT_CACHE_SIZE = 10;
+
   protected final Logger logger = LoggerFactory.getLogger(getClass());
 
   protected final DbTransactionManager dbTransactionManager;
   protected final DbTypeManager dbTypeManager;
   private final ConnectionFactory connectionFactory;
   private final DataSource dataSource;
+  private final BoundedCache<String, Map<Integer, DbType>> paramTypeCache =
+      new BoundedCache<>(Integer.getInteger(PARAM_TYPE_CACHE_SIZE_PROPERTY_KEY, DEFAULT_PARAM_TYPE_CACHE_SIZE));
+  private final ParamTypeResolverFactory paramTypeResolverFactory;
+  private final int statementCacheSize = Integer.getInteger(STATEMENT_CACHE_SIZE_PROPERTY_KEY, DEFAULT_STATEMENT_CACHE_SIZE);
 
   public TransactionalDbConnectionFactory(DbTransactionManager dbTransactionManager, DbTypeManager dbTypeManager,
                                           ConnectionFactory connectionFactory, DataSource dataSource) {
@@ -41,6 +59,7 @@ public class TransactionalDbConnectionFactory implements DbConnectionFactory {
     this.dbTypeManager = dbTypeManager;
     this.connectionFactory = connectionFactory;
     this.dataSource = dataSource;
+    this.paramTypeResolverFactory = new GenericParamTypeResolverFactory(dbTypeManager, paramTypeCache);
   }
 
   @Override
@@ -83,7 +102,33 @@ public class TransactionalDbConnectionFactory implements DbConnectionFactory {
 
   protected DbConnection doCreateDbConnection(Connection connection, TransactionalAction transactionalAction) {
     return new DefaultDbConnection(connection, transactionalAction, new DefaultDbConnectionReleaser(this),
-                                   new GenericParamTypeResolverFactory(dbTypeManager));
+                                   paramTypeResolverFactory, getStatementCache(connection));
+  }
+
+  /**
+   * Connections bound to a transaction share their statements across all the operations of the transaction, until it ends.
+   * Any other connection is used by a single operation, so its statements are only cached until it's closed.
+   */
+  private StatementCache getStatementCache(Connection connection) {
+    Transaction tx = dbTransactionManager.getTransaction();
+
+    if (tx instanceof DbTransaction && tx.hasResource(dataSource) && tx.getResource(dataSource) == connection) {
+      DbTransaction dbTransaction = (DbTransaction) tx;
+      if (dbTransaction.getStatementCache() == null) {
+        dbTransaction.setStatementCache(new StatementCache(statementCacheSize));
+      }
+      return dbTransaction.getStatementCache();
+    }
+
+    return new StatementCache(statementCacheSize);
+  }
+
+  /**
+   * @return the statistics of the parameter types read from the metadata of the database, which are shared by all the
+   *         connections created by this factory
+   */
+  public CacheStatistics getParamTypeCacheStatistics() {
+    return paramTypeCache;
   }
 
   private Connection getConnectionFromTransaction(Transaction tx, DataSource dataSource) throws SQLException {
@@ -12,6 +12,7 @@ import org.mule.runtime.api.meta.NamedObject;
 import org.mule.common.Testable;
 import org.mule.common.metadata.ConnectorMetaDataEnabled;
 import org.mule.runtime.module.db.internal.domain.connection.DbConnectionFactory;
+import org.mule.runtime.module.db.internal.parser.QueryTemplateParser;
 
 import javax.sql.DataSource;
 
@@ -29,4 +30,9 @@ public interface DbConfig extends NamedObject, AnnotatedObject, Testable, Connec
    * @return a non null {@link DbConnectionFactory} used to create connections for the database
    */
   DbConnectionFactory getConnectionFactory();
+
+  /**
+   * @return a non null {@link QueryTemplateParser} used to parse the dynamic queries executed on the database
+   */
+  QueryTemplateParser getQueryTemplateParser();
 }
@@ -9,6 +9,7 @@ package org.mule.runtime.module.db.internal.domain.database;
 
 import static org.mule.common.Result.Status.FAILURE;
 import static org.mule.common.Result.Status.SUCCESS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction.NOT_SUPPORTED;
 import org.mule.runtime.core.AbstractAnnotatedObject;
 import org.mule.common.DefaultResult;
@@ -18,7 +19,12 @@ import org.mule.common.TestResult;
 import org.mule.common.metadata.MetaData;
 import org.mule.common.metadata.MetaDataKey;
 import org.mule.runtime.module.db.internal.domain.connection.DbConnectionFactory;
+import org.mule.runtime.module.db.internal.domain.connection.TransactionalDbConnectionFactory;
 import org.mule.runtime.module.db.internal.domain.type.DbTypeManager;
+import org.mule.runtime.module.db.internal.parser.CachedQueryTemplateParser;
+import org.mule.runtime.module.db.internal.parser.QueryTemplateParser;
+import org.mule.runtime.module.db.internal.parser.SimpleQueryTemplateParser;
+import org.mule.runtime.module.db.internal.util.CacheStatistics;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -32,10 +38,16 @@ import javax.sql.DataSource;
  */
 public class GenericDbConfig extends AbstractAnnotatedObject implements DbConfig {
 
+  public static final String QUERY_TEMPLATE_CACHE_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "db.queryTemplateCacheSize";
+  public static final int DEFAULT_QUERY_TEMPLATE_CACHE_SIZE = 256;
+
   private final DataSource dataSource;
   private final String name;
   private final DbConnectionFactory dbConnectionFactory;
   private final DbTypeManager dbTypeManager;
+  private final CachedQueryTemplateParser queryTemplateParser =
+      new CachedQueryTemplateParser(new SimpleQueryTemplateParser(),
+                                    Integer.getInteger(QUERY_TEMPLATE_CACHE_SIZE_PROPERTY_KEY, DEFAULT_QUERY_TEMPLATE_CACHE_SIZE));
 
   public GenericDbConfig(DataSource dataSource, String name, DbTypeManager dbTypeManager,
                          DbConnectionFactory dbConnectionFactory) {
@@ -64,6 +76,28 @@ public class GenericDbConfig extends AbstractAnnotatedObject implements DbConfig
     return dbTypeManager;
   }
 
+  @Override
+  public QueryTemplateParser getQueryTemplateParser() {
+    return queryTemplateParser;
+  }
+
+  /**
+   * @return the statistics of the query templates parsed from the dynamic queries executed on the database
+   */
+  public CacheStatistics getQueryTemplateCacheStatistics() {
+    return queryTemplateParser.getStatistics();
+  }
+
+  /**
+   * @return the statistics of the parameter types read from the database metadata, or null if they are not cached
+   */
+  public CacheStatistics getParamTypeCacheStatistics() {
+    if (dbConnectionFactory instanceof TransactionalDbConnectionFactory) {
+      return ((TransactionalDbConnectionFactory) dbConnectionFactory).getParamTypeCacheStatistics();
+    }
+    return null;
+  }
+
   @Override
   public TestResult test() {
     Connection connection = null;
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.executor;
+
+import static java.lang.System.nanoTime;
+import static java.sql.Statement.EXECUTE_FAILED;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction.NOT_SUPPORTED;
+
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnectionFactory;
+import org.mule.runtime.module.db.internal.domain.query.Query;
+import org.mule.runtime.module.db.internal.domain.query.QueryParamValue;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes update queries of concurrent events in JDBC batches.
+ * <p/>
+ * The parameter values of the queries with the same SQL text on the same database are grouped in a batch. The first query of a
+ * batch waits until the batch is full or the linger time elapses, and then takes a single connection to execute the whole batch.
+ * No connection is held while waiting, so queries waiting for a batch don't exhaust the connection pool. Every query gets the
+ * update count of its own parameter values, or the error they caused.
+ * <p/>
+ * Only update queries with input parameters can be batched, and they must not be part of a transaction, as a batch mixes the
+ * work of different events.
+ */
+public class MicroBatchUpdateExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(MicroBatchUpdateExecutor.class);
+
+  private final BulkQueryExecutorFactory bulkQueryExecutorFactory;
+  private final int maxBatchSize;
+  private final long lingerTimeNanos;
+  private final ConcurrentMap<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+
+  /**
+   * @param bulkQueryExecutorFactory creates the executors for the batches
+   * @param maxBatchSize maximum number of queries executed in a batch
+   * @param lingerTime milliseconds a batch waits for more queries before being executed
+   */
+  public MicroBatchUpdateExecutor(BulkQueryExecutorFactory bulkQueryExecutorFactory, int maxBatchSize, long lingerTime) {
+    this.bulkQueryExecutorFactory = bulkQueryExecutorFactory;
+    this.maxBatchSize = maxBatchSize;
+    this.lingerTimeNanos = MILLISECONDS.toNanos(lingerTime);
+  }
+
+  /**
+   * Executes a query as part of a batch
+   *
+   * @param database identifies the database and user the queries are executed as, compared by equality. Only queries to the
+   *        same database are batched together
+   * @param connectionFactory creates the connection to execute the batch if the query is the first one of it. Non null
+   * @param query query to execute. Non null
+   * @return the update count of the query
+   * @throws SQLException if the query failed or the batch couldn't be executed
+   */
+  public Object execute(Object database, DbConnectionFactory connectionFactory, Query query) throws SQLException {
+    final BatchKey key = new BatchKey(database, query.getQueryTemplate().getSqlText());
+
+    Batch batch;
+    int index;
+    do {
+      batch = openBatches.computeIfAbsent(key, k -> new Batch());
+      index = batch.add(query.getParamValues());
+      if (index < 0) {
+        // Closed since it was looked up
+        openBatches.remove(key, batch);
+      }
+    } while (index < 0);
+
+    if (index == maxBatchSize - 1) {
+      openBatches.remove(key, batch);
+    }
+
+    if (index == 0) {
+      batch.awaitClose(nanoTime() + lingerTimeNanos);
+      openBatches.remove(key, batch);
+      batch.execute(connectionFactory, query);
+    }
+
+    return batch.getResult(index);
+  }
+
+  private static class BatchKey {
+
+    private final Object database;
+    private final String sqlText;
+
+    private BatchKey(Object database, String sqlText) {
+      this.database = database;
+      this.sqlText = sqlText;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof BatchKey)) {
+        return false;
+      }
+      BatchKey other = (BatchKey) o;
+      return database.equals(other.database) && sqlText.equals(other.sqlText);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(database, sqlText);
+    }
+  }
+
+  private class Batch {
+
+    private final List<List<QueryParamValue>> paramValues = new ArrayList<>();
+    private boolean closed;
+    private Object[] results;
+
+    private synchronized int add(List<QueryParamValue> params) {
+      if (closed) {
+        return -1;
+      }
+      paramValues.add(params);
+      if (paramValues.size() == maxBatchSize) {
+        closed = true;
+        notifyAll();
+      }
+      return paramValues.size() - 1;
+    }
+
+    private synchronized void awaitClose(long deadline) {
+      long remaining;
+      while (!closed && (remaining = deadline - nanoTime()) > 0) {
+        try {
+          NANOSECONDS.timedWait(this, remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      closed = true;
+    }
+
+    private void execute(DbConnectionFactory connectionFactory, Query query) {
+      final Object[] batchResults = new Object[paramValues.size()];
+      DbConnection connection = null;
+      try {
+        connection = connectionFactory.createConnection(NOT_SUPPORTED);
+        int offset = 0;
+        while (offset < batchResults.length) {
+          offset = executeFrom(offset, connection, query, batchResults);
+        }
+      } catch (SQLException | RuntimeException e) {
+        for (int i = 0; i < batchResults.length; i++) {
+          if (batchResults[i] == null) {
+            batchResults[i] = e;
+          }
+        }
+      } finally {
+        try {
+          connectionFactory.releaseConnection(connection);
+        } finally {
+          complete(batchResults);
+        }
+      }
+    }
+
+    /**
+     * Executes the parameter values from the given offset in a JDBC batch
+     *
+     * @return the offset of the first parameter values that weren't executed, as some drivers stop processing a batch on the
+     *         first failure
+     */
+    private int executeFrom(int offset, DbConnection connection, Query query, Object[] batchResults) throws SQLException {
+      final List<List<QueryParamValue>> pending = paramValues.subList(offset, paramValues.size());
+      int[] updateCounts;
+      BatchUpdateException failure = null;
+      try {
+        updateCounts = (int[]) bulkQueryExecutorFactory.create().execute(connection, query, pending);
+      } catch (BatchUpdateException e) {
+        failure = e;
+        updateCounts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+      }
+
+      for (int i = 0; i < updateCounts.length && i < pending.size(); i++) {
+        batchResults[offset + i] = updateCounts[i] == EXECUTE_FAILED ? failure : updateCounts[i];
+      }
+
+      if (failure == null || updateCounts.length >= pending.size()) {
+        return paramValues.size();
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Batch of {} queries stopped at query {}, executing the remaining ones again", pending.size(),
+                     updateCounts.length + 1);
+      }
+      batchResults[offset + updateCounts.length] = failure;
+      return offset + updateCounts.length + 1;
+    }
+
+    private synchronized void complete(Object[] batchResults) {
+      results = batchResults;
+      notifyAll();
+    }
+
+    private synchronized Object getResult(int index) throws SQLException {
+      while (results == null) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new SQLException("Interrupted while waiting for a batch to execute", e);
+        }
+      }
+
+      final Object result = results[index];
+      if (result instanceof SQLException) {
+        final SQLException cause = (SQLException) result;
+        throw new SQLException(cause.getMessage(), cause.getSQLState(), cause.getErrorCode(), cause);
+      } else if (result instanceof RuntimeException) {
+        throw new SQLException("Error executing batch", (RuntimeException) result);
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.executor;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction.NOT_SUPPORTED;
+import static org.mule.runtime.module.db.internal.domain.type.JdbcTypes.BIGINT_DB_TYPE;
+import static org.mule.runtime.module.db.internal.domain.type.JdbcTypes.INTEGER_DB_TYPE;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnectionFactory;
+import org.mule.runtime.module.db.internal.domain.param.DefaultInputQueryParam;
+import org.mule.runtime.module.db.internal.domain.param.QueryParam;
+import org.mule.runtime.module.db.internal.domain.query.Query;
+import org.mule.runtime.module.db.internal.domain.query.QueryParamValue;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.result.resultset.PartitionedResultSetIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a select query reading its rows in pages, each one on a different connection, so several pages are read from the
+ * database at the same time.
+ * <p/>
+ * Pages are read adding a standard {@code OFFSET ? ROWS FETCH NEXT ? ROWS ONLY} clause to the query, which must be ordered by
+ * a unique key so each row belongs to a single page. Queries without a top level {@code ORDER BY} clause are rejected, see
+ * {@link #isOrdered(String)}, but the uniqueness of the key is not validated. Each partition reads the next page not read yet
+ * until a page has less rows than the page size.
+ * <p/>
+ * As each page is read on a different connection and transaction, rows inserted or deleted while the query is read shift the
+ * offsets of the pages not read yet, so those rows may be returned twice or skipped.
+ * <p/>
+ * Rows are returned through a {@link PartitionedResultSetIterator} that buffers up to a page per partition, either one by one
+ * or grouped in lists. Partitions stop reading and release their connections when the iterator is closed, or when its rows are
+ * not consumed during the consumer timeout.
+ */
+public class PartitionedSelectExecutor {
+
+  public static final long DEFAULT_CONSUMER_TIMEOUT = MINUTES.toMillis(5);
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedSelectExecutor.class);
+
+  private static final String OFFSET_PARAM = "offset";
+  private static final String FETCH_PARAM = "fetch";
+
+  private final QueryExecutor pageExecutor;
+  private final ExecutorService workers;
+  private final int partitions;
+  private final int pageSize;
+  private final int groupSize;
+  private final long consumerTimeout;
+
+  /**
+   * Creates an executor that waits {@link #DEFAULT_CONSUMER_TIMEOUT} for the rows to be consumed
+   *
+   * @param pageExecutor executes the query of each page, returning its rows as a list
+   * @param workers executes the partitions
+   * @param partitions number of pages to read at the same time
+   * @param pageSize number of rows of each page
+   * @param groupSize number of rows of each element returned by the iterator. When it's greater than 1 rows are grouped in
+   *        lists, otherwise rows are returned one by one
+   */
+  public PartitionedSelectExecutor(QueryExecutor pageExecutor, ExecutorService workers, int partitions, int pageSize,
+                                   int groupSize) {
+    this(pageExecutor, workers, partitions, pageSize, groupSize, DEFAULT_CONSUMER_TIMEOUT);
+  }
+
+  /**
+   * @param pageExecutor executes the query of each page, returning its rows as a list
+   * @param workers executes the partitions
+   * @param partitions number of pages to read at the same time
+   * @param pageSize number of rows of each page
+   * @param groupSize number of rows of each element returned by the iterator. When it's greater than 1 rows are grouped in
+   *        lists, otherwise rows are returned one by one
+   * @param consumerTimeout time in milliseconds partitions wait for buffered rows to be consumed before they stop reading
+   */
+  public PartitionedSelectExecutor(QueryExecutor pageExecutor, ExecutorService workers, int partitions, int pageSize,
+                                   int groupSize, long consumerTimeout) {
+    this.pageExecutor = pageExecutor;
+    this.workers = workers;
+    this.partitions = partitions;
+    this.pageSize = pageSize;
+    this.groupSize = groupSize;
+    this.consumerTimeout = consumerTimeout;
+  }
+
+  /**
+   * Starts reading the pages of a query
+   *
+   * @param connectionFactory creates the connections used by the partitions
+   * @param query query to execute
+   * @return an iterator of the rows or groups of rows of the query
+   * @throws IllegalArgumentException when the query is not ordered
+   */
+  public PartitionedResultSetIterator execute(DbConnectionFactory connectionFactory, Query query) {
+    if (!isOrdered(query.getQueryTemplate().getSqlText())) {
+      throw new IllegalArgumentException("Partitioned select queries must have an ORDER BY clause: "
+          + query.getQueryTemplate().getSqlText());
+    }
+
+    long groupsPerPage = groupSize > 1 ? ((long) pageSize + groupSize - 1) / groupSize : pageSize;
+    int bufferSize = (int) Math.min(partitions * groupsPerPage, Integer.MAX_VALUE);
+    PartitionedResultSetIterator iterator = new PartitionedResultSetIterator(partitions, bufferSize, consumerTimeout);
+
+    QueryTemplate pageTemplate = createPageTemplate(query.getQueryTemplate());
+    AtomicLong nextPage = new AtomicLong();
+    AtomicBoolean lastPageRead = new AtomicBoolean();
+
+    for (int i = 0; i < partitions; i++) {
+      Partition partition =
+          new Partition(connectionFactory, pageTemplate, query.getParamValues(), nextPage, lastPageRead, iterator);
+      try {
+        workers.execute(partition);
+      } catch (RejectedExecutionException e) {
+        iterator.producerFinished(e);
+      }
+    }
+
+    return iterator;
+  }
+
+  /**
+   * Checks whether a query has an {@code ORDER BY} clause outside parentheses, quoted text and comments, so its rows are
+   * returned in the same order on every page.
+   *
+   * @param sqlText SQL text of the query
+   * @return true if the query is ordered, false otherwise
+   */
+  public static boolean isOrdered(String sqlText) {
+    int depth = 0;
+    String previousWord = null;
+    int i = 0;
+
+    while (i < sqlText.length()) {
+      char c = sqlText.charAt(i);
+
+      if (c == '\'' || c == '"') {
+        int end = sqlText.indexOf(c, i + 1);
+        i = end == -1 ? sqlText.length() : end + 1;
+        previousWord = null;
+      } else if (c == '-' && sqlText.startsWith("--", i)) {
+        int end = sqlText.indexOf('\n', i);
+        i = end == -1 ? sqlText.length() : end + 1;
+      } else if (c == '/' && sqlText.startsWith("/*", i)) {
+        int end = sqlText.indexOf("*/", i + 2);
+        i = end == -1 ? sqlText.length() : end + 2;
+      } else if (Character.isLetterOrDigit(c) || c == '_') {
+        int start = i;
+        while (i < sqlText.length() && (Character.isLetterOrDigit(sqlText.charAt(i)) || sqlText.charAt(i) == '_')) {
+          i++;
+        }
+        String word = sqlText.substring(start, i);
+        if (depth == 0 && "by".equalsIgnoreCase(word) && "order".equalsIgnoreCase(previousWord)) {
+          return true;
+        }
+        previousWord = word;
+      } else {
+        if (c == '(') {
+          depth++;
+        } else if (c == ')') {
+          depth--;
+        }
+        if (!Character.isWhitespace(c)) {
+          previousWord = null;
+        }
+        i++;
+      }
+    }
+
+    return false;
+  }
+
+  private QueryTemplate createPageTemplate(QueryTemplate queryTemplate) {
+    String sqlText = queryTemplate.getSqlText().trim();
+    if (sqlText.endsWith(";")) {
+      sqlText = sqlText.substring(0, sqlText.length() - 1);
+    }
+
+    boolean namedParams = queryTemplate.usesNamedParameters();
+    List<QueryParam> params = new ArrayList<>(queryTemplate.getParams());
+    params.add(new DefaultInputQueryParam(params.size() + 1, BIGINT_DB_TYPE, null, namedParams ? OFFSET_PARAM : null));
+    params.add(new DefaultInputQueryParam(params.size() + 1, INTEGER_DB_TYPE, null, namedParams ? FETCH_PARAM : null));
+
+    return new QueryTemplate(sqlText + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", queryTemplate.getType(), params,
+                             queryTemplate.isDynamic());
+  }
+
+  private class Partition implements Runnable {
+
+    private final DbConnectionFactory connectionFactory;
+    private final QueryTemplate pageTemplate;
+    private final List<QueryParamValue> paramValues;
+    private final AtomicLong nextPage;
+    private final AtomicBoolean lastPageRead;
+    private final PartitionedResultSetIterator iterator;
+
+    private Partition(DbConnectionFactory connectionFactory, QueryTemplate pageTemplate, List<QueryParamValue> paramValues,
+                      AtomicLong nextPage, AtomicBoolean lastPageRead, PartitionedResultSetIterator iterator) {
+      this.connectionFactory = connectionFactory;
+      this.pageTemplate = pageTemplate;
+      this.paramValues = paramValues;
+      this.nextPage = nextPage;
+      this.lastPageRead = lastPageRead;
+      this.iterator = iterator;
+    }
+
+    @Override
+    public void run() {
+      Throwable error = null;
+      DbConnection connection = null;
+
+      try {
+        connection = connectionFactory.createConnection(NOT_SUPPORTED);
+
+        while (iterator.isActive() && !lastPageRead.get()) {
+          List<?> rows = readPage(connection, nextPage.getAndIncrement());
+          if (rows.size() < pageSize) {
+            lastPageRead.set(true);
+          }
+
+          if (!addRows(rows)) {
+            break;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        error = e;
+      } catch (Throwable e) {
+        error = e;
+      } finally {
+        if (connection != null) {
+          try {
+            connectionFactory.releaseConnection(connection);
+          } catch (RuntimeException e) {
+            if (logger.isDebugEnabled()) {
+              logger.debug("Error releasing partition connection", e);
+            }
+          }
+        }
+        iterator.producerFinished(error);
+      }
+    }
+
+    private List<?> readPage(DbConnection connection, long page) throws Exception {
+      List<QueryParamValue> pageParamValues = new ArrayList<>(paramValues);
+      pageParamValues.add(new QueryParamValue(OFFSET_PARAM, page * pageSize));
+      pageParamValues.add(new QueryParamValue(FETCH_PARAM, pageSize));
+
+      return (List<?>) pageExecutor.execute(connection, new Query(pageTemplate, pageParamValues));
+    }
+
+    private boolean addRows(List<?> rows) throws InterruptedException {
+      if (groupSize > 1) {
+        for (int i = 0; i < rows.size(); i += groupSize) {
+          if (!iterator.add(new ArrayList<>(rows.subList(i, Math.min(i + groupSize, rows.size()))))) {
+            return false;
+          }
+        }
+      } else {
+        for (Object row : rows) {
+          if (!iterator.add(row)) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.statement;
+
+import org.mule.runtime.module.db.internal.util.CacheStatistics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the statements prepared on a connection once they are closed, so executing the same SQL again on that connection
+ * reuses them instead of preparing them again.
+ * <p/>
+ * Statements are handed out as proxies whose {@code close} returns the statement to the cache, after closing its current
+ * resultSet, clearing its parameters and restoring the settings that could have been changed by {@link QueryStatementFactory}.
+ * Unwrapping a proxy returns the proxy itself for the JDBC interfaces it implements, and the unwrapped statement otherwise.
+ * <p/>
+ * Only idle statements are kept, so a statement that is still in use, like one streaming a resultSet, is never handed out
+ * twice: preparing the same SQL meanwhile creates a new statement, which is closed when it is released if there is one already
+ * cached for the same key.
+ * <p/>
+ * Once the cache is full, the least recently used statement is closed. Closing the cache closes all the idle statements and
+ * any statement released afterwards.
+ */
+public class StatementCache implements CacheStatistics {
+
+  private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+
+  private final int maxSize;
+  private final Map<StatementKey, CachedStatement> idleStatements;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private boolean closed;
+
+  /**
+   * @param maxSize maximum number of idle statements to keep. Statements are not cached when it's not positive
+   */
+  public StatementCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.idleStatements = new LinkedHashMap<StatementKey, CachedStatement>(16, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+        if (size() > StatementCache.this.maxSize) {
+          closeQuietly(eldest.getValue().statement);
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns an idle statement prepared for the given key or prepares a new one
+   *
+   * @param type type of the statement
+   * @param key identifies how the statement was prepared. Non null
+   * @param creator prepares the statement when there is no idle one
+   * @param <T> type of the statement
+   * @return a statement that is returned to the cache when it's closed
+   * @throws SQLException if the statement cannot be prepared
+   */
+  public <T extends PreparedStatement> T prepare(Class<T> type, StatementKey key, StatementCreator<T> creator)
+      throws SQLException {
+    if (maxSize <= 0) {
+      return creator.create();
+    }
+
+    CachedStatement cachedStatement;
+    synchronized (this) {
+      cachedStatement = idleStatements.remove(key);
+    }
+
+    if (cachedStatement == null) {
+      misses.increment();
+      cachedStatement = new CachedStatement(creator.create());
+    } else {
+      hits.increment();
+    }
+
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type},
+                                            new CachedStatementInvocationHandler(key, cachedStatement)));
+  }
+
+  /**
+   * Closes all the idle statements. Statements in use are closed when they are released
+   */
+  public void close() {
+    List<CachedStatement> statements;
+    synchronized (this) {
+      closed = true;
+      statements = new ArrayList<>(idleStatements.values());
+      idleStatements.clear();
+    }
+
+    for (CachedStatement cachedStatement : statements) {
+      closeQuietly(cachedStatement.statement);
+    }
+  }
+
+  private void release(StatementKey key, CachedStatement cachedStatement) throws SQLException {
+    boolean cached = false;
+
+    if (cachedStatement.reset()) {
+      synchronized (this) {
+        if (!closed && !idleStatements.containsKey(key)) {
+          idleStatements.put(key, cachedStatement);
+          cached = true;
+        }
+      }
+    }
+
+    if (!cached) {
+      cachedStatement.statement.close();
+    }
+  }
+
+  private static void closeQuietly(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Error closing cached statement", e);
+      }
+    }
+  }
+
+  @Override
+  public long getHits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  @Override
+  public double getHitRate() {
+    long hits = getHits();
+    long lookups = hits + getMisses();
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  @Override
+  public synchronized int getSize() {
+    return idleStatements.size();
+  }
+
+  @Override
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Prepares a statement on the underlying connection
+   *
+   * @param <T> type of the statement
+   */
+  @FunctionalInterface
+  public interface StatementCreator<T extends PreparedStatement> {
+
+    T create() throws SQLException;
+  }
+
+  /**
+   * Identifies the statements that can be reused for each other: the ones of the same type, prepared for the same SQL text
+   * with the same auto generated keys and resultSet options
+   */
+  public static class StatementKey {
+
+    /**
+     * Indicates that a statement was prepared without specifying an int option
+     */
+    public static final int UNSPECIFIED = -1;
+
+    private final Class<? extends PreparedStatement> type;
+    private final String sql;
+    private final Object autoGeneratedKeys;
+    private final int resultSetType;
+    private final int resultSetConcurrency;
+    private final int resultSetHoldability;
+    private final int hashCode;
+
+    /**
+     * @param type type of the statement
+     * @param sql SQL text of the statement
+     * @param autoGeneratedKeys an auto generated keys flag, or the indexes or names of the columns to return. Null when not
+     *        specified
+     * @param resultSetType type of the resultSets or {@link #UNSPECIFIED}
+     * @param resultSetConcurrency concurrency of the resultSets or {@link #UNSPECIFIED}
+     * @param resultSetHoldability holdability of the resultSets or {@link #UNSPECIFIED}
+     */
+    public StatementKey(Class<? extends PreparedStatement> type, String sql, Object autoGeneratedKeys, int resultSetType,
+                        int resultSetConcurrency, int resultSetHoldability) {
+      this.type = type;
+      this.sql = sql;
+      this.autoGeneratedKeys = autoGeneratedKeys;
+      this.resultSetType = resultSetType;
+      this.resultSetConcurrency = resultSetConcurrency;
+      this.resultSetHoldability = resultSetHoldability;
+      this.hashCode = Arrays.deepHashCode(new Object[] {type, sql, autoGeneratedKeys, resultSetType, resultSetConcurrency,
+          resultSetHoldability});
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof StatementKey)) {
+        return false;
+      }
+
+      StatementKey that = (StatementKey) o;
+      return hashCode == that.hashCode && type == that.type && resultSetType == that.resultSetType
+          && resultSetConcurrency == that.resultSetConcurrency && resultSetHoldability == that.resultSetHoldability
+          && sql.equals(that.sql) && Objects.deepEquals(autoGeneratedKeys, that.autoGeneratedKeys);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static class CachedStatement {
+
+    private final PreparedStatement statement;
+    private final int maxRows;
+    private final int fetchSize;
+    private final int queryTimeout;
+    private boolean batched;
+
+    private CachedStatement(PreparedStatement statement) throws SQLException {
+      this.statement = statement;
+      this.maxRows = statement.getMaxRows();
+      this.fetchSize = statement.getFetchSize();
+      this.queryTimeout = statement.getQueryTimeout();
+    }
+
+    /**
+     * @return true if the statement can be reused, false if it must be closed
+     */
+    private boolean reset() {
+      try {
+        if (statement.isClosed()) {
+          return false;
+        }
+
+        // Like closing the statement would, so the resultSet doesn't hold database resources while it's idle
+        ResultSet resultSet = statement.getResultSet();
+        if (resultSet != null) {
+          resultSet.close();
+        }
+        statement.clearParameters();
+        statement.clearWarnings();
+        if (batched) {
+          statement.clearBatch();
+          batched = false;
+        }
+        if (statement.getMaxRows() != maxRows) {
+          statement.setMaxRows(maxRows);
+        }
+        if (statement.getFetchSize() != fetchSize) {
+          statement.setFetchSize(fetchSize);
+        }
+        if (statement.getQueryTimeout() != queryTimeout) {
+          statement.setQueryTimeout(queryTimeout);
+        }
+        return true;
+      } catch (SQLException e) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Cannot reset statement, it won't be cached", e);
+        }
+        return false;
+      }
+    }
+  }
+
+  private class CachedStatementInvocationHandler implements InvocationHandler {
+
+    private final StatementKey key;
+    private final CachedStatement cachedStatement;
+    private boolean released;
+
+    private CachedStatementInvocationHandler(StatementKey key, CachedStatement cachedStatement) {
+      this.key = key;
+      this.cachedStatement = cachedStatement;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+
+      if (method.getDeclaringClass() == Object.class) {
+        if ("equals".equals(name)) {
+          return proxy == args[0];
+        } else if ("hashCode".equals(name)) {
+          return System.identityHashCode(proxy);
+        }
+      } else if ("close".equals(name)) {
+        if (!released) {
+          released = true;
+          release(key, cachedStatement);
+        }
+        return null;
+      } else if ("isClosed".equals(name)) {
+        return released || cachedStatement.statement.isClosed();
+      } else if ("isWrapperFor".equals(name)) {
+        return ((Class<?>) args[0]).isInstance(proxy) || cachedStatement.statement.isWrapperFor((Class<?>) args[0]);
+      } else if ("unwrap".equals(name)) {
+        // Handing out the cached statement itself would let callers close it instead of releasing it
+        if (((Class<?>) args[0]).isInstance(proxy)) {
+          return proxy;
+        }
+        return cachedStatement.statement.unwrap((Class<?>) args[0]);
+      } else if (released) {
+        throw new SQLException("Statement is closed");
+      } else if ("addBatch".equals(name)) {
+        cachedStatement.batched = true;
+      }
+
+      try {
+        return method.invoke(cachedStatement.statement, args);
+      } catch (InvocationTargetException ex) {
+        throw ex.getCause();
+      }
+    }
+  }
+}
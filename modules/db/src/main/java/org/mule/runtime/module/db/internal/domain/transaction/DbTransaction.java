@@ -10,6 +10,7 @@ package org.mule.runtime.module.db.internal.domain.transaction;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.transaction.TransactionException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.module.db.internal.domain.statement.StatementCache;
 import org.mule.runtime.module.db.internal.i18n.DbMessages;
 import org.mule.runtime.core.transaction.AbstractSingleResourceTransaction;
 import org.mule.runtime.core.transaction.IllegalTransactionStateException;
@@ -25,10 +26,29 @@ import javax.sql.DataSource;
  */
 public class DbTransaction extends AbstractSingleResourceTransaction {
 
+  private StatementCache statementCache;
+
   public DbTransaction(MuleContext muleContext) {
     super(muleContext);
   }
 
+  /**
+   * @return the cache of the statements prepared on the connection bound to the transaction, null if there is none
+   */
+  public StatementCache getStatementCache() {
+    return statementCache;
+  }
+
+  /**
+   * Sets the cache of the statements prepared on the connection bound to the transaction, which is closed when the transaction
+   * ends
+   *
+   * @param statementCache cache to share between all the operations executed in the transaction
+   */
+  public void setStatementCache(StatementCache statementCache) {
+    this.statementCache = statementCache;
+  }
+
   @Override
   public void bindResource(Object key, Object resource) throws TransactionException {
     if (!(key instanceof DataSource) || !(resource instanceof Connection)) {
@@ -86,6 +106,10 @@ public class DbTransaction extends AbstractSingleResourceTransaction {
   }
 
   private void closeConnection(TransactionException transactionException) throws TransactionException {
+    if (statementCache != null) {
+      statementCache.close();
+    }
+
     try {
       ((Connection) resource).close();
     } catch (SQLException e) {
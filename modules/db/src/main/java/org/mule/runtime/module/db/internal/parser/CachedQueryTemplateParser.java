@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.parser;
+
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.util.BoundedCache;
+import org.mule.runtime.module.db.internal.util.CacheStatistics;
+
+/**
+ * Parses SQL queries keeping the parsed {@link QueryTemplate} of the most used ones, so dynamic queries that resolve to the same
+ * SQL text are only parsed once
+ */
+public class CachedQueryTemplateParser implements QueryTemplateParser {
+
+  private final QueryTemplateParser delegate;
+  private final BoundedCache<String, QueryTemplate> queryTemplates;
+
+  /**
+   * @param delegate parser used for the queries that are not cached
+   * @param maxSize maximum number of query templates to cache
+   */
+  public CachedQueryTemplateParser(QueryTemplateParser delegate, int maxSize) {
+    this.delegate = delegate;
+    this.queryTemplates = new BoundedCache<>(maxSize);
+  }
+
+  @Override
+  public QueryTemplate parse(String sql) throws QueryTemplateParsingException {
+    QueryTemplate queryTemplate = queryTemplates.get(sql);
+
+    if (queryTemplate == null) {
+      queryTemplate = delegate.parse(sql);
+      queryTemplates.put(sql, queryTemplate);
+    }
+
+    return queryTemplate;
+  }
+
+  /**
+   * @return the statistics of the cached query templates
+   */
+  public CacheStatistics getStatistics() {
+    return queryTemplates;
+  }
+}
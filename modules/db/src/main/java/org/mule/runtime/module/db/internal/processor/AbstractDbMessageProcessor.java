@@ -21,6 +21,7 @@ import org.mule.runtime.core.api.debug.DebugInfoProvider;
 import org.mule.runtime.core.api.debug.FieldDebugInfo;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.processor.BlockingMessageProcessor;
 import org.mule.runtime.core.api.processor.InterceptingMessageProcessor;
 import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
 import org.mule.runtime.core.util.StringUtils;
@@ -43,7 +44,8 @@ import java.util.List;
  * Base class for database message processors.
  */
 public abstract class AbstractDbMessageProcessor extends AbstractInterceptingMessageProcessor
-    implements Initialisable, InterceptingMessageProcessor, OperationMetaDataEnabled, DebugInfoProvider {
+    implements Initialisable, InterceptingMessageProcessor, BlockingMessageProcessor, OperationMetaDataEnabled,
+    DebugInfoProvider {
 
   protected final DbConfigResolver dbConfigResolver;
   private final TransactionalAction transactionalAction;
@@ -41,13 +41,17 @@ public abstract class AbstractSingleQueryDbMessageProcessor extends AbstractDbMe
 
   @Override
   protected Object executeQuery(DbConnection connection, MuleEvent muleEvent) throws SQLException {
+    return doExecuteQuery(connection, resolveQuery(connection, muleEvent));
+  }
+
+  protected Query resolveQuery(DbConnection connection, MuleEvent muleEvent) {
     MuleEvent eventToUse = resolveSource(muleEvent);
 
     Query resolvedQuery = queryResolver.resolve(connection, eventToUse);
 
     validateQueryType(resolvedQuery.getQueryTemplate());
 
-    return doExecuteQuery(connection, resolvedQuery);
+    return resolvedQuery;
   }
 
   protected abstract Object doExecuteQuery(DbConnection connection, Query query) throws SQLException;
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.processor;
+
+import static org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction.NOT_SUPPORTED;
+
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.transaction.TransactionCoordination;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.database.DbConfig;
+import org.mule.runtime.module.db.internal.domain.executor.BulkQueryExecutorFactory;
+import org.mule.runtime.module.db.internal.domain.executor.MicroBatchUpdateExecutor;
+import org.mule.runtime.module.db.internal.domain.executor.QueryExecutorFactory;
+import org.mule.runtime.module.db.internal.domain.query.Query;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.domain.query.QueryType;
+import org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction;
+import org.mule.runtime.module.db.internal.resolver.database.DbConfigResolver;
+import org.mule.runtime.module.db.internal.resolver.query.QueryResolver;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Executes update queries on a database grouping the queries of concurrent events in JDBC batches.
+ * <p/>
+ * Each event still gets the update count of its own query. Queries that are part of a transaction, that return auto generated
+ * keys or that have no input parameters are executed right away, as {@link UpdateMessageProcessor} does.
+ * <p/>
+ * The connection of the event is only used to resolve the query. It is released before waiting for the batch, which is executed
+ * with a connection of its own. Batches are shared by the configurations that access the same database URL as the same user.
+ */
+public class MicroBatchUpdateMessageProcessor extends UpdateMessageProcessor {
+
+  private final MicroBatchUpdateExecutor microBatchUpdateExecutor;
+
+  public MicroBatchUpdateMessageProcessor(DbConfigResolver dbConfigResolver, QueryResolver queryResolver,
+                                          QueryExecutorFactory queryExecutorFactory, TransactionalAction transactionalAction,
+                                          List<QueryType> validQueryTypes, BulkQueryExecutorFactory bulkQueryExecutorFactory,
+                                          int maxBatchSize, long batchLingerTime) {
+    super(dbConfigResolver, queryResolver, queryExecutorFactory, transactionalAction, validQueryTypes);
+    this.microBatchUpdateExecutor = new MicroBatchUpdateExecutor(bulkQueryExecutorFactory, maxBatchSize, batchLingerTime);
+  }
+
+  @Override
+  protected Object executeQuery(DbConnection connection, MuleEvent muleEvent) throws SQLException {
+    Query query = resolveQuery(connection, muleEvent);
+
+    if (!isBatchable(connection, query.getQueryTemplate())) {
+      return doExecuteQuery(connection, query);
+    }
+
+    DbConfig dbConfig = dbConfigResolver.resolve(muleEvent);
+    DatabaseMetaData metaData = connection.getMetaData();
+    String database = metaData.getUserName() + "@" + metaData.getURL();
+    dbConfig.getConnectionFactory().releaseConnection(connection);
+
+    return microBatchUpdateExecutor.execute(database, dbConfig.getConnectionFactory(), query);
+  }
+
+  private boolean isBatchable(DbConnection connection, QueryTemplate queryTemplate) {
+    if (getAutoGeneratedKeyStrategy().returnsAutoGeneratedKeys()) {
+      return false;
+    }
+
+    if (queryTemplate.getType() == QueryType.STORE_PROCEDURE_CALL || queryTemplate.getInputParams().isEmpty()
+        || !queryTemplate.getOutputParams().isEmpty()) {
+      return false;
+    }
+
+    return connection.getTransactionalAction() == NOT_SUPPORTED || TransactionCoordination.getInstance().getTransaction() == null;
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.processor;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
+import static org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction.NOT_SUPPORTED;
+
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.transaction.TransactionCoordination;
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnectionFactory;
+import org.mule.runtime.module.db.internal.domain.executor.PartitionedSelectExecutor;
+import org.mule.runtime.module.db.internal.domain.executor.QueryExecutor;
+import org.mule.runtime.module.db.internal.domain.executor.QueryExecutorFactory;
+import org.mule.runtime.module.db.internal.domain.query.Query;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.domain.query.QueryType;
+import org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction;
+import org.mule.runtime.module.db.internal.resolver.database.DbConfigResolver;
+import org.mule.runtime.module.db.internal.resolver.query.QueryResolver;
+import org.mule.runtime.module.db.internal.result.resultset.PartitionedResultSetIterator;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executes select queries on a database reading several pages of the query at the same time, each one using a different
+ * connection. Rows are always returned as an iterator, see {@link PartitionedSelectExecutor}.
+ * <p/>
+ * Stored procedure queries, queries without an {@code ORDER BY} clause, queries that are part of a transaction and queries
+ * executed with a single partition are executed using a single connection, as {@link SelectMessageProcessor} does, as their
+ * pages can't be read consistently on different connections.
+ * <p/>
+ * Partitions are read by a bounded pool of {@link #MAX_CONCURRENT_QUERIES} times the number of partitions threads, so a query
+ * fails instead of opening more connections once too many of them are pending. Iterators that were not consumed are closed
+ * when the processor is disposed.
+ */
+public class PartitionedSelectMessageProcessor extends SelectMessageProcessor implements Disposable {
+
+  public static final int DEFAULT_PAGE_SIZE = 1000;
+  public static final int MAX_CONCURRENT_QUERIES = 4;
+
+  private static final long WORKER_TTL_SECONDS = 60;
+
+  private final QueryExecutor pageExecutor;
+  private final Set<PartitionedResultSetIterator> openIterators = ConcurrentHashMap.newKeySet();
+  private int partitions = 1;
+  private int pageSize = DEFAULT_PAGE_SIZE;
+  private int groupSize = 1;
+  private ThreadPoolExecutor workers;
+  private PartitionedSelectExecutor partitionedSelectExecutor;
+  private volatile boolean unorderedQueryLogged;
+
+  public PartitionedSelectMessageProcessor(DbConfigResolver dbConfigResolver, QueryResolver queryResolver,
+                                           QueryExecutorFactory queryExecutorFactory, TransactionalAction transactionalAction,
+                                           boolean streaming, QueryExecutor pageExecutor) {
+    super(dbConfigResolver, queryResolver, queryExecutorFactory, transactionalAction, streaming);
+    this.pageExecutor = pageExecutor;
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    super.initialise();
+
+    if (partitions > 1) {
+      int maxWorkers = partitions * MAX_CONCURRENT_QUERIES;
+      workers = new ThreadPoolExecutor(maxWorkers, maxWorkers, WORKER_TTL_SECONDS, SECONDS, new LinkedBlockingQueue<>(maxWorkers),
+                                       new NamedThreadFactory(getPrefix(muleContext) + "db.partitionedSelect",
+                                                              muleContext.getExecutionClassLoader()));
+      workers.allowCoreThreadTimeOut(true);
+      partitionedSelectExecutor = new PartitionedSelectExecutor(pageExecutor, workers, partitions, pageSize, groupSize);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    for (PartitionedResultSetIterator iterator : openIterators) {
+      iterator.close();
+    }
+    openIterators.clear();
+
+    if (workers != null) {
+      workers.shutdownNow();
+      workers = null;
+    }
+  }
+
+  @Override
+  protected Object executeQuery(DbConnection connection, MuleEvent muleEvent) throws SQLException {
+    Query query = resolveQuery(connection, muleEvent);
+
+    if (partitionedSelectExecutor == null || !isPartitionable(connection, query.getQueryTemplate())) {
+      return doExecuteQuery(connection, query);
+    }
+
+    DbConnectionFactory connectionFactory = dbConfigResolver.resolve(muleEvent).getConnectionFactory();
+    if (!mustCloseConnection()) {
+      // Partitions use their own connections, so this one is not kept open to stream the rows
+      connectionFactory.releaseConnection(connection);
+    }
+
+    openIterators.removeIf(iterator -> !iterator.isActive());
+    PartitionedResultSetIterator iterator = partitionedSelectExecutor.execute(connectionFactory, query);
+    openIterators.add(iterator);
+    return iterator;
+  }
+
+  private boolean isPartitionable(DbConnection connection, QueryTemplate queryTemplate) {
+    if (queryTemplate.getType() != QueryType.SELECT) {
+      return false;
+    }
+
+    if (!PartitionedSelectExecutor.isOrdered(queryTemplate.getSqlText())) {
+      if (!unorderedQueryLogged) {
+        unorderedQueryLogged = true;
+        logger.warn("Query is not ordered, so it's read on a single connection instead of partitions: "
+            + queryTemplate.getSqlText());
+      }
+      return false;
+    }
+
+    return connection.getTransactionalAction() == NOT_SUPPORTED || TransactionCoordination.getInstance().getTransaction() == null;
+  }
+
+  public void setPartitions(int partitions) {
+    this.partitions = partitions;
+  }
+
+  public void setPageSize(int pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  public void setGroupSize(int groupSize) {
+    this.groupSize = groupSize;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.resolver.param;
+
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.domain.type.DbType;
+import org.mule.runtime.module.db.internal.util.BoundedCache;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Resolves parameter types using a cache of the types already resolved for the same SQL text, so the database metadata is
+ * only read the first time a query is executed
+ */
+public class CachedParamTypeResolver implements ParamTypeResolver {
+
+  private final ParamTypeResolver delegate;
+  private final BoundedCache<String, Map<Integer, DbType>> paramTypes;
+
+  /**
+   * @param delegate resolver used for the queries that are not cached
+   * @param paramTypes cache of the parameter types, shared by all the connections to the same database
+   */
+  public CachedParamTypeResolver(ParamTypeResolver delegate, BoundedCache<String, Map<Integer, DbType>> paramTypes) {
+    this.delegate = delegate;
+    this.paramTypes = paramTypes;
+  }
+
+  @Override
+  public Map<Integer, DbType> getParameterTypes(DbConnection connection, QueryTemplate queryTemplate) throws SQLException {
+    Map<Integer, DbType> resolvedParamTypes = paramTypes.get(queryTemplate.getSqlText());
+
+    if (resolvedParamTypes == null) {
+      resolvedParamTypes = Collections.unmodifiableMap(delegate.getParameterTypes(connection, queryTemplate));
+      paramTypes.put(queryTemplate.getSqlText(), resolvedParamTypes);
+    }
+
+    return resolvedParamTypes;
+  }
+}
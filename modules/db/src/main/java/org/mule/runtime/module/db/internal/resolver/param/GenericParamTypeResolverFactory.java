@@ -9,7 +9,11 @@ package org.mule.runtime.module.db.internal.resolver.param;
 
 import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
 import org.mule.runtime.module.db.internal.domain.query.QueryType;
+import org.mule.runtime.module.db.internal.domain.type.DbType;
 import org.mule.runtime.module.db.internal.domain.type.DbTypeManager;
+import org.mule.runtime.module.db.internal.util.BoundedCache;
+
+import java.util.Map;
 
 /**
  * Creates {@link ParamTypeResolver} for generic databases
@@ -17,9 +21,19 @@ import org.mule.runtime.module.db.internal.domain.type.DbTypeManager;
 public class GenericParamTypeResolverFactory implements ParamTypeResolverFactory {
 
   private final DbTypeManager dbTypeManager;
+  private final BoundedCache<String, Map<Integer, DbType>> paramTypeCache;
 
   public GenericParamTypeResolverFactory(DbTypeManager dbTypeManager) {
+    this(dbTypeManager, null);
+  }
+
+  /**
+   * @param dbTypeManager manager used to look up the parameter types
+   * @param paramTypeCache cache of the parameter types read from the database metadata. Null to always read the metadata
+   */
+  public GenericParamTypeResolverFactory(DbTypeManager dbTypeManager, BoundedCache<String, Map<Integer, DbType>> paramTypeCache) {
     this.dbTypeManager = dbTypeManager;
+    this.paramTypeCache = paramTypeCache;
   }
 
   public ParamTypeResolver create(QueryTemplate queryTemplate) {
@@ -31,6 +45,10 @@ public class GenericParamTypeResolverFactory implements ParamTypeResolverFactory
       metadataParamTypeResolver = new QueryParamTypeResolver(dbTypeManager);
     }
 
+    if (paramTypeCache != null) {
+      metadataParamTypeResolver = new CachedParamTypeResolver(metadataParamTypeResolver, paramTypeCache);
+    }
+
     return new DefaultParamTypeResolver(dbTypeManager, metadataParamTypeResolver);
   }
 }
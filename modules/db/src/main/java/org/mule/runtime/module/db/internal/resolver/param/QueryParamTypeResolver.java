@@ -38,9 +38,18 @@ public class QueryParamTypeResolver implements ParamTypeResolver {
     Map<Integer, DbType> paramTypes = new HashMap<Integer, DbType>();
 
     PreparedStatement statement = connection.prepareStatement(queryTemplate.getSqlText());
+    try {
+      resolveParameterTypes(connection, queryTemplate, statement.getParameterMetaData(), paramTypes);
+    } finally {
+      statement.close();
+    }
 
-    ParameterMetaData parameterMetaData = statement.getParameterMetaData();
+    return paramTypes;
+  }
 
+  private void resolveParameterTypes(DbConnection connection, QueryTemplate queryTemplate, ParameterMetaData parameterMetaData,
+                                     Map<Integer, DbType> paramTypes)
+      throws SQLException {
     for (QueryParam queryParam : queryTemplate.getParams()) {
       int parameterTypeId = parameterMetaData.getParameterType(queryParam.getIndex());
       String parameterTypeName = parameterMetaData.getParameterTypeName(queryParam.getIndex());
@@ -59,7 +68,5 @@ public class QueryParamTypeResolver implements ParamTypeResolver {
 
       paramTypes.put(queryParam.getIndex(), dbType);
     }
-
-    return paramTypes;
   }
 }
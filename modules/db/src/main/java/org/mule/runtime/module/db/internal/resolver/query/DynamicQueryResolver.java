@@ -14,6 +14,7 @@ import org.mule.runtime.module.db.internal.domain.query.Query;
 import org.mule.runtime.module.db.internal.domain.query.QueryParamValue;
 import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
 import org.mule.runtime.module.db.internal.parser.QueryTemplateParser;
+import org.mule.runtime.module.db.internal.resolver.database.DbConfigResolver;
 
 import java.util.Collections;
 
@@ -24,11 +25,26 @@ public class DynamicQueryResolver implements QueryResolver {
 
   private final Query query;
   private final QueryTemplateParser queryTemplateParser;
+  private final DbConfigResolver dbConfigResolver;
   private final ExpressionManager expressionManager;
 
   public DynamicQueryResolver(Query query, QueryTemplateParser queryTemplateParser, ExpressionManager expressionManager) {
+    this(query, queryTemplateParser, null, expressionManager);
+  }
+
+  /**
+   * Creates a resolver that parses the queries with the {@link QueryTemplateParser} of the database config used to process each
+   * event, which keeps the query templates already parsed for that database.
+   */
+  public DynamicQueryResolver(Query query, DbConfigResolver dbConfigResolver, ExpressionManager expressionManager) {
+    this(query, null, dbConfigResolver, expressionManager);
+  }
+
+  private DynamicQueryResolver(Query query, QueryTemplateParser queryTemplateParser, DbConfigResolver dbConfigResolver,
+                               ExpressionManager expressionManager) {
     this.query = query;
     this.queryTemplateParser = queryTemplateParser;
+    this.dbConfigResolver = dbConfigResolver;
     this.expressionManager = expressionManager;
   }
 
@@ -37,11 +53,15 @@ public class DynamicQueryResolver implements QueryResolver {
     try {
       QueryTemplate queryTemplate = query.getQueryTemplate();
       String resolvedSqlText = expressionManager.parse(queryTemplate.getSqlText(), muleEvent);
-      queryTemplate = queryTemplateParser.parse(resolvedSqlText);
+      queryTemplate = getQueryTemplateParser(muleEvent).parse(resolvedSqlText);
 
       return new Query(queryTemplate, Collections.<QueryParamValue>emptyList());
     } catch (RuntimeException e) {
       throw new QueryResolutionException("Error parsing query", e);
     }
   }
+
+  private QueryTemplateParser getQueryTemplateParser(MuleEvent muleEvent) {
+    return queryTemplateParser != null ? queryTemplateParser : dbConfigResolver.resolve(muleEvent).getQueryTemplateParser();
+  }
 }
@@ -33,8 +33,9 @@ public class ListResultSetHandler implements ResultSetHandler {
   public List<Map<String, Object>> processResultSet(DbConnection connection, ResultSet resultSet) throws SQLException {
     List<Map<String, Object>> results = new LinkedList<Map<String, Object>>();
     try {
+      RowHandler resultSetRowHandler = rowHandler.bind(resultSet);
       while (resultSet.next()) {
-        results.add(rowHandler.process(resultSet));
+        results.add(resultSetRowHandler.process(resultSet));
       }
     } finally {
       resultSet.close();
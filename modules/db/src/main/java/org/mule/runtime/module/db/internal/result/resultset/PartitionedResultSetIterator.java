@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.resultset;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.mule.runtime.core.api.Closeable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates the rows read by several producers, each one reading a different partition of the same query.
+ * <p/>
+ * Rows are buffered in a bounded queue, so producers block once it's full until the consumer catches up. Rows are returned in
+ * the order they are buffered, so rows of different partitions are interleaved. If the consumer does not make room for a row
+ * during the consumer timeout, the iterator fails so the producers stop and release their connections.
+ * <p/>
+ * The iterator can be shared by several consumer threads. Closing it discards the buffered rows and makes the producers stop
+ * after the partition they are reading. It is closed once all the rows are consumed.
+ */
+public class PartitionedResultSetIterator implements Iterator<Object>, Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedResultSetIterator.class);
+
+  private static final Object END = new Object();
+  private static final long POLL_TIMEOUT = 100;
+
+  private final BlockingQueue<Object> buffer;
+  private final AtomicInteger activeProducers;
+  private final long consumerTimeout;
+  private volatile boolean closed;
+  private volatile Throwable error;
+  private Object next;
+
+  /**
+   * @param producers number of producers adding rows to the iterator
+   * @param bufferSize maximum number of rows to buffer
+   * @param consumerTimeout time in milliseconds a producer waits for room in the buffer before failing the iterator
+   */
+  public PartitionedResultSetIterator(int producers, int bufferSize, long consumerTimeout) {
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.activeProducers = new AtomicInteger(producers);
+    this.consumerTimeout = consumerTimeout;
+  }
+
+  /**
+   * Adds a row, waiting up to the consumer timeout for room in the buffer
+   *
+   * @param row row to add. Non null
+   * @return false if the iterator was closed or failed, so the producer must stop
+   * @throws InterruptedException if the producer is interrupted while waiting
+   */
+  public boolean add(Object row) throws InterruptedException {
+    long deadline = System.nanoTime() + MILLISECONDS.toNanos(consumerTimeout);
+    while (isActive()) {
+      if (buffer.offer(row, POLL_TIMEOUT, MILLISECONDS)) {
+        return true;
+      }
+
+      if (System.nanoTime() - deadline >= 0) {
+        fail(new TimeoutException("No rows were consumed in " + consumerTimeout + " ms"));
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return true if producers must keep adding rows
+   */
+  public boolean isActive() {
+    return !closed && error == null;
+  }
+
+  /**
+   * Notifies that a producer has finished. The iterator ends once all the producers have finished and their rows are consumed
+   *
+   * @param cause error that made the producer finish, null if it read all its rows
+   */
+  public void producerFinished(Throwable cause) {
+    if (cause != null) {
+      fail(cause);
+    }
+    activeProducers.decrementAndGet();
+  }
+
+  private void fail(Throwable cause) {
+    if (error == null) {
+      error = cause;
+    }
+  }
+
+  @Override
+  public synchronized boolean hasNext() {
+    while (next == null) {
+      if (closed) {
+        next = END;
+      } else {
+        next = pollRow();
+      }
+    }
+
+    if (next == END) {
+      closed = true;
+      if (error != null) {
+        throw new ResultSetProcessingException("Error reading rows", error);
+      }
+      return false;
+    }
+
+    return true;
+  }
+
+  private Object pollRow() {
+    try {
+      Object row = buffer.poll(POLL_TIMEOUT, MILLISECONDS);
+      if (row == null && activeProducers.get() == 0) {
+        // Rows added right before the last producer finished are already buffered
+        row = buffer.poll();
+        if (row == null) {
+          row = END;
+        }
+      }
+      return row;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResultSetProcessingException("Interrupted while waiting for rows", e);
+    }
+  }
+
+  @Override
+  public synchronized Object next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    Object row = next;
+    next = null;
+    return row;
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void close() {
+    if (logger.isDebugEnabled()) {
+      logger.debug("Closing partitioned resultSet");
+    }
+
+    closed = true;
+    buffer.clear();
+  }
+}
@@ -30,6 +30,7 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
 
   private final ResultSet resultSet;
   private final RowHandler rowHandler;
+  private RowHandler resultSetRowHandler;
   private final StreamingResultSetCloser streamingResultSetCloser;
   private DbConnection connection;
   private Boolean cachedNext = null;
@@ -84,7 +85,11 @@ public class ResultSetIterator implements Iterator<Map<String, Object>>, Closeab
         cachedNext = null;
       }
 
-      return rowHandler.process(resultSet);
+      if (resultSetRowHandler == null) {
+        resultSetRowHandler = rowHandler.bind(resultSet);
+      }
+
+      return resultSetRowHandler.process(resultSet);
     } catch (SQLException e) {
       logger.warn("Unable to obtain next row", e);
 
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.row;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A row of a resultSet that keeps the values of its columns in an array, looking up the columns without case sensitivity
+ * through a {@link RowSchema} shared by all the rows of the resultSet.
+ * <p/>
+ * The values of the existing columns can be replaced, but columns can't be added nor removed.
+ */
+public class ColumnarRow extends AbstractMap<String, Object> implements Serializable {
+
+  private static final long serialVersionUID = -3457390328463459046L;
+
+  private final RowSchema schema;
+  private final Object[] values;
+
+  /**
+   * @param schema columns of the row. Non null
+   * @param values values of the columns, in the order of the schema. Non null
+   */
+  public ColumnarRow(RowSchema schema, Object[] values) {
+    this.schema = schema;
+    this.values = values;
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return schema.indexOf(key) != -1;
+  }
+
+  @Override
+  public Object get(Object key) {
+    int index = schema.indexOf(key);
+    return index == -1 ? null : values[index];
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    int index = schema.indexOf(key);
+    if (index == -1) {
+      throw new UnsupportedOperationException("Cannot add column " + key + " to a row");
+    }
+
+    Object previous = values[index];
+    values[index] = value;
+    return previous;
+  }
+
+  @Override
+  public Object remove(Object key) {
+    throw new UnsupportedOperationException("Cannot remove column " + key + " from a row");
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Cannot remove the columns of a row");
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<Entry<String, Object>>() {
+
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new Iterator<Entry<String, Object>>() {
+
+          private int index = 0;
+
+          @Override
+          public boolean hasNext() {
+            return index < values.length;
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            return new ColumnEntry(index++);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return values.length;
+      }
+    };
+  }
+
+  private class ColumnEntry implements Map.Entry<String, Object> {
+
+    private final int index;
+
+    private ColumnEntry(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public String getKey() {
+      return schema.getColumn(index);
+    }
+
+    @Override
+    public Object getValue() {
+      return values[index];
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      Object previous = values[index];
+      values[index] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+      return getKey().equals(other.getKey()) && (getValue() == null ? other.getValue() == null
+          : getValue().equals(other.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ (getValue() == null ? 0 : getValue().hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.row;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.util.Map;
+
+/**
+ * Maps rows to {@link ColumnarRow}s, which are case insensitive maps that share the columns of the resultSet.
+ * <p/>
+ * The columns are resolved once per resultSet when the handler is {@link #bind(ResultSet) bound} to it, instead of once per row
+ * as {@link InsensitiveMapRowHandler} does.
+ */
+public class ColumnarRowHandler implements RowHandler {
+
+  @Override
+  public Map<String, Object> process(ResultSet resultSet) throws SQLException {
+    return bind(resultSet).process(resultSet);
+  }
+
+  @Override
+  public RowHandler bind(ResultSet resultSet) throws SQLException {
+    return new SchemaRowHandler(RowSchema.of(resultSet.getMetaData()));
+  }
+
+  private static class SchemaRowHandler implements RowHandler {
+
+    private final RowSchema schema;
+
+    private SchemaRowHandler(RowSchema schema) {
+      this.schema = schema;
+    }
+
+    @Override
+    public Map<String, Object> process(ResultSet resultSet) throws SQLException {
+      Object[] values = new Object[schema.size()];
+
+      for (int i = 0; i < values.length; i++) {
+        Object value = resultSet.getObject(i + 1);
+
+        if (value instanceof SQLXML) {
+          values[i] = ((SQLXML) value).getString();
+        } else {
+          values[i] = value;
+        }
+      }
+
+      return new ColumnarRow(schema, values);
+    }
+  }
+}
@@ -25,4 +25,18 @@ public interface RowHandler {
    * @throws SQLException if a database access error occurs or this method is called on a closed result set
    */
   Map<String, Object> process(ResultSet resultSet) throws SQLException;
+
+  /**
+   * Prepares to process all the rows of a resultSet
+   * <p/>
+   * Handlers that reuse information for all the rows of a resultSet, such as its columns, return a handler that must only be used
+   * to process the rows of the given resultSet.
+   *
+   * @param resultSet resultset containing the rows to process. Non null
+   * @return the handler to process the rows of the resultSet. Non null
+   * @throws SQLException if a database access error occurs or this method is called on a closed result set
+   */
+  default RowHandler bind(ResultSet resultSet) throws SQLException {
+    return this;
+  }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.row;
+
+import java.io.Serializable;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columns of the rows of a resultSet, shared by all the {@link ColumnarRow} read from it.
+ * <p/>
+ * Columns are looked up by label without case sensitivity.
+ */
+public class RowSchema implements Serializable {
+
+  private static final long serialVersionUID = 5128760364384946537L;
+
+  private final String[] columns;
+  private final Map<String, Integer> indexes;
+  private final Map<String, Integer> lowerCaseIndexes;
+
+  /**
+   * @param columns labels of the columns, in the order they appear in the resultSet
+   * @throws IllegalArgumentException if two columns have the same label
+   */
+  public RowSchema(String[] columns) {
+    this.columns = columns;
+    this.indexes = new HashMap<>(columns.length * 2);
+    this.lowerCaseIndexes = new HashMap<>(columns.length * 2);
+
+    for (int i = 0; i < columns.length; i++) {
+      indexes.put(columns[i], i);
+      if (lowerCaseIndexes.put(columns[i].toLowerCase(), i) != null) {
+        throw new IllegalArgumentException("Record cannot be mapped as it contains multiple columns with the same label. Define column aliases to solve this problem");
+      }
+    }
+  }
+
+  /**
+   * Creates the schema of the rows of a resultSet
+   *
+   * @param metaData metadata of the resultSet. Non null
+   * @return a non null schema
+   * @throws SQLException if a database access error occurs
+   */
+  public static RowSchema of(ResultSetMetaData metaData) throws SQLException {
+    String[] columns = new String[metaData.getColumnCount()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = metaData.getColumnLabel(i + 1);
+    }
+    return new RowSchema(columns);
+  }
+
+  /**
+   * @return the number of columns
+   */
+  public int size() {
+    return columns.length;
+  }
+
+  /**
+   * @param index position of the column, starting from 0
+   * @return the label of the column
+   */
+  public String getColumn(int index) {
+    return columns[index];
+  }
+
+  /**
+   * @param column label of the column, in any case
+   * @return the position of the column, starting from 0, or -1 if there is no such column
+   */
+  public int indexOf(Object column) {
+    if (!(column instanceof String)) {
+      return -1;
+    }
+
+    Integer index = indexes.get(column);
+    if (index == null) {
+      index = lowerCaseIndexes.get(((String) column).toLowerCase());
+    }
+    return index == null ? -1 : index;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.util;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe cache holding up to a maximum number of values.
+ * <p/>
+ * Lookups don't lock, as they are done for every event. Once the cache is full an arbitrary value is evicted to make room for a
+ * new one, which is enough for caches whose keys come from a mostly fixed set, such as the SQL text of the queries of an
+ * application.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class BoundedCache<K, V> implements CacheStatistics {
+
+  private final ConcurrentMap<K, V> values = new ConcurrentHashMap<>();
+  private final int maxSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param maxSize maximum number of cached values. Nothing is cached when it's not positive
+   */
+  public BoundedCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @param key key to look up. Non null
+   * @return the cached value or null if there is none
+   */
+  public V get(K key) {
+    V value = values.get(key);
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * @param key key of the value. Non null
+   * @param value value to cache. Non null
+   */
+  public void put(K key, V value) {
+    if (maxSize <= 0) {
+      return;
+    }
+
+    while (values.size() >= maxSize && !values.containsKey(key)) {
+      Iterator<K> keys = values.keySet().iterator();
+      if (!keys.hasNext()) {
+        break;
+      }
+      values.remove(keys.next());
+    }
+    values.put(key, value);
+  }
+
+  @Override
+  public long getHits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  @Override
+  public double getHitRate() {
+    long hits = getHits();
+    long lookups = hits + getMisses();
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  @Override
+  public int getSize() {
+    return values.size();
+  }
+
+  @Override
+  public int getMaxSize() {
+    return maxSize;
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.util;
+
+/**
+ * Live statistics of a cache
+ */
+public interface CacheStatistics {
+
+  /**
+   * @return the number of lookups that found a cached value
+   */
+  long getHits();
+
+  /**
+   * @return the number of lookups that didn't find a cached value
+   */
+  long getMisses();
+
+  /**
+   * @return the ratio of lookups that found a cached value, between 0 and 1. Zero when there were no lookups
+   */
+  double getHitRate();
+
+  /**
+   * @return the number of cached values
+   */
+  int getSize();
+
+  /**
+   * @return the maximum number of cached values
+   */
+  int getMaxSize();
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.executor;
+
+import static java.sql.Statement.EXECUTE_FAILED;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction.NOT_SUPPORTED;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnectionFactory;
+import org.mule.runtime.module.db.internal.domain.param.QueryParam;
+import org.mule.runtime.module.db.internal.domain.query.Query;
+import org.mule.runtime.module.db.internal.domain.query.QueryParamValue;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.domain.query.QueryType;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class MicroBatchUpdateExecutorTestCase extends AbstractMuleTestCase {
+
+  private static final String DATABASE = "sa@jdbc:derby:muleEmbeddedDB";
+  private static final QueryTemplate QUERY_TEMPLATE =
+      new QueryTemplate("INSERT INTO PLANET(NAME) VALUES (?)", QueryType.INSERT, Collections.<QueryParam>emptyList());
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final DbConnection connection = mock(DbConnection.class);
+  private final DbConnectionFactory connectionFactory = mock(DbConnectionFactory.class);
+  private final BulkExecutor bulkExecutor = mock(BulkExecutor.class);
+  private final BulkQueryExecutorFactory bulkQueryExecutorFactory = mock(BulkQueryExecutorFactory.class);
+
+  @Before
+  public void setUp() throws Exception {
+    when(connectionFactory.createConnection(NOT_SUPPORTED)).thenReturn(connection);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void concurrentQueriesAreExecutedInOneBatch() throws Exception {
+    when(bulkQueryExecutorFactory.create()).thenReturn(bulkExecutor);
+    when(bulkExecutor.execute(any(DbConnection.class), any(Query.class), anyList())).thenReturn(new int[] {1, 2, 3});
+    MicroBatchUpdateExecutor batchExecutor = new MicroBatchUpdateExecutor(bulkQueryExecutorFactory, 3, SECONDS.toMillis(30));
+
+    List<Future<Object>> results = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Query query = createQuery("planet" + i);
+      // Configurations with the same URL and user share the batch
+      String database = new String(DATABASE);
+      results.add(executor.submit(() -> batchExecutor.execute(database, connectionFactory, query)));
+    }
+
+    int total = 0;
+    for (Future<Object> result : results) {
+      total += (Integer) result.get(10, SECONDS);
+    }
+    assertThat(total, is(6));
+    verify(bulkExecutor, times(1)).execute(any(DbConnection.class), any(Query.class), anyList());
+    verify(connectionFactory, times(1)).createConnection(NOT_SUPPORTED);
+    verify(connectionFactory, times(1)).releaseConnection(connection);
+  }
+
+  @Test
+  public void batchIsExecutedAfterLingerTime() throws Exception {
+    when(bulkQueryExecutorFactory.create()).thenReturn(bulkExecutor);
+    when(bulkExecutor.execute(any(DbConnection.class), any(Query.class), anyList())).thenReturn(new int[] {1});
+    MicroBatchUpdateExecutor batchExecutor = new MicroBatchUpdateExecutor(bulkQueryExecutorFactory, 100, 10);
+
+    assertThat(batchExecutor.execute(DATABASE, connectionFactory, createQuery("Mars")), is((Object) 1));
+  }
+
+  @Test
+  public void failedQueryOnlyFailsItsOwnEvent() throws Exception {
+    when(bulkQueryExecutorFactory.create()).thenReturn(bulkExecutor);
+    // The driver stops at the failed query, so the ones after it are executed again
+    when(bulkExecutor.execute(any(DbConnection.class), any(Query.class), anyList()))
+        .thenThrow(new BatchUpdateException(new int[] {1}))
+        .thenReturn(new int[] {1});
+    MicroBatchUpdateExecutor batchExecutor = new MicroBatchUpdateExecutor(bulkQueryExecutorFactory, 3, SECONDS.toMillis(30));
+
+    Query first = createQuery("Mars");
+    Future<Object> firstResult = executor.submit(() -> batchExecutor.execute(DATABASE, connectionFactory, first));
+    Thread.sleep(100);
+    Query second = createQuery("Venus");
+    Future<Object> secondResult = executor.submit(() -> batchExecutor.execute(DATABASE, connectionFactory, second));
+    Thread.sleep(100);
+    Object thirdResult = batchExecutor.execute(DATABASE, connectionFactory, createQuery("Earth"));
+
+    assertThat(firstResult.get(10, SECONDS), is((Object) 1));
+    try {
+      secondResult.get(10, SECONDS);
+      fail("Query should fail");
+    } catch (Exception e) {
+      assertThat(e.getCause(), instanceOf(SQLException.class));
+    }
+    assertThat(thirdResult, is((Object) 1));
+  }
+
+  @Test
+  public void failedQueryMarkedByTheDriver() throws Exception {
+    when(bulkQueryExecutorFactory.create()).thenReturn(bulkExecutor);
+    when(bulkExecutor.execute(any(DbConnection.class), any(Query.class), anyList()))
+        .thenThrow(new BatchUpdateException(new int[] {EXECUTE_FAILED}));
+    MicroBatchUpdateExecutor batchExecutor = new MicroBatchUpdateExecutor(bulkQueryExecutorFactory, 1, 0);
+
+    try {
+      batchExecutor.execute(DATABASE, connectionFactory, createQuery("Pluto"));
+      fail("Query should fail");
+    } catch (SQLException e) {
+      assertThat(e.getCause(), instanceOf(BatchUpdateException.class));
+    }
+  }
+
+  private Query createQuery(String name) {
+    return new Query(QUERY_TEMPLATE, singletonList(new QueryParamValue("name", name)));
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.executor;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.db.internal.domain.transaction.TransactionalAction.NOT_SUPPORTED;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnectionFactory;
+import org.mule.runtime.module.db.internal.domain.param.QueryParam;
+import org.mule.runtime.module.db.internal.domain.query.Query;
+import org.mule.runtime.module.db.internal.domain.query.QueryParamValue;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.domain.query.QueryType;
+import org.mule.runtime.module.db.internal.result.resultset.PartitionedResultSetIterator;
+import org.mule.runtime.module.db.internal.result.resultset.ResultSetProcessingException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+@SmallTest
+public class PartitionedSelectExecutorTestCase extends AbstractMuleTestCase {
+
+  private static final int ROWS = 25;
+  private static final int PAGE_SIZE = 10;
+  private static final QueryTemplate QUERY_TEMPLATE =
+      new QueryTemplate("SELECT * FROM PLANET ORDER BY ID", QueryType.SELECT, Collections.<QueryParam>emptyList());
+
+  private final ExecutorService workers = Executors.newCachedThreadPool();
+  private final DbConnectionFactory connectionFactory = mock(DbConnectionFactory.class);
+  private final QueryExecutor pageExecutor = mock(QueryExecutor.class);
+  private final List<String> pageSqlTexts = Collections.synchronizedList(new ArrayList<>());
+  private final List<Long> offsets = Collections.synchronizedList(new ArrayList<>());
+  private Answer<?> pageAnswer;
+
+  @Before
+  public void setUp() throws Exception {
+    when(connectionFactory.createConnection(NOT_SUPPORTED)).thenAnswer(invocation -> mock(DbConnection.class));
+    pageAnswer = invocation -> {
+      Query query = (Query) invocation.getArguments()[1];
+      pageSqlTexts.add(query.getQueryTemplate().getSqlText());
+
+      List<QueryParamValue> paramValues = query.getParamValues();
+      long offset = (Long) paramValues.get(0).getValue();
+      int fetch = (Integer) paramValues.get(1).getValue();
+      offsets.add(offset);
+
+      List<Integer> rows = new ArrayList<>();
+      for (long i = offset; i < Math.min(offset + fetch, ROWS); i++) {
+        rows.add((int) i);
+      }
+      return rows;
+    };
+    when(pageExecutor.execute(any(DbConnection.class), any(Query.class))).thenAnswer(pageAnswer);
+  }
+
+  @After
+  public void tearDown() {
+    workers.shutdownNow();
+  }
+
+  @Test
+  public void readsAllPages() throws Exception {
+    PartitionedResultSetIterator iterator = new PartitionedSelectExecutor(pageExecutor, workers, 2, PAGE_SIZE, 1)
+        .execute(connectionFactory, new Query(QUERY_TEMPLATE, Collections.<QueryParamValue>emptyList()));
+
+    List<Object> rows = new ArrayList<>();
+    while (iterator.hasNext()) {
+      rows.add(iterator.next());
+    }
+
+    Collections.sort((List) rows);
+    assertThat(rows.size(), equalTo(ROWS));
+    for (int i = 0; i < ROWS; i++) {
+      assertThat(rows.get(i), equalTo((Object) i));
+    }
+    assertThat(pageSqlTexts.get(0), equalTo("SELECT * FROM PLANET ORDER BY ID OFFSET ? ROWS FETCH NEXT ? ROWS ONLY"));
+    verify(connectionFactory, timeout(1000).times(2)).releaseConnection(any(DbConnection.class));
+  }
+
+  @Test
+  public void groupsRows() throws Exception {
+    PartitionedResultSetIterator iterator = new PartitionedSelectExecutor(pageExecutor, workers, 3, PAGE_SIZE, 4)
+        .execute(connectionFactory, new Query(QUERY_TEMPLATE, Collections.<QueryParamValue>emptyList()));
+
+    int groups = 0;
+    int rows = 0;
+    while (iterator.hasNext()) {
+      List<?> group = (List<?>) iterator.next();
+      assertThat(group.size() <= 4, is(true));
+      rows += group.size();
+      groups++;
+    }
+
+    assertThat(rows, equalTo(ROWS));
+    // Pages of 10, 10 and 5 rows are split in groups of 4, 4, 2 / 4, 4, 2 / 4, 1
+    assertThat(groups, equalTo(8));
+  }
+
+  @Test
+  public void propagatesPageError() throws Exception {
+    doThrow(new SQLException("Broken page")).when(pageExecutor).execute(any(DbConnection.class), any(Query.class));
+
+    PartitionedResultSetIterator iterator = new PartitionedSelectExecutor(pageExecutor, workers, 2, PAGE_SIZE, 1)
+        .execute(connectionFactory, new Query(QUERY_TEMPLATE, Collections.<QueryParamValue>emptyList()));
+
+    try {
+      iterator.hasNext();
+      fail("Expected the error reading the pages");
+    } catch (ResultSetProcessingException e) {
+      assertThat(e.getCause().getMessage(), containsString("Broken page"));
+    }
+    verify(connectionFactory, timeout(1000).times(2)).releaseConnection(any(DbConnection.class));
+  }
+
+  @Test
+  public void closeStopsPartitions() throws Exception {
+    PartitionedResultSetIterator iterator = new PartitionedSelectExecutor(pageExecutor, workers, 1, 1, 1)
+        .execute(connectionFactory, new Query(QUERY_TEMPLATE, Collections.<QueryParamValue>emptyList()));
+
+    assertThat(iterator.next(), equalTo((Object) 0));
+    iterator.close();
+
+    assertThat(iterator.hasNext(), is(false));
+    verify(connectionFactory, timeout(1000).times(1)).releaseConnection(any(DbConnection.class));
+  }
+
+  @Test
+  public void stopsWhenRowsAreNotConsumed() throws Exception {
+    PartitionedResultSetIterator iterator = new PartitionedSelectExecutor(pageExecutor, workers, 1, 1, 1, 200)
+        .execute(connectionFactory, new Query(QUERY_TEMPLATE, Collections.<QueryParamValue>emptyList()));
+
+    verify(connectionFactory, timeout(1000).times(1)).releaseConnection(any(DbConnection.class));
+    assertThat(iterator.next(), equalTo((Object) 0));
+    try {
+      iterator.hasNext();
+      fail("Expected the consumer timeout");
+    } catch (ResultSetProcessingException e) {
+      assertThat(e.getCause(), instanceOf(TimeoutException.class));
+    }
+  }
+
+  @Test
+  public void computesOffsetsBeyondIntegerRange() throws Exception {
+    int partitions = 3;
+    int pageSize = Integer.MAX_VALUE / 2 + 1;
+    CountDownLatch allPagesRequested = new CountDownLatch(partitions);
+    Answer<?> rowsAnswer = pageAnswer;
+    doAnswer(invocation -> {
+      // Makes each partition read a page before the first page ends the query
+      allPagesRequested.countDown();
+      allPagesRequested.await(1, SECONDS);
+      return rowsAnswer.answer(invocation);
+    }).when(pageExecutor).execute(any(DbConnection.class), any(Query.class));
+
+    PartitionedResultSetIterator iterator = new PartitionedSelectExecutor(pageExecutor, workers, partitions, pageSize, pageSize)
+        .execute(connectionFactory, new Query(QUERY_TEMPLATE, Collections.<QueryParamValue>emptyList()));
+
+    assertThat(((List<?>) iterator.next()).size(), equalTo(ROWS));
+    assertThat(iterator.hasNext(), is(false));
+    assertThat(offsets.contains(2L * pageSize), is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsUnorderedQuery() throws Exception {
+    QueryTemplate unordered = new QueryTemplate("SELECT * FROM (SELECT * FROM PLANET ORDER BY ID) P", QueryType.SELECT,
+                                                Collections.<QueryParam>emptyList());
+
+    new PartitionedSelectExecutor(pageExecutor, workers, 2, PAGE_SIZE, 1)
+        .execute(connectionFactory, new Query(unordered, Collections.<QueryParamValue>emptyList()));
+  }
+
+  @Test
+  public void detectsOrderByClause() throws Exception {
+    assertThat(PartitionedSelectExecutor.isOrdered("select * from PLANET order\n by ID;"), is(true));
+    assertThat(PartitionedSelectExecutor.isOrdered("SELECT * FROM PLANET WHERE NAME = 'ORDER BY'"), is(false));
+    assertThat(PartitionedSelectExecutor.isOrdered("SELECT * FROM PLANET -- ORDER BY ID"), is(false));
+    assertThat(PartitionedSelectExecutor.isOrdered("SELECT ROW_NUMBER() OVER (ORDER BY ID) FROM PLANET"), is(false));
+    assertThat(PartitionedSelectExecutor.isOrdered("SELECT * FROM PLANET ORDERS BY_ID"), is(false));
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.domain.statement;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.db.internal.domain.statement.StatementCache.StatementKey.UNSPECIFIED;
+import org.mule.runtime.module.db.internal.domain.statement.StatementCache.StatementCreator;
+import org.mule.runtime.module.db.internal.domain.statement.StatementCache.StatementKey;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+@SmallTest
+public class StatementCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String SQL = "SELECT * FROM PLANET WHERE ID = ?";
+
+  private final List<PreparedStatement> createdStatements = new ArrayList<>();
+  private final StatementCreator<PreparedStatement> creator = () -> {
+    PreparedStatement statement = mock(PreparedStatement.class);
+    createdStatements.add(statement);
+    return statement;
+  };
+
+  @Test
+  public void reusesReleasedStatement() throws Exception {
+    StatementCache cache = new StatementCache(2);
+
+    PreparedStatement statement = cache.prepare(PreparedStatement.class, createKey(SQL), creator);
+    statement.setInt(1, 1);
+    statement.close();
+    assertThat(statement.isClosed(), is(true));
+    cache.prepare(PreparedStatement.class, createKey(SQL), creator).close();
+
+    assertThat(createdStatements.size(), equalTo(1));
+    verify(createdStatements.get(0), times(2)).clearParameters();
+    verify(createdStatements.get(0), never()).close();
+    assertThat(cache.getHits(), equalTo(1L));
+    assertThat(cache.getMisses(), equalTo(1L));
+    assertThat(cache.getSize(), equalTo(1));
+  }
+
+  @Test
+  public void doesNotShareStatementInUse() throws Exception {
+    StatementCache cache = new StatementCache(2);
+
+    PreparedStatement first = cache.prepare(PreparedStatement.class, createKey(SQL), creator);
+    PreparedStatement second = cache.prepare(PreparedStatement.class, createKey(SQL), creator);
+    first.close();
+    second.close();
+
+    assertThat(createdStatements.size(), equalTo(2));
+    verify(createdStatements.get(0), never()).close();
+    verify(createdStatements.get(1)).close();
+  }
+
+  @Test
+  public void restoresStatementSettings() throws Exception {
+    StatementCache cache = new StatementCache(2);
+
+    PreparedStatement statement = cache.prepare(PreparedStatement.class, createKey(SQL), creator);
+    when(createdStatements.get(0).getMaxRows()).thenReturn(10);
+    statement.close();
+
+    verify(createdStatements.get(0)).setMaxRows(0);
+  }
+
+  @Test
+  public void closesEvictedAndIdleStatements() throws Exception {
+    StatementCache cache = new StatementCache(1);
+
+    PreparedStatement first = cache.prepare(PreparedStatement.class, createKey(SQL), creator);
+    PreparedStatement second = cache.prepare(PreparedStatement.class, createKey("SELECT * FROM PLANET"), creator);
+    first.close();
+    second.close();
+    verify(createdStatements.get(0)).close();
+
+    cache.close();
+
+    verify(createdStatements.get(1)).close();
+    assertThat(cache.getSize(), equalTo(0));
+  }
+
+  @Test
+  public void closesResultSetOnRelease() throws Exception {
+    StatementCache cache = new StatementCache(2);
+
+    PreparedStatement statement = cache.prepare(PreparedStatement.class, createKey(SQL), creator);
+    ResultSet resultSet = mock(ResultSet.class);
+    when(createdStatements.get(0).getResultSet()).thenReturn(resultSet);
+    statement.close();
+
+    verify(resultSet).close();
+    assertThat(cache.getSize(), equalTo(1));
+  }
+
+  @Test
+  public void unwrapsToProxyOrDelegate() throws Exception {
+    StatementCache cache = new StatementCache(2);
+
+    PreparedStatement statement = cache.prepare(PreparedStatement.class, createKey(SQL), creator);
+    PreparedStatement delegate = createdStatements.get(0);
+    when(delegate.isWrapperFor(Runnable.class)).thenReturn(true);
+    Runnable vendorStatement = mock(Runnable.class);
+    when(delegate.unwrap(Runnable.class)).thenReturn(vendorStatement);
+
+    assertThat(statement.isWrapperFor(PreparedStatement.class), is(true));
+    assertThat(statement.unwrap(PreparedStatement.class), sameInstance(statement));
+    assertThat(statement.isWrapperFor(Runnable.class), is(true));
+    assertThat(statement.unwrap(Runnable.class), sameInstance(vendorStatement));
+  }
+
+  @Test(expected = SQLException.class)
+  public void failsToUseReleasedStatement() throws Exception {
+    PreparedStatement statement = new StatementCache(1).prepare(PreparedStatement.class, createKey(SQL), creator);
+    statement.close();
+
+    statement.executeQuery();
+  }
+
+  private StatementKey createKey(String sql) {
+    return new StatementKey(PreparedStatement.class, sql, null, UNSPECIFIED, UNSPECIFIED, UNSPECIFIED);
+  }
+}
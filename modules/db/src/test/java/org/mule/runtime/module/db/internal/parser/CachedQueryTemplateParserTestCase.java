@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.parser;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class CachedQueryTemplateParserTestCase extends AbstractMuleTestCase {
+
+  private static final String SQL_TEXT = "select * from PLANET where id = :id";
+
+  private final QueryTemplateParser delegate = spy(new SimpleQueryTemplateParser());
+
+  @Test
+  public void parsesQueryOnlyOnce() throws Exception {
+    CachedQueryTemplateParser parser = new CachedQueryTemplateParser(delegate, 10);
+
+    QueryTemplate queryTemplate = parser.parse(SQL_TEXT);
+
+    assertThat(parser.parse(SQL_TEXT), sameInstance(queryTemplate));
+    verify(delegate, times(1)).parse(SQL_TEXT);
+    assertThat(parser.getStatistics().getHits(), equalTo(1L));
+    assertThat(parser.getStatistics().getMisses(), equalTo(1L));
+    assertThat(parser.getStatistics().getHitRate(), equalTo(0.5));
+  }
+
+  @Test
+  public void cachedQueriesAreBounded() throws Exception {
+    CachedQueryTemplateParser parser = new CachedQueryTemplateParser(delegate, 2);
+
+    for (int i = 0; i < 5; i++) {
+      parser.parse("select * from PLANET where id = " + i);
+    }
+
+    assertThat(parser.getStatistics().getSize(), equalTo(2));
+  }
+}
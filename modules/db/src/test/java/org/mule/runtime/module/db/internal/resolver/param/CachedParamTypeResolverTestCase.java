@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.resolver.param;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.runtime.module.db.internal.domain.connection.DbConnection;
+import org.mule.runtime.module.db.internal.domain.param.QueryParam;
+import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
+import org.mule.runtime.module.db.internal.domain.query.QueryType;
+import org.mule.runtime.module.db.internal.domain.type.DbType;
+import org.mule.runtime.module.db.internal.domain.type.JdbcTypes;
+import org.mule.runtime.module.db.internal.util.BoundedCache;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+@SmallTest
+public class CachedParamTypeResolverTestCase extends AbstractMuleTestCase {
+
+  private final QueryTemplate queryTemplate =
+      new QueryTemplate("select * from test where id = ?", QueryType.SELECT, Collections.<QueryParam>emptyList());
+  private final DbConnection connection = mock(DbConnection.class);
+  private final ParamTypeResolver delegate = mock(ParamTypeResolver.class);
+  private final BoundedCache<String, Map<Integer, DbType>> cache = new BoundedCache<>(10);
+
+  @Test
+  public void metadataIsOnlyReadOnce() throws Exception {
+    when(delegate.getParameterTypes(connection, queryTemplate)).thenReturn(singletonMap(1, JdbcTypes.INTEGER_DB_TYPE));
+
+    // Different resolvers, as each connection creates its own, share the cache
+    new CachedParamTypeResolver(delegate, cache).getParameterTypes(connection, queryTemplate);
+    Map<Integer, DbType> paramTypes = new CachedParamTypeResolver(delegate, cache).getParameterTypes(connection, queryTemplate);
+
+    assertThat(paramTypes.get(1), equalTo(JdbcTypes.INTEGER_DB_TYPE));
+    verify(delegate, times(1)).getParameterTypes(connection, queryTemplate);
+    assertThat(cache.getHits(), equalTo(1L));
+  }
+
+  @Test
+  public void failuresAreNotCached() throws Exception {
+    when(delegate.getParameterTypes(connection, queryTemplate)).thenThrow(new SQLException("Error"))
+        .thenReturn(singletonMap(1, JdbcTypes.INTEGER_DB_TYPE));
+    CachedParamTypeResolver paramTypeResolver = new CachedParamTypeResolver(delegate, cache);
+
+    try {
+      paramTypeResolver.getParameterTypes(connection, queryTemplate);
+    } catch (SQLException expected) {
+    }
+    Map<Integer, DbType> paramTypes = paramTypeResolver.getParameterTypes(connection, queryTemplate);
+
+    assertThat(paramTypes.get(1), equalTo(JdbcTypes.INTEGER_DB_TYPE));
+    assertThat(cache.getSize(), equalTo(1));
+  }
+}
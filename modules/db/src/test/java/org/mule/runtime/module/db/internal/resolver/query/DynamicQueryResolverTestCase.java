@@ -14,10 +14,12 @@ import static org.mockito.Mockito.when;
 import org.mule.runtime.core.api.expression.ExpressionManager;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.module.db.internal.domain.database.DbConfig;
 import org.mule.runtime.module.db.internal.domain.query.Query;
 import org.mule.runtime.module.db.internal.domain.query.QueryTemplate;
 import org.mule.runtime.module.db.internal.parser.QueryTemplateParser;
 import org.mule.runtime.module.db.internal.parser.QueryTemplateParsingException;
+import org.mule.runtime.module.db.internal.resolver.database.DbConfigResolver;
 import org.mule.tck.size.SmallTest;
 
 import org.junit.Test;
@@ -44,6 +46,26 @@ public class DynamicQueryResolverTestCase extends AbstractQueryResolverTestCase
     assertThat(expectedQueryTemplate, sameInstance(resolvedQuery.getQueryTemplate()));
   }
 
+  @Test
+  public void resolvesDynamicQueryWithConfigParser() throws Exception {
+    ExpressionManager expressionManager = mock(ExpressionManager.class);
+    when(expressionManager.parse(DYNAMIC_SQL_TEXT, muleEvent)).thenReturn(STATIC_SQL_TEXT);
+
+    QueryTemplate expectedQueryTemplate = createQueryTemplate(STATIC_SQL_TEXT);
+    QueryTemplateParser queryTemplateParser = mock(QueryTemplateParser.class);
+    when(queryTemplateParser.parse(STATIC_SQL_TEXT)).thenReturn(expectedQueryTemplate);
+    DbConfig dbConfig = mock(DbConfig.class);
+    when(dbConfig.getQueryTemplateParser()).thenReturn(queryTemplateParser);
+    DbConfigResolver dbConfigResolver = mock(DbConfigResolver.class);
+    when(dbConfigResolver.resolve(muleEvent)).thenReturn(dbConfig);
+
+    DynamicQueryResolver queryResolver = new DynamicQueryResolver(query, dbConfigResolver, expressionManager);
+
+    Query resolvedQuery = queryResolver.resolve(null, muleEvent);
+
+    assertThat(expectedQueryTemplate, sameInstance(resolvedQuery.getQueryTemplate()));
+  }
+
   @Test(expected = QueryResolutionException.class)
   public void throwsErrorOnParsingError() throws Exception {
     ExpressionManager expressionManager = mock(ExpressionManager.class);
@@ -64,7 +86,7 @@ public class DynamicQueryResolverTestCase extends AbstractQueryResolverTestCase
     when(expressionManager.parse(DYNAMIC_SQL_TEXT, muleEvent))
         .thenThrow(new ExpressionRuntimeException(CoreMessages.createStaticMessage("Error")));
 
-    DynamicQueryResolver queryResolver = new DynamicQueryResolver(query, null, expressionManager);
+    DynamicQueryResolver queryResolver = new DynamicQueryResolver(query, (QueryTemplateParser) null, expressionManager);
 
     queryResolver.resolve(null, muleEvent);
   }
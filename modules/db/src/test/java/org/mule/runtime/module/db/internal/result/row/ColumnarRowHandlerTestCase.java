@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.db.internal.result.row;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.util.CaseInsensitiveHashMap;
+import org.mule.runtime.module.db.internal.result.resultset.ListResultSetHandler;
+import org.mule.runtime.module.db.test.util.ColumnMetadata;
+import org.mule.runtime.module.db.test.util.ResultSetBuilder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+@SmallTest
+public class ColumnarRowHandlerTestCase extends AbstractMuleTestCase {
+
+  private static final String ID_COLUMN = "ID";
+  private static final String NAME_COLUMN = "Name";
+
+  @Test
+  public void rowsShareSchemaAndIgnoreCase() throws Exception {
+    List<Map<String, Object>> rows =
+        new ListResultSetHandler(new ColumnarRowHandler()).processResultSet(null, createResultSet("Mars", "Venus"));
+
+    assertThat(rows.size(), equalTo(2));
+    Map<String, Object> row = rows.get(1);
+    assertThat(row.get("id"), equalTo((Object) 2));
+    assertThat(row.get("NAME"), equalTo((Object) "Venus"));
+    assertThat(row.get(NAME_COLUMN), equalTo((Object) "Venus"));
+    assertThat(row.get("unknown"), is(nullValue()));
+    assertThat(row.containsKey("name"), is(true));
+    assertThat(row.keySet().iterator().next(), equalTo(ID_COLUMN));
+  }
+
+  @Test
+  public void equalsInsensitiveMapRow() throws Exception {
+    ResultSet resultSet = createResultSet("Mars");
+    resultSet.next();
+
+    Map<String, Object> columnarRow = new ColumnarRowHandler().process(resultSet);
+    CaseInsensitiveHashMap mapRow = new CaseInsensitiveHashMap(new InsensitiveMapRowHandler().process(resultSet));
+
+    assertThat(columnarRow, equalTo((Map<String, Object>) mapRow));
+    assertThat(columnarRow.hashCode(), equalTo(mapRow.hashCode()));
+  }
+
+  @Test
+  public void replacesColumnValue() throws Exception {
+    ResultSet resultSet = createResultSet("Mars");
+    resultSet.next();
+    Map<String, Object> row = new ColumnarRowHandler().process(resultSet);
+
+    row.put("name", "Earth");
+
+    assertThat(row.get(NAME_COLUMN), equalTo((Object) "Earth"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void detectColumnLabelDuplication() throws Exception {
+    new RowSchema(new String[] {NAME_COLUMN, NAME_COLUMN.toUpperCase()});
+  }
+
+  private ResultSet createResultSet(String... names) {
+    List<ColumnMetadata> columns = new ArrayList<>();
+    columns.add(new ColumnMetadata(ID_COLUMN, 1));
+    columns.add(new ColumnMetadata(NAME_COLUMN, 2));
+
+    ResultSetBuilder resultSetBuilder = new ResultSetBuilder(columns);
+    for (int i = 0; i < names.length; i++) {
+      Map<String, Object> record = new HashMap<>();
+      record.put(ID_COLUMN, i + 1);
+      record.put(NAME_COLUMN, names[i]);
+      resultSetBuilder.with(record);
+    }
+    return resultSetBuilder.build();
+  }
+}
@@ -89,6 +89,33 @@ public class HttpRequesterConfigBuilder {
     return this;
   }
 
+  /**
+   * @param maxConnectionsPerHost the maximum number of outgoing connections opened to each host
+   * @return the builder
+   */
+  public HttpRequesterConfigBuilder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+    defaultHttpRequesterConfig.setMaxConnectionsPerHost(maxConnectionsPerHost);
+    return this;
+  }
+
+  /**
+   * @param maxPendingRequestsPerHost the maximum number of requests waiting for a connection to each host
+   * @return the builder
+   */
+  public HttpRequesterConfigBuilder setMaxPendingRequestsPerHost(int maxPendingRequestsPerHost) {
+    defaultHttpRequesterConfig.setMaxPendingRequestsPerHost(maxPendingRequestsPerHost);
+    return this;
+  }
+
+  /**
+   * @param adaptiveConnectionLimit whether the connections to each host are limited according to its latency
+   * @return the builder
+   */
+  public HttpRequesterConfigBuilder setAdaptiveConnectionLimit(boolean adaptiveConnectionLimit) {
+    defaultHttpRequesterConfig.setAdaptiveConnectionLimit(adaptiveConnectionLimit);
+    return this;
+  }
+
   /**
    * @param usePersistentConnections true to reuse a connection for several request, false to discard a connection after the first
    *        request.
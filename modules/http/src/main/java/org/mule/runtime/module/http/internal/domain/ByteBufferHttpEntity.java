@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.domain;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Entity whose content is the remaining bytes of a {@link ByteBuffer}, which can be sent without copying them, even when the
+ * buffer is direct.
+ *
+ * @since 4.0
+ */
+public class ByteBufferHttpEntity implements HttpEntity {
+
+  private final ByteBuffer content;
+
+  public ByteBufferHttpEntity(ByteBuffer content) {
+    this.content = content;
+  }
+
+  /**
+   * @return a view of the content, so reading from it doesn't change the position of the original buffer
+   */
+  public ByteBuffer getContent() {
+    return this.content.duplicate();
+  }
+
+  public int getContentLength() {
+    return this.content.remaining();
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.domain;
+
+import java.io.File;
+
+/**
+ * Entity whose content is a file, which can be sent without loading it in memory.
+ *
+ * @since 4.0
+ */
+public class FileHttpEntity implements HttpEntity {
+
+  private final File file;
+  private final long contentLength;
+
+  public FileHttpEntity(File file) {
+    this.file = file;
+    this.contentLength = file.length();
+  }
+
+  public File getFile() {
+    return this.file;
+  }
+
+  public long getContentLength() {
+    return this.contentLength;
+  }
+}
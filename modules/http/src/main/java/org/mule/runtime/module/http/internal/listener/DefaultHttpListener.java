@@ -29,6 +29,7 @@ import org.mule.runtime.module.http.api.listener.HttpListenerConfig;
 import org.mule.runtime.module.http.api.requester.HttpStreamingType;
 import org.mule.runtime.module.http.internal.HttpParser;
 import org.mule.runtime.module.http.internal.domain.ByteArrayHttpEntity;
+import org.mule.runtime.module.http.internal.domain.MultipartHttpEntity;
 import org.mule.runtime.module.http.internal.domain.request.HttpRequestContext;
 import org.mule.runtime.module.http.internal.listener.async.HttpResponseReadyCallback;
 import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
@@ -36,8 +37,11 @@ import org.mule.runtime.module.http.internal.listener.async.ResponseStatusCallba
 import org.mule.runtime.module.http.internal.listener.matcher.AcceptsAllMethodsRequestMatcher;
 import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMatcher;
 import org.mule.runtime.module.http.internal.listener.matcher.MethodRequestMatcher;
+import org.mule.runtime.module.http.internal.multipart.HttpPart;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -113,14 +117,17 @@ public class DefaultHttpListener implements HttpListener, Initialisable, MuleCon
 
       @Override
       public void handleRequest(HttpRequestContext requestContext, HttpResponseReadyCallback responseCallback) {
+        boolean processing = false;
         try {
+          final MuleEvent event = createEvent(requestContext);
           final HttpMessageProcessorTemplate httpMessageProcessorTemplate =
-              new HttpMessageProcessorTemplate(createEvent(requestContext), messageProcessor, responseCallback, responseBuilder,
-                                               errorResponseBuilder);
+              new HttpMessageProcessorTemplate(event, messageProcessor, deletePartsOnResponse(requestContext, responseCallback),
+                                               responseBuilder, errorResponseBuilder);
           final HttpMessageProcessContext messageProcessContext =
               new HttpMessageProcessContext(DefaultHttpListener.this, flowConstruct, config.getWorkManager(),
                                             muleContext.getExecutionClassLoader());
           messageProcessingManager.processMessage(httpMessageProcessorTemplate, messageProcessContext);
+          processing = true;
         } catch (HttpRequestParsingException | IllegalArgumentException e) {
           logger.warn("Exception occurred parsing request:", e);
           sendErrorResponse(BAD_REQUEST, e.getMessage(), responseCallback);
@@ -128,6 +135,10 @@ public class DefaultHttpListener implements HttpListener, Initialisable, MuleCon
           logger.warn("Exception occurred processing request:", e);
           sendErrorResponse(INTERNAL_SERVER_ERROR, SERVER_PROBLEM, responseCallback);
         } finally {
+          // Once processing, the parts are deleted when the response is sent
+          if (!processing) {
+            deleteParts(requestContext);
+          }
           RequestContext.clear();
         }
       }
@@ -155,6 +166,58 @@ public class DefaultHttpListener implements HttpListener, Initialisable, MuleCon
     };
   }
 
+  /**
+   * Parts of a multipart request may be held in temporary files, which are removed once the response is sent, whether the flow
+   * consumed them or not.
+   */
+  private HttpResponseReadyCallback deletePartsOnResponse(HttpRequestContext requestContext,
+                                                          HttpResponseReadyCallback responseCallback) {
+    if (!parseRequest || !(requestContext.getRequest().getEntity() instanceof MultipartHttpEntity)) {
+      return responseCallback;
+    }
+    final Collection<HttpPart> parts = ((MultipartHttpEntity) requestContext.getRequest().getEntity()).getParts();
+    if (parts.stream().noneMatch(part -> part.getContentFile() != null)) {
+      return responseCallback;
+    }
+
+    return (response, responseStatusCallback) -> responseCallback.responseReady(response, new ResponseStatusCallback() {
+
+      @Override
+      public void responseSendFailure(Throwable exception) {
+        try {
+          responseStatusCallback.responseSendFailure(exception);
+        } finally {
+          deleteParts(parts);
+        }
+      }
+
+      @Override
+      public void responseSendSuccessfully() {
+        try {
+          responseStatusCallback.responseSendSuccessfully();
+        } finally {
+          deleteParts(parts);
+        }
+      }
+    });
+  }
+
+  private void deleteParts(HttpRequestContext requestContext) {
+    if (requestContext.getRequest().getEntity() instanceof MultipartHttpEntity) {
+      deleteParts(((MultipartHttpEntity) requestContext.getRequest().getEntity()).getParts());
+    }
+  }
+
+  private void deleteParts(Collection<HttpPart> parts) {
+    for (HttpPart part : parts) {
+      try {
+        part.delete();
+      } catch (IOException e) {
+        logger.warn("Could not delete temporary content of part {}: {}", part.getName(), e.getMessage());
+      }
+    }
+  }
+
   private MuleEvent createEvent(HttpRequestContext requestContext) throws HttpRequestParsingException {
     MuleEvent muleEvent =
         HttpRequestToMuleEvent.transform(requestContext, muleContext, flowConstruct, parseRequest, listenerPath);
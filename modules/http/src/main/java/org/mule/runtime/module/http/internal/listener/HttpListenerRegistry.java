@@ -6,19 +6,19 @@
  */
 package org.mule.runtime.module.http.internal.listener;
 
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
 import static org.mule.runtime.module.http.internal.HttpParser.normalizePathWithSpacesOrEncodedSpaces;
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
 import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
+import org.mule.runtime.module.http.internal.listener.matcher.AcceptsAllMethodsRequestMatcher;
 import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.MethodRequestMatcher;
 import org.mule.runtime.core.util.Preconditions;
 import org.mule.runtime.core.util.StringUtils;
 
 import com.google.common.base.Joiner;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.TreeMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +36,7 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
 
   private static final String WILDCARD_CHARACTER = "*";
   private static final String SLASH = "/";
+  private static final String SPACE_ENTITY = "%20";
   private Logger logger = LoggerFactory.getLogger(getClass());
 
   private final ServerAddressMap<Server> serverAddressToServerMap = new ServerAddressMap<>();
@@ -75,17 +77,11 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     private PathMap rootPathMap = new PathMap();
     private PathMap catchAllPathMap = new PathMap();
     private Set<String> paths = new HashSet<>();
-    private LoadingCache<String, Stack<PathMap>> pathMapSearchCache =
-        CacheBuilder.newBuilder().maximumSize(1000).build(new CacheLoader<String, Stack<PathMap>>() {
-
-          public Stack<PathMap> load(String path) {
-            return findPossibleRequestHandlers(path);
-          }
-        });
+    // Compiled from the path maps above each time a handler is added or removed, requests are resolved against it
+    private volatile Routes routes = new Routes(null, null);
 
     public synchronized RequestHandlerManager addRequestHandler(final ListenerRequestMatcher requestMatcher,
                                                                 final RequestHandler requestHandler) {
-      pathMapSearchCache.invalidateAll();
       String requestMatcherPath = normalizePathWithSpacesOrEncodedSpaces(requestMatcher.getPath());
       Preconditions.checkArgument(requestMatcherPath.startsWith(SLASH) || requestMatcherPath.equals(WILDCARD_CHARACTER),
                                   "path parameter must start with /");
@@ -138,12 +134,22 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
           requestHandlerOwner = pathMap;
         }
       }
-      return new DefaultRequestHandlerManager(requestHandlerOwner, addedRequestHandlerMatcherPair);
+      compileRoutes();
+      return new DefaultRequestHandlerManager(this, requestHandlerOwner, addedRequestHandlerMatcherPair);
+    }
+
+    synchronized void removeRequestHandler(PathMap requestHandlerOwner, RequestHandlerMatcherPair requestHandlerMatcherPair) {
+      requestHandlerOwner.removeRequestHandlerMatcherPair(requestHandlerMatcherPair);
+      compileRoutes();
+    }
+
+    private void compileRoutes() {
+      routes = new Routes(RoutingNode.compile(rootPathMap), Route.compile(catchAllPathMap));
     }
 
     private void validateCollision(ListenerRequestMatcher newListenerRequestMatcher) {
       final String newListenerRequestMatcherPath = newListenerRequestMatcher.getPath();
-      final Stack<PathMap> possibleRequestHandlers = findPossibleRequestHandlersFromCache(newListenerRequestMatcherPath);
+      final Stack<PathMap> possibleRequestHandlers = findPossibleRequestHandlers(newListenerRequestMatcherPath);
       for (PathMap possibleRequestHandler : possibleRequestHandlers) {
         final List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = possibleRequestHandler.getRequestHandlerMatcherPairs();
         for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
@@ -170,30 +176,17 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     }
 
     public RequestHandler findRequestHandler(final HttpRequest request) {
-      final String path = normalizePathWithSpacesOrEncodedSpaces(request.getPath());
+      final String path = normalizePath(request.getPath());
       Preconditions.checkArgument(path.startsWith(SLASH), "path parameter must start with /");
-      Stack<PathMap> foundPaths = findPossibleRequestHandlersFromCache(path);
-
-      boolean methodNotAllowed = false;
-      RequestHandlerMatcherPair requestHandlerMatcherPair = null;
-      while (!foundPaths.empty()) {
-        final PathMap pathMap = foundPaths.pop();
-        List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = pathMap.getRequestHandlerMatcherPairs();
-        requestHandlerMatcherPair = findRequestHandlerMatcherPair(requestHandlerMatcherPairs, request);
-        if (requestHandlerMatcherPair != null) {
-          break;
-        }
-        if (!requestHandlerMatcherPairs.isEmpty()) {
-          // there were matching paths but no matching methods
-          methodNotAllowed = true;
-        }
-      }
+      final Routes currentRoutes = routes;
+      final RequestHandlerMatcherPair requestHandlerMatcherPair = currentRoutes.find(path, request.getMethod());
       if (requestHandlerMatcherPair == null) {
         if (logger.isInfoEnabled()) {
           logger.info("No listener found for request: " + getMethodAndPath(request.getMethod(), request.getPath()));
           logger.info("Available listeners are: [{}]", Joiner.on(", ").join(this.paths));
         }
-        if (methodNotAllowed) {
+        if (currentRoutes.find(path, null) != null) {
+          // there were matching paths but no matching methods
           return NoMethodRequestHandler.getInstance();
         }
         return NoListenerRequestHandler.getInstance();
@@ -204,12 +197,16 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
       return requestHandlerMatcherPair.getRequestHandler();
     }
 
-    private String getMethodAndPath(String method, String path) {
-      return "(" + method + ")" + path;
+    private String normalizePath(String path) {
+      // Avoids the regular expressions in the common case of a path without spaces
+      if (path.indexOf('+') < 0 && !path.contains(SPACE_ENTITY)) {
+        return path;
+      }
+      return normalizePathWithSpacesOrEncodedSpaces(path);
     }
 
-    private Stack<PathMap> findPossibleRequestHandlersFromCache(String path) {
-      return findPossibleRequestHandlers(path);
+    private String getMethodAndPath(String method, String path) {
+      return "(" + method + ")" + path;
     }
 
     private Stack<PathMap> findPossibleRequestHandlers(String path) {
@@ -251,16 +248,6 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
         foundPaths.push(catchAllPathMap);
       }
     }
-
-    private RequestHandlerMatcherPair findRequestHandlerMatcherPair(List<RequestHandlerMatcherPair> requestHandlerMatcherPairs,
-                                                                    HttpRequest request) {
-      for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
-        if (requestHandlerMatcherPair.getRequestMatcher().matches(request)) {
-          return requestHandlerMatcherPair;
-        }
-      }
-      return null;
-    }
   }
 
   private boolean isUriParameter(String pathPart) {
@@ -379,7 +366,7 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
 
     private ListenerRequestMatcher requestMatcher;
     private RequestHandler requestHandler;
-    private boolean running = true;
+    private volatile boolean running = true;
 
     private RequestHandlerMatcherPair(ListenerRequestMatcher requestMatcher, RequestHandler requestHandler) {
       this.requestMatcher = requestMatcher;
@@ -403,4 +390,191 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     }
 
   }
+
+  /**
+   * Immutable snapshot of the listeners of a server address, compiled from its {@link PathMap}s. A path is resolved against it
+   * without allocating or locking, visiting the same candidates in the same order as {@code findPossibleRequestHandlers}: the
+   * most specific path first, then the catch all paths of the levels above it and finally the server catch all path.
+   */
+  private static final class Routes {
+
+    private final RoutingNode root;
+    private final Route catchAll;
+
+    private Routes(RoutingNode root, Route catchAll) {
+      this.root = root;
+      this.catchAll = catchAll;
+    }
+
+    /**
+     * @param path a normalized path, starting with a slash
+     * @param method the request method, or {@code null} to find any listener for the path, regardless of its methods
+     * @return the first listener matching the path and method, or {@code null} if there's none
+     */
+    private RequestHandlerMatcherPair find(String path, String method) {
+      RequestHandlerMatcherPair found = null;
+      if (root != null) {
+        if (path.equals(SLASH)) {
+          found = Route.find(root.route, method);
+        } else {
+          found = root.find(path, 1, path.endsWith(SLASH) ? path.length() - 1 : path.length(), method);
+        }
+      }
+      return found != null ? found : Route.find(catchAll, method);
+    }
+  }
+
+  /**
+   * Level of the routing trie, with its children indexed by path segment in an open addressing table so they can be looked up
+   * by a region of the request path.
+   */
+  private static final class RoutingNode {
+
+    private final String[] segments;
+    private final RoutingNode[] children;
+    private final RoutingNode uriParamChild;
+    private final Route route;
+    private final Route catchAll;
+
+    private RoutingNode(String[] segments, RoutingNode[] children, RoutingNode uriParamChild, Route route, Route catchAll) {
+      this.segments = segments;
+      this.children = children;
+      this.uriParamChild = uriParamChild;
+      this.route = route;
+      this.catchAll = catchAll;
+    }
+
+    private static RoutingNode compile(PathMap pathMap) {
+      int capacity = 1;
+      while (capacity < pathMap.subPaths.size() * 2) {
+        capacity <<= 1;
+      }
+      final String[] segments = new String[capacity];
+      final RoutingNode[] children = new RoutingNode[capacity];
+      for (Map.Entry<String, PathMap> subPath : pathMap.subPaths.entrySet()) {
+        final String segment = subPath.getKey();
+        int index = hash(segment, 0, segment.length()) & (capacity - 1);
+        while (segments[index] != null) {
+          index = (index + 1) & (capacity - 1);
+        }
+        segments[index] = segment;
+        children[index] = compile(subPath.getValue());
+      }
+      return new RoutingNode(segments, children,
+                             pathMap.catchAllCurrentPathMap != null ? compile(pathMap.catchAllCurrentPathMap) : null,
+                             Route.compile(pathMap), Route.compile(pathMap.catchAllPathMap));
+    }
+
+    /**
+     * Resolves the segment of the path starting at {@code start} against the children of this node, and the rest of the path
+     * against the matching child.
+     */
+    private RequestHandlerMatcherPair find(String path, int start, int end, String method) {
+      int segmentEnd = path.indexOf('/', start);
+      final boolean last = segmentEnd < 0 || segmentEnd >= end;
+      if (last) {
+        segmentEnd = end;
+      }
+      RoutingNode child = getChild(path, start, segmentEnd);
+      final boolean missingChild = child == null;
+      if (missingChild) {
+        child = uriParamChild;
+      }
+
+      RequestHandlerMatcherPair found = null;
+      if (last) {
+        if (child != null) {
+          found = Route.find(child.route, method);
+          if (found == null) {
+            found = Route.find(child.catchAll, method);
+          }
+        } else {
+          found = Route.find(catchAll, method);
+        }
+      } else if (child != null) {
+        found = child.find(path, segmentEnd + 1, end, method);
+      }
+      if (found == null && missingChild) {
+        found = Route.find(catchAll, method);
+      }
+      return found;
+    }
+
+    private RoutingNode getChild(String path, int start, int end) {
+      final int length = end - start;
+      if (length > 0 && ((length == 1 && path.charAt(start) == '*')
+          || (path.charAt(start) == '{' && path.charAt(end - 1) == '}'))) {
+        return uriParamChild;
+      }
+      final int mask = segments.length - 1;
+      int index = hash(path, start, end) & mask;
+      String segment;
+      while ((segment = segments[index]) != null) {
+        if (segment.length() == length && path.regionMatches(start, segment, 0, length)) {
+          return children[index];
+        }
+        index = (index + 1) & mask;
+      }
+      return null;
+    }
+
+    private static int hash(String value, int start, int end) {
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + value.charAt(i);
+      }
+      return hash ^ (hash >>> 16);
+    }
+  }
+
+  /**
+   * Listeners of a path, dispatched by method. As in the order they were added, the first listener accepting a method wins.
+   */
+  private static final class Route {
+
+    private final RequestHandlerMatcherPair first;
+    private final Map<String, RequestHandlerMatcherPair> pairPerMethod;
+    private final RequestHandlerMatcherPair anyMethodPair;
+
+    private Route(RequestHandlerMatcherPair first, Map<String, RequestHandlerMatcherPair> pairPerMethod,
+                  RequestHandlerMatcherPair anyMethodPair) {
+      this.first = first;
+      this.pairPerMethod = pairPerMethod;
+      this.anyMethodPair = anyMethodPair;
+    }
+
+    private static Route compile(PathMap pathMap) {
+      if (pathMap == null || pathMap.requestHandlerMatcherPairs.isEmpty()) {
+        return null;
+      }
+      final Map<String, RequestHandlerMatcherPair> pairPerMethod = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+      RequestHandlerMatcherPair anyMethodPair = null;
+      for (RequestHandlerMatcherPair pair : pathMap.requestHandlerMatcherPairs) {
+        final MethodRequestMatcher methodRequestMatcher = pair.getRequestMatcher().getMethodRequestMatcher();
+        if (methodRequestMatcher instanceof AcceptsAllMethodsRequestMatcher) {
+          if (anyMethodPair == null) {
+            anyMethodPair = pair;
+          }
+        } else {
+          for (String method : methodRequestMatcher.getMethods()) {
+            if (!pairPerMethod.containsKey(method)) {
+              pairPerMethod.put(method, anyMethodPair != null ? anyMethodPair : pair);
+            }
+          }
+        }
+      }
+      return new Route(pathMap.requestHandlerMatcherPairs.get(0), pairPerMethod, anyMethodPair);
+    }
+
+    private static RequestHandlerMatcherPair find(Route route, String method) {
+      if (route == null) {
+        return null;
+      }
+      if (method == null) {
+        return route.first;
+      }
+      final RequestHandlerMatcherPair pair = route.pairPerMethod.get(method);
+      return pair != null ? pair : route.anyMethodPair;
+    }
+  }
 }
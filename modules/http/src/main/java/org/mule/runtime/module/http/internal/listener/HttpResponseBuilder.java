@@ -41,7 +41,9 @@ import org.mule.runtime.module.http.internal.HttpParamType;
 import org.mule.runtime.module.http.internal.HttpParser;
 import org.mule.runtime.module.http.internal.ParameterMap;
 import org.mule.runtime.module.http.internal.domain.ByteArrayHttpEntity;
+import org.mule.runtime.module.http.internal.domain.ByteBufferHttpEntity;
 import org.mule.runtime.module.http.internal.domain.EmptyHttpEntity;
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
 import org.mule.runtime.module.http.internal.domain.HttpEntity;
 import org.mule.runtime.module.http.internal.domain.HttpProtocol;
 import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
@@ -50,8 +52,14 @@ import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
 import org.mule.runtime.module.http.internal.multipart.HttpMultipartEncoder;
 import org.mule.runtime.module.http.internal.multipart.HttpPartDataSource;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -135,7 +143,7 @@ public class HttpResponseBuilder extends HttpMessageBuilder implements Initialis
       }
       httpEntity = createMultipartEntity(event, httpResponseHeaderBuilder.getContentType());
       resolveEncoding(httpResponseHeaderBuilder, existingTransferEncoding, existingContentLength, supportsTransferEncoding(event),
-                      (ByteArrayHttpEntity) httpEntity);
+                      ((ByteArrayHttpEntity) httpEntity).getContent().length);
     } else {
       final Object payload = event.getMessage().getPayload();
       if (payload == null) {
@@ -148,6 +156,25 @@ public class HttpResponseBuilder extends HttpMessageBuilder implements Initialis
           warnMapPayloadButNoUrlEncodedContentType(httpResponseHeaderBuilder.getContentType());
         }
         httpEntity = createUrlEncodedEntity(event, (Map) payload);
+      } else if (isFile(payload)) {
+        // The length is known and the file is sent as is, so there's no need for chunked encoding even when always streaming
+        FileHttpEntity fileHttpEntity = new FileHttpEntity(payload instanceof Path ? ((Path) payload).toFile() : (File) payload);
+        setupContentLengthEncoding(httpResponseHeaderBuilder, fileHttpEntity.getContentLength());
+        httpEntity = fileHttpEntity;
+      } else if (payload instanceof Path && Files.isRegularFile((Path) payload)) {
+        // Files of other file systems, such as zip archives, can't be sent as a java.io.File, so their content is streamed
+        Path path = (Path) payload;
+        try {
+          setupContentLengthEncoding(httpResponseHeaderBuilder, Files.size(path));
+          httpEntity = new InputStreamHttpEntity(Files.newInputStream(path));
+        } catch (IOException e) {
+          throw new MessagingException(event, e);
+        }
+      } else if (payload instanceof ByteBuffer) {
+        ByteBufferHttpEntity byteBufferHttpEntity = new ByteBufferHttpEntity((ByteBuffer) payload);
+        resolveEncoding(httpResponseHeaderBuilder, existingTransferEncoding, existingContentLength,
+                        supportsTransferEncoding(event), byteBufferHttpEntity.getContentLength());
+        httpEntity = byteBufferHttpEntity;
       } else if (payload instanceof InputStream) {
         if (responseStreaming == ALWAYS || (responseStreaming == AUTO && existingContentLength == null)) {
           if (supportsTransferEncoding(event)) {
@@ -163,7 +190,7 @@ public class HttpResponseBuilder extends HttpMessageBuilder implements Initialis
         try {
           ByteArrayHttpEntity byteArrayHttpEntity = new ByteArrayHttpEntity(event.getMessageAsBytes());
           resolveEncoding(httpResponseHeaderBuilder, existingTransferEncoding, existingContentLength,
-                          supportsTransferEncoding(event), byteArrayHttpEntity);
+                          supportsTransferEncoding(event), byteArrayHttpEntity.getContent().length);
           httpEntity = byteArrayHttpEntity;
         } catch (Exception e) {
           throw new RuntimeException(e);
@@ -197,24 +224,28 @@ public class HttpResponseBuilder extends HttpMessageBuilder implements Initialis
   }
 
   private void resolveEncoding(HttpResponseHeaderBuilder httpResponseHeaderBuilder, String existingTransferEncoding,
-                               String existingContentLength, boolean supportsTranferEncoding,
-                               ByteArrayHttpEntity byteArrayHttpEntity) {
+                               String existingContentLength, boolean supportsTranferEncoding, long contentLength) {
     if (responseStreaming == ALWAYS
         || (responseStreaming == AUTO && existingContentLength == null && CHUNKED.equals(existingTransferEncoding))) {
       if (supportsTranferEncoding) {
         setupChunkedEncoding(httpResponseHeaderBuilder);
       }
     } else {
-      setupContentLengthEncoding(httpResponseHeaderBuilder, byteArrayHttpEntity.getContent().length);
+      setupContentLengthEncoding(httpResponseHeaderBuilder, contentLength);
     }
   }
 
+  private boolean isFile(Object payload) {
+    return (payload instanceof File && ((File) payload).isFile()) || (payload instanceof Path
+        && ((Path) payload).getFileSystem() == FileSystems.getDefault() && Files.isRegularFile((Path) payload));
+  }
+
   private boolean isNotIgnoredProperty(String outboundPropertyName) {
     return !outboundPropertyName.startsWith(HTTP_PREFIX) && !outboundPropertyName.equalsIgnoreCase(CONNECTION)
         && !outboundPropertyName.equalsIgnoreCase(TRANSFER_ENCODING);
   }
 
-  private void setupContentLengthEncoding(HttpResponseHeaderBuilder httpResponseHeaderBuilder, int contentLength) {
+  private void setupContentLengthEncoding(HttpResponseHeaderBuilder httpResponseHeaderBuilder, long contentLength) {
     if (httpResponseHeaderBuilder.getTransferEncoding() != null) {
       logger.debug("Content-Length encoding is being used so the 'Transfer-Encoding' header has been removed");
       httpResponseHeaderBuilder.removeHeader(TRANSFER_ENCODING);
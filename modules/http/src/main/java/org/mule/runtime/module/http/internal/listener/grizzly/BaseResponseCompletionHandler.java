@@ -11,6 +11,7 @@ import static org.mule.runtime.module.http.api.HttpHeaders.Names.TRANSFER_ENCODI
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CLOSE;
 import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
 
+import java.io.IOException;
 import java.util.Collection;
 
 import org.glassfish.grizzly.EmptyCompletionHandler;
@@ -20,6 +21,13 @@ import org.glassfish.grizzly.http.HttpResponsePacket;
 
 public abstract class BaseResponseCompletionHandler extends EmptyCompletionHandler<WriteResult> {
 
+  /**
+   * Starts sending the response asynchronously.
+   *
+   * @throws IOException
+   */
+  public abstract void start() throws IOException;
+
   protected HttpResponsePacket buildHttpResponsePacket(HttpRequestPacket sourceRequest, HttpResponse httpResponse) {
     final HttpResponsePacket.Builder responsePacketBuilder = HttpResponsePacket.builder(sourceRequest)
         .status(httpResponse.getStatusCode()).reasonPhrase(httpResponse.getReasonPhrase());
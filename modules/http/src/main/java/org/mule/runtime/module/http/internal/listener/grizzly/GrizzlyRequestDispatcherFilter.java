@@ -13,7 +13,9 @@ import static org.mule.runtime.module.http.api.HttpConstants.Protocols.HTTPS;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.EXPECT;
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CONTINUE;
 import static org.mule.runtime.module.http.internal.listener.grizzly.MuleSslFilter.SSL_SESSION_ATTRIBUTE_KEY;
+import static org.mule.runtime.module.http.internal.listener.grizzly.ResponseSequencer.getResponseSequencer;
 
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
 import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
 import org.mule.runtime.module.http.internal.domain.request.ClientConnection;
 import org.mule.runtime.module.http.internal.domain.request.HttpRequestContext;
@@ -22,6 +24,7 @@ import org.mule.runtime.module.http.internal.listener.RequestHandlerProvider;
 import org.mule.runtime.module.http.internal.listener.async.HttpResponseReadyCallback;
 import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
 import org.mule.runtime.module.http.internal.listener.async.ResponseStatusCallback;
+import org.mule.runtime.module.http.internal.listener.grizzly.ResponseSequencer.ResponseTurn;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -37,13 +40,23 @@ import org.glassfish.grizzly.http.HttpResponsePacket;
 
 /**
  * Grizzly filter that dispatches the request to the right request handler
+ * <p/>
+ * Requests pipelined on a keep alive connection are dispatched without waiting for the response to the previous ones, up to
+ * {@code maxPipelinedRequests} at a time. Their responses are sent in order by the {@link ResponseSequencer} of the connection.
  */
 public class GrizzlyRequestDispatcherFilter extends BaseFilter {
 
   private final RequestHandlerProvider requestHandlerProvider;
+  private final int maxPipelinedRequests;
 
-  GrizzlyRequestDispatcherFilter(final RequestHandlerProvider requestHandlerProvider) {
+  /**
+   * @param requestHandlerProvider provides the handler for each request
+   * @param maxPipelinedRequests the maximum number of requests of a connection processed at the same time. With 1, the next
+   *        request of a connection isn't read until the response to the current one is sent.
+   */
+  GrizzlyRequestDispatcherFilter(final RequestHandlerProvider requestHandlerProvider, int maxPipelinedRequests) {
     this.requestHandlerProvider = requestHandlerProvider;
+    this.maxPipelinedRequests = maxPipelinedRequests;
   }
 
   @Override
@@ -73,22 +86,40 @@ public class GrizzlyRequestDispatcherFilter extends BaseFilter {
     final GrizzlyHttpRequestAdapter httpRequest = new GrizzlyHttpRequestAdapter(ctx, httpContent);
     HttpRequestContext requestContext = createRequestContext(ctx, scheme, httpRequest);
     final RequestHandler requestHandler = requestHandlerProvider.getRequestHandler(ip, port, httpRequest);
+
+    final ResponseSequencer responseSequencer = getResponseSequencer(ctx.getConnection());
+    // A request whose content is still being received must hold the connection until it's read
+    final boolean pipelined = httpContent.isLast() && request.getProcessingState().isKeepAlive()
+        && responseSequencer.getPendingResponses() + 1 < maxPipelinedRequests;
+    // Taken before dispatching, since the response may be sent (and this context recycled) before the handler returns
+    final NextAction nextAction = pipelined ? ctx.getForkAction(ctx.getStopAction()) : ctx.getSuspendAction();
+    final ResponseTurn responseTurn = responseSequencer.nextTurn(ctx, request, pipelined);
+
     requestHandler.handleRequest(requestContext, new HttpResponseReadyCallback() {
 
       @Override
       public void responseReady(HttpResponse httpResponse, ResponseStatusCallback responseStatusCallback) {
+        final BaseResponseCompletionHandler responseCompletionHandler;
         try {
           if (httpResponse.getEntity() instanceof InputStreamHttpEntity) {
-            new ResponseStreamingCompletionHandler(ctx, request, httpResponse, responseStatusCallback).start();
+            responseCompletionHandler =
+                new ResponseStreamingCompletionHandler(ctx, request, httpResponse, responseStatusCallback, responseTurn);
+          } else if (httpResponse.getEntity() instanceof FileHttpEntity) {
+            responseCompletionHandler =
+                new ResponseFileCompletionHandler(ctx, request, httpResponse, responseStatusCallback, responseTurn);
           } else {
-            new ResponseCompletionHandler(ctx, request, httpResponse, responseStatusCallback).start();
+            responseCompletionHandler =
+                new ResponseCompletionHandler(ctx, request, httpResponse, responseStatusCallback, responseTurn);
           }
         } catch (Exception e) {
           responseStatusCallback.responseSendFailure(e);
+          responseTurn.responseFailed();
+          return;
         }
+        responseTurn.send(responseCompletionHandler);
       }
     });
-    return ctx.getSuspendAction();
+    return nextAction;
   }
 
   private HttpRequestContext createRequestContext(FilterChainContext ctx, String scheme, GrizzlyHttpRequestAdapter httpRequest) {
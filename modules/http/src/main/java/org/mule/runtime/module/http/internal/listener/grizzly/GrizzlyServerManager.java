@@ -48,6 +48,9 @@ public class GrizzlyServerManager implements HttpServerManager {
 
   // Defines the maximum size in bytes accepted for the http request header section (request line + headers)
   public static final String MAXIMUM_HEADER_SECTION_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "http.headerSectionSize";
+  // Defines the maximum number of pipelined requests of a connection that are processed at the same time
+  public static final String MAXIMUM_PIPELINED_REQUESTS_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "http.maxPipelinedRequests";
+  private static final int DEFAULT_MAX_PIPELINED_REQUESTS = 16;
   private static final int MAX_KEEP_ALIVE_REQUESTS = -1;
   private static final String IDLE_TIMEOUT_THREADS_PREFIX_NAME = ".HttpIdleConnectionCloser";
   private static final String LISTENER_WORKER_THREAD_NAME_SUFFIX = ".worker";
@@ -67,7 +70,9 @@ public class GrizzlyServerManager implements HttpServerManager {
                               TcpServerSocketProperties serverSocketProperties)
       throws IOException {
     this.httpListenerRegistry = httpListenerRegistry;
-    requestHandlerFilter = new GrizzlyRequestDispatcherFilter(httpListenerRegistry);
+    requestHandlerFilter = new GrizzlyRequestDispatcherFilter(httpListenerRegistry,
+                                                              retrieveIntProperty(MAXIMUM_PIPELINED_REQUESTS_PROPERTY_KEY,
+                                                                                  DEFAULT_MAX_PIPELINED_REQUESTS));
     sslFilterDelegate = new GrizzlyAddressDelegateFilter<>();
     httpServerFilterDelegate = new GrizzlyAddressDelegateFilter<>();
 
@@ -236,20 +241,20 @@ public class GrizzlyServerManager implements HttpServerManager {
       ka.setMaxRequestsCount(MAX_KEEP_ALIVE_REQUESTS);
       ka.setIdleTimeoutInSeconds(convertToSeconds(connectionIdleTimeout));
     }
-    HttpServerFilter httpServerFilter =
-        new HttpServerFilter(true, retrieveMaximumHeaderSectionSize(), ka, idleTimeoutDelayedExecutor);
+    final int maximumHeaderSectionSize =
+        retrieveIntProperty(MAXIMUM_HEADER_SECTION_SIZE_PROPERTY_KEY, DEFAULT_MAX_HTTP_PACKET_HEADER_SIZE);
+    HttpServerFilter httpServerFilter = new HttpServerFilter(true, maximumHeaderSectionSize, ka, idleTimeoutDelayedExecutor);
     httpServerFilter.getMonitoringConfig().addProbes(new HttpMessageLogger(LISTENER));
     httpServerFilter.setAllowPayloadForUndefinedHttpMethods(true);
     return httpServerFilter;
   }
 
-  private int retrieveMaximumHeaderSectionSize() {
+  private int retrieveIntProperty(String propertyKey, int defaultValue) {
     try {
-      return valueOf(getProperty(MAXIMUM_HEADER_SECTION_SIZE_PROPERTY_KEY, String.valueOf(DEFAULT_MAX_HTTP_PACKET_HEADER_SIZE)));
+      return valueOf(getProperty(propertyKey, String.valueOf(defaultValue)));
     } catch (NumberFormatException e) {
       throw new MuleRuntimeException(CoreMessages.createStaticMessage(String.format("Invalid value %s for %s configuration",
-                                                                                    getProperty(MAXIMUM_HEADER_SECTION_SIZE_PROPERTY_KEY),
-                                                                                    MAXIMUM_HEADER_SECTION_SIZE_PROPERTY_KEY)),
+                                                                                    getProperty(propertyKey), propertyKey)),
                                      e);
     }
   }
@@ -6,16 +6,17 @@
  */
 package org.mule.runtime.module.http.internal.listener.grizzly;
 
-import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_LENGTH;
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.util.Preconditions;
 import org.mule.runtime.module.http.internal.domain.ByteArrayHttpEntity;
+import org.mule.runtime.module.http.internal.domain.ByteBufferHttpEntity;
 import org.mule.runtime.module.http.internal.domain.EmptyHttpEntity;
 import org.mule.runtime.module.http.internal.domain.HttpEntity;
 import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
 import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
 import org.mule.runtime.module.http.internal.listener.async.ResponseStatusCallback;
+import org.mule.runtime.module.http.internal.listener.grizzly.ResponseSequencer.ResponseTurn;
 
 import java.io.IOException;
 
@@ -25,7 +26,6 @@ import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.http.HttpContent;
 import org.glassfish.grizzly.http.HttpRequestPacket;
 import org.glassfish.grizzly.http.HttpResponsePacket;
-import org.glassfish.grizzly.http.HttpServerFilter;
 import org.glassfish.grizzly.memory.Buffers;
 
 /**
@@ -37,17 +37,18 @@ public class ResponseCompletionHandler extends BaseResponseCompletionHandler {
   private final HttpResponsePacket httpResponsePacket;
   private final HttpContent httpResponseContent;
   private final ResponseStatusCallback responseStatusCallback;
-  private boolean isDone;
-  private boolean contentSend;
+  private final ResponseTurn turn;
 
   public ResponseCompletionHandler(final FilterChainContext ctx, final HttpRequestPacket httpRequestPacket,
-                                   final HttpResponse httpResponse, ResponseStatusCallback responseStatusCallback) {
+                                   final HttpResponse httpResponse, ResponseStatusCallback responseStatusCallback,
+                                   ResponseTurn turn) {
     Preconditions.checkArgument((!(httpResponse.getEntity() instanceof InputStreamHttpEntity)),
                                 "response entity cannot be input stream");
     this.ctx = ctx;
     this.httpResponsePacket = buildHttpResponsePacket(httpRequestPacket, httpResponse);
     this.httpResponseContent = buildResponseContent(httpResponse);
     this.responseStatusCallback = responseStatusCallback;
+    this.turn = turn;
   }
 
   public HttpContent buildResponseContent(final HttpResponse httpResponse) {
@@ -56,16 +57,17 @@ public class ResponseCompletionHandler extends BaseResponseCompletionHandler {
     if (body != null && !(body instanceof EmptyHttpEntity)) {
       if (body instanceof ByteArrayHttpEntity) {
         grizzlyBuffer = Buffers.wrap(ctx.getMemoryManager(), ((ByteArrayHttpEntity) body).getContent());
+      } else if (body instanceof ByteBufferHttpEntity) {
+        // Wraps the buffer as is, so direct buffers are written to the socket without copying them to the heap
+        grizzlyBuffer = Buffers.wrap(ctx.getMemoryManager(), ((ByteBufferHttpEntity) body).getContent());
       } else {
-        throw new MuleRuntimeException(CoreMessages.createStaticMessage("At this point only a ByteArray entity is allowed"));
+        throw new MuleRuntimeException(CoreMessages
+            .createStaticMessage("At this point only a ByteArray or ByteBuffer entity is allowed"));
       }
     }
-    HttpContent.Builder contentBuilder = HttpContent.builder(httpResponsePacket);
-    // For some reason, grizzly tries to send Transfer-Encoding: chunk even if the content-length is set.
-    if (httpResponse.getHeaderValueIgnoreCase(CONTENT_LENGTH) != null) {
-      contentBuilder.last(true);
-    }
-    return contentBuilder.content(grizzlyBuffer).build();
+    // The whole body is sent as the last content, so that the status line, headers and body (including the last chunk when
+    // chunked) are encoded together and go to the socket in a single gathering write.
+    return HttpContent.builder(httpResponsePacket).content(grizzlyBuffer).last(true).build();
   }
 
   /**
@@ -73,43 +75,19 @@ public class ResponseCompletionHandler extends BaseResponseCompletionHandler {
    *
    * @throws java.io.IOException
    */
+  @Override
   public void start() throws IOException {
-    sendResponse();
-  }
-
-  /**
-   * Send the next part of the response
-   *
-   * @throws java.io.IOException
-   */
-  public void sendResponse() throws IOException {
-    if (!contentSend) {
-      contentSend = true;
-      isDone = !httpResponsePacket.isChunked();
-      ctx.write(httpResponseContent, this);
-      return;
-    }
-    isDone = true;
-    ctx.write(httpResponsePacket.httpTrailerBuilder().build(), this);
+    ctx.write(httpResponseContent, this);
   }
 
   /**
-   * Method gets called, when the message part was successfully sent.
+   * Method gets called, when the response was successfully sent.
    *
    * @param result the result
    */
   @Override
   public void completed(WriteResult result) {
-    try {
-      if (!isDone) {
-        sendResponse();
-      } else {
-        ctx.notifyDownstream(HttpServerFilter.RESPONSE_COMPLETE_EVENT);
-        resume();
-      }
-    } catch (IOException e) {
-      failed(e);
-    }
+    turn.responseSent();
   }
 
   /**
@@ -118,7 +96,7 @@ public class ResponseCompletionHandler extends BaseResponseCompletionHandler {
   @Override
   public void cancelled() {
     responseStatusCallback.responseSendFailure(new Exception("http response transferring cancelled"));
-    resume();
+    turn.responseFailed();
   }
 
   /**
@@ -129,13 +107,6 @@ public class ResponseCompletionHandler extends BaseResponseCompletionHandler {
   @Override
   public void failed(Throwable throwable) {
     responseStatusCallback.responseSendFailure(throwable);
-    resume();
-  }
-
-  /**
-   * Resume the HttpRequestPacket processing
-   */
-  private void resume() {
-    ctx.resume(ctx.getStopAction());
+    turn.responseFailed();
   }
 }
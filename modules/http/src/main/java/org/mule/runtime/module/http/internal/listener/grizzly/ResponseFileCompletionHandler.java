@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.listener.grizzly;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.mule.runtime.module.http.api.HttpConstants.Protocols.HTTPS;
+
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
+import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
+import org.mule.runtime.module.http.internal.listener.async.ResponseStatusCallback;
+import org.mule.runtime.module.http.internal.listener.grizzly.ResponseSequencer.ResponseTurn;
+
+import com.google.common.base.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.FileTransfer;
+import org.glassfish.grizzly.WriteResult;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http.HttpResponsePacket;
+import org.glassfish.grizzly.http.Method;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends a response with a {@link FileHttpEntity}. Over plain connections the file is handed to the transport as a
+ * {@link FileTransfer}, so its content goes from the file system to the socket without being copied to the heap. Secure
+ * connections need the content to go through the SSL engine, so the file is read in chunks from a {@link FileChannel} instead.
+ */
+public class ResponseFileCompletionHandler extends BaseResponseCompletionHandler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResponseFileCompletionHandler.class);
+  private static final int CHUNK_SIZE = 8 * 1024;
+
+  private final FilterChainContext ctx;
+  private final HttpResponsePacket httpResponsePacket;
+  private final ResponseStatusCallback responseStatusCallback;
+  private final ResponseTurn turn;
+  private final MemoryManager memoryManager;
+  private final File file;
+  private final long contentLength;
+  private final boolean zeroCopy;
+  private final boolean headRequest;
+
+  private FileChannel fileChannel;
+  private long position;
+
+  public ResponseFileCompletionHandler(final FilterChainContext ctx, final HttpRequestPacket request,
+                                       final HttpResponse httpResponse, ResponseStatusCallback responseStatusCallback,
+                                       ResponseTurn turn) {
+    Preconditions.checkArgument((httpResponse.getEntity() instanceof FileHttpEntity),
+                                "http response must have a file entity");
+    this.ctx = ctx;
+    final FileHttpEntity entity = (FileHttpEntity) httpResponse.getEntity();
+    this.file = entity.getFile();
+    this.contentLength = entity.getContentLength();
+    this.httpResponsePacket = buildHttpResponsePacket(request, httpResponse);
+    this.httpResponsePacket.setContentLengthLong(contentLength);
+    this.httpResponsePacket.setChunked(false);
+    this.responseStatusCallback = responseStatusCallback;
+    this.turn = turn;
+    this.memoryManager = ctx.getConnection().getTransport().getMemoryManager();
+    this.zeroCopy = ctx.getAttributes().getAttribute(HTTPS.getScheme()) == null;
+    this.headRequest = Method.HEAD.equals(request.getMethod());
+  }
+
+  /**
+   * Sends the status line and headers, the content is sent once they are written.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void start() throws IOException {
+    ctx.write(httpResponsePacket.httpContentBuilder().content(Buffers.EMPTY_BUFFER).build(), this);
+  }
+
+  /**
+   * Sends the next part of the content, or completes the response if it was all sent.
+   *
+   * @throws IOException
+   */
+  public void sendContent() throws IOException {
+    if (headRequest || position >= contentLength) {
+      // Nothing else is written for a response with a content length, so completed won't be called again
+      ctx.write(httpResponsePacket.httpContentBuilder().content(Buffers.EMPTY_BUFFER).last(true).build());
+      doComplete();
+    } else if (zeroCopy) {
+      final FileTransfer fileTransfer = new FileTransfer(file, position, contentLength - position);
+      position = contentLength;
+      ctx.write(fileTransfer, this);
+    } else {
+      sendChunk();
+    }
+  }
+
+  private void sendChunk() throws IOException {
+    if (fileChannel == null) {
+      fileChannel = FileChannel.open(file.toPath(), READ);
+    }
+    final Buffer buffer = memoryManager.allocate((int) Math.min(CHUNK_SIZE, contentLength - position));
+    final int bytesRead = fileChannel.read(buffer.toByteBuffer(), position);
+    if (bytesRead == -1) {
+      buffer.tryDispose();
+      throw new IOException("File " + file.getAbsolutePath() + " was truncated while sending it");
+    }
+    position += bytesRead;
+    buffer.limit(bytesRead);
+    ctx.write(httpResponsePacket.httpContentBuilder().content(buffer).build(), this);
+  }
+
+  /**
+   * Method gets called, when a part of the response was successfully sent.
+   *
+   * @param result the result
+   */
+  @Override
+  public void completed(WriteResult result) {
+    try {
+      sendContent();
+    } catch (IOException e) {
+      failed(e);
+    }
+  }
+
+  private void doComplete() {
+    close();
+    responseStatusCallback.responseSendSuccessfully();
+    turn.responseSent();
+  }
+
+  /**
+   * The method will be called, when file transferring was canceled
+   */
+  @Override
+  public void cancelled() {
+    close();
+    responseStatusCallback.responseSendFailure(new DefaultMuleException(CoreMessages
+        .createStaticMessage("Http response sending task was cancelled")));
+    turn.responseFailed();
+  }
+
+  /**
+   * The method will be called, if file transferring was failed.
+   *
+   * @param throwable the cause
+   */
+  @Override
+  public void failed(Throwable throwable) {
+    close();
+    responseStatusCallback.responseSendFailure(throwable);
+    turn.responseFailed();
+  }
+
+  /**
+   * Close the file channel, if it was opened.
+   */
+  private void close() {
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Error closing the channel of response file " + file, e);
+        }
+      }
+    }
+  }
+}
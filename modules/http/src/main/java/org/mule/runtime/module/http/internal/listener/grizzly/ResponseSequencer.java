@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.listener.grizzly;
+
+import static org.glassfish.grizzly.http.HttpServerFilter.RESPONSE_COMPLETE_EVENT;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.attributes.Attribute;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.utils.NullaryFunction;
+
+/**
+ * Keeps the responses to the requests of a connection in the order the requests were received, as HTTP/1.1 pipelining
+ * requires.
+ * <p/>
+ * Every request takes a {@link ResponseTurn} when it's dispatched. A response that is ready before the ones of the previous
+ * requests waits for them to be sent, and is started by the turn that completes right before it.
+ * <p/>
+ * Requests are taken from a connection one at a time by the filter chain, so turns are always taken in order. Responses may be
+ * sent from any thread.
+ */
+public class ResponseSequencer {
+
+  private static final Attribute<ResponseSequencer> RESPONSE_SEQUENCER_ATTRIBUTE =
+      Grizzly.DEFAULT_ATTRIBUTE_BUILDER.createAttribute(ResponseSequencer.class.getName(),
+                                                        (NullaryFunction<ResponseSequencer>) ResponseSequencer::new);
+
+  private final Deque<ResponseTurn> turns = new ArrayDeque<>();
+
+  /**
+   * @param connection the connection the requests are received from
+   * @return the sequencer of the responses sent over the connection
+   */
+  public static ResponseSequencer getResponseSequencer(Connection connection) {
+    return RESPONSE_SEQUENCER_ATTRIBUTE.get(connection);
+  }
+
+  /**
+   * Takes the turn of the response to a request that was just received.
+   *
+   * @param ctx the context the request was received with, used to send the response
+   * @param request the request
+   * @param forked whether the filter chain already moved on to the next request of the connection, so the context must not be
+   *        resumed once the response is sent
+   * @return the turn to send the response with
+   */
+  public synchronized ResponseTurn nextTurn(FilterChainContext ctx, HttpRequestPacket request, boolean forked) {
+    final ResponseTurn turn = new ResponseTurn(ctx, request, forked);
+    turns.addLast(turn);
+    return turn;
+  }
+
+  /**
+   * @return the number of requests of the connection whose response wasn't sent yet
+   */
+  public synchronized int getPendingResponses() {
+    return turns.size();
+  }
+
+  private synchronized BaseResponseCompletionHandler ready(ResponseTurn turn, BaseResponseCompletionHandler handler) {
+    if (turns.peekFirst() == turn) {
+      return handler;
+    }
+    turn.handler = handler;
+    return null;
+  }
+
+  private synchronized BaseResponseCompletionHandler completed(ResponseTurn turn) {
+    turns.remove(turn);
+    final ResponseTurn next = turns.peekFirst();
+    if (next == null || next.handler == null) {
+      return null;
+    }
+    final BaseResponseCompletionHandler handler = next.handler;
+    next.handler = null;
+    return handler;
+  }
+
+  private synchronized boolean hasOtherPendingResponses() {
+    return turns.size() > 1;
+  }
+
+  /**
+   * The place of a response in the sequence of responses of a connection.
+   */
+  public class ResponseTurn {
+
+    private final FilterChainContext ctx;
+    private final HttpRequestPacket request;
+    private final boolean forked;
+    private BaseResponseCompletionHandler handler;
+
+    private ResponseTurn(FilterChainContext ctx, HttpRequestPacket request, boolean forked) {
+      this.ctx = ctx;
+      this.request = request;
+      this.forked = forked;
+    }
+
+    /**
+     * Starts sending the response right away if the responses of the previous requests were already sent, or once they are
+     * otherwise.
+     *
+     * @param handler the handler that sends the response
+     */
+    public void send(BaseResponseCompletionHandler handler) {
+      start(ready(this, handler));
+    }
+
+    /**
+     * Notifies that the response was completely sent, and starts the next one if it's ready.
+     */
+    public void responseSent() {
+      // While more requests are being processed the connection isn't idle, so it's only handed back to the keep alive queue
+      // after the last response. Responses that close the connection are always notified so that it's closed right away.
+      if (!request.getProcessingState().isKeepAlive() || !hasOtherPendingResponses()) {
+        ctx.notifyDownstream(RESPONSE_COMPLETE_EVENT);
+      }
+      complete();
+    }
+
+    /**
+     * Notifies that the response couldn't be sent, and starts the next one if it's ready.
+     */
+    public void responseFailed() {
+      if (hasOtherPendingResponses()) {
+        // The responses of the other requests can't be told apart from a partially sent one
+        ctx.getConnection().closeSilently();
+      }
+      complete();
+    }
+
+    private void complete() {
+      final BaseResponseCompletionHandler next = completed(this);
+      // When forked, the filter chain is already processing the following requests with a copy of this context. It isn't
+      // recycled since the response may be sent before the filter that dispatched the request returns.
+      if (!forked) {
+        ctx.resume(ctx.getStopAction());
+      }
+      start(next);
+    }
+
+    private void start(BaseResponseCompletionHandler handler) {
+      if (handler == null) {
+        return;
+      }
+      try {
+        handler.start();
+      } catch (IOException e) {
+        handler.failed(e);
+      }
+    }
+  }
+}
@@ -6,12 +6,12 @@
  */
 package org.mule.runtime.module.http.internal.listener.grizzly;
 
-import static org.glassfish.grizzly.http.HttpServerFilter.RESPONSE_COMPLETE_EVENT;
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
 import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
 import org.mule.runtime.module.http.internal.listener.async.ResponseStatusCallback;
+import org.mule.runtime.module.http.internal.listener.grizzly.ResponseSequencer.ResponseTurn;
 
 import com.google.common.base.Preconditions;
 
@@ -37,11 +37,13 @@ public class ResponseStreamingCompletionHandler extends BaseResponseCompletionHa
   private final HttpResponsePacket httpResponsePacket;
   private final InputStream inputStream;
   private final ResponseStatusCallback responseStatusCallback;
+  private final ResponseTurn turn;
 
   private volatile boolean isDone;
 
   public ResponseStreamingCompletionHandler(final FilterChainContext ctx, final HttpRequestPacket request,
-                                            final HttpResponse httpResponse, ResponseStatusCallback responseStatusCallback) {
+                                            final HttpResponse httpResponse, ResponseStatusCallback responseStatusCallback,
+                                            ResponseTurn turn) {
     Preconditions.checkArgument((httpResponse.getEntity() instanceof InputStreamHttpEntity),
                                 "http response must have an input stream entity");
     this.ctx = ctx;
@@ -49,8 +51,10 @@ public class ResponseStreamingCompletionHandler extends BaseResponseCompletionHa
     inputStream = ((InputStreamHttpEntity) httpResponse.getEntity()).getInputStream();
     memoryManager = ctx.getConnection().getTransport().getMemoryManager();
     this.responseStatusCallback = responseStatusCallback;
+    this.turn = turn;
   }
 
+  @Override
   public void start() throws IOException {
     sendInputStreamChunk();
   }
@@ -103,8 +107,7 @@ public class ResponseStreamingCompletionHandler extends BaseResponseCompletionHa
   private void doComplete() {
     close();
     responseStatusCallback.responseSendSuccessfully();
-    ctx.notifyDownstream(RESPONSE_COMPLETE_EVENT);
-    resume();
+    turn.responseSent();
   }
 
   /**
@@ -115,7 +118,7 @@ public class ResponseStreamingCompletionHandler extends BaseResponseCompletionHa
     close();
     responseStatusCallback.responseSendFailure(new DefaultMuleException(CoreMessages
         .createStaticMessage("Http response sending task was cancelled")));
-    resume();
+    turn.responseFailed();
   }
 
   /**
@@ -127,7 +130,7 @@ public class ResponseStreamingCompletionHandler extends BaseResponseCompletionHa
   public void failed(Throwable throwable) {
     close();
     responseStatusCallback.responseSendFailure(throwable);
-    resume();
+    turn.responseFailed();
   }
 
   /**
@@ -140,11 +143,4 @@ public class ResponseStreamingCompletionHandler extends BaseResponseCompletionHa
 
     }
   }
-
-  /**
-   * Resume the HttpRequestPacket processing
-   */
-  private void resume() {
-    ctx.resume(ctx.getStopAction());
-  }
 }
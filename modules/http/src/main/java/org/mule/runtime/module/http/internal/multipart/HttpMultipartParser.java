@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.multipart;
+
+import static java.lang.Integer.getInteger;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.mail.internet.ContentDisposition;
+import javax.mail.internet.ContentType;
+import javax.mail.internet.ParseException;
+
+/**
+ * Parses multipart content incrementally, scanning the stream for the boundaries instead of loading it whole.
+ * <p/>
+ * The content of the parts is kept in memory while the total for the whole multipart content stays under the
+ * {@value #IN_MEMORY_THRESHOLD_PROPERTY_KEY} system property, in bytes. The content of the parts that go over it is written to
+ * temporary files instead, which are deleted when the part is {@link HttpPart#delete() deleted}. This way the heap used for
+ * each multipart content is bounded, regardless of its size.
+ * <p/>
+ * Parts are not exposed as streams read from the connection while the flow consumes them. The multipart payload of a message
+ * gives access to any part, by name and in any order, and a part can be read more than once, so {@link #parse()} reads the
+ * whole multipart content before returning. As a result the flow only starts once the whole content is received, and the
+ * content of the parts over the threshold is written to disk once, taking up to the size of the content in disk space until
+ * the parts are deleted.
+ *
+ * @since 4.0
+ */
+public class HttpMultipartParser {
+
+  public static final String IN_MEMORY_THRESHOLD_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "http.multipart.inMemoryThreshold";
+
+  private static final int DEFAULT_IN_MEMORY_THRESHOLD = 1024 * 1024;
+  private static final int BUFFER_SIZE = 16 * 1024;
+  private static final String TEMPORARY_FILE_PREFIX = "mule-http-part";
+  private static final String BOUNDARY_PARAMETER = "boundary";
+  private static final String CONTENT_TYPE_PART_HEADER = "Content-Type";
+  private static final String CONTENT_DISPOSITION_PART_HEADER = "Content-Disposition";
+  private static final String NAME_PARAMETER = "name";
+  private static final String FILENAME_PARAMETER = "filename";
+  private static final String DEFAULT_PART_CONTENT_TYPE = "text/plain";
+  private static final byte CR = '\r';
+  private static final byte LF = '\n';
+  private static final byte DASH = '-';
+
+  private final InputStream content;
+  private final byte[] delimiter;
+  private final byte[] buffer;
+  private final int inMemoryThreshold;
+  private final File temporaryFolder;
+  private int head;
+  private int tail;
+  private long inMemorySize;
+  private long peakInMemorySize;
+
+  /**
+   * @param content the multipart content
+   * @param contentType the content type of the multipart content, with the boundary
+   */
+  public HttpMultipartParser(InputStream content, String contentType) throws IOException {
+    this(content, contentType, getInteger(IN_MEMORY_THRESHOLD_PROPERTY_KEY, DEFAULT_IN_MEMORY_THRESHOLD), null);
+  }
+
+  /**
+   * @param content the multipart content
+   * @param contentType the content type of the multipart content, with the boundary
+   * @param inMemoryThreshold the maximum size in bytes of the content of the parts kept in memory
+   * @param temporaryFolder the folder for the temporary files, or {@code null} for the default temporary folder
+   */
+  public HttpMultipartParser(InputStream content, String contentType, int inMemoryThreshold, File temporaryFolder)
+      throws IOException {
+    String boundary;
+    try {
+      boundary = new ContentType(contentType).getParameter(BOUNDARY_PARAMETER);
+    } catch (ParseException e) {
+      throw new IOException(e);
+    }
+    if (boundary == null) {
+      throw new IOException("Missing boundary in multipart content type: " + contentType);
+    }
+
+    this.content = content;
+    this.delimiter = ("\r\n--" + boundary).getBytes(ISO_8859_1);
+    this.buffer = new byte[BUFFER_SIZE + delimiter.length];
+    this.inMemoryThreshold = inMemoryThreshold;
+    this.temporaryFolder = temporaryFolder;
+
+    // The first boundary may be at the start of the content, with no line break before it
+    buffer[tail++] = CR;
+    buffer[tail++] = LF;
+  }
+
+  /**
+   * Reads the whole multipart content, blocking until it is all received.
+   *
+   * @return the parts found
+   * @throws IOException if the content can't be read or is malformed. The temporary files of the parts read are deleted.
+   */
+  public Collection<HttpPart> parse() throws IOException {
+    List<HttpPart> parts = new ArrayList<>();
+    try {
+      skipToDelimiter(null);
+      while (!isCloseDelimiter()) {
+        parts.add(readPart());
+      }
+      return parts;
+    } catch (IOException | RuntimeException e) {
+      for (HttpPart part : parts) {
+        part.delete();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * @return the maximum amount of bytes of part contents held in memory at the same time while parsing
+   */
+  public long getPeakInMemorySize() {
+    return peakInMemorySize;
+  }
+
+  private HttpPart readPart() throws IOException {
+    List<String> headerLines = readHeaderLines();
+    String contentType = DEFAULT_PART_CONTENT_TYPE;
+    String contentDisposition = null;
+    List<String[]> headers = new ArrayList<>(headerLines.size());
+    for (String line : headerLines) {
+      int separator = line.indexOf(':');
+      if (separator < 0) {
+        throw new IOException("Invalid multipart header: " + line);
+      }
+      String headerName = line.substring(0, separator).trim();
+      String headerValue = line.substring(separator + 1).trim();
+      headers.add(new String[] {headerName, headerValue});
+      if (CONTENT_TYPE_PART_HEADER.equalsIgnoreCase(headerName)) {
+        contentType = headerValue;
+      } else if (CONTENT_DISPOSITION_PART_HEADER.equalsIgnoreCase(headerName)) {
+        contentDisposition = headerValue;
+      }
+    }
+
+    String fileName = null;
+    String partName = null;
+    if (contentDisposition != null) {
+      try {
+        ContentDisposition disposition = new ContentDisposition(contentDisposition);
+        fileName = disposition.getParameter(FILENAME_PARAMETER);
+        partName = disposition.getParameter(NAME_PARAMETER);
+      } catch (ParseException e) {
+        throw new IOException(e);
+      }
+    }
+    if (partName == null) {
+      partName = fileName;
+    }
+
+    PartContent partContent = new PartContent();
+    try {
+      skipToDelimiter(partContent);
+      partContent.close();
+    } catch (IOException e) {
+      partContent.discard();
+      throw e;
+    }
+
+    HttpPart part = partContent.file != null
+        ? new HttpPart(partName, fileName, partContent.file, contentType, partContent.size)
+        : new HttpPart(partName, fileName, partContent.memory.toByteArray(), contentType, (int) partContent.size);
+    for (String[] header : headers) {
+      part.addHeader(header[0], header[1]);
+    }
+    return part;
+  }
+
+  /**
+   * Reads the headers of a part up to the empty line that separates them from the content, unfolding the ones that span
+   * several lines.
+   */
+  private List<String> readHeaderLines() throws IOException {
+    List<String> lines = new ArrayList<>();
+    for (String line = readHeaderLine(); !line.isEmpty(); line = readHeaderLine()) {
+      char first = line.charAt(0);
+      if ((first == ' ' || first == '\t') && !lines.isEmpty()) {
+        lines.set(lines.size() - 1, lines.get(lines.size() - 1) + " " + line.trim());
+      } else {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  /**
+   * Moves past the next delimiter, writing the content found before it to the given output, if any.
+   */
+  private void skipToDelimiter(OutputStream output) throws IOException {
+    while (true) {
+      int index = indexOfDelimiter();
+      if (index >= 0) {
+        if (output != null) {
+          output.write(buffer, head, index - head);
+        }
+        head = index + delimiter.length;
+        return;
+      }
+
+      // The last bytes may be the beginning of the delimiter
+      int safeTail = tail - delimiter.length + 1;
+      if (safeTail > head) {
+        if (output != null) {
+          output.write(buffer, head, safeTail - head);
+        }
+        head = safeTail;
+      }
+      if (!fill()) {
+        throw new IOException("Unexpected end of multipart content, missing boundary");
+      }
+    }
+  }
+
+  /**
+   * Reads what follows a delimiter, either the closing dashes or the line break before the headers of the next part.
+   */
+  private boolean isCloseDelimiter() throws IOException {
+    ensureAvailable(2);
+    if (buffer[head] == DASH && buffer[head + 1] == DASH) {
+      return true;
+    }
+    // Skip the transport padding
+    readHeaderLine();
+    return false;
+  }
+
+  private String readHeaderLine() throws IOException {
+    while (true) {
+      for (int i = head; i < tail - 1; i++) {
+        if (buffer[i] == CR && buffer[i + 1] == LF) {
+          String line = new String(buffer, head, i - head, ISO_8859_1);
+          head = i + 2;
+          return line;
+        }
+      }
+      if (head == 0 && tail == buffer.length) {
+        throw new IOException("Multipart header line too long");
+      }
+      if (!fill()) {
+        throw new IOException("Unexpected end of multipart content reading part headers");
+      }
+    }
+  }
+
+  private void ensureAvailable(int count) throws IOException {
+    while (tail - head < count) {
+      if (!fill()) {
+        throw new IOException("Unexpected end of multipart content");
+      }
+    }
+  }
+
+  private int indexOfDelimiter() {
+    int last = tail - delimiter.length;
+    for (int i = head; i <= last; i++) {
+      int j = 0;
+      while (j < delimiter.length && buffer[i + j] == delimiter[j]) {
+        j++;
+      }
+      if (j == delimiter.length) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Moves the pending bytes to the start of the buffer and reads more content after them.
+   *
+   * @return {@code false} if the end of the content was reached
+   */
+  private boolean fill() throws IOException {
+    if (head > 0) {
+      System.arraycopy(buffer, head, buffer, 0, tail - head);
+      tail -= head;
+      head = 0;
+    }
+    int read = content.read(buffer, tail, buffer.length - tail);
+    if (read < 0) {
+      return false;
+    }
+    tail += read;
+    return true;
+  }
+
+  /**
+   * Content of a part, written to memory until the threshold is reached and to a temporary file afterwards.
+   */
+  private class PartContent extends OutputStream {
+
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private File file;
+    private OutputStream fileOutput;
+    private long size;
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      if (file == null && inMemorySize + length > inMemoryThreshold) {
+        spill();
+      }
+      if (file != null) {
+        fileOutput.write(bytes, offset, length);
+      } else {
+        memory.write(bytes, offset, length);
+        inMemorySize += length;
+        peakInMemorySize = Math.max(peakInMemorySize, inMemorySize);
+      }
+      size += length;
+    }
+
+    private void spill() throws IOException {
+      file = File.createTempFile(TEMPORARY_FILE_PREFIX, null, temporaryFolder);
+      fileOutput = new BufferedOutputStream(new FileOutputStream(file));
+      memory.writeTo(fileOutput);
+      inMemorySize -= memory.size();
+      memory = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (fileOutput != null) {
+        fileOutput.close();
+      }
+    }
+
+    private void discard() {
+      if (file != null) {
+        try {
+          fileOutput.close();
+        } catch (IOException e) {
+          // Nothing to do, the file is removed anyway
+        }
+        file.delete();
+      }
+    }
+  }
+}
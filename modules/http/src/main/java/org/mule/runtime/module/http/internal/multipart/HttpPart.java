@@ -9,6 +9,8 @@ package org.mule.runtime.module.http.internal.multipart;
 import com.google.common.collect.Lists;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -23,10 +25,11 @@ public class HttpPart implements Part {
   public static final int NO_SIZE = -1;
 
   private final byte[] content;
+  private final File contentFile;
   private final String contentType;
   private final String partName;
   private final String fileName;
-  private final int size;
+  private final long size;
   private Map<String, Object> headers = new HashMap<>();
 
   public HttpPart(String partName, byte[] content, String contentType, int size) {
@@ -37,13 +40,28 @@ public class HttpPart implements Part {
     this.partName = partName;
     this.fileName = fileName;
     this.content = content;
+    this.contentFile = null;
+    this.contentType = contentType;
+    this.size = size;
+  }
+
+  /**
+   * Creates a part whose content is held in a temporary file, which is removed when the part is {@link #delete() deleted}.
+   */
+  public HttpPart(String partName, String fileName, File contentFile, String contentType, long size) {
+    this.partName = partName;
+    this.fileName = fileName;
+    this.content = null;
+    this.contentFile = contentFile;
     this.contentType = contentType;
     this.size = size;
   }
 
   @Override
   public void delete() throws IOException {
-    throw new UnsupportedOperationException();
+    if (contentFile != null && contentFile.exists() && !contentFile.delete()) {
+      throw new IOException("Could not delete the content of part " + partName + ": " + contentFile.getAbsolutePath());
+    }
   }
 
   @Override
@@ -90,7 +108,14 @@ public class HttpPart implements Part {
 
   @Override
   public InputStream getInputStream() throws IOException {
-    return new ByteArrayInputStream(content);
+    return contentFile != null ? new FileInputStream(contentFile) : new ByteArrayInputStream(content);
+  }
+
+  /**
+   * @return the temporary file holding the content of this part, or {@code null} if the content is held in memory
+   */
+  public File getContentFile() {
+    return contentFile;
   }
 
   @Override
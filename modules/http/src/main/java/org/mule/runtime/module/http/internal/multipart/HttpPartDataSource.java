@@ -15,6 +15,8 @@ import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.message.PartAttributes;
 import org.mule.runtime.core.message.DefaultMultiPartPayload;
 import org.mule.runtime.core.message.ds.ByteArrayDataSource;
+import org.mule.runtime.core.model.streaming.DeleteOnCloseFileInputStream;
+import org.mule.runtime.core.util.FileUtils;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.module.http.internal.domain.MultipartHttpEntity;
 
@@ -101,31 +103,59 @@ public class HttpPartDataSource implements DataSource {
 
   public static MultiPartPayload multiPartPayloadForAttachments(String responseContentType, InputStream responseInputStream)
       throws IOException {
-    return multiPartPayloadForAttachments(parseMultipartContent(responseInputStream, responseContentType));
+    Collection<HttpPart> httpParts = parseMultipartContent(responseInputStream, responseContentType);
+    MultiPartPayload payload = null;
+    try {
+      payload = multiPartPayloadForAttachments(httpParts);
+      return payload;
+    } finally {
+      // Once the payload is created, the temporary files are removed when the part contents are closed
+      if (payload == null) {
+        for (HttpPart httpPart : httpParts) {
+          FileUtils.deleteQuietly(httpPart.getContentFile());
+        }
+      }
+    }
   }
 
   private static MultiPartPayload multiPartPayloadForAttachments(Collection<HttpPart> httpParts) throws IOException {
     List<org.mule.runtime.api.message.MuleMessage> parts = new ArrayList<>();
+    List<InputStream> contents = new ArrayList<>();
+    boolean created = false;
 
-    int partNumber = 1;
-    for (HttpPart httpPart : httpParts) {
-      Map<String, LinkedList<String>> headers = new HashMap<>();
-      for (String headerName : httpPart.getHeaderNames()) {
-        if (!headers.containsKey(headerName)) {
-          headers.put(headerName, new LinkedList<>());
+    try {
+      int partNumber = 1;
+      for (HttpPart httpPart : httpParts) {
+        Map<String, LinkedList<String>> headers = new HashMap<>();
+        for (String headerName : httpPart.getHeaderNames()) {
+          if (!headers.containsKey(headerName)) {
+            headers.put(headerName, new LinkedList<>());
+          }
+          headers.get(headerName).addAll(httpPart.getHeaders(headerName));
         }
-        headers.get(headerName).addAll(httpPart.getHeaders(headerName));
-      }
 
-      parts.add(MuleMessage.builder().payload(httpPart.getInputStream()).mediaType(MediaType.parse(httpPart.getContentType()))
-          .attributes(new PartAttributes(httpPart.getName() != null ? httpPart.getName() : "part_" + partNumber,
-                                         httpPart.getFileName(), httpPart.getSize(), headers))
-          .build());
+        // Parts spilled to a temporary file remove it once their content is consumed
+        InputStream content = httpPart.getContentFile() != null ? new DeleteOnCloseFileInputStream(httpPart.getContentFile())
+            : httpPart.getInputStream();
+        contents.add(content);
+        parts.add(MuleMessage.builder().payload(content).mediaType(MediaType.parse(httpPart.getContentType()))
+            .attributes(new PartAttributes(httpPart.getName() != null ? httpPart.getName() : "part_" + partNumber,
+                                           httpPart.getFileName(), httpPart.getSize(), headers))
+            .build());
 
-      partNumber++;
-    }
+        partNumber++;
+      }
 
-    return new DefaultMultiPartPayload(parts);
+      MultiPartPayload payload = new DefaultMultiPartPayload(parts);
+      created = true;
+      return payload;
+    } finally {
+      if (!created) {
+        for (InputStream content : contents) {
+          IOUtils.closeQuietly(content);
+        }
+      }
+    }
   }
 
   public HttpPart getPart() {
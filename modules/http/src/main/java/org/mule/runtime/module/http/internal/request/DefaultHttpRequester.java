@@ -29,6 +29,7 @@ import org.mule.runtime.core.api.debug.FieldDebugInfoFactory;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.lifecycle.LifecycleUtils;
+import org.mule.runtime.core.api.processor.BlockingMessageProcessor;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.construct.Flow;
 import org.mule.runtime.core.context.notification.ConnectorMessageNotification;
@@ -56,7 +57,7 @@ import org.slf4j.LoggerFactory;
 
 
 public class DefaultHttpRequester extends AbstractNonBlockingMessageProcessor
-    implements Initialisable, MuleContextAware, FlowConstructAware, DebugInfoProvider {
+    implements Initialisable, MuleContextAware, FlowConstructAware, DebugInfoProvider, BlockingMessageProcessor {
 
   public static final List<String> DEFAULT_EMPTY_BODY_METHODS = Lists.newArrayList("GET", "HEAD", "OPTIONS");
   public static final String DEFAULT_PAYLOAD_EXPRESSION = "#[payload]";
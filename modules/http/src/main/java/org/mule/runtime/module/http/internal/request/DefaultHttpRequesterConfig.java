@@ -7,6 +7,7 @@
 package org.mule.runtime.module.http.internal.request;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static org.mule.runtime.module.http.api.HttpConstants.Protocols.HTTP;
 import static org.mule.runtime.module.http.api.HttpConstants.Protocols.HTTPS;
 
@@ -24,6 +25,8 @@ import org.mule.runtime.core.api.lifecycle.Stoppable;
 import org.mule.runtime.api.tls.TlsContextFactory;
 import org.mule.runtime.api.tls.TlsContextFactoryBuilder;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.management.stats.ConnectionPoolStatistics;
+import org.mule.runtime.core.management.stats.ConnectionPoolStatisticsProvider;
 import org.mule.runtime.module.http.api.HttpAuthentication;
 import org.mule.runtime.module.http.api.HttpConstants;
 import org.mule.runtime.module.http.api.requester.HttpRequesterConfig;
@@ -35,12 +38,13 @@ import org.mule.runtime.module.tls.api.DefaultTlsContextFactoryBuilder;
 import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
 
 import java.net.CookieManager;
+import java.util.Collection;
 
 import javax.inject.Inject;
 
 
 public class DefaultHttpRequesterConfig extends AbstractAnnotatedObject
-    implements HttpRequesterConfig, Initialisable, Stoppable, Startable, MuleContextAware {
+    implements HttpRequesterConfig, Initialisable, Stoppable, Startable, MuleContextAware, ConnectionPoolStatisticsProvider {
 
   public static final String OBJECT_HTTP_CLIENT_FACTORY = "_httpClientFactory";
   private static final int UNLIMITED_CONNECTIONS = -1;
@@ -67,6 +71,9 @@ public class DefaultHttpRequesterConfig extends AbstractAnnotatedObject
   private HttpClient httpClient;
 
   private int maxConnections = UNLIMITED_CONNECTIONS;
+  private int maxConnectionsPerHost = UNLIMITED_CONNECTIONS;
+  private int maxPendingRequestsPerHost = UNLIMITED_CONNECTIONS;
+  private boolean adaptiveConnectionLimit = false;
   private boolean usePersistentConnections = true;
   private int connectionIdleTimeout = DEFAULT_CONNECTION_IDLE_TIMEOUT;
 
@@ -105,8 +112,9 @@ public class DefaultHttpRequesterConfig extends AbstractAnnotatedObject
 
     HttpClientConfiguration configuration = new HttpClientConfiguration.Builder().setTlsContextFactory(tlsContext)
         .setProxyConfig(proxyConfig).setClientSocketProperties(clientSocketProperties).setMaxConnections(maxConnections)
-        .setUsePersistentConnections(usePersistentConnections).setConnectionIdleTimeout(connectionIdleTimeout)
-        .setThreadNamePrefix(threadNamePrefix).setOwnerName(name).build();
+        .setMaxConnectionsPerHost(maxConnectionsPerHost).setMaxPendingRequestsPerHost(maxPendingRequestsPerHost)
+        .setAdaptiveConnectionLimit(adaptiveConnectionLimit).setUsePersistentConnections(usePersistentConnections)
+        .setConnectionIdleTimeout(connectionIdleTimeout).setThreadNamePrefix(threadNamePrefix).setOwnerName(name).build();
 
     HttpClientFactory httpClientFactory = muleContext.getRegistry().get(OBJECT_HTTP_CLIENT_FACTORY);
     if (httpClientFactory == null) {
@@ -125,6 +133,16 @@ public class DefaultHttpRequesterConfig extends AbstractAnnotatedObject
                                         this);
     }
 
+    if (maxConnectionsPerHost < UNLIMITED_CONNECTIONS || maxConnectionsPerHost == 0) {
+      throw new InitialisationException(CoreMessages.createStaticMessage("The maxConnectionsPerHost parameter only allows "
+          + "positive values or -1 for unlimited concurrent connections."), this);
+    }
+
+    if (maxPendingRequestsPerHost < UNLIMITED_CONNECTIONS) {
+      throw new InitialisationException(CoreMessages.createStaticMessage("The maxPendingRequestsPerHost parameter only allows "
+          + "non negative values or -1 for unlimited pending requests."), this);
+    }
+
     if (!usePersistentConnections) {
       connectionIdleTimeout = 0;
     }
@@ -154,6 +172,14 @@ public class DefaultHttpRequesterConfig extends AbstractAnnotatedObject
     return cookieManager;
   }
 
+  @Override
+  public Collection<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+    if (httpClient instanceof ConnectionPoolStatisticsProvider) {
+      return ((ConnectionPoolStatisticsProvider) httpClient).getConnectionPoolStatistics();
+    }
+    return emptyList();
+  }
+
   @Override
   public String getBasePath() {
     return basePath;
@@ -289,6 +315,18 @@ public class DefaultHttpRequesterConfig extends AbstractAnnotatedObject
     this.maxConnections = maxConnections;
   }
 
+  public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+  }
+
+  public void setMaxPendingRequestsPerHost(int maxPendingRequestsPerHost) {
+    this.maxPendingRequestsPerHost = maxPendingRequestsPerHost;
+  }
+
+  public void setAdaptiveConnectionLimit(boolean adaptiveConnectionLimit) {
+    this.adaptiveConnectionLimit = adaptiveConnectionLimit;
+  }
+
   public void setUsePersistentConnections(boolean usePersistentConnections) {
     this.usePersistentConnections = usePersistentConnections;
   }
@@ -17,6 +17,9 @@ public class HttpClientConfiguration {
   private final ProxyConfig proxyConfig;
   private final TcpClientSocketProperties clientSocketProperties;
   private final int maxConnections;
+  private final int maxConnectionsPerHost;
+  private final int maxPendingRequestsPerHost;
+  private final boolean adaptiveConnectionLimit;
   private final boolean usePersistentConnections;
   private final int connectionIdleTimeout;
   private final String threadNamePrefix;
@@ -24,12 +27,16 @@ public class HttpClientConfiguration {
 
   private HttpClientConfiguration(TlsContextFactory tlsContextFactory, ProxyConfig proxyConfig,
                                   TcpClientSocketProperties clientSocketProperties, int maxConnections,
+                                  int maxConnectionsPerHost, int maxPendingRequestsPerHost, boolean adaptiveConnectionLimit,
                                   boolean usePersistentConnections, int connectionIdleTimeout, String threadNamePrefix,
                                   String ownerName) {
     this.tlsContextFactory = tlsContextFactory;
     this.proxyConfig = proxyConfig;
     this.clientSocketProperties = clientSocketProperties;
     this.maxConnections = maxConnections;
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.maxPendingRequestsPerHost = maxPendingRequestsPerHost;
+    this.adaptiveConnectionLimit = adaptiveConnectionLimit;
     this.usePersistentConnections = usePersistentConnections;
     this.connectionIdleTimeout = connectionIdleTimeout;
     this.threadNamePrefix = threadNamePrefix;
@@ -52,6 +59,27 @@ public class HttpClientConfiguration {
     return maxConnections;
   }
 
+  /**
+   * @return the maximum number of connections to each host, or -1 to only limit the total with {@link #getMaxConnections()}
+   */
+  public int getMaxConnectionsPerHost() {
+    return maxConnectionsPerHost;
+  }
+
+  /**
+   * @return the maximum number of requests waiting for a connection to each host, or -1 for unlimited
+   */
+  public int getMaxPendingRequestsPerHost() {
+    return maxPendingRequestsPerHost;
+  }
+
+  /**
+   * @return whether the connections to each host are limited according to its latency
+   */
+  public boolean isAdaptiveConnectionLimit() {
+    return adaptiveConnectionLimit;
+  }
+
   public boolean isUsePersistentConnections() {
     return usePersistentConnections;
   }
@@ -74,6 +102,9 @@ public class HttpClientConfiguration {
     private ProxyConfig proxyConfig;
     private TcpClientSocketProperties clientSocketProperties;
     private int maxConnections;
+    private int maxConnectionsPerHost = -1;
+    private int maxPendingRequestsPerHost = -1;
+    private boolean adaptiveConnectionLimit;
     private boolean usePersistentConnections;
     private int connectionIdleTimeout;
     private String threadNamePrefix;
@@ -99,6 +130,21 @@ public class HttpClientConfiguration {
       return this;
     }
 
+    public Builder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+      this.maxConnectionsPerHost = maxConnectionsPerHost;
+      return this;
+    }
+
+    public Builder setMaxPendingRequestsPerHost(int maxPendingRequestsPerHost) {
+      this.maxPendingRequestsPerHost = maxPendingRequestsPerHost;
+      return this;
+    }
+
+    public Builder setAdaptiveConnectionLimit(boolean adaptiveConnectionLimit) {
+      this.adaptiveConnectionLimit = adaptiveConnectionLimit;
+      return this;
+    }
+
     public Builder setUsePersistentConnections(boolean usePersistentConnections) {
       this.usePersistentConnections = usePersistentConnections;
       return this;
@@ -121,6 +167,7 @@ public class HttpClientConfiguration {
 
     public HttpClientConfiguration build() {
       return new HttpClientConfiguration(tlsContextFactory, proxyConfig, clientSocketProperties, maxConnections,
+                                         maxConnectionsPerHost, maxPendingRequestsPerHost, adaptiveConnectionLimit,
                                          usePersistentConnections, connectionIdleTimeout, threadNamePrefix, ownerName);
     }
   }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Concurrency limit for a host that follows its latency, increasing additively while the host keeps up and decreasing
+ * multiplicatively when its latency rises or requests fail.
+ * <p/>
+ * The latency of the recent requests is compared against a long term average. Decisions are taken once per round, every time
+ * as many requests as the current limit completed, so that a single slow request doesn't collapse the limit.
+ * <p/>
+ * Not thread safe, calls must be guarded by the owning {@link HostConnectionPool}.
+ *
+ * @since 4.0
+ */
+public class AdaptiveConnectionLimit {
+
+  private static final double SHORT_TERM_WEIGHT = 0.2;
+  private static final double LONG_TERM_WEIGHT = 0.01;
+  private static final double LATENCY_TOLERANCE = 1.5;
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private int limit;
+
+  private double shortTermLatency = -1;
+  private double longTermLatency = -1;
+  private int roundSamples;
+  private boolean roundSaturated;
+  private boolean roundFailed;
+
+  /**
+   * @param initialLimit the limit to start with
+   * @param minLimit the minimum the limit can decrease to
+   * @param maxLimit the maximum the limit can increase to
+   */
+  public AdaptiveConnectionLimit(int initialLimit, int minLimit, int maxLimit) {
+    this.minLimit = max(1, minLimit);
+    this.maxLimit = max(this.minLimit, maxLimit);
+    this.limit = min(this.maxLimit, max(this.minLimit, initialLimit));
+  }
+
+  /**
+   * @return the current limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Records the completion of a request.
+   *
+   * @param latencyNanos the time the request took
+   * @param failed whether the request failed, which is taken as a sign of overload
+   * @param inFlight the requests in flight when this one completed, including it
+   * @return whether the limit changed
+   */
+  public boolean onSample(long latencyNanos, boolean failed, int inFlight) {
+    if (failed) {
+      roundFailed = true;
+    } else if (longTermLatency < 0) {
+      shortTermLatency = latencyNanos;
+      longTermLatency = latencyNanos;
+    } else {
+      shortTermLatency += (latencyNanos - shortTermLatency) * SHORT_TERM_WEIGHT;
+      longTermLatency += (latencyNanos - longTermLatency) * LONG_TERM_WEIGHT;
+    }
+    roundSaturated |= inFlight >= limit;
+
+    if (++roundSamples < limit) {
+      return false;
+    }
+
+    final int previous = limit;
+    if (roundFailed || shortTermLatency > longTermLatency * LATENCY_TOLERANCE) {
+      limit = max(minLimit, (int) (limit * BACKOFF_RATIO));
+    } else if (roundSaturated) {
+      // Only grow when the limit is actually what's holding requests back
+      limit = min(maxLimit, limit + 1);
+    }
+    roundSamples = 0;
+    roundSaturated = false;
+    roundFailed = false;
+    return limit != previous;
+  }
+}
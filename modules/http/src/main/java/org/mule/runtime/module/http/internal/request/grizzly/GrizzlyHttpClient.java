@@ -7,6 +7,7 @@
 package org.mule.runtime.module.http.internal.request.grizzly;
 
 import static com.ning.http.client.Realm.AuthScheme.NTLM;
+import static java.util.Collections.emptyList;
 import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONNECTION;
 import static org.mule.runtime.module.http.api.HttpHeaders.Values.CLOSE;
 
@@ -20,6 +21,8 @@ import org.mule.runtime.core.api.context.WorkManagerSource;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.lifecycle.LifecycleUtils;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.management.stats.ConnectionPoolStatistics;
+import org.mule.runtime.core.management.stats.ConnectionPoolStatisticsProvider;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.module.http.api.requester.proxy.ProxyConfig;
@@ -54,6 +57,7 @@ import com.ning.http.client.providers.grizzly.GrizzlyAsyncHttpProviderConfig;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Collection;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
@@ -62,7 +66,7 @@ import javax.net.ssl.SSLContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class GrizzlyHttpClient implements HttpClient {
+public class GrizzlyHttpClient implements HttpClient, ConnectionPoolStatisticsProvider {
 
   private static final int MAX_CONNECTION_LIFETIME = 30 * 60 * 1000;
 
@@ -73,12 +77,16 @@ public class GrizzlyHttpClient implements HttpClient {
   private final TcpClientSocketProperties clientSocketProperties;
 
   private int maxConnections;
+  private int maxConnectionsPerHost;
+  private int maxPendingRequestsPerHost;
+  private boolean adaptiveConnectionLimit;
   private boolean usePersistentConnections;
   private int connectionIdleTimeout;
   private String threadNamePrefix;
   private String ownerName;
 
   private AsyncHttpClient asyncHttpClient;
+  private PerHostThrottleRequestFilter throttleRequestFilter;
   private SSLContext sslContext;
 
   public GrizzlyHttpClient(HttpClientConfiguration config) {
@@ -86,6 +94,9 @@ public class GrizzlyHttpClient implements HttpClient {
     this.proxyConfig = config.getProxyConfig();
     this.clientSocketProperties = config.getClientSocketProperties();
     this.maxConnections = config.getMaxConnections();
+    this.maxConnectionsPerHost = config.getMaxConnectionsPerHost();
+    this.maxPendingRequestsPerHost = config.getMaxPendingRequestsPerHost();
+    this.adaptiveConnectionLimit = config.isAdaptiveConnectionLimit();
     this.usePersistentConnections = config.isUsePersistentConnections();
     this.connectionIdleTimeout = config.getConnectionIdleTimeout();
     this.threadNamePrefix = config.getThreadNamePrefix();
@@ -97,6 +108,12 @@ public class GrizzlyHttpClient implements HttpClient {
     AsyncHttpClientConfig.Builder builder = new AsyncHttpClientConfig.Builder();
     builder.setAllowPoolingConnections(true);
 
+    // Keeping a pool for each host is only worth it when there is a limit for each host
+    if (maxConnectionsPerHost > 0 || maxPendingRequestsPerHost > 0 || adaptiveConnectionLimit) {
+      throttleRequestFilter = new PerHostThrottleRequestFilter(maxConnections, maxConnectionsPerHost, maxPendingRequestsPerHost,
+                                                               adaptiveConnectionLimit, connectionIdleTimeout);
+    }
+
     configureTransport(builder);
 
     configureTlsContext(builder);
@@ -175,6 +192,10 @@ public class GrizzlyHttpClient implements HttpClient {
     CompositeTransportCustomizer compositeTransportCustomizer = new CompositeTransportCustomizer();
     compositeTransportCustomizer.addTransportCustomizer(new IOStrategyTransportCustomizer(threadNamePrefix));
     compositeTransportCustomizer.addTransportCustomizer(new LoggerTransportCustomizer());
+    if (throttleRequestFilter != null) {
+      compositeTransportCustomizer.addTransportCustomizer((transport, filterChainBuilder) -> transport
+          .getConnectionMonitoringConfig().addProbes(throttleRequestFilter.getConnectionProbe()));
+    }
 
     if (clientSocketProperties != null) {
       compositeTransportCustomizer.addTransportCustomizer(new SocketConfigTransportCustomizer(clientSocketProperties));
@@ -187,12 +208,14 @@ public class GrizzlyHttpClient implements HttpClient {
   }
 
   private void configureConnections(AsyncHttpClientConfig.Builder builder) throws InitialisationException {
-    if (maxConnections > 0) {
+    if (throttleRequestFilter != null) {
+      builder.addRequestFilter(throttleRequestFilter);
+    } else if (maxConnections > 0) {
       builder.addRequestFilter(new CustomTimeoutThrottleRequestFilter(maxConnections));
     }
 
     builder.setMaxConnections(maxConnections);
-    builder.setMaxConnectionsPerHost(maxConnections);
+    builder.setMaxConnectionsPerHost(maxConnectionsPerHost > 0 ? maxConnectionsPerHost : maxConnections);
 
     builder.setAllowPoolingConnections(usePersistentConnections);
     builder.setAllowPoolingSslConnections(usePersistentConnections);
@@ -355,8 +378,8 @@ public class GrizzlyHttpClient implements HttpClient {
       }
     }
 
-    // Set the response timeout in the request, this value is read by {@code CustomTimeoutThrottleRequestFilter}
-    // if the maxConnections attribute is configured in the requester.
+    // Set the response timeout in the request, this value is read by {@code PerHostThrottleRequestFilter} and
+    // {@code CustomTimeoutThrottleRequestFilter} to limit the time waiting for a connection.
     builder.setRequestTimeout(responseTimeout);
 
     return builder.build();
@@ -395,6 +418,11 @@ public class GrizzlyHttpClient implements HttpClient {
     return proxyConfig;
   }
 
+  @Override
+  public Collection<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+    return throttleRequestFilter != null ? throttleRequestFilter.getStatistics() : emptyList();
+  }
+
   @Override
   public void stop() {
     asyncHttpClient.close();
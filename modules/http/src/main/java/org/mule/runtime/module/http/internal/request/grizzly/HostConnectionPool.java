@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static java.lang.System.nanoTime;
+
+import org.mule.runtime.core.management.stats.ConnectionPoolStatistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the requests in flight to a single host, making the ones over the limit wait until a connection is released.
+ * <p/>
+ * The limit is fixed unless an {@link AdaptiveConnectionLimit} is given, in which case it follows the latency of the host. The
+ * number of waiting requests can be bound too, so that the ones over it fail right away instead of waiting for a host that
+ * can't keep up.
+ *
+ * @since 4.0
+ */
+public class HostConnectionPool implements ConnectionPoolStatistics {
+
+  public static final int UNLIMITED = -1;
+
+  private static final long[] ACQUIRE_TIME_HISTOGRAM_BOUNDS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+  private static final long NANOS_PER_MILLI = 1000000;
+
+  private final String host;
+  private final int maxConnections;
+  private final int maxPendingRequests;
+  private final AdaptiveConnectionLimit adaptiveLimit;
+  private final ReentrantLock lock = new ReentrantLock(true);
+  private final Condition released = lock.newCondition();
+  private final AtomicInteger openConnections = new AtomicInteger();
+
+  private int active;
+  private int waiting;
+  private long acquired;
+  private long rejected;
+  private final long[] acquireTimeHistogram = new long[ACQUIRE_TIME_HISTOGRAM_BOUNDS.length + 1];
+  private volatile long lastUsed = nanoTime();
+  private volatile boolean evicted;
+
+  /**
+   * @param host the host, as {@code host:port}
+   * @param maxConnections the maximum number of requests in flight, or {@link #UNLIMITED}. When the limit is adaptive, this is
+   *        the maximum it can grow to.
+   * @param maxPendingRequests the maximum number of requests waiting for a connection, or {@link #UNLIMITED}
+   * @param adaptiveLimit the limit to follow instead of {@code maxConnections}, or {@code null} for a fixed limit
+   */
+  public HostConnectionPool(String host, int maxConnections, int maxPendingRequests, AdaptiveConnectionLimit adaptiveLimit) {
+    this.host = host;
+    this.maxConnections = maxConnections;
+    this.maxPendingRequests = maxPendingRequests;
+    this.adaptiveLimit = adaptiveLimit;
+  }
+
+  /**
+   * Takes a connection for a request, waiting for one to be released if the limit was reached.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit the unit of the timeout
+   * @return {@code true} if the connection was taken, {@code false} if there wasn't one available in time, too many requests
+   *         were waiting already or this pool was {@link #evictIfIdle(long) evicted}
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+    final long start = nanoTime();
+    long remaining = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      if (evicted) {
+        return false;
+      }
+      if (active >= getLimit()) {
+        if (maxPendingRequests != UNLIMITED && waiting >= maxPendingRequests) {
+          rejected++;
+          return false;
+        }
+        waiting++;
+        try {
+          while (active >= getLimit()) {
+            if (remaining <= 0) {
+              rejected++;
+              return false;
+            }
+            remaining = released.awaitNanos(remaining);
+          }
+        } finally {
+          waiting--;
+        }
+      }
+      active++;
+      acquired++;
+      recordAcquireTime(nanoTime() - start);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gives back a connection taken by a request that completed.
+   *
+   * @param latencyNanos the time the request took, used to adapt the limit
+   * @param failed whether the request failed
+   */
+  public void release(long latencyNanos, boolean failed) {
+    lock.lock();
+    try {
+      boolean limitChanged = adaptiveLimit != null && adaptiveLimit.onSample(latencyNanos, failed, active);
+      active--;
+      lastUsed = nanoTime();
+      if (limitChanged) {
+        released.signalAll();
+      } else {
+        released.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gives back a connection taken by a request that was never sent.
+   */
+  public void cancel() {
+    lock.lock();
+    try {
+      active--;
+      released.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void connectionOpened() {
+    openConnections.incrementAndGet();
+  }
+
+  void connectionClosed() {
+    openConnections.decrementAndGet();
+  }
+
+  /**
+   * Marks this pool as evicted if nothing used it for the given time, after which connections can't be acquired from it.
+   *
+   * @param idleNanos the time without requests or open connections for this pool to be evicted
+   * @return whether it was evicted
+   */
+  boolean evictIfIdle(long idleNanos) {
+    lock.lock();
+    try {
+      if (active == 0 && waiting == 0 && openConnections.get() == 0 && nanoTime() - lastUsed >= idleNanos) {
+        evicted = true;
+      }
+      return evicted;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  boolean isEvicted() {
+    return evicted;
+  }
+
+  private int getLimit() {
+    if (adaptiveLimit != null) {
+      return adaptiveLimit.getLimit();
+    }
+    return maxConnections == UNLIMITED ? Integer.MAX_VALUE : maxConnections;
+  }
+
+  private void recordAcquireTime(long nanos) {
+    int bucket = 0;
+    while (bucket < ACQUIRE_TIME_HISTOGRAM_BOUNDS.length && nanos > ACQUIRE_TIME_HISTOGRAM_BOUNDS[bucket] * NANOS_PER_MILLI) {
+      bucket++;
+    }
+    acquireTimeHistogram[bucket]++;
+  }
+
+  @Override
+  public String getHost() {
+    return host;
+  }
+
+  @Override
+  public int getMaxConnections() {
+    lock.lock();
+    try {
+      return adaptiveLimit != null ? adaptiveLimit.getLimit() : maxConnections;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getActiveConnections() {
+    lock.lock();
+    try {
+      return active;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getIdleConnections() {
+    return Math.max(0, openConnections.get() - getActiveConnections());
+  }
+
+  @Override
+  public int getWaitingRequests() {
+    lock.lock();
+    try {
+      return waiting;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long getAcquiredConnections() {
+    lock.lock();
+    try {
+      return acquired;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long getRejectedRequests() {
+    lock.lock();
+    try {
+      return rejected;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long[] getAcquireTimeHistogramBounds() {
+    return ACQUIRE_TIME_HISTOGRAM_BOUNDS.clone();
+  }
+
+  @Override
+  public long[] getAcquireTimeHistogram() {
+    lock.lock();
+    try {
+      return acquireTimeHistogram.clone();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.module.http.internal.request.grizzly.HostConnectionPool.UNLIMITED;
+
+import org.mule.runtime.core.management.stats.ConnectionPoolStatistics;
+
+import com.ning.http.client.AsyncHandler;
+import com.ning.http.client.HttpResponseBodyPart;
+import com.ning.http.client.HttpResponseHeaders;
+import com.ning.http.client.HttpResponseStatus;
+import com.ning.http.client.filter.FilterContext;
+import com.ning.http.client.filter.FilterException;
+import com.ning.http.client.filter.RequestFilter;
+import com.ning.http.client.uri.Uri;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.ConnectionProbe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RequestFilter} that throttles requests with a {@link HostConnectionPool} for each destination host, so that a slow
+ * host can only hold its own share of connections instead of starving the requests to every other host. An overall limit for
+ * all the hosts can be set too.
+ * <p/>
+ * Like {@link CustomTimeoutThrottleRequestFilter}, requests wait for a connection up to their own request timeout. The pools of
+ * hosts that had no requests nor open connections for the idle timeout are evicted.
+ *
+ * @since 4.0
+ */
+public class PerHostThrottleRequestFilter implements RequestFilter {
+
+  private static final Logger logger = LoggerFactory.getLogger(PerHostThrottleRequestFilter.class);
+
+  private static final int DEFAULT_ADAPTIVE_INITIAL_LIMIT = 20;
+  private static final long MIN_EVICTION_INTERVAL_NANOS = MILLISECONDS.toNanos(1000);
+
+  private final Semaphore available;
+  private final int maxConnectionsPerHost;
+  private final int maxPendingRequestsPerHost;
+  private final boolean adaptiveLimit;
+  private final long idleTimeoutNanos;
+  private final ConcurrentMap<String, HostConnectionPool> pools = new ConcurrentHashMap<>();
+  // The pools by the resolved addresses of their hosts, to find the pool of a connection
+  private final ConcurrentMap<String, HostConnectionPool> poolsByAddress = new ConcurrentHashMap<>();
+  private final AtomicLong nextEviction = new AtomicLong(nanoTime());
+  private final ConnectionProbe connectionProbe = new HostConnectionsProbe();
+
+  /**
+   * @param maxConnections the maximum number of requests in flight to all hosts, or {@link HostConnectionPool#UNLIMITED}
+   * @param maxConnectionsPerHost the maximum number of requests in flight to each host, or
+   *        {@link HostConnectionPool#UNLIMITED}
+   * @param maxPendingRequestsPerHost the maximum number of requests waiting for a connection to each host, or
+   *        {@link HostConnectionPool#UNLIMITED}
+   * @param adaptiveLimit whether the limit of each host follows its latency, up to {@code maxConnectionsPerHost}
+   * @param idleTimeout the milliseconds without requests or open connections after which the pool of a host is evicted
+   */
+  public PerHostThrottleRequestFilter(int maxConnections, int maxConnectionsPerHost, int maxPendingRequestsPerHost,
+                                      boolean adaptiveLimit, int idleTimeout) {
+    this.available = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.maxPendingRequestsPerHost = maxPendingRequestsPerHost;
+    this.adaptiveLimit = adaptiveLimit;
+    this.idleTimeoutNanos = MILLISECONDS.toNanos(idleTimeout);
+  }
+
+  @Override
+  public FilterContext filter(FilterContext ctx) throws FilterException {
+    evictIdlePools();
+
+    final Uri uri = ctx.getRequest().getUri();
+    final String host = getHost(uri);
+    final long start = nanoTime();
+    final long timeout = ctx.getRequest().getRequestTimeout();
+    HostConnectionPool pool;
+    try {
+      do {
+        pool = getPool(host, uri);
+        if (pool.acquire(timeout, MILLISECONDS)) {
+          break;
+        }
+        if (!pool.isEvicted()) {
+          throw new FilterException(String.format("No slot available for host %s processing Request %s with AsyncHandler %s",
+                                                  host, ctx.getRequest(), ctx.getAsyncHandler()));
+        }
+        // Evicted since it was looked up, a new one is created
+        removePool(pool);
+      } while (true);
+
+      if (available != null && !available.tryAcquire(MILLISECONDS.toNanos(timeout) - (nanoTime() - start), NANOSECONDS)) {
+        pool.cancel();
+        throw new FilterException(String.format("No slot available for processing Request %s with AsyncHandler %s",
+                                                ctx.getRequest(), ctx.getAsyncHandler()));
+      }
+    } catch (InterruptedException e) {
+      throw new FilterException(String.format("Interrupted Request %s with AsyncHandler %s", ctx.getRequest(),
+                                              ctx.getAsyncHandler()));
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Current Throttling Status for host {}: {} active, {} waiting", host, pool.getActiveConnections(),
+                   pool.getWaitingRequests());
+    }
+
+    return new FilterContext.FilterContextBuilder(ctx).asyncHandler(new AsyncHandlerWrapper(ctx.getAsyncHandler(), pool))
+        .build();
+  }
+
+  private HostConnectionPool getPool(String host, Uri uri) {
+    HostConnectionPool pool = pools.get(host);
+    if (pool == null) {
+      HostConnectionPool created = createPool(host);
+      pool = pools.putIfAbsent(host, created);
+      if (pool == null) {
+        pool = created;
+        registerAddresses(uri, created);
+      }
+    }
+    return pool;
+  }
+
+  /**
+   * Registers the pool under the addresses its host resolves to, as the transport reports the peer address of connections
+   * with the resolved address instead of the host of the request URI. Hosts resolving to the same address share it, so the
+   * connections to that address are counted in the pool of the last one.
+   */
+  private void registerAddresses(Uri uri, HostConnectionPool pool) {
+    try {
+      for (InetAddress address : InetAddress.getAllByName(uri.getHost())) {
+        poolsByAddress.put(getAddressKey(address, getPort(uri)), pool);
+      }
+    } catch (UnknownHostException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not resolve host {}, its connections won't be counted", uri.getHost());
+      }
+    }
+  }
+
+  private void removePool(HostConnectionPool pool) {
+    pools.remove(pool.getHost(), pool);
+    poolsByAddress.values().removeIf(registeredPool -> registeredPool == pool);
+  }
+
+  private HostConnectionPool createPool(String host) {
+    AdaptiveConnectionLimit limit = null;
+    if (adaptiveLimit) {
+      int maxLimit = maxConnectionsPerHost == UNLIMITED ? Integer.MAX_VALUE : maxConnectionsPerHost;
+      limit = new AdaptiveConnectionLimit(Math.min(DEFAULT_ADAPTIVE_INITIAL_LIMIT, maxLimit), 1, maxLimit);
+    }
+    return new HostConnectionPool(host, maxConnectionsPerHost, maxPendingRequestsPerHost, limit);
+  }
+
+  private void evictIdlePools() {
+    final long now = nanoTime();
+    final long next = nextEviction.get();
+    if (now - next < 0 || !nextEviction.compareAndSet(next, now + max(idleTimeoutNanos, MIN_EVICTION_INTERVAL_NANOS))) {
+      return;
+    }
+    for (HostConnectionPool pool : pools.values()) {
+      if (pool.evictIfIdle(idleTimeoutNanos)) {
+        removePool(pool);
+      }
+    }
+  }
+
+  private static String getHost(Uri uri) {
+    return uri.getHost() + ":" + getPort(uri);
+  }
+
+  private static int getPort(Uri uri) {
+    int port = uri.getPort();
+    if (port == -1) {
+      port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+    return port;
+  }
+
+  private static String getAddressKey(InetAddress address, int port) {
+    return address.getHostAddress() + ":" + port;
+  }
+
+  /**
+   * @return the statistics of the hosts being connected to
+   */
+  public Collection<ConnectionPoolStatistics> getStatistics() {
+    return new ArrayList<>(pools.values());
+  }
+
+  /**
+   * @return a probe to add to the transport so that the open connections to each host are counted
+   */
+  public ConnectionProbe getConnectionProbe() {
+    return connectionProbe;
+  }
+
+  /**
+   * Counts the connections opened to each host. Connections to hosts without a pool, such as a proxy, aren't counted.
+   */
+  private class HostConnectionsProbe extends ConnectionProbe.Adapter {
+
+    private final Set<Connection> connections = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    @Override
+    public void onConnectEvent(Connection connection) {
+      HostConnectionPool pool = getPool(connection);
+      if (pool != null && connections.add(connection)) {
+        pool.connectionOpened();
+      }
+    }
+
+    @Override
+    public void onCloseEvent(Connection connection) {
+      if (connections.remove(connection)) {
+        HostConnectionPool pool = getPool(connection);
+        if (pool != null) {
+          pool.connectionClosed();
+        }
+      }
+    }
+
+    private HostConnectionPool getPool(Connection connection) {
+      SocketAddress address = (SocketAddress) connection.getPeerAddress();
+      if (!(address instanceof InetSocketAddress)) {
+        return null;
+      }
+      InetSocketAddress inetAddress = (InetSocketAddress) address;
+      if (inetAddress.getAddress() == null) {
+        return pools.get(inetAddress.getHostString() + ":" + inetAddress.getPort());
+      }
+      return poolsByAddress.get(getAddressKey(inetAddress.getAddress(), inetAddress.getPort()));
+    }
+  }
+
+  private class AsyncHandlerWrapper<T> implements AsyncHandler<T> {
+
+    private final AsyncHandler<T> asyncHandler;
+    private final HostConnectionPool pool;
+    private final long start = nanoTime();
+    private final AtomicBoolean complete = new AtomicBoolean(false);
+
+    public AsyncHandlerWrapper(AsyncHandler<T> asyncHandler, HostConnectionPool pool) {
+      this.asyncHandler = asyncHandler;
+      this.pool = pool;
+    }
+
+    private void complete(boolean failed) {
+      if (complete.compareAndSet(false, true)) {
+        if (available != null) {
+          available.release();
+        }
+        pool.release(nanoTime() - start, failed);
+      }
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+      try {
+        asyncHandler.onThrowable(t);
+      } finally {
+        complete(true);
+      }
+    }
+
+    @Override
+    public STATE onBodyPartReceived(HttpResponseBodyPart bodyPart) throws Exception {
+      return asyncHandler.onBodyPartReceived(bodyPart);
+    }
+
+    @Override
+    public STATE onStatusReceived(HttpResponseStatus responseStatus) throws Exception {
+      return asyncHandler.onStatusReceived(responseStatus);
+    }
+
+    @Override
+    public STATE onHeadersReceived(HttpResponseHeaders headers) throws Exception {
+      return asyncHandler.onHeadersReceived(headers);
+    }
+
+    @Override
+    public T onCompleted() throws Exception {
+      try {
+        return asyncHandler.onCompleted();
+      } finally {
+        complete(false);
+      }
+    }
+  }
+}
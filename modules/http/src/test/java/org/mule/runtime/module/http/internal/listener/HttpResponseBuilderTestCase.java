@@ -7,6 +7,8 @@
 package org.mule.runtime.module.http.internal.listener;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
@@ -16,13 +18,26 @@ import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_LENGTH;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.MuleEvent;
 import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.module.http.internal.domain.ByteBufferHttpEntity;
+import org.mule.runtime.module.http.internal.domain.FileHttpEntity;
+import org.mule.runtime.module.http.internal.domain.InputStreamHttpEntity;
 import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class HttpResponseBuilderTestCase {
 
@@ -31,6 +46,9 @@ public class HttpResponseBuilderTestCase {
   private MuleMessage mockMuleMessage;
   private MuleEvent mockEvent;
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @Before
   public void setUp() {
     muleContext = mock(MuleContext.class, RETURNS_DEEP_STUBS);
@@ -49,7 +67,67 @@ public class HttpResponseBuilderTestCase {
     assertThat(httpResponse.getHeaderValue(CONTENT_LENGTH), is(String.valueOf(EXAMPLE_STRING.length())));
   }
 
-  private void mockMuleMessage(InputStream payload, int contentLength) {
+  @Test
+  public void filePayloadIsSentAsFile() throws Exception {
+    File file = temporaryFolder.newFile();
+    Files.write(file.toPath(), EXAMPLE_STRING.getBytes(UTF_8));
+    mockMuleMessage(file, 1);
+
+    HttpResponse httpResponse =
+        new HttpResponseBuilder().build(new org.mule.runtime.module.http.internal.domain.response.HttpResponseBuilder(),
+                                        mockEvent);
+    assertThat(httpResponse.getEntity(), instanceOf(FileHttpEntity.class));
+    assertThat(((FileHttpEntity) httpResponse.getEntity()).getFile(), is(file));
+    assertThat(httpResponse.getHeaderValue(CONTENT_LENGTH), is(String.valueOf(EXAMPLE_STRING.length())));
+  }
+
+  @Test
+  public void pathPayloadIsSentAsFile() throws Exception {
+    Path path = temporaryFolder.newFile().toPath();
+    Files.write(path, EXAMPLE_STRING.getBytes(UTF_8));
+    mockMuleMessage(path, 1);
+
+    HttpResponse httpResponse =
+        new HttpResponseBuilder().build(new org.mule.runtime.module.http.internal.domain.response.HttpResponseBuilder(),
+                                        mockEvent);
+    assertThat(((FileHttpEntity) httpResponse.getEntity()).getFile(), is(path.toFile()));
+    assertThat(httpResponse.getHeaderValue(CONTENT_LENGTH), is(String.valueOf(EXAMPLE_STRING.length())));
+  }
+
+  @Test
+  public void pathOfOtherFileSystemIsStreamed() throws Exception {
+    File zip = new File(temporaryFolder.getRoot(), "payload.zip");
+    URI zipUri = URI.create("jar:" + zip.toURI());
+    try (FileSystem zipFileSystem = FileSystems.newFileSystem(zipUri, singletonMap("create", "true"))) {
+      Path path = zipFileSystem.getPath("payload.txt");
+      Files.write(path, EXAMPLE_STRING.getBytes(UTF_8));
+      mockMuleMessage(path, 1);
+
+      HttpResponse httpResponse =
+          new HttpResponseBuilder().build(new org.mule.runtime.module.http.internal.domain.response.HttpResponseBuilder(),
+                                          mockEvent);
+      InputStream content = ((InputStreamHttpEntity) httpResponse.getEntity()).getInputStream();
+      assertThat(IOUtils.toString(content, UTF_8.name()), is(EXAMPLE_STRING));
+      assertThat(httpResponse.getHeaderValue(CONTENT_LENGTH), is(String.valueOf(EXAMPLE_STRING.length())));
+    }
+  }
+
+  @Test
+  public void byteBufferPayloadIsNotCopied() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+    buffer.put(EXAMPLE_STRING.getBytes(UTF_8)).flip();
+    mockMuleMessage(buffer, 1);
+
+    HttpResponse httpResponse =
+        new HttpResponseBuilder().build(new org.mule.runtime.module.http.internal.domain.response.HttpResponseBuilder(),
+                                        mockEvent);
+    ByteBuffer content = ((ByteBufferHttpEntity) httpResponse.getEntity()).getContent();
+    content.get(new byte[content.remaining()]);
+    assertThat(buffer.remaining(), is(EXAMPLE_STRING.length()));
+    assertThat(httpResponse.getHeaderValue(CONTENT_LENGTH), is(String.valueOf(EXAMPLE_STRING.length())));
+  }
+
+  private void mockMuleMessage(Object payload, int contentLength) {
     mockMuleMessage = MuleMessage.builder().payload(payload).addOutboundProperty(CONTENT_LENGTH, contentLength).build();
     when(mockEvent.getMessage()).thenReturn(mockMuleMessage);
   }
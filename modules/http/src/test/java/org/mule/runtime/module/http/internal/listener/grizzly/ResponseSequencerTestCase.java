@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.listener.grizzly;
+
+import static org.glassfish.grizzly.http.HttpServerFilter.RESPONSE_COMPLETE_EVENT;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.runtime.module.http.internal.listener.grizzly.ResponseSequencer.ResponseTurn;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.filterchain.NextAction;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.junit.Test;
+
+@SmallTest
+public class ResponseSequencerTestCase extends AbstractMuleTestCase {
+
+  private final ResponseSequencer sequencer = new ResponseSequencer();
+  private final List<String> started = new ArrayList<>();
+
+  @Test
+  public void responsesAreStartedInRequestOrder() {
+    ResponseTurn first = sequencer.nextTurn(mock(FilterChainContext.class), keepAliveRequest(), true);
+    ResponseTurn second = sequencer.nextTurn(mock(FilterChainContext.class), keepAliveRequest(), true);
+    ResponseTurn third = sequencer.nextTurn(mock(FilterChainContext.class), keepAliveRequest(), false);
+
+    third.send(new TestResponseCompletionHandler("third"));
+    second.send(new TestResponseCompletionHandler("second"));
+    assertThat(started.isEmpty(), is(true));
+
+    first.send(new TestResponseCompletionHandler("first"));
+    assertThat(started, contains("first"));
+
+    first.responseSent();
+    assertThat(started, contains("first", "second"));
+    second.responseSent();
+    assertThat(started, contains("first", "second", "third"));
+    third.responseSent();
+    assertThat(sequencer.getPendingResponses(), is(0));
+  }
+
+  @Test
+  public void connectionIsOnlyReleasedAfterTheLastResponse() {
+    FilterChainContext firstCtx = mock(FilterChainContext.class);
+    FilterChainContext secondCtx = mock(FilterChainContext.class);
+    ResponseTurn first = sequencer.nextTurn(firstCtx, keepAliveRequest(), true);
+    ResponseTurn second = sequencer.nextTurn(secondCtx, keepAliveRequest(), false);
+
+    first.responseSent();
+    verify(firstCtx, never()).notifyDownstream(RESPONSE_COMPLETE_EVENT);
+    verify(firstCtx, never()).resume(any(NextAction.class));
+
+    second.responseSent();
+    verify(secondCtx).notifyDownstream(RESPONSE_COMPLETE_EVENT);
+    verify(secondCtx).resume(any(NextAction.class));
+  }
+
+  @Test
+  public void failedResponseClosesConnectionWithPendingResponses() {
+    Connection connection = mock(Connection.class);
+    FilterChainContext ctx = mock(FilterChainContext.class);
+    when(ctx.getConnection()).thenReturn(connection);
+    ResponseTurn first = sequencer.nextTurn(ctx, keepAliveRequest(), true);
+    sequencer.nextTurn(mock(FilterChainContext.class), keepAliveRequest(), true);
+
+    first.responseFailed();
+    verify(connection).closeSilently();
+    assertThat(sequencer.getPendingResponses(), is(1));
+  }
+
+  private HttpRequestPacket keepAliveRequest() {
+    HttpRequestPacket request = HttpRequestPacket.builder().method("GET").uri("/").protocol("HTTP/1.1").build();
+    request.getProcessingState().setKeepAlive(true);
+    return request;
+  }
+
+  private class TestResponseCompletionHandler extends BaseResponseCompletionHandler {
+
+    private final String name;
+
+    TestResponseCompletionHandler(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void start() {
+      started.add(name);
+    }
+  }
+}
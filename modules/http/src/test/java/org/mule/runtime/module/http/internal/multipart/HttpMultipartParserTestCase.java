@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.multipart;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class HttpMultipartParserTestCase extends AbstractMuleTestCase {
+
+  private static final String BOUNDARY = "bOuNdArY";
+  private static final String CONTENT_TYPE = "multipart/form-data; boundary=" + BOUNDARY;
+  private static final int THRESHOLD = 1024;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void smallPartsInMemory() throws Exception {
+    String body = "preamble\r\n--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data; name=\"field\"\r\n\r\n"
+        + "value\r\n--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data; name=\"file\"; filename=\"file.txt\"\r\n"
+        + "Content-Type: application/octet-stream\r\n\r\n"
+        + "line1\r\nline2\r\n--" + BOUNDARY + "--\r\nepilogue";
+
+    List<HttpPart> parts = parse(body.getBytes(ISO_8859_1));
+
+    assertThat(parts.size(), is(2));
+    assertPart(parts.get(0), "field", null, "text/plain", "value");
+    assertPart(parts.get(1), "file", "file.txt", "application/octet-stream", "line1\r\nline2");
+    assertThat(parts.get(1).getHeader("Content-Disposition"), is("form-data; name=\"file\"; filename=\"file.txt\""));
+    assertThat(parts.get(0).getContentFile(), is(nullValue()));
+    assertThat(parts.get(1).getContentFile(), is(nullValue()));
+  }
+
+  @Test
+  public void largePartSpilledToFile() throws Exception {
+    String largeContent = repeat("0123456789", 10 * THRESHOLD);
+    String body = "--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data; name=\"small\"\r\n\r\n"
+        + "value\r\n--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data; name=\"large\"\r\n\r\n"
+        + largeContent + "\r\n--" + BOUNDARY + "--";
+
+    HttpMultipartParser parser = parser(new ByteArrayInputStream(body.getBytes(ISO_8859_1)));
+    List<HttpPart> parts = new ArrayList<>(parser.parse());
+
+    assertPart(parts.get(0), "small", null, "text/plain", "value");
+    assertPart(parts.get(1), "large", null, "text/plain", largeContent);
+    assertThat(parts.get(1).getContentFile(), is(notNullValue()));
+    assertThat(parser.getPeakInMemorySize(), is(lessThanOrEqualTo((long) THRESHOLD)));
+
+    parts.get(1).delete();
+    assertThat(temporaryFolder.getRoot().listFiles(), is(arrayWithSize(0)));
+  }
+
+  @Test
+  public void boundaryAcrossReads() throws Exception {
+    String content = repeat("a", 16 * 1024 - 3);
+    String body = "--" + BOUNDARY + "\r\n\r\n" + content + "\r\n--" + BOUNDARY + "--";
+
+    // Returns a single byte on each read, so the delimiter is always split
+    InputStream slowStream = new ByteArrayInputStream(body.getBytes(ISO_8859_1)) {
+
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        return super.read(b, off, Math.min(len, 1));
+      }
+    };
+    List<HttpPart> parts = new ArrayList<>(parser(slowStream).parse());
+
+    assertThat(parts.size(), is(1));
+    assertPart(parts.get(0), null, null, "text/plain", content);
+  }
+
+  @Test
+  public void foldedHeader() throws Exception {
+    String body = "--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data;\r\n name=\"field\"\r\n\r\n"
+        + "value\r\n--" + BOUNDARY + "--";
+
+    assertPart(parse(body.getBytes(ISO_8859_1)).get(0), "field", null, "text/plain", "value");
+  }
+
+  @Test(expected = IOException.class)
+  public void missingCloseDelimiter() throws Exception {
+    parse(("--" + BOUNDARY + "\r\n\r\n" + repeat("a", 4 * THRESHOLD)).getBytes(ISO_8859_1));
+  }
+
+  @Test
+  public void failureDeletesTemporaryFiles() throws Exception {
+    String body = "--" + BOUNDARY + "\r\n\r\n" + repeat("a", 4 * THRESHOLD) + "\r\n--" + BOUNDARY + "\r\n\r\nunterminated";
+    try {
+      parse(body.getBytes(ISO_8859_1));
+    } catch (IOException e) {
+      assertThat(temporaryFolder.getRoot().listFiles(), is(arrayWithSize(0)));
+      return;
+    }
+    throw new AssertionError("Malformed content was parsed");
+  }
+
+  @Test(expected = IOException.class)
+  public void missingBoundary() throws Exception {
+    new HttpMultipartParser(new ByteArrayInputStream(new byte[0]), "multipart/form-data", THRESHOLD, null);
+  }
+
+  private List<HttpPart> parse(byte[] body) throws IOException {
+    return new ArrayList<>(parser(new ByteArrayInputStream(body)).parse());
+  }
+
+  private HttpMultipartParser parser(InputStream content) throws IOException {
+    return new HttpMultipartParser(content, CONTENT_TYPE, THRESHOLD, temporaryFolder.getRoot());
+  }
+
+  private void assertPart(HttpPart part, String name, String fileName, String contentType, String content) throws IOException {
+    assertThat(part.getName(), is(name));
+    assertThat(part.getFileName(), is(fileName));
+    assertThat(part.getContentType(), is(contentType));
+    assertThat(part.getSize(), is((long) content.length()));
+    try (InputStream partContent = part.getInputStream()) {
+      assertThat(new String(IOUtils.toByteArray(partContent), ISO_8859_1), is(content));
+    }
+  }
+
+  private String repeat(String value, int times) {
+    char[] chars = new char[value.length() * times];
+    for (int i = 0; i < times; i++) {
+      value.getChars(0, value.length(), chars, i * value.length());
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.module.http.internal.request.grizzly.HostConnectionPool.UNLIMITED;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class HostConnectionPoolTestCase extends AbstractMuleTestCase {
+
+  private static final String HOST = "localhost:8081";
+  private static final long FAST = MILLISECONDS.toNanos(10);
+  private static final long SLOW = MILLISECONDS.toNanos(100);
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void limitReachedTimesOut() throws Exception {
+    HostConnectionPool pool = new HostConnectionPool(HOST, 2, UNLIMITED, null);
+
+    assertThat(pool.acquire(0, MILLISECONDS), is(true));
+    assertThat(pool.acquire(0, MILLISECONDS), is(true));
+    assertThat(pool.acquire(10, MILLISECONDS), is(false));
+
+    assertThat(pool.getActiveConnections(), is(2));
+    assertThat(pool.getAcquiredConnections(), is(2L));
+    assertThat(pool.getRejectedRequests(), is(1L));
+  }
+
+  @Test
+  public void releaseWakesUpWaitingRequest() throws Exception {
+    HostConnectionPool pool = new HostConnectionPool(HOST, 1, UNLIMITED, null);
+    assertThat(pool.acquire(0, MILLISECONDS), is(true));
+
+    Future<Boolean> waiting = executor.submit(() -> pool.acquire(10, SECONDS));
+    while (pool.getWaitingRequests() == 0) {
+      Thread.sleep(1);
+    }
+    pool.release(FAST, false);
+
+    assertThat(waiting.get(10, SECONDS), is(true));
+    assertThat(pool.getActiveConnections(), is(1));
+    assertThat(pool.getWaitingRequests(), is(0));
+  }
+
+  @Test
+  public void pendingRequestsOverLimitAreRejected() throws Exception {
+    HostConnectionPool pool = new HostConnectionPool(HOST, 1, 1, null);
+    assertThat(pool.acquire(0, MILLISECONDS), is(true));
+
+    executor.submit(() -> pool.acquire(10, SECONDS));
+    while (pool.getWaitingRequests() == 0) {
+      Thread.sleep(1);
+    }
+
+    // Rejected right away instead of waiting for the timeout
+    long start = System.nanoTime();
+    assertThat(pool.acquire(10, SECONDS), is(false));
+    assertThat(System.nanoTime() - start, lessThan(SECONDS.toNanos(5)));
+    assertThat(pool.getRejectedRequests(), is(1L));
+  }
+
+  @Test
+  public void acquireTimeHistogram() throws Exception {
+    HostConnectionPool pool = new HostConnectionPool(HOST, UNLIMITED, UNLIMITED, null);
+    pool.acquire(0, MILLISECONDS);
+    pool.acquire(0, MILLISECONDS);
+
+    long[] histogram = pool.getAcquireTimeHistogram();
+    assertThat(histogram.length, is(pool.getAcquireTimeHistogramBounds().length + 1));
+    assertThat(histogram[0], is(2L));
+  }
+
+  @Test
+  public void idleConnections() throws Exception {
+    HostConnectionPool pool = new HostConnectionPool(HOST, UNLIMITED, UNLIMITED, null);
+    pool.connectionOpened();
+    pool.connectionOpened();
+    pool.acquire(0, MILLISECONDS);
+
+    assertThat(pool.getIdleConnections(), is(1));
+    pool.release(FAST, false);
+    assertThat(pool.getIdleConnections(), is(2));
+  }
+
+  @Test
+  public void onlyIdlePoolIsEvicted() throws Exception {
+    HostConnectionPool pool = new HostConnectionPool(HOST, UNLIMITED, UNLIMITED, null);
+    pool.acquire(0, MILLISECONDS);
+    assertThat(pool.evictIfIdle(0), is(false));
+
+    pool.release(FAST, false);
+    pool.connectionOpened();
+    assertThat(pool.evictIfIdle(0), is(false));
+
+    pool.connectionClosed();
+    assertThat(pool.evictIfIdle(0), is(true));
+    assertThat(pool.acquire(0, MILLISECONDS), is(false));
+    assertThat(pool.isEvicted(), is(true));
+  }
+
+  @Test
+  public void adaptiveLimitGrowsWhileSaturated() throws Exception {
+    AdaptiveConnectionLimit limit = new AdaptiveConnectionLimit(2, 1, 10);
+    HostConnectionPool pool = new HostConnectionPool(HOST, 10, UNLIMITED, limit);
+
+    for (int i = 0; i < 20; i++) {
+      assertThat(pool.acquire(0, MILLISECONDS), is(true));
+      assertThat(pool.acquire(0, MILLISECONDS), is(true));
+      pool.release(FAST, false);
+      pool.release(FAST, false);
+    }
+
+    assertThat(pool.getMaxConnections(), is(greaterThan(2)));
+  }
+
+  @Test
+  public void adaptiveLimitShrinksWhenLatencyRises() {
+    AdaptiveConnectionLimit limit = new AdaptiveConnectionLimit(10, 1, 10);
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(FAST, false, 1);
+    }
+    assertThat(limit.getLimit(), is(10));
+
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(SLOW, false, 1);
+    }
+    assertThat(limit.getLimit(), is(lessThan(10)));
+  }
+
+  @Test
+  public void adaptiveLimitShrinksOnFailures() {
+    AdaptiveConnectionLimit limit = new AdaptiveConnectionLimit(10, 2, 10);
+    for (int i = 0; i < 1000; i++) {
+      limit.onSample(FAST, true, 1);
+    }
+    assertThat(limit.getLimit(), is(2));
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.request.grizzly;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.http.internal.request.grizzly.HostConnectionPool.UNLIMITED;
+
+import org.mule.runtime.core.management.stats.ConnectionPoolStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import com.ning.http.client.AsyncHandler;
+import com.ning.http.client.RequestBuilder;
+import com.ning.http.client.filter.FilterContext;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import org.glassfish.grizzly.Connection;
+import org.junit.Test;
+
+@SmallTest
+public class PerHostThrottleRequestFilterTestCase extends AbstractMuleTestCase {
+
+  private static final int PORT = 8081;
+
+  private final PerHostThrottleRequestFilter filter = new PerHostThrottleRequestFilter(UNLIMITED, 2, UNLIMITED, false, 60000);
+
+  @Test
+  public void countsConnectionsToResolvedAddressOfHost() throws Exception {
+    FilterContext<?> ctx = filter.filter(new FilterContext.FilterContextBuilder<>()
+        .request(new RequestBuilder().setUrl("http://localhost:" + PORT + "/").setRequestTimeout(1000).build())
+        .asyncHandler(mock(AsyncHandler.class)).build());
+
+    // The transport reports the peer address of connections without the host name of the request
+    Connection connection = mock(Connection.class);
+    when(connection.getPeerAddress()).thenReturn(new InetSocketAddress(InetAddress.getByAddress(new byte[] {127, 0, 0, 1}), PORT));
+    filter.getConnectionProbe().onConnectEvent(connection);
+    ctx.getAsyncHandler().onCompleted();
+
+    ConnectionPoolStatistics statistics = filter.getStatistics().iterator().next();
+    assertThat(statistics.getActiveConnections(), is(0));
+    assertThat(statistics.getIdleConnections(), is(1));
+
+    filter.getConnectionProbe().onCloseEvent(connection);
+    assertThat(statistics.getIdleConnections(), is(0));
+  }
+}
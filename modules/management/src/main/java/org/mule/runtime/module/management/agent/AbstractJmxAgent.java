@@ -15,10 +15,13 @@ import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.construct.AbstractFlowConstruct;
 import org.mule.runtime.core.context.notification.MuleContextNotification;
 import org.mule.runtime.core.context.notification.NotificationException;
+import org.mule.runtime.core.management.stats.ConnectionPoolStatisticsProvider;
 import org.mule.runtime.core.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.module.management.i18n.ManagementMessages;
 import org.mule.runtime.module.management.mbean.ApplicationService;
+import org.mule.runtime.module.management.mbean.ConnectionPoolStats;
+import org.mule.runtime.module.management.mbean.ConnectionPoolStatsMBean;
 import org.mule.runtime.module.management.mbean.FlowConstructService;
 import org.mule.runtime.module.management.mbean.FlowConstructServiceMBean;
 import org.mule.runtime.module.management.mbean.MuleConfigurationService;
@@ -358,6 +361,22 @@ public abstract class AbstractJmxAgent extends AbstractAgent {
     }
   }
 
+  protected void registerConnectionPoolServices() throws NotCompliantMBeanException, MBeanRegistrationException,
+      InstanceAlreadyExistsException, MalformedObjectNameException {
+    for (Map.Entry<String, ConnectionPoolStatisticsProvider> entry : muleContext.getRegistry()
+        .lookupByType(ConnectionPoolStatisticsProvider.class).entrySet()) {
+      final String name = jmxSupport.escape(entry.getKey());
+      final String jmxName = String.format("%s:type=%s,name=%s", jmxSupport.getDomainName(muleContext, !containerMode),
+                                           ConnectionPoolStatsMBean.TYPE, name);
+      ObjectName on = jmxSupport.getObjectName(jmxName);
+      ClassloaderSwitchingMBeanWrapper wrapper =
+          new ClassloaderSwitchingMBeanWrapper(new ConnectionPoolStats(entry.getValue()), ConnectionPoolStatsMBean.class,
+                                               muleContext.getExecutionClassLoader());
+      logger.debug("Registering connection pool statistics with name: " + on);
+      mBeanServer.registerMBean(wrapper, on);
+    }
+  }
+
   public boolean isCreateServer() {
     return createServer;
   }
@@ -27,6 +27,7 @@ public class JmxApplicationAgent extends AbstractJmxAgent {
     registerConfigurationService();
     registerFlowConstructServices();
     registerApplicationServices();
+    registerConnectionPoolServices();
   }
 
 }
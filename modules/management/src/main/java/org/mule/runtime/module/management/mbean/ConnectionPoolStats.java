@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.management.mbean;
+
+import org.mule.runtime.core.management.stats.ConnectionPoolStatistics;
+import org.mule.runtime.core.management.stats.ConnectionPoolStatisticsProvider;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <code>ConnectionPoolStats</code> reads the statistics from a {@link ConnectionPoolStatisticsProvider} each time, as the hosts
+ * being connected to change over time.
+ */
+public class ConnectionPoolStats implements ConnectionPoolStatsMBean {
+
+  private final ConnectionPoolStatisticsProvider provider;
+
+  public ConnectionPoolStats(ConnectionPoolStatisticsProvider provider) {
+    this.provider = provider;
+  }
+
+  @Override
+  public String[] getHosts() {
+    Collection<ConnectionPoolStatistics> statistics = provider.getConnectionPoolStatistics();
+    String[] hosts = new String[statistics.size()];
+    int i = 0;
+    for (ConnectionPoolStatistics hostStatistics : statistics) {
+      hosts[i++] = hostStatistics.getHost();
+    }
+    return hosts;
+  }
+
+  @Override
+  public int getActiveConnections() {
+    int total = 0;
+    for (ConnectionPoolStatistics statistics : provider.getConnectionPoolStatistics()) {
+      total += statistics.getActiveConnections();
+    }
+    return total;
+  }
+
+  @Override
+  public int getIdleConnections() {
+    int total = 0;
+    for (ConnectionPoolStatistics statistics : provider.getConnectionPoolStatistics()) {
+      total += statistics.getIdleConnections();
+    }
+    return total;
+  }
+
+  @Override
+  public int getWaitingRequests() {
+    int total = 0;
+    for (ConnectionPoolStatistics statistics : provider.getConnectionPoolStatistics()) {
+      total += statistics.getWaitingRequests();
+    }
+    return total;
+  }
+
+  @Override
+  public long getRejectedRequests() {
+    long total = 0;
+    for (ConnectionPoolStatistics statistics : provider.getConnectionPoolStatistics()) {
+      total += statistics.getRejectedRequests();
+    }
+    return total;
+  }
+
+  @Override
+  public Map<String, Map<String, Object>> getHostStatistics() {
+    Map<String, Map<String, Object>> hosts = new TreeMap<>();
+    for (ConnectionPoolStatistics statistics : provider.getConnectionPoolStatistics()) {
+      Map<String, Object> host = new LinkedHashMap<>();
+      host.put("maxConnections", statistics.getMaxConnections());
+      host.put("activeConnections", statistics.getActiveConnections());
+      host.put("idleConnections", statistics.getIdleConnections());
+      host.put("waitingRequests", statistics.getWaitingRequests());
+      host.put("acquiredConnections", statistics.getAcquiredConnections());
+      host.put("rejectedRequests", statistics.getRejectedRequests());
+      host.put("acquireTimeHistogram", getHistogram(statistics));
+      hosts.put(statistics.getHost(), host);
+    }
+    return hosts;
+  }
+
+  private Map<String, Long> getHistogram(ConnectionPoolStatistics statistics) {
+    long[] bounds = statistics.getAcquireTimeHistogramBounds();
+    long[] counts = statistics.getAcquireTimeHistogram();
+    Map<String, Long> histogram = new LinkedHashMap<>();
+    for (int i = 0; i < counts.length; i++) {
+      histogram.put(i < bounds.length ? "<=" + bounds[i] + "ms" : ">" + bounds[bounds.length - 1] + "ms", counts[i]);
+    }
+    return histogram;
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.management.mbean;
+
+import java.util.Map;
+
+/**
+ * <code>ConnectionPoolStatsMBean</code> exposes the live statistics of the connections a component keeps to each remote host.
+ */
+public interface ConnectionPoolStatsMBean {
+
+  String TYPE = "ConnectionPool";
+
+  String[] getHosts();
+
+  int getActiveConnections();
+
+  int getIdleConnections();
+
+  int getWaitingRequests();
+
+  long getRejectedRequests();
+
+  /**
+   * @return the statistics of each host, including its acquire time histogram, keyed by {@code host:port}
+   */
+  Map<String, Map<String, Object>> getHostStatistics();
+}
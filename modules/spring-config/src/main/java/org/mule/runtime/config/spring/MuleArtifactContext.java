@@ -11,6 +11,7 @@ import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.ArrayUtils.addAll;
 import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.CONFIGURATION_IDENTIFIER;
 import static org.mule.runtime.config.spring.parsers.generic.AutoIdUtils.uniqueValue;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_EXPRESSION_LANGUAGE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONFIGURATION;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONTEXT;
 import static org.mule.runtime.core.util.Preconditions.checkArgument;
@@ -45,9 +46,12 @@ import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.api.registry.ServiceRegistry;
 import org.mule.runtime.core.config.ConfigResource;
 import org.mule.runtime.core.config.bootstrap.ArtifactType;
+import org.mule.runtime.core.el.mvel.MVELExpressionLanguageWrapper;
 import org.mule.runtime.core.registry.MuleRegistryHelper;
 import org.mule.runtime.core.registry.SpiServiceRegistry;
 import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.core.util.TemplateParser;
+import org.mule.runtime.core.util.TemplateParser.TemplateCallback;
 import org.mule.runtime.core.util.collection.ImmutableListCollector;
 import org.mule.runtime.extension.api.ExtensionManager;
 import org.mule.runtime.extension.xml.dsl.api.property.XmlModelProperty;
@@ -56,9 +60,11 @@ import com.google.common.collect.ImmutableList;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.RequiredAnnotationBeanPostProcessor;
@@ -298,6 +304,8 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
 
   @Override
   protected void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+    registerStaticExpressions(beanFactory);
+
     Optional<ComponentModel> configurationOptional =
         applicationModel.findComponentDefinitionModel(ApplicationModel.CONFIGURATION_IDENTIFIER);
     if (configurationOptional.isPresent()) {
@@ -308,6 +316,39 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
                                                   genericBeanDefinition(MuleConfigurationConfigurator.class).getBeanDefinition());
   }
 
+  /**
+   * Provides the expressions found in the configuration to the expression language, so it compiles them on initialisation.
+   */
+  private void registerStaticExpressions(ConfigurableListableBeanFactory beanFactory) {
+    if (!beanFactory.containsBeanDefinition(OBJECT_EXPRESSION_LANGUAGE)) {
+      return;
+    }
+    BeanDefinition expressionLanguageDefinition = beanFactory.getBeanDefinition(OBJECT_EXPRESSION_LANGUAGE);
+    if (MVELExpressionLanguageWrapper.class.getName().equals(expressionLanguageDefinition.getBeanClassName())) {
+      expressionLanguageDefinition.getPropertyValues().add("staticExpressions", collectStaticExpressions());
+    }
+  }
+
+  private Set<String> collectStaticExpressions() {
+    TemplateParser parser = TemplateParser.createMuleStyleParser();
+    Set<String> expressions = new LinkedHashSet<>();
+    TemplateCallback collector = expression -> {
+      expressions.add(expression);
+      return expression;
+    };
+    applicationModel.executeOnEveryMuleComponentTree(componentModel -> {
+      for (String value : componentModel.getParameters().values()) {
+        if (parser.isContainsTemplate(value)) {
+          parser.parse(collector, value);
+        }
+      }
+      if (parser.isContainsTemplate(componentModel.getTextContent())) {
+        parser.parse(collector, componentModel.getTextContent());
+      }
+    });
+    return expressions;
+  }
+
   protected BeanDefinitionReader createBeanDefinitionReader(DefaultListableBeanFactory beanFactory) {
     beanDefinitionReader =
         new MuleXmlBeanDefinitionReader(beanFactory, createBeanDefinitionDocumentReader(beanDefinitionFactory));
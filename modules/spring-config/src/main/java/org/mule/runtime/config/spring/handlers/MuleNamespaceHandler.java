@@ -123,6 +123,7 @@ import org.mule.runtime.core.processor.IdempotentRedeliveryPolicy;
 import org.mule.runtime.core.processor.InvokerMessageProcessor;
 import org.mule.runtime.core.processor.strategy.AsynchronousProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.NonBlockingProcessingStrategy;
+import org.mule.runtime.core.processor.strategy.ReactiveProcessingStrategy;
 import org.mule.runtime.core.retry.notifiers.ConnectNotifier;
 import org.mule.runtime.core.retry.policies.RetryForeverPolicyTemplate;
 import org.mule.runtime.core.retry.policies.SimpleRetryPolicyTemplate;
@@ -461,6 +462,9 @@ public class MuleNamespaceHandler extends AbstractMuleNamespaceHandler {
                                      new OrphanDefinitionParser(NonBlockingProcessingStrategy.class, false))
                                          .addMapping("poolExhaustedAction", ThreadingProfile.POOL_EXHAUSTED_ACTIONS)
                                          .addIgnored("name");
+    registerMuleBeanDefinitionParser("reactive-processing-strategy",
+                                     new OrphanDefinitionParser(ReactiveProcessingStrategy.class, false))
+                                         .addIgnored("name");
     registerMuleBeanDefinitionParser("custom-processing-strategy", new OrphanDefinitionParser(false)).addIgnored("name");
 
     // Components
@@ -10,6 +10,7 @@ import org.mule.runtime.core.api.processor.ProcessingStrategy;
 import org.mule.runtime.core.construct.flow.DefaultFlowProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.AsynchronousProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.NonBlockingProcessingStrategy;
+import org.mule.runtime.core.processor.strategy.ReactiveProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.SynchronousProcessingStrategy;
 
 import org.apache.commons.lang.StringUtils;
@@ -25,6 +26,7 @@ public class ProcessingStrategyUtils {
   public static String SYNC_PROCESSING_STRATEGY = "synchronous";
   public static String NON_BLOCKING_PROCESSING_STRATEGY = "non-blocking";
   public static String ASYNC_PROCESSING_STRATEGY = "asynchronous";
+  public static String REACTIVE_PROCESSING_STRATEGY = "reactive";
 
   public static void configureProcessingStrategy(Element element, BeanDefinitionBuilder builder, String defaultStrategy) {
     String processingStrategyName = element.getAttribute(PROCESSING_STRATEGY_ATTRIBUTE_NAME);
@@ -46,6 +48,8 @@ public class ProcessingStrategyUtils {
       return new NonBlockingProcessingStrategy();
     } else if (ASYNC_PROCESSING_STRATEGY.equals(processingStrategy)) {
       return new AsynchronousProcessingStrategy();
+    } else if (REACTIVE_PROCESSING_STRATEGY.equals(processingStrategy)) {
+      return new ReactiveProcessingStrategy();
     }
     return null;
   }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.MessageExchangePattern.ONE_WAY;
+
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.benchmark.AbstractMuleContextBenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the copy of a {@link DefaultMuleEvent} holding a number of flow variables and outbound properties, with and without
+ * writing to the copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class MuleEventCopyBenchmark extends AbstractMuleContextBenchmark {
+
+  @Param({"0", "10", "50", "500"})
+  private int properties;
+
+  private DefaultMuleEvent event;
+
+  @Setup(Level.Trial)
+  public void setUpEvent() {
+    event = new DefaultMuleEvent(MuleMessage.builder().payload("payload").build(), ONE_WAY, flow);
+    for (int i = 0; i < properties; i++) {
+      event.setFlowVariable("key" + i, "value");
+      event.setMessage(MuleMessage.builder(event.getMessage()).addOutboundProperty("key" + i, "value").build());
+    }
+  }
+
+  @Benchmark
+  public MuleEvent copy() {
+    return new DefaultMuleEvent(event.getMessage(), event);
+  }
+
+  @Benchmark
+  public MuleEvent copyAndWrite() {
+    DefaultMuleEvent copy = new DefaultMuleEvent(event.getMessage(), event);
+    copy.setFlowVariable("newKey", "value");
+    copy.setMessage(MuleMessage.builder(copy.getMessage()).addOutboundProperty("newKey", "value").build());
+    return copy;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.core.api.MuleMessage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building new {@link MuleMessage}s, and copies of existing ones, through {@link DefaultMuleMessageBuilder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class MuleMessageBuilderBenchmark {
+
+  @Param({"0", "10", "50"})
+  private int properties;
+
+  private MuleMessage message;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    message = build();
+  }
+
+  @Benchmark
+  public MuleMessage build() {
+    MuleMessage.Builder builder = MuleMessage.builder().payload("payload");
+    for (int i = 0; i < properties; i++) {
+      builder.addOutboundProperty("key" + i, "value");
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public MuleMessage copy() {
+    return MuleMessage.builder(message).build();
+  }
+
+  @Benchmark
+  public MuleMessage copyAndAddProperty() {
+    return MuleMessage.builder(message).addOutboundProperty("newKey", "value").build();
+  }
+}
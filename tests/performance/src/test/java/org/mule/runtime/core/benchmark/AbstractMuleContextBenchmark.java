@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.benchmark;
+
+import static org.mule.tck.MuleTestUtils.getTestFlow;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.config.DefaultMuleConfiguration;
+import org.mule.runtime.core.construct.Flow;
+import org.mule.runtime.core.context.DefaultMuleContextBuilder;
+import org.mule.runtime.core.context.DefaultMuleContextFactory;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base class for the benchmarks that need a started {@link MuleContext}, working on a temporary directory, and a test
+ * {@link Flow} to create events for.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractMuleContextBenchmark {
+
+  protected File workingDirectory;
+  protected MuleContext muleContext;
+  protected Flow flow;
+
+  @Setup(Level.Trial)
+  public void setUpMuleContext() throws Exception {
+    workingDirectory = Files.createTempDirectory("mule-benchmark").toFile();
+    DefaultMuleConfiguration muleConfiguration = new DefaultMuleConfiguration();
+    muleConfiguration.setWorkingDirectory(workingDirectory.getAbsolutePath());
+    DefaultMuleContextBuilder contextBuilder = new DefaultMuleContextBuilder();
+    contextBuilder.setMuleConfiguration(muleConfiguration);
+    muleContext = new DefaultMuleContextFactory().createMuleContext(contextBuilder);
+    muleContext.start();
+    flow = getTestFlow(muleContext);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownMuleContext() {
+    muleContext.dispose();
+    FileUtils.deleteQuietly(workingDirectory);
+  }
+}
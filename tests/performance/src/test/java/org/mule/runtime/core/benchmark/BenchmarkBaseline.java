@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.benchmark;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Scores of a previous benchmark run, read from the JSON results written by JMH, used to flag the regressions of a newer run.
+ * <p/>
+ * A benchmark regresses when its score got worse by more than the given threshold, relative to the baseline score, and the
+ * difference is larger than the sum of the score errors of both runs, so noisy benchmarks are not reported.
+ */
+public class BenchmarkBaseline {
+
+  private static final String THROUGHPUT_MODE = "thrpt";
+
+  private final Map<String, Score> scores;
+
+  public BenchmarkBaseline(File results) throws IOException {
+    this.scores = readScores(results);
+  }
+
+  /**
+   * @param results JSON results of the newer run
+   * @param threshold relative change of the score, such as {@code 0.1} for 10%, above which a benchmark is reported
+   * @return a description of each benchmark in both runs that regressed, empty if there are none
+   */
+  public List<String> findRegressions(File results, double threshold) throws IOException {
+    List<String> regressions = new ArrayList<>();
+    for (Map.Entry<String, Score> entry : readScores(results).entrySet()) {
+      Score baseline = scores.get(entry.getKey());
+      Score current = entry.getValue();
+      if (baseline == null || baseline.score == 0) {
+        continue;
+      }
+
+      double change = (current.score - baseline.score) / baseline.score;
+      double worsening = baseline.isHigherBetter() ? -change : change;
+      if (worsening > threshold && Math.abs(current.score - baseline.score) > baseline.error + current.error) {
+        regressions.add(format("%s: %.3f -> %.3f %s (%+.1f%%)", entry.getKey(), baseline.score, current.score, current.unit,
+                               change * 100));
+      }
+    }
+    return regressions;
+  }
+
+  private static Map<String, Score> readScores(File results) throws IOException {
+    JSONArray benchmarks = new JSONArray(FileUtils.readFileToString(results, UTF_8));
+    Map<String, Score> scores = new LinkedHashMap<>();
+    for (int i = 0; i < benchmarks.length(); ++i) {
+      JSONObject benchmark = benchmarks.getJSONObject(i);
+      JSONObject primaryMetric = benchmark.getJSONObject("primaryMetric");
+      String mode = benchmark.getString("mode");
+      double error = primaryMetric.optDouble("scoreError", 0);
+      scores.put(getKey(benchmark, mode), new Score(mode, primaryMetric.getDouble("score"), Double.isNaN(error) ? 0 : error,
+                                                    primaryMetric.getString("scoreUnit")));
+    }
+    return scores;
+  }
+
+  private static String getKey(JSONObject benchmark, String mode) {
+    StringBuilder key = new StringBuilder(benchmark.getString("benchmark"));
+    JSONObject params = benchmark.optJSONObject("params");
+    if (params != null && params.length() > 0) {
+      Map<String, Object> sortedParams = new TreeMap<>();
+      for (String name : JSONObject.getNames(params)) {
+        sortedParams.put(name, params.get(name));
+      }
+      key.append(sortedParams);
+    }
+    return key.append(" [").append(mode).append("]").toString();
+  }
+
+  private static final class Score {
+
+    private final String mode;
+    private final double score;
+    private final double error;
+    private final String unit;
+
+    private Score(String mode, double score, double error, String unit) {
+      this.mode = mode;
+      this.score = score;
+      this.error = error;
+      this.unit = unit;
+    }
+
+    private boolean isHigherBetter() {
+      return THROUGHPUT_MODE.equals(mode);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class BenchmarkBaselineTestCase extends AbstractMuleTestCase {
+
+  private static final double THRESHOLD = 0.1;
+
+  @Rule
+  public TemporaryFolder resultsFolder = new TemporaryFolder();
+
+  @Test
+  public void slowerAverageTimeRegresses() throws IOException {
+    List<String> regressions = compare(result("copy", "avgt", 100, 1), result("copy", "avgt", 120, 1));
+    assertThat(regressions, hasSize(1));
+    assertThat(regressions.get(0), startsWith("org.mule.Benchmark.copy{entries=1000} [avgt]"));
+  }
+
+  @Test
+  public void lowerThroughputRegresses() throws IOException {
+    assertThat(compare(result("put", "thrpt", 100, 1), result("put", "thrpt", 80, 1)), hasSize(1));
+  }
+
+  @Test
+  public void improvementIsNotARegression() throws IOException {
+    assertThat(compare(result("copy", "avgt", 100, 1), result("copy", "avgt", 50, 1)), empty());
+    assertThat(compare(result("put", "thrpt", 100, 1), result("put", "thrpt", 150, 1)), empty());
+  }
+
+  @Test
+  public void changeWithinErrorIsNotARegression() throws IOException {
+    assertThat(compare(result("copy", "avgt", 100, 15), result("copy", "avgt", 120, 10)), empty());
+  }
+
+  @Test
+  public void changeBelowThresholdIsNotARegression() throws IOException {
+    assertThat(compare(result("copy", "avgt", 100, 0), result("copy", "avgt", 105, 0)), empty());
+  }
+
+  @Test
+  public void benchmarkMissingFromBaselineIsIgnored() throws IOException {
+    assertThat(compare(result("copy", "avgt", 100, 1), result("build", "avgt", 500, 1)), empty());
+  }
+
+  private List<String> compare(String baseline, String current) throws IOException {
+    return new BenchmarkBaseline(write("baseline", baseline)).findRegressions(write("current", current), THRESHOLD);
+  }
+
+  private File write(String name, String result) throws IOException {
+    File file = resultsFolder.newFile(name + ".json");
+    FileUtils.writeStringToFile(file, "[" + result + "]", UTF_8);
+    return file;
+  }
+
+  private static String result(String method, String mode, double score, double error) {
+    return "{\"benchmark\":\"org.mule.Benchmark." + method + "\",\"mode\":\"" + mode + "\",\"params\":{\"entries\":\"1000\"},"
+        + "\"primaryMetric\":{\"score\":" + score + ",\"scoreError\":" + error + ",\"scoreUnit\":\"ns/op\"}}";
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.benchmark;
+
+import static org.apache.commons.lang.StringUtils.isEmpty;
+
+import java.io.File;
+import java.util.List;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of this module in forked JVMs and writes their results as JSON.
+ * <p/>
+ * When a baseline is given, the results are compared against it and the runner exits with an error if any benchmark
+ * regressed, see {@link BenchmarkBaseline}. The run is configured through the following system properties:
+ * <ul>
+ * <li>{@value #INCLUDE_PROPERTY_KEY}: regular expression for the benchmarks to run, all of them by default</li>
+ * <li>{@value #FORKS_PROPERTY_KEY}: number of forked JVMs for each benchmark, {@value #DEFAULT_FORKS} by default</li>
+ * <li>{@value #RESULT_PROPERTY_KEY}: file to write the JSON results to</li>
+ * <li>{@value #BASELINE_PROPERTY_KEY}: JSON results of a previous run to compare with</li>
+ * <li>{@value #THRESHOLD_PROPERTY_KEY}: relative worsening of a score reported as a regression, {@value #DEFAULT_THRESHOLD} by
+ * default</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+  public static final String INCLUDE_PROPERTY_KEY = "benchmark.include";
+  public static final String FORKS_PROPERTY_KEY = "benchmark.forks";
+  public static final String RESULT_PROPERTY_KEY = "benchmark.result";
+  public static final String BASELINE_PROPERTY_KEY = "benchmark.baseline";
+  public static final String THRESHOLD_PROPERTY_KEY = "benchmark.regressionThreshold";
+
+  private static final String DEFAULT_INCLUDE = "org\\.mule\\..*Benchmark";
+  private static final int DEFAULT_FORKS = 2;
+  private static final String DEFAULT_RESULT = "target/benchmark-results.json";
+  private static final String DEFAULT_THRESHOLD = "0.1";
+
+  public static void main(String[] args) throws Exception {
+    File result = new File(System.getProperty(RESULT_PROPERTY_KEY, DEFAULT_RESULT));
+    if (result.getParentFile() != null) {
+      result.getParentFile().mkdirs();
+    }
+
+    Options options = new OptionsBuilder()
+        .include(getProperty(INCLUDE_PROPERTY_KEY, DEFAULT_INCLUDE))
+        .forks(Integer.parseInt(getProperty(FORKS_PROPERTY_KEY, Integer.toString(DEFAULT_FORKS))))
+        .resultFormat(ResultFormatType.JSON)
+        .result(result.getAbsolutePath())
+        .build();
+    new Runner(options).run();
+
+    String baseline = System.getProperty(BASELINE_PROPERTY_KEY);
+    if (isEmpty(baseline)) {
+      return;
+    }
+
+    double threshold = Double.parseDouble(getProperty(THRESHOLD_PROPERTY_KEY, DEFAULT_THRESHOLD));
+    List<String> regressions = new BenchmarkBaseline(new File(baseline)).findRegressions(result, threshold);
+    if (regressions.isEmpty()) {
+      System.out.println("No regressions found against baseline " + baseline);
+      return;
+    }
+
+    System.err.println(regressions.size() + " benchmark(s) regressed against baseline " + baseline + ":");
+    for (String regression : regressions) {
+      System.err.println("  " + regression);
+    }
+    System.exit(1);
+  }
+
+  private static String getProperty(String key, String defaultValue) {
+    String value = System.getProperty(key);
+    return isEmpty(value) ? defaultValue : value;
+  }
+}
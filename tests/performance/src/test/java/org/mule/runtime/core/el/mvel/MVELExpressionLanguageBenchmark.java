@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.el.mvel;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.MessageExchangePattern.ONE_WAY;
+
+import org.mule.runtime.core.DefaultMuleEvent;
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.benchmark.AbstractMuleContextBenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the evaluation of already compiled expressions through {@link MVELExpressionLanguage}, from a simple payload
+ * access to a script.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class MVELExpressionLanguageBenchmark extends AbstractMuleContextBenchmark {
+
+  private static final String SCRIPT = "StringBuilder sb = new StringBuilder(); fields = payload.split(',');"
+      + "if (fields.length > 4) {"
+      + "  sb.append('<Contact>');"
+      + "  sb.append('<FirstName>').append(fields[0]).append('</FirstName>');"
+      + "  sb.append('<LastName>').append(fields[1]).append('</LastName>');"
+      + "  sb.append('<SIN>').append(fields[4]).append('</SIN>');"
+      + "  sb.append('</Contact>');"
+      + "}"
+      + "sb.toString();";
+
+  private MVELExpressionLanguage expressionLanguage;
+  private MuleEvent event;
+
+  @Setup(Level.Trial)
+  public void setUpExpressionLanguage() {
+    expressionLanguage = (MVELExpressionLanguage) muleContext.getExpressionLanguage();
+    expressionLanguage.setAutoResolveVariables(false);
+    event = new DefaultMuleEvent(MuleMessage.builder().payload("Tom,Fennelly,Male,4,Ireland").build(), ONE_WAY, flow);
+    event.setFlowVariable("count", 10);
+  }
+
+  @Benchmark
+  public Object payload() {
+    return expressionLanguage.evaluate("payload", event);
+  }
+
+  @Benchmark
+  public Object flowVariableComparison() {
+    return expressionLanguage.evaluate("flowVars.count > 5", event);
+  }
+
+  @Benchmark
+  public Object script() {
+    return expressionLanguage.evaluate(SCRIPT, event);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.chain;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.MessageExchangePattern.REQUEST_RESPONSE;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+
+import org.mule.runtime.core.DefaultMuleEvent;
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.api.processor.MessageProcessor;
+import org.mule.runtime.core.api.processor.MessageProcessorChain;
+import org.mule.runtime.core.benchmark.AbstractMuleContextBenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of executing an {@link AbstractMessageProcessorChain} built by
+ * {@link DefaultMessageProcessorChainBuilder}, with processors that return the event they receive and with processors that
+ * replace the message payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class MessageProcessorChainBenchmark extends AbstractMuleContextBenchmark {
+
+  @Param({"1", "10", "50"})
+  private int processors;
+
+  private MessageProcessorChain passThroughChain;
+  private MessageProcessorChain setPayloadChain;
+  private MuleEvent event;
+
+  @Setup(Level.Trial)
+  public void setUpChains() throws MuleException {
+    passThroughChain = createChain(event -> event);
+    setPayloadChain = createChain(event -> {
+      event.setMessage(MuleMessage.builder(event.getMessage()).payload("newPayload").build());
+      return event;
+    });
+    event = new DefaultMuleEvent(MuleMessage.builder().payload("payload").build(), REQUEST_RESPONSE, flow);
+  }
+
+  @Benchmark
+  public MuleEvent passThrough() throws MuleException {
+    return passThroughChain.process(event);
+  }
+
+  @Benchmark
+  public MuleEvent setPayload() throws MuleException {
+    return setPayloadChain.process(event);
+  }
+
+  private MessageProcessorChain createChain(MessageProcessor processor) throws MuleException {
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder(flow);
+    for (int i = 0; i < processors; ++i) {
+      builder.chain(processor);
+    }
+    MessageProcessorChain chain = builder.build();
+    initialiseIfNeeded(chain, muleContext, flow);
+    startIfNeeded(chain);
+    return chain;
+  }
+}
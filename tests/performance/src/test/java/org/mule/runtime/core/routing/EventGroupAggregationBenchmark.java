@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.MessageExchangePattern.ONE_WAY;
+
+import org.mule.runtime.core.DefaultMuleEvent;
+import org.mule.runtime.core.api.MuleEvent;
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.benchmark.AbstractMuleContextBenchmark;
+import org.mule.runtime.core.util.UUID;
+import org.mule.runtime.core.util.store.PartitionedInMemoryObjectStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the aggregation of a whole group of events by a {@link SimpleCollectionAggregator}, with the events kept by the
+ * group itself or in a provided events store. The time per event must not grow with the size of the group.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EventGroupAggregationBenchmark extends AbstractMuleContextBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int groupSize;
+
+  @Param({"true", "false"})
+  private boolean eventsInMemory;
+
+  private SimpleCollectionAggregator aggregator;
+  private MuleEvent[] events;
+
+  @Setup(Level.Iteration)
+  public void setUpGroup() throws Exception {
+    aggregator = new SimpleCollectionAggregator();
+    aggregator.setMuleContext(muleContext);
+    aggregator.setFlowConstruct(flow);
+    if (!eventsInMemory) {
+      aggregator.setEventGroupsObjectStore(new PartitionedInMemoryObjectStore<>());
+    }
+    aggregator.setListener(event -> event);
+    aggregator.initialise();
+
+    String correlationId = UUID.getUUID();
+    events = new MuleEvent[groupSize];
+    for (int i = 0; i < groupSize; i++) {
+      MuleMessage message = MuleMessage.builder().payload(i).correlationId(correlationId).correlationGroupSize(groupSize)
+          .correlationSequence(i + 1).build();
+      events[i] = new DefaultMuleEvent(message, ONE_WAY, flow);
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownGroup() {
+    aggregator.dispose();
+  }
+
+  @Benchmark
+  public MuleEvent aggregateGroup() throws Exception {
+    MuleEvent result = null;
+    for (MuleEvent event : events) {
+      result = aggregator.process(event);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.core.api.MuleMessage;
+import org.mule.runtime.core.benchmark.AbstractMuleContextBenchmark;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares serializing and deserializing a map of values and a {@link MuleMessage} with properties through
+ * {@link JavaObjectSerializer} and {@link CompactObjectSerializer}. The size of the serialized objects is logged on setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class ObjectSerializerBenchmark extends AbstractMuleContextBenchmark {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ObjectSerializerBenchmark.class);
+  private static final int ENTRIES = 20;
+
+  @Param({"JAVA", "COMPACT"})
+  private String format;
+
+  private AbstractObjectSerializer serializer;
+  private Serializable map;
+  private MuleMessage message;
+  private byte[] serializedMap;
+  private byte[] serializedMessage;
+
+  @Setup(Level.Trial)
+  public void setUpSerializer() {
+    serializer = "COMPACT".equals(format) ? new CompactObjectSerializer() : new JavaObjectSerializer();
+    serializer.setMuleContext(muleContext);
+
+    HashMap<String, Object> values = new HashMap<>();
+    MuleMessage.Builder messageBuilder = MuleMessage.builder().payload("payload");
+    for (int i = 0; i < ENTRIES; ++i) {
+      values.put("key" + i, i % 2 == 0 ? "value" + i : i);
+      messageBuilder.addOutboundProperty("key" + i, "value" + i);
+    }
+    map = values;
+    message = messageBuilder.build();
+    serializedMap = serializer.serialize(map);
+    serializedMessage = serializer.serialize(message);
+    LOGGER.info("{} serialized sizes: map {} bytes, message {} bytes", format, serializedMap.length, serializedMessage.length);
+  }
+
+  @Benchmark
+  public byte[] serializeMap() {
+    return serializer.serialize(map);
+  }
+
+  @Benchmark
+  public Object deserializeMap() {
+    return serializer.deserialize(serializedMap);
+  }
+
+  @Benchmark
+  public byte[] serializeMessage() {
+    return serializer.serialize(message);
+  }
+
+  @Benchmark
+  public Object deserializeMessage() {
+    return serializer.deserialize(serializedMessage);
+  }
+}
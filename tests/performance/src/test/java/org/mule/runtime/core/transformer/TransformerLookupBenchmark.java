@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.transformer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.registry.MuleRegistry;
+import org.mule.runtime.core.api.transformer.Transformer;
+import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.benchmark.AbstractMuleContextBenchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution of transformers through the {@link MuleRegistry} of a context holding the default transformers, once
+ * the result for each pair of data types is cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+@Threads(4)
+public class TransformerLookupBenchmark extends AbstractMuleContextBenchmark {
+
+  private MuleRegistry registry;
+
+  @Setup(Level.Trial)
+  public void setUpRegistry() {
+    registry = muleContext.getRegistry();
+  }
+
+  @Benchmark
+  public Transformer lookupTransformer() throws TransformerException {
+    return registry.lookupTransformer(DataType.STRING, DataType.BYTE_ARRAY);
+  }
+
+  @Benchmark
+  public List<Transformer> lookupTransformers() {
+    return registry.lookupTransformers(DataType.STRING, DataType.BYTE_ARRAY);
+  }
+}
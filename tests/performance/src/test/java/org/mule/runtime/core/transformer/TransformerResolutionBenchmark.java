@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.transformer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.api.metadata.DataType;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.collections.map.LRUMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the lookup of an already resolved converter in {@link TransformerResolutionCache} with the string keyed
+ * {@link LRUMap} guarded by a read write lock that the graph transformer resolver used before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+@Threads(4)
+public class TransformerResolutionBenchmark {
+
+  private static final DataType[] DATA_TYPES = {DataType.STRING, DataType.OBJECT, DataType.BYTE_ARRAY, DataType.INPUT_STREAM};
+
+  private final ReadWriteLock legacyLock = new ReentrantReadWriteLock();
+  private LRUMap legacyCache;
+  private TransformerResolutionCache<Object> cache;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    legacyCache = new LRUMap();
+    cache = new TransformerResolutionCache<>();
+    for (DataType source : DATA_TYPES) {
+      for (DataType result : DATA_TYPES) {
+        Object converter = new Object();
+        legacyCache.put(legacyKey(source, result), converter);
+        cache.put(source, result, converter);
+      }
+    }
+  }
+
+  @Benchmark
+  public Object legacyLookup() {
+    DataType source = randomDataType();
+    DataType result = randomDataType();
+    legacyLock.readLock().lock();
+    try {
+      return legacyCache.get(legacyKey(source, result));
+    } finally {
+      legacyLock.readLock().unlock();
+    }
+  }
+
+  @Benchmark
+  public Object cacheLookup() {
+    return cache.get(randomDataType(), randomDataType());
+  }
+
+  private static DataType randomDataType() {
+    return DATA_TYPES[ThreadLocalRandom.current().nextInt(DATA_TYPES.length)];
+  }
+
+  private static String legacyKey(DataType source, DataType result) {
+    return source.getClass().getName() + source.hashCode() + ":" + result.getClass().getName() + result.hashCode();
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link CopyOnWriteCaseInsensitiveMap} with the {@link PersistentCaseInsensitiveMap} used for flow variables,
+ * copying a map with a number of entries and then writing to the copy, as done for each copy of an event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class CaseInsensitiveMapCopyBenchmark {
+
+  @Param({"COPY_ON_WRITE", "PERSISTENT"})
+  private String implementation;
+
+  @Param({"10", "100", "1000"})
+  private int entries;
+
+  private CopyOnWriteCaseInsensitiveMap<String, Object> copyOnWriteMap;
+  private PersistentCaseInsensitiveMap<String, Object> persistentMap;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    copyOnWriteMap = new CopyOnWriteCaseInsensitiveMap<>();
+    persistentMap = new PersistentCaseInsensitiveMap<>();
+    for (int i = 0; i < entries; i++) {
+      copyOnWriteMap.put("key" + i, "value");
+      persistentMap.put("key" + i, "value");
+    }
+  }
+
+  @Benchmark
+  public Map<String, Object> copy() {
+    return copyMap();
+  }
+
+  @Benchmark
+  public Map<String, Object> copyAndPut() {
+    Map<String, Object> copy = copyMap();
+    copy.put("KEY0", "newValue");
+    return copy;
+  }
+
+  @Benchmark
+  public Map<String, Object> copyAndRemove() {
+    Map<String, Object> copy = copyMap();
+    copy.remove("KEY0");
+    return copy;
+  }
+
+  @Benchmark
+  public Object get() {
+    return "PERSISTENT".equals(implementation) ? persistentMap.get("KEY0") : copyOnWriteMap.get("KEY0");
+  }
+
+  private Map<String, Object> copyMap() {
+    return "PERSISTENT".equals(implementation) ? persistentMap.clone() : copyOnWriteMap.clone();
+  }
+}
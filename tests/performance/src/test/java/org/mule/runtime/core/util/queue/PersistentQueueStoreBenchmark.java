@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the available {@link QueueStoreFormat}s for persistent queues, keeping a backlog of entries in the
+ * queue while adding and taking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class PersistentQueueStoreBenchmark {
+
+  @Param({"DUAL_FILE", "MEMORY_MAPPED_SEGMENTS"})
+  private QueueStoreFormat format;
+
+  @Param({"1000"})
+  private int backlog;
+
+  private File workingDirectory;
+  private DefaultQueueStore queueStore;
+  private Serializable payload;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    workingDirectory = Files.createTempDirectory("queue-benchmark").toFile();
+    MuleContext muleContext = mock(MuleContext.class);
+    MuleConfiguration muleConfiguration = mock(MuleConfiguration.class);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(workingDirectory.getAbsolutePath());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(muleContext);
+
+    queueStore = new DefaultQueueStore("benchmark", muleContext, new DefaultQueueConfiguration(0, true, format));
+    payload = new byte[1024];
+    for (int i = 0; i < backlog; ++i) {
+      queueStore.putNow(payload);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    queueStore.dispose();
+    FileUtils.deleteQuietly(workingDirectory);
+  }
+
+  @Benchmark
+  public Serializable putAndTake() throws InterruptedException {
+    queueStore.putNow(payload);
+    return queueStore.poll(0);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.benchmark.AbstractMuleContextBenchmark;
+import org.mule.runtime.core.util.xa.ResourceManagerException;
+
+import java.io.Serializable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures putting and taking an item from a queue of a {@link TransactionalQueueManager}, for transient and persistent queues,
+ * with and without a local transaction around both operations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class TransactionalQueueManagerBenchmark extends AbstractMuleContextBenchmark {
+
+  private static final String QUEUE_NAME = "benchmark";
+
+  @Param({"false", "true"})
+  private boolean persistent;
+
+  private TransactionalQueueManager queueManager;
+  private QueueSession queueSession;
+  private Queue queue;
+  private Serializable payload;
+
+  @Setup(Level.Trial)
+  public void setUpQueueManager() throws MuleException {
+    queueManager = new TransactionalQueueManager();
+    queueManager.setMuleContext(muleContext);
+    queueManager.initialise();
+    queueManager.setDefaultQueueConfiguration(new DefaultQueueConfiguration(0, persistent));
+    queueManager.start();
+    queueSession = queueManager.getQueueSession();
+    queue = queueSession.getQueue(QUEUE_NAME);
+    payload = new byte[1024];
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownQueueManager() throws MuleException {
+    queueManager.stop();
+    queueManager.dispose();
+  }
+
+  @Benchmark
+  public Serializable putAndTake() throws InterruptedException, ObjectStoreException {
+    queue.put(payload);
+    return queue.take();
+  }
+
+  @Benchmark
+  public Serializable transactionalPutAndTake() throws InterruptedException, ObjectStoreException, ResourceManagerException {
+    queueSession.begin();
+    queue.put(payload);
+    queueSession.commit();
+
+    queueSession.begin();
+    Serializable item = queue.take();
+    queueSession.commit();
+    return item;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.core.api.store.ObjectStoreException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the keyed operations of {@link InMemoryObjectStore} over a store already holding a large number of entries, the way
+ * an idempotent filter uses it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+@Threads(4)
+public class InMemoryObjectStoreBenchmark {
+
+  @Param({"1000", "1000000"})
+  private int entries;
+
+  private InMemoryObjectStore<String> store;
+  private final AtomicLong nextKey = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setUp() throws ObjectStoreException {
+    store = new InMemoryObjectStore<>();
+    store.setMaxEntries(-1);
+    for (int i = 0; i < entries; ++i) {
+      store.store(key(i), "value");
+    }
+    nextKey.set(entries);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    store.dispose();
+  }
+
+  @Benchmark
+  public boolean containsExisting() throws ObjectStoreException {
+    return store.contains(key(ThreadLocalRandom.current().nextInt(entries)));
+  }
+
+  @Benchmark
+  public boolean containsMissing() throws ObjectStoreException {
+    return store.contains(key(entries + ThreadLocalRandom.current().nextInt(entries)));
+  }
+
+  @Benchmark
+  public String retrieve() throws ObjectStoreException {
+    return store.retrieve(key(ThreadLocalRandom.current().nextInt(entries)));
+  }
+
+  @Benchmark
+  public String storeAndRemove() throws ObjectStoreException {
+    String key = key(nextKey.getAndIncrement());
+    store.store(key, "value");
+    return store.remove(key);
+  }
+
+  private static String key(long i) {
+    return "message-" + i;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.benchmark.AbstractMuleContextBenchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the keyed operations of {@link PartitionedPersistentObjectStore} for each {@link PersistentObjectStorePartitionFormat},
+ * over a partition already holding a number of entries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class PersistentObjectStoreBenchmark extends AbstractMuleContextBenchmark {
+
+  private static final String PARTITION_NAME = "benchmark";
+
+  @Param({"FILE_PER_ENTRY", "APPEND_LOG"})
+  private PersistentObjectStorePartitionFormat format;
+
+  @Param({"1000"})
+  private int entries;
+
+  private PartitionedPersistentObjectStore<String> store;
+  private final AtomicLong nextKey = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setUpStore() throws ObjectStoreException {
+    store = new PartitionedPersistentObjectStore<>(muleContext);
+    store.setPartitionFormat(format);
+    store.open();
+    for (int i = 0; i < entries; ++i) {
+      store.store(key(i), "value", PARTITION_NAME);
+    }
+    nextKey.set(entries);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownStore() throws ObjectStoreException {
+    store.close(PARTITION_NAME);
+  }
+
+  @Benchmark
+  public boolean contains() throws ObjectStoreException {
+    return store.contains(key(ThreadLocalRandom.current().nextInt(entries)), PARTITION_NAME);
+  }
+
+  @Benchmark
+  public String retrieve() throws ObjectStoreException {
+    return store.retrieve(key(ThreadLocalRandom.current().nextInt(entries)), PARTITION_NAME);
+  }
+
+  @Benchmark
+  public String storeAndRemove() throws ObjectStoreException {
+    String key = key(nextKey.getAndIncrement());
+    store.store(key, "value", PARTITION_NAME);
+    return store.remove(key, PARTITION_NAME);
+  }
+
+  private static String key(long i) {
+    return "key" + i;
+  }
+}
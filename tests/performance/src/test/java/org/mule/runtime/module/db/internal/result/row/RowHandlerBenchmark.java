@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.db.internal.result.row;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.module.db.internal.result.resultset.ListResultSetHandler;
+import org.mule.runtime.module.db.test.util.ColumnMetadata;
+import org.mule.runtime.module.db.test.util.ResultSetBuilder;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads the rows of a resultSet as a list with each {@link RowHandler}. Run it with the GC profiler ({@code -prof gc}) to
+ * compare the bytes allocated per row, as {@link ColumnarRowHandler} shares the column names of all the rows instead of creating
+ * a hash map for each one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class RowHandlerBenchmark {
+
+  private static final int ROWS = 1000;
+
+  @Param({"5", "20"})
+  public int columns;
+
+  private List<ColumnMetadata> columnMetadata;
+  private List<Map<String, Object>> records;
+  private final ListResultSetHandler insensitiveMapHandler = new ListResultSetHandler(new InsensitiveMapRowHandler());
+  private final ListResultSetHandler columnarHandler = new ListResultSetHandler(new ColumnarRowHandler());
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    columnMetadata = new ArrayList<>();
+    for (int i = 1; i <= columns; i++) {
+      columnMetadata.add(new ColumnMetadata("COLUMN_" + i, i));
+    }
+
+    records = new ArrayList<>();
+    for (int row = 0; row < ROWS; row++) {
+      Map<String, Object> record = new HashMap<>();
+      for (int i = 1; i <= columns; i++) {
+        record.put("COLUMN_" + i, row * columns + i);
+      }
+      records.add(record);
+    }
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> insensitiveMapRows() throws SQLException {
+    return insensitiveMapHandler.processResultSet(null, new ResultSetBuilder(columnMetadata).with(records).build());
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> columnarRows() throws SQLException {
+    return columnarHandler.processResultSet(null, new ResultSetBuilder(columnMetadata).with(records).build());
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.listener;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
+import org.mule.runtime.module.http.internal.domain.request.HttpRequestBuilder;
+import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
+import org.mule.runtime.module.http.internal.listener.matcher.AcceptsAllMethodsRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.MethodRequestMatcher;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Routes 10k distinct request paths across 500 listeners of a server address, mixing static paths, uri parameters and catch all
+ * paths. Run with {@code -prof gc} to check that resolving a request doesn't allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class HttpListenerRegistryBenchmark {
+
+  private static final int LISTENERS = 500;
+  private static final int PATHS = 10000;
+
+  private HttpListenerRegistry.ServerAddressRequestHandlerRegistry registry;
+  private HttpRequest[] requests;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    registry = new HttpListenerRegistry().new ServerAddressRequestHandlerRegistry();
+    for (int i = 0; i < LISTENERS; i++) {
+      final String resource = "/api/v1/resource" + i / 5;
+      switch (i % 5) {
+        case 0:
+          addListener(new MethodRequestMatcher("GET"), resource);
+          break;
+        case 1:
+          addListener(new MethodRequestMatcher("POST"), resource);
+          break;
+        case 2:
+          addListener(new MethodRequestMatcher("GET", "PUT", "DELETE"), resource + "/{id}");
+          break;
+        case 3:
+          addListener(AcceptsAllMethodsRequestMatcher.instance(), resource + "/{id}/items/{itemId}");
+          break;
+        default:
+          addListener(AcceptsAllMethodsRequestMatcher.instance(), "/static/" + i + "/*");
+      }
+    }
+
+    final Random random = new Random(0);
+    final String[] methods = {"GET", "POST", "PUT"};
+    requests = new HttpRequest[PATHS];
+    for (int i = 0; i < PATHS; i++) {
+      final int resource = random.nextInt(LISTENERS / 5);
+      final String path;
+      switch (i % 4) {
+        case 0:
+          path = "/api/v1/resource" + resource;
+          break;
+        case 1:
+          path = "/api/v1/resource" + resource + "/" + i;
+          break;
+        case 2:
+          path = "/api/v1/resource" + resource + "/" + i + "/items/" + random.nextInt(100);
+          break;
+        default:
+          path = "/static/" + (resource * 5 + 4) + "/assets/file" + i + ".js";
+      }
+      requests[i] = new HttpRequestBuilder().setUri(path).setMethod(methods[random.nextInt(methods.length)]).build();
+    }
+  }
+
+  private void addListener(MethodRequestMatcher methodRequestMatcher, String path) {
+    registry.addRequestHandler(new ListenerRequestMatcher(methodRequestMatcher, path), mock(RequestHandler.class));
+  }
+
+  @Benchmark
+  public RequestHandler findRequestHandler() {
+    final HttpRequest request = requests[next];
+    next = (next + 1) % PATHS;
+    return registry.findRequestHandler(request);
+  }
+}
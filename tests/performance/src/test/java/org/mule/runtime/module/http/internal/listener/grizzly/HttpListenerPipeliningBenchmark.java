@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.http.internal.listener.grizzly;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.http.api.HttpHeaders.Names.CONTENT_LENGTH;
+import static org.mule.runtime.module.http.internal.listener.grizzly.GrizzlyServerManager.MAXIMUM_PIPELINED_REQUESTS_PROPERTY_KEY;
+
+import org.mule.compatibility.transport.socket.internal.DefaultTcpServerSocketProperties;
+import org.mule.runtime.core.api.context.WorkManager;
+import org.mule.runtime.core.api.context.WorkManagerSource;
+import org.mule.runtime.module.http.internal.domain.ByteArrayHttpEntity;
+import org.mule.runtime.module.http.internal.domain.response.HttpResponse;
+import org.mule.runtime.module.http.internal.domain.response.HttpResponseBuilder;
+import org.mule.runtime.module.http.internal.listener.HttpListenerRegistry;
+import org.mule.runtime.module.http.internal.listener.Server;
+import org.mule.runtime.module.http.internal.listener.ServerAddress;
+import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
+import org.mule.runtime.module.http.internal.listener.async.ResponseStatusCallback;
+import org.mule.runtime.module.http.internal.listener.matcher.AcceptsAllMethodsRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMatcher;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load generator for the Grizzly listener: each benchmark thread keeps a connection and sends batches of pipelined GET
+ * requests with a small response, waiting for all the responses of a batch before sending the next one. Compare
+ * {@code maxPipelinedRequests} 1 (requests of a connection processed one at a time) against the default, both with responses
+ * sent right away and with responses sent by another thread after a delay, as a non blocking flow does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = SECONDS)
+public class HttpListenerPipeliningBenchmark {
+
+  private static final int PIPELINED_REQUESTS = 8;
+  private static final byte[] RESPONSE_BODY = "{\"status\":\"ok\"}".getBytes(US_ASCII);
+
+  @Param({"1", "16"})
+  public String maxPipelinedRequests;
+
+  @Param({"0", "1"})
+  public int responseDelayMillis;
+
+  private GrizzlyServerManager serverManager;
+  private Server server;
+  private ExecutorService workers;
+  private ScheduledExecutorService responders;
+  private int port;
+  private byte[] requestBatch;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    System.setProperty(MAXIMUM_PIPELINED_REQUESTS_PROPERTY_KEY, maxPipelinedRequests);
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+
+    workers = Executors.newCachedThreadPool();
+    responders = Executors.newScheduledThreadPool(4);
+    final WorkManager workManager = mock(WorkManager.class);
+    doAnswer(invocation -> {
+      workers.execute((Runnable) invocation.getArguments()[0]);
+      return null;
+    }).when(workManager).execute(any(Runnable.class));
+    final WorkManagerSource workManagerSource = mock(WorkManagerSource.class);
+    when(workManagerSource.getWorkManager()).thenReturn(workManager);
+
+    final HttpListenerRegistry registry = new HttpListenerRegistry();
+    serverManager = new GrizzlyServerManager("benchmark", registry, new DefaultTcpServerSocketProperties());
+    server = serverManager.createServerFor(new ServerAddress("127.0.0.1", port), workManagerSource, true, 30000);
+    final RequestHandler requestHandler = (requestContext, responseCallback) -> {
+      final HttpResponse response = new HttpResponseBuilder().setStatusCode(200).setReasonPhrase("OK")
+          .addHeader(CONTENT_LENGTH, String.valueOf(RESPONSE_BODY.length)).setEntity(new ByteArrayHttpEntity(RESPONSE_BODY))
+          .build();
+      final ResponseStatusCallback statusCallback = mock(ResponseStatusCallback.class);
+      if (responseDelayMillis == 0) {
+        responseCallback.responseReady(response, statusCallback);
+      } else {
+        responders.schedule(() -> responseCallback.responseReady(response, statusCallback), responseDelayMillis, MILLISECONDS);
+      }
+    };
+    server.addRequestHandler(new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), "/*"), requestHandler);
+    server.start();
+
+    final StringBuilder batch = new StringBuilder();
+    for (int i = 0; i < PIPELINED_REQUESTS; i++) {
+      batch.append("GET /api/status HTTP/1.1\r\nHost: localhost\r\n\r\n");
+    }
+    requestBatch = batch.toString().getBytes(US_ASCII);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    server.stop();
+    serverManager.dispose();
+    responders.shutdownNow();
+    workers.shutdownNow();
+    System.clearProperty(MAXIMUM_PIPELINED_REQUESTS_PROPERTY_KEY);
+  }
+
+  @State(Scope.Thread)
+  public static class ClientConnection {
+
+    private Socket socket;
+    private OutputStream output;
+    private InputStream input;
+
+    @Setup(Level.Trial)
+    public void connect(HttpListenerPipeliningBenchmark benchmark) throws IOException {
+      socket = new Socket("127.0.0.1", benchmark.port);
+      socket.setTcpNoDelay(true);
+      output = socket.getOutputStream();
+      input = new BufferedInputStream(socket.getInputStream());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+      socket.close();
+    }
+  }
+
+  @Benchmark
+  public int pipelinedRequests(ClientConnection connection) throws IOException {
+    connection.output.write(requestBatch);
+    connection.output.flush();
+    int received = 0;
+    for (int i = 0; i < PIPELINED_REQUESTS; i++) {
+      received += readResponse(connection.input);
+    }
+    return received;
+  }
+
+  private static int readResponse(InputStream input) throws IOException {
+    int contentLength = 0;
+    String line;
+    while (!(line = readLine(input)).isEmpty()) {
+      if (line.regionMatches(true, 0, CONTENT_LENGTH + ":", 0, CONTENT_LENGTH.length() + 1)) {
+        contentLength = Integer.parseInt(line.substring(CONTENT_LENGTH.length() + 1).trim());
+      }
+    }
+    for (int i = 0; i < contentLength; i++) {
+      if (input.read() == -1) {
+        throw new EOFException();
+      }
+    }
+    return contentLength;
+  }
+
+  private static String readLine(InputStream input) throws IOException {
+    final StringBuilder line = new StringBuilder();
+    int c;
+    while ((c = input.read()) != '\n') {
+      if (c == -1) {
+        throw new EOFException();
+      }
+      if (c != '\r') {
+        line.append((char) c);
+      }
+    }
+    return line.toString();
+  }
+}